@@ -0,0 +1,54 @@
+package com.medi.backend.admin.mapper;
+
+import java.time.LocalDateTime;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 플랫폼 통계 카운터(platform_stat_daily / platform_stat_total) 갱신용 Mapper
+ * - 조회는 AdminMapper가 담당하고, 여기서는 증분 갱신과 야간 재집계만 처리합니다.
+ */
+@Mapper
+public interface PlatformStatsMapper {
+
+    // DB 기준 현재 시각 (이번 저장분을 created_at으로 구분하기 위해 사용)
+    LocalDateTime selectDbNow();
+
+    // 현재 가장 큰 분석 결과 id (이번 저장분을 id로 구분하기 위해 사용, 없으면 0)
+    long selectMaxAnalysisResultId();
+
+    // Agent 결과 저장분(afterId보다 큰 id의 filtered 행)을 일별/누적 카운터에 더하기
+    int addIngestedFilteredToDaily(
+        @Param("videoId") Integer videoId,
+        @Param("afterId") long afterId
+    );
+
+    int addIngestedFilteredToTotal(
+        @Param("videoId") Integer videoId,
+        @Param("afterId") long afterId
+    );
+
+    // 오늘 날짜 일별 카운터 증감 (가입 등)
+    int incrementDailyToday(
+        @Param("metric") String metric,
+        @Param("dimValue") String dimValue,
+        @Param("delta") int delta
+    );
+
+    // 누적 카운터 증감 (0 미만으로 내려가지 않음)
+    int incrementTotal(
+        @Param("metric") String metric,
+        @Param("dimValue") String dimValue,
+        @Param("delta") int delta
+    );
+
+    // 전체 재집계 (야간 보정용)
+    int deleteAllDaily();
+
+    int rebuildAllDaily();
+
+    int deleteAllTotal();
+
+    int rebuildAllTotal();
+}
@@ -0,0 +1,115 @@
+package com.medi.backend.admin.service;
+
+import java.time.LocalDateTime;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.medi.backend.admin.mapper.PlatformStatsMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 관리자 대시보드용 플랫폼 통계 카운터 유지 서비스
+ * - Agent 결과 저장 / 회원가입 / 구독 변경 시점에 카운터를 그 자리에서 증감
+ * - 매일 새벽 전체 재집계로 삭제·재분석·탈퇴 등으로 생긴 오차 보정
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PlatformStatsService {
+
+    private static final String METRIC_USERS = "USERS";
+    private static final String METRIC_ACTIVE_SUBSCRIBERS = "ACTIVE_SUBSCRIBERS";
+    private static final String METRIC_ACTIVE_SUBSCRIBERS_BY_PLAN = "ACTIVE_SUBSCRIBERS_BY_PLAN";
+    private static final String ALL = "ALL";
+
+    private final PlatformStatsMapper platformStatsMapper;
+
+    /**
+     * 저장 시작 시각 (DB 기준) - 댓글 추이 버킷 갱신의 since 값으로 사용
+     */
+    public LocalDateTime markIngestStart() {
+        return platformStatsMapper.selectDbNow();
+    }
+
+    /**
+     * 저장 시작 시점의 마지막 분석 결과 id - recordIngestedFiltered()의 afterId 값으로 사용
+     * - NOW()는 초 단위라 같은 초에 끝난 이전 저장분까지 다시 더해지므로 시각 대신 id로 구분
+     */
+    public long markIngestStartId() {
+        return platformStatsMapper.selectMaxAnalysisResultId();
+    }
+
+    /**
+     * Agent 결과 저장분 반영
+     * - afterId보다 큰 id로 새로 생성된 filtered 분석 결과만 더함 (기존 행 재분석은 야간 재집계에서 보정)
+     */
+    @Transactional
+    public void recordIngestedFiltered(Integer videoId, long afterId) {
+        if (videoId == null) {
+            return;
+        }
+        platformStatsMapper.addIngestedFilteredToDaily(videoId, afterId);
+        platformStatsMapper.addIngestedFilteredToTotal(videoId, afterId);
+        log.debug("📊 [플랫폼 통계] 필터링 저장분 반영: videoId={}, afterId={}", videoId, afterId);
+    }
+
+    /**
+     * 회원가입 (role = USER)
+     */
+    @Transactional
+    public void recordSignup() {
+        platformStatsMapper.incrementDailyToday(METRIC_USERS, ALL, 1);
+        platformStatsMapper.incrementTotal(METRIC_USERS, ALL, 1);
+    }
+
+    /**
+     * 구독 시작
+     */
+    @Transactional
+    public void recordSubscriptionStarted(int planId) {
+        platformStatsMapper.incrementTotal(METRIC_ACTIVE_SUBSCRIBERS, ALL, 1);
+        platformStatsMapper.incrementTotal(METRIC_ACTIVE_SUBSCRIBERS_BY_PLAN, String.valueOf(planId), 1);
+    }
+
+    /**
+     * 구독 해지
+     */
+    @Transactional
+    public void recordSubscriptionEnded(int planId) {
+        platformStatsMapper.incrementTotal(METRIC_ACTIVE_SUBSCRIBERS, ALL, -1);
+        platformStatsMapper.incrementTotal(METRIC_ACTIVE_SUBSCRIBERS_BY_PLAN, String.valueOf(planId), -1);
+    }
+
+    /**
+     * 요금제 변경 (구독자 수는 그대로, 요금제별 분포만 이동)
+     */
+    @Transactional
+    public void recordPlanChanged(int fromPlanId, int toPlanId) {
+        platformStatsMapper.incrementTotal(METRIC_ACTIVE_SUBSCRIBERS_BY_PLAN, String.valueOf(fromPlanId), -1);
+        platformStatsMapper.incrementTotal(METRIC_ACTIVE_SUBSCRIBERS_BY_PLAN, String.valueOf(toPlanId), 1);
+    }
+
+    /**
+     * 전체 재집계 (매일 오전 4시, Asia/Seoul)
+     * - 원본 테이블 기준으로 두 카운터 테이블을 다시 채움
+     * - 하나의 트랜잭션으로 실행되어 조회 쪽에서는 중간 상태가 보이지 않음
+     */
+    @Scheduled(cron = "0 0 4 * * *", zone = "Asia/Seoul")
+    @Transactional
+    public void reconcileAll() {
+        log.info("📊 [플랫폼 통계] 전체 재집계 시작");
+        long start = System.currentTimeMillis();
+
+        platformStatsMapper.deleteAllDaily();
+        int daily = platformStatsMapper.rebuildAllDaily();
+        platformStatsMapper.deleteAllTotal();
+        int total = platformStatsMapper.rebuildAllTotal();
+
+        log.info("✅ [플랫폼 통계] 전체 재집계 완료: daily={}, total={}, {}ms",
+            daily, total, System.currentTimeMillis() - start);
+    }
+}
@@ -1,6 +1,9 @@
 package com.medi.backend.agent.controller;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,16 +13,20 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.medi.backend.agent.dto.AgentFilteredCommentsRequest;
 import com.medi.backend.agent.dto.AgentProfilingRequest;
-import com.medi.backend.agent.dto.FilteredCommentResponse;
+import com.medi.backend.agent.dto.FilteredCommentPage;
 import com.medi.backend.agent.dto.AnalysisSummaryResponse;
 import com.medi.backend.agent.dto.FilteredCommentStatsResponse;
 import com.medi.backend.agent.dto.DailyCommentStatDto;
 import com.medi.backend.agent.service.AgentService;
+import com.medi.backend.agent.service.FilteredCommentExportService;
 import com.medi.backend.global.util.AuthUtil;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -32,10 +39,12 @@ import lombok.extern.slf4j.Slf4j;
 public class AgentController {
 
     private final AgentService agentService;
+    private final FilteredCommentExportService exportService;
     private final AuthUtil authUtil;
 
-    public AgentController(AgentService agentService, AuthUtil authUtil) {
+    public AgentController(AgentService agentService, FilteredCommentExportService exportService, AuthUtil authUtil) {
         this.agentService = agentService;
+        this.exportService = exportService;
         this.authUtil = authUtil;
     }
     
@@ -96,31 +105,36 @@ public class AgentController {
      * 
      * @param videoId 내부 비디오 ID
      * @param status 필터링 상태 (filtered, content_suggestion, normal) - 선택사항, 없으면 전체
+     * @param category 탐지 카테고리 (예: SPAM) - 선택사항, 없으면 전체
+     * @param cursor 이전 응답의 nextCursor - 선택사항, 없으면 첫 페이지
+     * @param size 페이지 크기 (기본 50, 최대 200)
      * @return 필터링된 댓글 목록 + 분석 요약
      */
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/comments/video/{videoId}")
     public ResponseEntity<Map<String, Object>> getFilteredCommentsByVideoId(
         @PathVariable("videoId") Integer videoId,
-        @RequestParam(value = "status", required = false) String status
+        @RequestParam(value = "status", required = false) String status,
+        @RequestParam(value = "category", required = false) String category,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", required = false) Integer size
     ) {
         Integer userId = authUtil.getCurrentUserId();
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        log.info("📡 [API 요청] 비디오별 필터링된 댓글 조회: videoId={}, userId={}, status={}", videoId, userId, status);
+        log.info("📡 [API 요청] 비디오별 필터링된 댓글 조회: videoId={}, userId={}, status={}, category={}, size={}",
+            videoId, userId, status, category, size);
         
-        List<FilteredCommentResponse> comments = agentService.getFilteredCommentsByVideoId(videoId, userId, status);
+        FilteredCommentPage page = agentService.getFilteredCommentsByVideoId(videoId, userId, status, category, cursor, size);
         AnalysisSummaryResponse summary = agentService.getAnalysisSummaryByVideoId(videoId, userId);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("comments", comments);
+        Map<String, Object> response = toPageResponse(page);
         response.put("summary", summary);
-        response.put("totalCount", comments != null ? comments.size() : 0);
-        response.put("maxLimit", 200);  // 최대 조회 개수 제한
         
-        log.info("📡 [API 응답] 비디오별 필터링된 댓글 조회 완료: videoId={}, 댓글수={}개", videoId, comments != null ? comments.size() : 0);
+        log.info("📡 [API 응답] 비디오별 필터링된 댓글 조회 완료: videoId={}, 댓글수={}개, hasNext={}",
+            videoId, page.getComments().size(), page.isHasNext());
         
         return ResponseEntity.ok(response);
     }
@@ -130,29 +144,34 @@ public class AgentController {
      * 
      * @param channelId 내부 채널 ID
      * @param status 필터링 상태 (filtered, content_suggestion, normal) - 선택사항, 없으면 전체
+     * @param category 탐지 카테고리 (예: SPAM) - 선택사항, 없으면 전체
+     * @param cursor 이전 응답의 nextCursor - 선택사항, 없으면 첫 페이지
+     * @param size 페이지 크기 (기본 50, 최대 200)
      * @return 필터링된 댓글 목록
      */
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/comments/channel/{channelId}")
     public ResponseEntity<Map<String, Object>> getFilteredCommentsByChannelId(
         @PathVariable("channelId") Integer channelId,
-        @RequestParam(value = "status", required = false) String status
+        @RequestParam(value = "status", required = false) String status,
+        @RequestParam(value = "category", required = false) String category,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", required = false) Integer size
     ) {
         Integer userId = authUtil.getCurrentUserId();
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        log.info("📡 [API 요청] 채널별 필터링된 댓글 조회: channelId={}, userId={}, status={}", channelId, userId, status);
+        log.info("📡 [API 요청] 채널별 필터링된 댓글 조회: channelId={}, userId={}, status={}, category={}, size={}",
+            channelId, userId, status, category, size);
         
-        List<FilteredCommentResponse> comments = agentService.getFilteredCommentsByChannelId(channelId, userId, status);
+        FilteredCommentPage page = agentService.getFilteredCommentsByChannelId(channelId, userId, status, category, cursor, size);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("comments", comments);
-        response.put("totalCount", comments != null ? comments.size() : 0);
-        response.put("maxLimit", 500);  // 최대 조회 개수 제한
+        Map<String, Object> response = toPageResponse(page);
         
-        log.info("📡 [API 응답] 채널별 필터링된 댓글 조회 완료: channelId={}, 댓글수={}개", channelId, comments != null ? comments.size() : 0);
+        log.info("📡 [API 응답] 채널별 필터링된 댓글 조회 완료: channelId={}, 댓글수={}개, hasNext={}",
+            channelId, page.getComments().size(), page.isHasNext());
         
         return ResponseEntity.ok(response);
     }
@@ -161,32 +180,109 @@ public class AgentController {
      * 사용자별 필터링된 댓글 조회 (내 모든 채널)
      * 
      * @param status 필터링 상태 (filtered, content_suggestion, normal) - 선택사항, 없으면 전체
+     * @param category 탐지 카테고리 (예: SPAM) - 선택사항, 없으면 전체
+     * @param cursor 이전 응답의 nextCursor - 선택사항, 없으면 첫 페이지
+     * @param size 페이지 크기 (기본 50, 최대 200)
      * @return 필터링된 댓글 목록
      */
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/comments/my")
     public ResponseEntity<Map<String, Object>> getFilteredCommentsByUserId(
-        @RequestParam(value = "status", required = false) String status
+        @RequestParam(value = "status", required = false) String status,
+        @RequestParam(value = "category", required = false) String category,
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @RequestParam(value = "size", required = false) Integer size
     ) {
         Integer userId = authUtil.getCurrentUserId();
         if (userId == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
         
-        log.info("📡 [API 요청] 사용자별 필터링된 댓글 조회: userId={}, status={}", userId, status);
+        log.info("📡 [API 요청] 사용자별 필터링된 댓글 조회: userId={}, status={}, category={}, size={}",
+            userId, status, category, size);
         
-        List<FilteredCommentResponse> comments = agentService.getFilteredCommentsByUserId(userId, status);
+        FilteredCommentPage page = agentService.getFilteredCommentsByUserId(userId, status, category, cursor, size);
         
-        Map<String, Object> response = new HashMap<>();
-        response.put("comments", comments);
-        response.put("totalCount", comments != null ? comments.size() : 0);
-        response.put("maxLimit", 1000);  // 최대 조회 개수 제한
+        Map<String, Object> response = toPageResponse(page);
         
-        log.info("📡 [API 응답] 사용자별 필터링된 댓글 조회 완료: userId={}, 댓글수={}개", userId, comments != null ? comments.size() : 0);
+        log.info("📡 [API 응답] 사용자별 필터링된 댓글 조회 완료: userId={}, 댓글수={}개, hasNext={}",
+            userId, page.getComments().size(), page.isHasNext());
         
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * 댓글 목록 페이지 공통 응답
+     * - comments, totalCount(이번 페이지 개수): 기존 응답과 동일한 키
+     * - nextCursor, hasNext, size: 다음 페이지 요청용
+     * - maxLimit: 요청 가능한 최대 페이지 크기
+     */
+    private Map<String, Object> toPageResponse(FilteredCommentPage page) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("comments", page.getComments());
+        response.put("totalCount", page.getComments().size());
+        response.put("nextCursor", page.getNextCursor());
+        response.put("hasNext", page.isHasNext());
+        response.put("size", page.getSize());
+        response.put("maxLimit", FilteredCommentPage.MAX_SIZE);
+        return response;
+    }
+    
+    /**
+     * 필터링된 댓글 내보내기 (CSV / NDJSON 스트리밍)
+     * - 범위: videoId > channelId > 내 모든 채널
+     * - 행 수 제한 없음, 서버 메모리 사용량은 행 수와 무관
+     * 
+     * @param channelId 채널 ID (선택)
+     * @param videoId 비디오 ID (선택)
+     * @param status 필터링 상태 (선택)
+     * @param category 탐지 카테고리 (선택)
+     * @param format csv(기본) / ndjson
+     * @param gzip true면 .gz 파일로 압축 전송
+     * @return 스트리밍 파일 응답
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/comments/export")
+    public ResponseEntity<StreamingResponseBody> exportFilteredComments(
+        @RequestParam(value = "channelId", required = false) Integer channelId,
+        @RequestParam(value = "videoId", required = false) Integer videoId,
+        @RequestParam(value = "status", required = false) String status,
+        @RequestParam(value = "category", required = false) String category,
+        @RequestParam(value = "format", required = false) String format,
+        @RequestParam(value = "gzip", defaultValue = "false") boolean gzip
+    ) {
+        Integer userId = authUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        String resolvedFormat = exportService.resolveFormat(format);
+        if (!exportService.canExport(userId, channelId, videoId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        
+        log.info("📡 [API 요청] 필터링된 댓글 내보내기: userId={}, channelId={}, videoId={}, status={}, category={}, format={}, gzip={}",
+            userId, channelId, videoId, status, category, resolvedFormat, gzip);
+        
+        String scope = videoId != null ? "video-" + videoId
+            : channelId != null ? "channel-" + channelId
+            : "all";
+        String filename = "filtered-comments-" + scope + "-"
+            + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"))
+            + "." + resolvedFormat + (gzip ? ".gz" : "");
+        MediaType contentType = gzip
+            ? MediaType.parseMediaType("application/gzip")
+            : FilteredCommentExportService.FORMAT_NDJSON.equals(resolvedFormat)
+                ? MediaType.parseMediaType("application/x-ndjson;charset=UTF-8")
+                : MediaType.parseMediaType("text/csv;charset=UTF-8");
+        
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString())
+            .contentType(contentType)
+            .body(exportService.export(userId, channelId, videoId, status, category, resolvedFormat, gzip));
+    }
+    
     /**
      * 날짜별 필터링된 댓글 통계 조회
      * 
@@ -0,0 +1,16 @@
+package com.medi.backend.agent.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+/**
+ * 재계산 대상 시간 버킷 (영상 + 소속 채널/사용자 + 정시)
+ */
+@Data
+public class CommentBucketKey {
+    private Integer videoId;
+    private Integer channelId;
+    private Integer userId;
+    private LocalDateTime bucketStart;  // 정시 (예: 2025-01-15 14:00:00)
+}
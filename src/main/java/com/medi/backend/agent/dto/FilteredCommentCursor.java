@@ -0,0 +1,47 @@
+package com.medi.backend.agent.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 필터링 댓글 목록 키셋 커서 (created_at DESC, id DESC 정렬 기준 마지막 행)
+ * - 클라이언트에는 Base64URL 문자열로만 노출되며, 내부 형식은 언제든 바뀔 수 있습니다.
+ */
+public record FilteredCommentCursor(LocalDateTime createdAt, Integer id) {
+
+    private static final String SEPARATOR = "|";
+
+    public static FilteredCommentCursor from(FilteredCommentResponse last) {
+        return new FilteredCommentCursor(last.getCreatedAt(), last.getCommentId());
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param token 이전 응답의 nextCursor (null/빈 문자열이면 첫 페이지)
+     * @throws IllegalArgumentException 형식이 올바르지 않은 커서
+     */
+    public static FilteredCommentCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            if (idx <= 0) {
+                throw new IllegalArgumentException("잘못된 커서입니다.");
+            }
+            return new FilteredCommentCursor(
+                LocalDateTime.parse(raw.substring(0, idx)),
+                Integer.valueOf(raw.substring(idx + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // NumberFormatException, Base64 디코딩 오류 모두 IllegalArgumentException 계열
+            throw new IllegalArgumentException("잘못된 커서입니다.");
+        }
+    }
+}
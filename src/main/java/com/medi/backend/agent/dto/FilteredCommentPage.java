@@ -0,0 +1,26 @@
+package com.medi.backend.agent.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 필터링 댓글 목록 한 페이지 (키셋 페이지네이션)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilteredCommentPage {
+
+    public static final int DEFAULT_SIZE = 50;
+    public static final int MAX_SIZE = 200;
+
+    private List<FilteredCommentResponse> comments;
+    private String nextCursor;  // 다음 페이지 요청 시 cursor 파라미터 (마지막 페이지면 null)
+    private boolean hasNext;
+    private int size;           // 적용된 페이지 크기
+}
@@ -23,6 +23,7 @@ public class FilteredCommentResponse {
     private String commenterName;
     private LocalDateTime publishedAt;
     private Long likeCount;
+    private LocalDateTime createdAt;  // DB 저장 시간 (목록 정렬/커서 기준)
     
     // 비디오 정보
     private Integer videoId;
@@ -40,5 +41,6 @@ public class FilteredCommentResponse {
     private LocalDateTime analyzedAt;
     private String harmfulnessLevel;  // LOW, MEDIUM, HIGH
     private String detectionSource;  // AI_MODEL, USER_KEYWORD, USER_CONTEXT
+    private String detectedCategory;  // SPAM, HATE_SPEECH 등
 }
 
@@ -2,10 +2,10 @@ package com.medi.backend.agent.mapper;
 
 import com.medi.backend.agent.dto.FilteredCommentResponse;
 import com.medi.backend.agent.dto.AnalysisSummaryResponse;
-import com.medi.backend.agent.dto.DateStat;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -42,7 +42,8 @@ public interface AgentMapper {
                         @Param("youtubeCommentId") Integer youtubeCommentId, // youtube_comments.id
                         @Param("status") String status, // "filtered", "content_suggestion", "normal"
                         @Param("reason") String reason, // AI 서버의 reason 값
-                        @Param("analyzedAt") String analyzedAt // AI 서버의 analyzed_at 값
+                        @Param("analyzedAt") String analyzedAt, // AI 서버의 analyzed_at 값
+                        @Param("detectionSource") String detectionSource // AI_MODEL, USER_KEYWORD (null이면 AI_MODEL)
         );
 
         /**
@@ -81,17 +82,48 @@ public interface AgentMapper {
         );
 
         /**
-         * 비디오별 필터링된 댓글 조회
+         * 비디오별 필터링된 댓글 조회 (키셋 페이지네이션, created_at DESC, id DESC)
          * 
-         * @param videoId 내부 비디오 ID
-         * @param userId  사용자 ID (권한 체크용)
-         * @param status  필터링 상태 (filtered, content_suggestion, normal) - null이면 전체
+         * @param videoId         내부 비디오 ID
+         * @param userId          사용자 ID (권한 체크용)
+         * @param status          필터링 상태 (filtered, content_suggestion, normal) - null이면 전체
+         * @param category        탐지 카테고리 (detected_category) - null이면 전체
+         * @param cursorCreatedAt 이전 페이지 마지막 댓글의 created_at (null이면 첫 페이지)
+         * @param cursorId        이전 페이지 마지막 댓글의 id
+         * @param limit           조회 개수 (다음 페이지 여부 판단용으로 페이지 크기 + 1)
          * @return 필터링된 댓글 목록
          */
         List<FilteredCommentResponse> findFilteredCommentsByVideoId(
                         @Param("videoId") Integer videoId,
                         @Param("userId") Integer userId,
-                        @Param("status") String status);
+                        @Param("status") String status,
+                        @Param("category") String category,
+                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                        @Param("cursorId") Integer cursorId,
+                        @Param("limit") int limit);
+
+        /**
+         * 필터링된 댓글 내보내기용 키셋 페이지 조회 (분석 결과가 있는 댓글만)
+         * 
+         * @param userId    사용자 ID (권한 체크용)
+         * @param channelId 내부 채널 ID (videoId가 없을 때 필수)
+         * @param videoId   내부 비디오 ID (선택)
+         * @param status    필터링 상태 - null이면 전체
+         * @param category  탐지 카테고리 - null이면 전체
+         * @param cursorCreatedAt 이전 페이지 마지막 행 created_at (첫 페이지면 null)
+         * @param cursorId  이전 페이지 마지막 행 id (첫 페이지면 null)
+         * @param limit     페이지 크기
+         * @return created_at DESC, id DESC 순 최대 limit개
+         */
+        List<FilteredCommentResponse> findFilteredCommentsForExport(
+                        @Param("userId") Integer userId,
+                        @Param("channelId") Integer channelId,
+                        @Param("videoId") Integer videoId,
+                        @Param("status") String status,
+                        @Param("category") String category,
+                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                        @Param("cursorId") Integer cursorId,
+                        @Param("limit") int limit);
 
         /**
          * 비디오별 분석 요약 조회
@@ -105,47 +137,34 @@ public interface AgentMapper {
                         @Param("userId") Integer userId);
 
         /**
-         * 채널별 필터링된 댓글 조회
+         * 채널별 필터링된 댓글 조회 (키셋 페이지네이션, 파라미터는 비디오별 조회와 동일)
          * 
          * @param channelId 내부 채널 ID
          * @param userId    사용자 ID (권한 체크용)
-         * @param status    필터링 상태 (filtered, content_suggestion, normal) - null이면 전체
          * @return 필터링된 댓글 목록
          */
         List<FilteredCommentResponse> findFilteredCommentsByChannelId(
                         @Param("channelId") Integer channelId,
                         @Param("userId") Integer userId,
-                        @Param("status") String status);
+                        @Param("status") String status,
+                        @Param("category") String category,
+                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                        @Param("cursorId") Integer cursorId,
+                        @Param("limit") int limit);
 
         /**
-         * 사용자별 필터링된 댓글 조회
+         * 사용자별 필터링된 댓글 조회 (키셋 페이지네이션, 파라미터는 비디오별 조회와 동일)
          * 
          * @param userId 사용자 ID
-         * @param status 필터링 상태 (filtered, content_suggestion, normal) - null이면 전체
          * @return 필터링된 댓글 목록
          */
         List<FilteredCommentResponse> findFilteredCommentsByUserId(
                         @Param("userId") Integer userId,
-                        @Param("status") String status);
-
-        /**
-         * 날짜별 필터링된 댓글 통계 조회
-         * 
-         * @param userId     사용자 ID
-         * @param videoId    비디오 ID (선택사항, null이면 전체)
-         * @param channelId  채널 ID (선택사항, null이면 전체)
-         * @param periodType 날짜 단위 ("daily", "monthly", "yearly")
-         * @param startDate  시작 날짜 (선택사항, 형식: "YYYY-MM-DD")
-         * @param endDate    종료 날짜 (선택사항, 형식: "YYYY-MM-DD")
-         * @return 날짜별 통계 목록
-         */
-        List<DateStat> findFilteredCommentStatsByDate(
-                        @Param("userId") Integer userId,
-                        @Param("videoId") Integer videoId,
-                        @Param("channelId") Integer channelId,
-                        @Param("periodType") String periodType,
-                        @Param("startDate") String startDate,
-                        @Param("endDate") String endDate);
+                        @Param("status") String status,
+                        @Param("category") String category,
+                        @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                        @Param("cursorId") Integer cursorId,
+                        @Param("limit") int limit);
 
         /**
          * daily_comment_stats 테이블에 일별 통계 upsert
@@ -217,6 +236,17 @@ public interface AgentMapper {
                         @Param("youtubeCommentId") String youtubeCommentId,
                         @Param("youtubeDeletionStatus") String youtubeDeletionStatus);
 
+        /**
+         * 여러 댓글 상태를 DELETED로 변경 (일괄 숨김/보류 처리 결과)
+         * 
+         * @param youtubeCommentIds     YouTube 댓글 ID 목록
+         * @param youtubeDeletionStatus YouTube API 처리 결과 (SUCCESS, NOT_FOUND)
+         * @return 업데이트된 행 수
+         */
+        Integer updateCommentsStatusToDeleted(
+                        @Param("youtubeCommentIds") List<String> youtubeCommentIds,
+                        @Param("youtubeDeletionStatus") String youtubeDeletionStatus);
+
         /**
          * 비동기 삭제: 비디오의 필터링된 댓글을 PENDING_DELETE 상태로 변경
          * 
@@ -242,28 +272,53 @@ public interface AgentMapper {
                         @Param("requestId") String requestId);
 
         /**
-         * 비동기 삭제: PENDING_DELETE 댓글 조회 (Background Worker용)
+         * 비동기 삭제: PENDING_DELETE 댓글 선점 (Background Worker용, 멀티 인스턴스 안전)
          * 
-         * @param maxRetries 최대 재시도 횟수
-         * @param batchSize  배치 크기
-         * @return 처리할 댓글 리스트 (Map 형태)
+         * @param claimToken   이번 선점의 식별자 (UUID)
+         * @param maxRetries   최대 재시도 횟수
+         * @param batchSize    선점할 최대 개수
+         * @param leaseSeconds 선점 유지 시간 (지나면 다른 워커가 다시 선점 가능)
+         * @return 선점한 행 수
          */
-        List<Map<String, Object>> findPendingDeletionComments(
+        int claimPendingDeletions(
+                        @Param("claimToken") String claimToken,
                         @Param("maxRetries") Integer maxRetries,
-                        @Param("batchSize") Integer batchSize);
+                        @Param("batchSize") Integer batchSize,
+                        @Param("leaseSeconds") Integer leaseSeconds);
+
+        /**
+         * 비동기 삭제: 선점한 댓글 조회
+         * 
+         * @param claimToken 선점 식별자
+         * @return 처리할 댓글 리스트 (Map 형태, userId 순)
+         */
+        List<Map<String, Object>> findClaimedDeletions(@Param("claimToken") String claimToken);
 
         /**
-         * 비동기 삭제: 재시도 카운트 증가
+         * 비동기 삭제: 재시도 예약 (선점 해제)
          * 
          * @param youtubeCommentId YouTube 댓글 ID
          * @param errorMessage     오류 메시지
          * @param nextRetryAt      다음 재시도 시간
+         * @param countRetry       재시도 횟수 차감 여부
          * @return 업데이트된 행 수
          */
-        Integer incrementDeletionRetryCount(
+        Integer rescheduleDeletion(
                         @Param("youtubeCommentId") String youtubeCommentId,
                         @Param("errorMessage") String errorMessage,
-                        @Param("nextRetryAt") java.time.Instant nextRetryAt);
+                        @Param("nextRetryAt") java.time.Instant nextRetryAt,
+                        @Param("countRetry") boolean countRetry);
+
+        /**
+         * 비동기 삭제: 삭제 실패 확정 (youtube_deletion_status = FAILED)
+         * 
+         * @param youtubeCommentId YouTube 댓글 ID
+         * @param errorMessage     오류 메시지
+         * @return 업데이트된 행 수
+         */
+        Integer markDeletionFailed(
+                        @Param("youtubeCommentId") String youtubeCommentId,
+                        @Param("errorMessage") String errorMessage);
 
         /**
          * 비동기 삭제: 배치 삭제 진행 상황 조회
@@ -0,0 +1,90 @@
+package com.medi.backend.agent.mapper;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.medi.backend.agent.dto.CommentBucketKey;
+import com.medi.backend.agent.dto.DateStat;
+
+/**
+ * 댓글 추이 시간 버킷(comment_bucket_hourly / daily / monthly) Mapper
+ *
+ * 모든 갱신은 "해당 키의 값을 하위 단위에서 다시 계산해 덮어쓰기" 방식이라 여러 번 실행해도 결과가 같습니다.
+ */
+@Mapper
+public interface CommentTrendBucketMapper {
+
+        // 재계산 대상 버킷 조회 (저장분 / 삭제 요청 / 단건 삭제)
+        List<CommentBucketKey> findBucketKeysCreatedSince(
+                        @Param("videoId") Integer videoId,
+                        @Param("since") LocalDateTime since);
+
+        List<CommentBucketKey> findBucketKeysByDeletionRequestId(@Param("requestId") String requestId);
+
+        List<CommentBucketKey> findBucketKeysByYoutubeCommentId(@Param("youtubeCommentId") String youtubeCommentId);
+
+        // 시간별 버킷 재계산 (VIDEO: youtube_comments, CHANNEL: VIDEO 합계, USER: CHANNEL 합계)
+        int refreshVideoHour(
+                        @Param("videoId") Integer videoId,
+                        @Param("bucketStart") LocalDateTime bucketStart);
+
+        int refreshChannelHour(
+                        @Param("channelId") Integer channelId,
+                        @Param("bucketStart") LocalDateTime bucketStart);
+
+        int refreshUserHour(
+                        @Param("userId") Integer userId,
+                        @Param("bucketStart") LocalDateTime bucketStart);
+
+        // 일별/월별 버킷 재계산 (시간별 → 일별 → 월별)
+        int refreshDay(
+                        @Param("scope") String scope,
+                        @Param("scopeId") Integer scopeId,
+                        @Param("day") LocalDate day);
+
+        int refreshMonth(
+                        @Param("scope") String scope,
+                        @Param("scopeId") Integer scopeId,
+                        @Param("month") LocalDate month);
+
+        /**
+         * 버킷 기반 댓글 추이 조회
+         *
+         * @param scope       VIDEO / CHANNEL / USER
+         * @param scopeId     scope에 해당하는 ID
+         * @param granularity 읽을 버킷 테이블 (hourly / daily / monthly)
+         * @param periodType  응답 날짜 단위 (hourly / daily / monthly / yearly)
+         * @param rangeStart  시작 (포함, null이면 제한 없음)
+         * @param rangeEnd    종료 (미포함, null이면 제한 없음)
+         */
+        List<DateStat> findTrend(
+                        @Param("userId") Integer userId,
+                        @Param("scope") String scope,
+                        @Param("scopeId") Integer scopeId,
+                        @Param("channelId") Integer channelId,
+                        @Param("granularity") String granularity,
+                        @Param("periodType") String periodType,
+                        @Param("rangeStart") LocalDateTime rangeStart,
+                        @Param("rangeEnd") LocalDateTime rangeEnd);
+
+        // 전체 재집계 (야간 보정용)
+        int deleteAllHourly();
+
+        int rebuildAllVideoHourly();
+
+        int rebuildAllChannelHourly();
+
+        int rebuildAllUserHourly();
+
+        int deleteAllDaily();
+
+        int rebuildAllDaily();
+
+        int deleteAllMonthly();
+
+        int rebuildAllMonthly();
+}
@@ -2,7 +2,7 @@ package com.medi.backend.agent.service;
 
 import com.medi.backend.agent.dto.AgentFilteredCommentsRequest;
 import com.medi.backend.agent.dto.AgentProfilingRequest;
-import com.medi.backend.agent.dto.FilteredCommentResponse;
+import com.medi.backend.agent.dto.FilteredCommentPage;
 import com.medi.backend.agent.dto.AnalysisSummaryResponse;
 import com.medi.backend.agent.dto.FilteredCommentStatsResponse;
 import com.medi.backend.agent.dto.DailyCommentStatDto;
@@ -24,6 +24,36 @@ public interface AgentService {
      */
     Integer insertFilteredComment(AgentFilteredCommentsRequest request);
     
+    /**
+     * 사용자 규칙(블랙리스트/화이트리스트)으로 로컬 분류된 댓글 저장
+     * - 차단 댓글은 status=filtered, detection_source=USER_KEYWORD (reason에 매칭된 규칙)
+     * - 허용 댓글은 저장하지 않고 일별 통계의 전체 수에만 반영
+     * 
+     * @param youtubeVideoId YouTube 비디오 ID
+     * @param blockedComments 차단 댓글 (reason = 매칭 규칙)
+     * @param allowedCount 화이트리스트로 허용된 댓글 수
+     * @return 저장된 댓글 개수
+     */
+    Integer insertRuleFilteredComments(String youtubeVideoId,
+                                       List<AgentFilteredCommentsRequest.CommentData> blockedComments,
+                                       int allowedCount);
+    
+    /**
+     * 분류 캐시(같은 정규화 본문의 이전 AI 판정)로 로컬 분류된 댓글 저장
+     * - detection_source=AI_MODEL (reason은 캐시된 판정 사유)
+     * - 중립 댓글은 저장하지 않고 일별 통계의 전체 수에만 반영
+     * 
+     * @param youtubeVideoId YouTube 비디오 ID
+     * @param filteredComments status=filtered로 저장할 댓글
+     * @param suggestionComments status=content_suggestion으로 저장할 댓글
+     * @param neutralCount 중립으로 판정된 댓글 수
+     * @return 저장된 댓글 개수
+     */
+    Integer insertCachedClassifications(String youtubeVideoId,
+                                        List<AgentFilteredCommentsRequest.CommentData> filteredComments,
+                                        List<AgentFilteredCommentsRequest.CommentData> suggestionComments,
+                                        int neutralCount);
+    
     /**
      * AI 프로파일링 결과를 DB에 저장
      * 
@@ -33,14 +63,18 @@ public interface AgentService {
     Integer insertChannelProfiling(AgentProfilingRequest request);
     
     /**
-     * 비디오별 필터링된 댓글 조회
+     * 비디오별 필터링된 댓글 조회 (커서 페이지네이션, 최신 저장순)
      * 
      * @param videoId 내부 비디오 ID
      * @param userId 사용자 ID (권한 체크용)
      * @param status 필터링 상태 (filtered, content_suggestion, normal) - null이면 전체
-     * @return 필터링된 댓글 목록
+     * @param category 탐지 카테고리 - null이면 전체
+     * @param cursor 이전 응답의 nextCursor - null이면 첫 페이지
+     * @param size 페이지 크기 - null이면 기본값, 최대 {@link FilteredCommentPage#MAX_SIZE}
+     * @return 필터링된 댓글 페이지
      */
-    List<FilteredCommentResponse> getFilteredCommentsByVideoId(Integer videoId, Integer userId, String status);
+    FilteredCommentPage getFilteredCommentsByVideoId(Integer videoId, Integer userId, String status,
+                                                     String category, String cursor, Integer size);
     
     /**
      * 비디오별 분석 요약 조회
@@ -52,23 +86,23 @@ public interface AgentService {
     AnalysisSummaryResponse getAnalysisSummaryByVideoId(Integer videoId, Integer userId);
     
     /**
-     * 채널별 필터링된 댓글 조회
+     * 채널별 필터링된 댓글 조회 (커서 페이지네이션, 파라미터는 비디오별 조회와 동일)
      * 
      * @param channelId 내부 채널 ID
      * @param userId 사용자 ID (권한 체크용)
-     * @param status 필터링 상태 (filtered, content_suggestion, normal) - null이면 전체
-     * @return 필터링된 댓글 목록
+     * @return 필터링된 댓글 페이지
      */
-    List<FilteredCommentResponse> getFilteredCommentsByChannelId(Integer channelId, Integer userId, String status);
+    FilteredCommentPage getFilteredCommentsByChannelId(Integer channelId, Integer userId, String status,
+                                                       String category, String cursor, Integer size);
     
     /**
-     * 사용자별 필터링된 댓글 조회
+     * 사용자별 필터링된 댓글 조회 (커서 페이지네이션, 파라미터는 비디오별 조회와 동일)
      * 
      * @param userId 사용자 ID
-     * @param status 필터링 상태 (filtered, content_suggestion, normal) - null이면 전체
-     * @return 필터링된 댓글 목록
+     * @return 필터링된 댓글 페이지
      */
-    List<FilteredCommentResponse> getFilteredCommentsByUserId(Integer userId, String status);
+    FilteredCommentPage getFilteredCommentsByUserId(Integer userId, String status,
+                                                    String category, String cursor, Integer size);
     
     /**
      * 날짜별 필터링된 댓글 통계 조회
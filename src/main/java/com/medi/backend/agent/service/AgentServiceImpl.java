@@ -1,41 +1,62 @@
 package com.medi.backend.agent.service;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.medi.backend.agent.dto.AgentFilteredCommentsRequest;
 import com.medi.backend.agent.dto.AgentProfilingRequest;
+import com.medi.backend.agent.dto.FilteredCommentCursor;
+import com.medi.backend.agent.dto.FilteredCommentPage;
 import com.medi.backend.agent.dto.FilteredCommentResponse;
 import com.medi.backend.agent.dto.AnalysisSummaryResponse;
 import com.medi.backend.agent.dto.FilteredCommentStatsResponse;
 import com.medi.backend.agent.dto.DateStat;
+import com.medi.backend.admin.service.PlatformStatsService;
 import com.medi.backend.agent.mapper.AgentMapper;
 import com.medi.backend.auth.service.EmailService;
 import com.medi.backend.filter.dto.EmailNotificationSettings;
 import com.medi.backend.filter.service.FilterPreferenceService;
 import com.medi.backend.user.mapper.UserMapper;
+import com.medi.backend.userdashboard.service.UserDashboardCacheService;
+import com.medi.backend.userdashboard.service.UserDashboardRollupService;
 import com.medi.backend.youtube.dto.YoutubeChannelDto;
 import com.medi.backend.youtube.mapper.ChannelMapper;
+import com.medi.backend.youtube.redis.service.CommentDeltaManifestService;
 
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 public class AgentServiceImpl implements AgentService {
 
+    private static final String DETECTION_SOURCE_AI = "AI_MODEL";
+    private static final String DETECTION_SOURCE_RULE = "USER_KEYWORD";  // 사용자 규칙(키워드/작성자) 매칭
+
     private final AgentMapper agentMapper;
     private final ObjectMapper objectMapper;
     private final EmailService emailService;
     private final FilterPreferenceService filterPreferenceService;
     private final ChannelMapper channelMapper;
     private final UserMapper userMapper;
+    private final UserDashboardRollupService dashboardRollupService;
+    private final UserDashboardCacheService dashboardCacheService;
+    private final PlatformStatsService platformStatsService;
+    private final CommentTrendBucketService commentTrendBucketService;
+    private final CommentClusterService commentClusterService;
+    private final ClassificationCacheService classificationCacheService;
+    private final CommentDeltaManifestService manifestService;
     
     public AgentServiceImpl(
             AgentMapper agentMapper, 
@@ -43,13 +64,27 @@ public class AgentServiceImpl implements AgentService {
             EmailService emailService,
             FilterPreferenceService filterPreferenceService,
             ChannelMapper channelMapper,
-            UserMapper userMapper) {
+            UserMapper userMapper,
+            UserDashboardRollupService dashboardRollupService,
+            UserDashboardCacheService dashboardCacheService,
+            PlatformStatsService platformStatsService,
+            CommentTrendBucketService commentTrendBucketService,
+            CommentClusterService commentClusterService,
+            ClassificationCacheService classificationCacheService,
+            CommentDeltaManifestService manifestService) {
         this.agentMapper = agentMapper;
         this.objectMapper = objectMapper;
         this.emailService = emailService;
         this.filterPreferenceService = filterPreferenceService;
         this.channelMapper = channelMapper;
         this.userMapper = userMapper;
+        this.dashboardRollupService = dashboardRollupService;
+        this.dashboardCacheService = dashboardCacheService;
+        this.platformStatsService = platformStatsService;
+        this.commentTrendBucketService = commentTrendBucketService;
+        this.commentClusterService = commentClusterService;
+        this.classificationCacheService = classificationCacheService;
+        this.manifestService = manifestService;
     }
 
     @Override
@@ -77,20 +112,56 @@ public class AgentServiceImpl implements AgentService {
             return 0;
         }
         
+        // 관리자 플랫폼 통계 / 댓글 추이 버킷용: 이번 요청에서 새로 생성된 행을 id / created_at으로 구분
+        long ingestStartId = platformStatsService.markIngestStartId();
+        LocalDateTime ingestStart = platformStatsService.markIngestStart();
+        
         // 3. filteredComments 처리 (status = "filtered")
+        // 유사 중복 클러스터의 대표이면 같은 판정을 멤버에도 적용 (CommentClusterService)
+        int clusteredFiltered = 0;
+        int clusteredSuggestions = 0;
         if (request.getFilteredComments() != null) {
             for (AgentFilteredCommentsRequest.CommentData comment : request.getFilteredComments()) {
-                savedCount += processComment(comment, internalVideoId, "filtered", request.getAnalysisTimestamp());
+                savedCount += processComment(comment, internalVideoId, "filtered", request.getAnalysisTimestamp(), DETECTION_SOURCE_AI);
+                int applied = applyToClusterMembers(comment, videoId, internalVideoId, "filtered", request.getAnalysisTimestamp());
+                savedCount += applied;
+                clusteredFiltered += applied;
             }
         }
         
         // 4. contentSuggestions 처리 (status = "content_suggestion")
         if (request.getContentSuggestions() != null) {
             for (AgentFilteredCommentsRequest.CommentData comment : request.getContentSuggestions()) {
-                savedCount += processComment(comment, internalVideoId, "content_suggestion", request.getAnalysisTimestamp());
+                savedCount += processComment(comment, internalVideoId, "content_suggestion", request.getAnalysisTimestamp(), DETECTION_SOURCE_AI);
+                int applied = applyToClusterMembers(comment, videoId, internalVideoId, "content_suggestion", request.getAnalysisTimestamp());
+                savedCount += applied;
+                clusteredSuggestions += applied;
             }
         }
         
+        // 같은 본문이 다시 들어오면 에이전트를 거치지 않도록 분류 캐시 채우기
+        classificationCacheService.learn(request);
+        
+        // 결과에 없는 대표(중립)의 클러스터 멤버는 대표 처리가 확인되면 중립으로 확정 (일별 통계 반영)
+        Set<String> reportedIds = request.getComments().stream()
+            .map(AgentFilteredCommentsRequest.CommentData::getCommentId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        commentClusterService.applyNeutralToUnreported(videoId, reportedIds);
+        
+        // 처리된 댓글을 대기 목록에서 제거 (남은 댓글만 다음 동기화 매니페스트로 이월)
+        try {
+            manifestService.removeProcessed(videoId);
+        } catch (Exception e) {
+            log.warn("대기 댓글 정리 실패: videoId={}, error={}", videoId, e.getMessage());
+        }
+        
+        // 4-1. 대시보드 집계 갱신 (같은 트랜잭션에서 채널의 당일 행만 재계산)
+        // youtube_comments.created_at은 저장 시각이므로 오늘 날짜 행만 영향받음
+        if (savedCount > 0) {
+            refreshAggregates(internalVideoId, ingestStartId, ingestStart);
+        }
+        
         // 5. 분석 요약 데이터 저장
         if (request.getSentimentStats() != null) {
             try {
@@ -111,8 +182,8 @@ public class AgentServiceImpl implements AgentService {
             
             try {
                 int neutralCount = safeInt(request.getSentimentStats().getNeutral());
-                int filteredCount = safeInt(request.getSentimentStats().getFiltered());
-                int suggestionCount = safeInt(request.getSentimentStats().getSuggestion());
+                int filteredCount = safeInt(request.getSentimentStats().getFiltered()) + clusteredFiltered;
+                int suggestionCount = safeInt(request.getSentimentStats().getSuggestion()) + clusteredSuggestions;
                 int totalProcessed = neutralCount + filteredCount + suggestionCount;
                 
                 if (totalProcessed > 0) {
@@ -315,7 +386,124 @@ public class AgentServiceImpl implements AgentService {
         }
     }
     
-    private int processComment(AgentFilteredCommentsRequest.CommentData comment, Integer videoId, String status, String analyzedAt) {
+    /**
+     * 댓글 동기화 트랜잭션과 분리 (저장 실패 시 동기화는 그대로 진행하고 댓글은 에이전트로 전달)
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Integer insertRuleFilteredComments(String youtubeVideoId,
+                                              List<AgentFilteredCommentsRequest.CommentData> blockedComments,
+                                              int allowedCount) {
+        int savedCount = saveLocalClassifications(youtubeVideoId, blockedComments, List.of(), allowedCount,
+            DETECTION_SOURCE_RULE);
+        log.info("✅ [규칙 필터] 로컬 분류 저장: videoId={}, 차단={}개(저장 {}개), 허용={}개",
+            youtubeVideoId, blockedComments.size(), savedCount, allowedCount);
+        return savedCount;
+    }
+    
+    /**
+     * 댓글 동기화 트랜잭션과 분리 (저장 실패 시 동기화는 그대로 진행하고 댓글은 에이전트로 전달)
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Integer insertCachedClassifications(String youtubeVideoId,
+                                               List<AgentFilteredCommentsRequest.CommentData> filteredComments,
+                                               List<AgentFilteredCommentsRequest.CommentData> suggestionComments,
+                                               int neutralCount) {
+        int savedCount = saveLocalClassifications(youtubeVideoId, filteredComments, suggestionComments, neutralCount,
+            DETECTION_SOURCE_AI);
+        log.info("✅ [분류 캐시] 로컬 분류 저장: videoId={}, 필터링={}개, 제안={}개, 중립={}개(저장 {}개)",
+            youtubeVideoId, filteredComments.size(), suggestionComments.size(), neutralCount, savedCount);
+        return savedCount;
+    }
+    
+    /**
+     * 에이전트를 거치지 않은 분류 결과 저장 + 집계/일별 통계/이메일 알림 반영
+     *
+     * @param unsavedCount 저장하지 않고 일별 통계의 전체 수에만 더할 댓글 수 (허용/중립)
+     */
+    private int saveLocalClassifications(String youtubeVideoId,
+                                         List<AgentFilteredCommentsRequest.CommentData> filteredComments,
+                                         List<AgentFilteredCommentsRequest.CommentData> suggestionComments,
+                                         int unsavedCount, String detectionSource) {
+        Integer internalVideoId = findVideoIdByYoutubeVideoId(youtubeVideoId);
+        if (internalVideoId == null) {
+            log.warn("Video not found: {}", youtubeVideoId);
+            return 0;
+        }
+        
+        long ingestStartId = platformStatsService.markIngestStartId();
+        LocalDateTime ingestStart = platformStatsService.markIngestStart();
+        int filteredSaved = 0;
+        int savedCount = 0;
+        for (AgentFilteredCommentsRequest.CommentData comment : filteredComments) {
+            filteredSaved += processComment(comment, internalVideoId, "filtered", null, detectionSource);
+        }
+        savedCount += filteredSaved;
+        for (AgentFilteredCommentsRequest.CommentData comment : suggestionComments) {
+            savedCount += processComment(comment, internalVideoId, "content_suggestion", null, detectionSource);
+        }
+        
+        if (savedCount > 0) {
+            refreshAggregates(internalVideoId, ingestStartId, ingestStart);
+        }
+        
+        // 에이전트를 거치지 않으므로 일별 통계(총/필터링 수)도 여기서 반영
+        int totalCount = filteredComments.size() + suggestionComments.size() + unsavedCount;
+        Integer internalChannelId = agentMapper.findChannelIdByVideoId(internalVideoId);
+        if (totalCount > 0 && internalChannelId != null) {
+            agentMapper.upsertDailyCommentStats(internalChannelId, internalVideoId, LocalDate.now(),
+                totalCount, filteredSaved);
+            if (filteredSaved > 0) {
+                try {
+                    checkAndSendEmailNotification(internalChannelId, null);
+                } catch (Exception emailEx) {
+                    log.error("이메일 알림 발송 실패 (로컬 분류 결과 저장은 성공): channelId={}", internalChannelId, emailEx);
+                }
+            }
+        }
+        return savedCount;
+    }
+    
+    /**
+     * 대표 댓글의 판정(status, reason)을 유사 중복 멤버에 적용
+     *
+     * @return 저장된 멤버 수
+     */
+    private int applyToClusterMembers(AgentFilteredCommentsRequest.CommentData representative, String youtubeVideoId,
+                                      Integer internalVideoId, String status, String analyzedAt) {
+        int savedCount = 0;
+        for (AgentFilteredCommentsRequest.CommentData member
+                : commentClusterService.takeMembers(youtubeVideoId, representative.getCommentId())) {
+            AgentFilteredCommentsRequest.CommentData judged = new AgentFilteredCommentsRequest.CommentData(
+                member.getCommentId(), member.getTextOriginal(), member.getAuthorName(),
+                member.getLikeCount(), member.getPublishedAt(), representative.getReason());
+            savedCount += processComment(judged, internalVideoId, status, analyzedAt, DETECTION_SOURCE_AI);
+        }
+        if (savedCount > 0) {
+            log.info("🧬 [중복 클러스터] 대표 판정 적용: videoId={}, representativeId={}, status={}, 멤버={}개",
+                youtubeVideoId, representative.getCommentId(), status, savedCount);
+        }
+        return savedCount;
+    }
+    
+    /**
+     * 새 분석 결과 저장 후 집계 갱신 (같은 트랜잭션)
+     * - youtube_comments.created_at은 저장 시각이므로 오늘 날짜 행만 영향받음
+     */
+    private void refreshAggregates(Integer internalVideoId, long ingestStartId, LocalDateTime ingestStart) {
+        Integer rollupChannelId = agentMapper.findChannelIdByVideoId(internalVideoId);
+        dashboardRollupService.refreshChannelDay(rollupChannelId, LocalDate.now());
+        // 대시보드 캐시 무효화 (커밋 이후 채널 소유자의 데이터 버전 증가)
+        dashboardCacheService.bumpVersionForChannel(rollupChannelId);
+        // 관리자 플랫폼 통계 카운터 증가
+        platformStatsService.recordIngestedFiltered(internalVideoId, ingestStartId);
+        // 댓글 추이 시간 버킷 갱신 (새 댓글이 들어간 시간 버킷만)
+        commentTrendBucketService.refreshCreatedSince(internalVideoId, ingestStart);
+    }
+    
+    private int processComment(AgentFilteredCommentsRequest.CommentData comment, Integer videoId, String status,
+                               String analyzedAt, String detectionSource) {
         try {
             // 1. youtube_comments 테이블에 기본 댓글 정보 저장 (INSERT or UPDATE)
             Integer insertResult = agentMapper.insertFilteredComment(
@@ -348,7 +536,8 @@ public class AgentServiceImpl implements AgentService {
                 commentId,
                 status,
                 comment.getReason(),
-                analyzedAt
+                analyzedAt,
+                detectionSource
             );
             
             if (analysisResult != null && analysisResult > 0) {
@@ -428,9 +617,14 @@ public class AgentServiceImpl implements AgentService {
     
     @Override
     @Transactional(readOnly = true)
-    public List<FilteredCommentResponse> getFilteredCommentsByVideoId(Integer videoId, Integer userId, String status) {
-        log.debug("비디오별 필터링된 댓글 조회: videoId={}, userId={}, status={}", videoId, userId, status);
-        return agentMapper.findFilteredCommentsByVideoId(videoId, userId, status);
+    public FilteredCommentPage getFilteredCommentsByVideoId(Integer videoId, Integer userId, String status,
+                                                            String category, String cursor, Integer size) {
+        log.debug("비디오별 필터링된 댓글 조회: videoId={}, userId={}, status={}, category={}, cursor={}, size={}",
+            videoId, userId, status, category, cursor, size);
+        FilteredCommentCursor after = FilteredCommentCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        return toPage(agentMapper.findFilteredCommentsByVideoId(videoId, userId, status, category,
+            after != null ? after.createdAt() : null, after != null ? after.id() : null, pageSize + 1), pageSize);
     }
     
     @Override
@@ -442,16 +636,53 @@ public class AgentServiceImpl implements AgentService {
     
     @Override
     @Transactional(readOnly = true)
-    public List<FilteredCommentResponse> getFilteredCommentsByChannelId(Integer channelId, Integer userId, String status) {
-        log.debug("채널별 필터링된 댓글 조회: channelId={}, userId={}, status={}", channelId, userId, status);
-        return agentMapper.findFilteredCommentsByChannelId(channelId, userId, status);
+    public FilteredCommentPage getFilteredCommentsByChannelId(Integer channelId, Integer userId, String status,
+                                                              String category, String cursor, Integer size) {
+        log.debug("채널별 필터링된 댓글 조회: channelId={}, userId={}, status={}, category={}, cursor={}, size={}",
+            channelId, userId, status, category, cursor, size);
+        FilteredCommentCursor after = FilteredCommentCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        return toPage(agentMapper.findFilteredCommentsByChannelId(channelId, userId, status, category,
+            after != null ? after.createdAt() : null, after != null ? after.id() : null, pageSize + 1), pageSize);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<FilteredCommentResponse> getFilteredCommentsByUserId(Integer userId, String status) {
-        log.debug("사용자별 필터링된 댓글 조회: userId={}, status={}", userId, status);
-        return agentMapper.findFilteredCommentsByUserId(userId, status);
+    public FilteredCommentPage getFilteredCommentsByUserId(Integer userId, String status,
+                                                           String category, String cursor, Integer size) {
+        log.debug("사용자별 필터링된 댓글 조회: userId={}, status={}, category={}, cursor={}, size={}",
+            userId, status, category, cursor, size);
+        FilteredCommentCursor after = FilteredCommentCursor.decode(cursor);
+        int pageSize = resolvePageSize(size);
+        return toPage(agentMapper.findFilteredCommentsByUserId(userId, status, category,
+            after != null ? after.createdAt() : null, after != null ? after.id() : null, pageSize + 1), pageSize);
+    }
+    
+    /**
+     * 페이지 크기 보정 (null → 기본값, 1 ~ MAX_SIZE)
+     */
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return FilteredCommentPage.DEFAULT_SIZE;
+        }
+        return Math.max(1, Math.min(size, FilteredCommentPage.MAX_SIZE));
+    }
+    
+    /**
+     * size + 1개 조회 결과 → 페이지 (초과분이 있으면 마지막 행 기준 nextCursor 발급)
+     */
+    private FilteredCommentPage toPage(List<FilteredCommentResponse> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<FilteredCommentResponse> comments = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext
+            ? FilteredCommentCursor.from(comments.get(comments.size() - 1)).encode()
+            : null;
+        return FilteredCommentPage.builder()
+            .comments(comments)
+            .nextCursor(nextCursor)
+            .hasNext(hasNext)
+            .size(pageSize)
+            .build();
     }
     
     @Override
@@ -472,8 +703,8 @@ public class AgentServiceImpl implements AgentService {
             periodType = "daily";
         }
         
-        // 날짜별 통계 조회
-        List<DateStat> stats = agentMapper.findFilteredCommentStatsByDate(
+        // 날짜별 통계 조회 (시간/일/월 버킷 테이블)
+        List<DateStat> stats = commentTrendBucketService.findStats(
             userId, videoId, channelId, periodType, startDate, endDate
         );
         
@@ -0,0 +1,354 @@
+package com.medi.backend.agent.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.medi.backend.agent.dto.AgentFilteredCommentsRequest;
+import com.medi.backend.filter.mapper.FilterMapper;
+import com.medi.backend.youtube.dto.YoutubeChannelDto;
+import com.medi.backend.youtube.mapper.ChannelMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 정규화 본문 해시 → AI 분류 결과 캐시 (영상 간 공유, 채널 정책 버전별)
+ *
+ * - 키: classification:channel:{channelId}:v{policyVersion}:{sha256(정규화 본문) 앞 16바이트}
+ *   정규화는 보수적으로 NFKC + 소문자 + 공백 정리만 적용 (전각/호환 문자, 대소문자, 띄어쓰기 차이만 같은 댓글로 취급)
+ *   - 필터용 KoreanTextNormalizer(구두점/반복/유사 문자 접기)는 뜻이 다른 댓글까지 합쳐 판정을 잘못 재사용하므로 쓰지 않음
+ * - 필터 설정 저장 시 정책 버전 증가 → 이전 버전 항목은 조회되지 않고 TTL로 만료
+ * - 짧은 댓글(정규화 후 MAX_CACHEABLE_LENGTH자 이하)만 대상 ("ㅋㅋㅋ", 이모지, 반복 스팸 링크 등)
+ *
+ * 채우기 (에이전트 결과 수신 시 learn):
+ * - 에이전트로 보낸 캐시 대상 댓글은 video:{id}:classification_pending에 해시와 함께 기록
+ * - filteredComments / contentSuggestions에 포함된 댓글 → 해당 status, reason으로 저장
+ * - 에이전트는 중립 댓글을 돌려주지 않으므로, video:{id}:processed에 들어간 뒤
+ *   다음 결과 수신 때까지도 보고되지 않은 댓글만 중립으로 저장 (2단계 확인, 분할 전송된 결과의 오판 방지)
+ *
+ * 조회/저장 실패는 캐시 미스로 취급 (에이전트로 전달)
+ */
+@Slf4j
+@Service
+public class ClassificationCacheService {
+
+    public static final String STATUS_FILTERED = "filtered";
+    public static final String STATUS_SUGGESTION = "content_suggestion";
+    public static final String STATUS_NEUTRAL = "neutral";
+
+    private static final int MAX_CACHEABLE_LENGTH = 100;
+    private static final Duration ENTRY_TTL = Duration.ofDays(7);
+    private static final Duration PENDING_TTL = Duration.ofDays(3);   // video:{id}:comments와 동일
+    private static final String SEEN_PREFIX = "~";                     // 처리됨 확인 1단계 표시
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+", Pattern.UNICODE_CHARACTER_CLASS);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final FilterMapper filterMapper;
+    private final ChannelMapper channelMapper;
+
+    private final Cache<String, Integer> channelIdByVideo = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .build();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public ClassificationCacheService(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper,
+                                      FilterMapper filterMapper, ChannelMapper channelMapper,
+                                      MeterRegistry meterRegistry) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+        this.filterMapper = filterMapper;
+        this.channelMapper = channelMapper;
+
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("comment.classification.cache.hit.ratio", this, ClassificationCacheService::hitRatio)
+            .description("분류 캐시 적중률 (기동 이후 누적)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 분류 결과 조회 (한 번의 MGET)
+     *
+     * @return 적중한 댓글 ID → 분류 결과
+     */
+    public Map<String, CachedVerdict> lookup(String youtubeVideoId, List<AgentFilteredCommentsRequest.CommentData> comments) {
+        if (comments == null || comments.isEmpty()) {
+            return Map.of();
+        }
+        try {
+            Integer channelId = resolveChannelId(youtubeVideoId);
+            if (channelId == null) {
+                return Map.of();
+            }
+            String prefix = entryPrefix(channelId);
+            MessageDigest digest = newDigest();
+
+            List<String> commentIds = new ArrayList<>();
+            List<String> keys = new ArrayList<>();
+            for (AgentFilteredCommentsRequest.CommentData comment : comments) {
+                String contentHash = contentHash(comment.getTextOriginal(), digest);
+                if (contentHash != null && comment.getCommentId() != null) {
+                    commentIds.add(comment.getCommentId());
+                    keys.add(prefix + contentHash);
+                }
+            }
+            if (keys.isEmpty()) {
+                return Map.of();
+            }
+
+            List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+            Map<String, CachedVerdict> hits = new HashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                String json = values != null ? values.get(i) : null;
+                if (json != null) {
+                    hits.put(commentIds.get(i), objectMapper.readValue(json, CachedVerdict.class));
+                }
+            }
+            hitCounter.increment(hits.size());
+            missCounter.increment(keys.size() - hits.size());
+            return hits;
+        } catch (Exception e) {
+            log.warn("⚠️ [분류 캐시] 조회 실패, 전체 에이전트 전달: videoId={}, error={}", youtubeVideoId, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * 에이전트로 보내는 캐시 대상 댓글 기록 (결과 수신 시 learn에서 사용)
+     */
+    public void markPending(String youtubeVideoId, List<AgentFilteredCommentsRequest.CommentData> comments) {
+        if (comments == null || comments.isEmpty()) {
+            return;
+        }
+        try {
+            MessageDigest digest = newDigest();
+            Map<String, String> fields = new HashMap<>();
+            for (AgentFilteredCommentsRequest.CommentData comment : comments) {
+                String contentHash = contentHash(comment.getTextOriginal(), digest);
+                if (contentHash != null && comment.getCommentId() != null) {
+                    fields.put(comment.getCommentId(), contentHash);
+                }
+            }
+            if (fields.isEmpty()) {
+                return;
+            }
+            String key = pendingKey(youtubeVideoId);
+            stringRedisTemplate.opsForHash().putAll(key, fields);
+            stringRedisTemplate.expire(key, PENDING_TTL);
+        } catch (Exception e) {
+            log.warn("⚠️ [분류 캐시] 대기 목록 기록 실패: videoId={}, error={}", youtubeVideoId, e.getMessage());
+        }
+    }
+
+    /**
+     * 에이전트 결과로 캐시 채우기
+     */
+    public void learn(AgentFilteredCommentsRequest request) {
+        String youtubeVideoId = request.getVideoId();
+        String pendingKey = pendingKey(youtubeVideoId);
+        try {
+            Map<Object, Object> pending = stringRedisTemplate.opsForHash().entries(pendingKey);
+            if (pending.isEmpty()) {
+                return;
+            }
+            Integer channelId = resolveChannelId(youtubeVideoId);
+            if (channelId == null) {
+                return;
+            }
+            String prefix = entryPrefix(channelId);
+
+            Map<String, CachedVerdict> learned = new HashMap<>();
+            Set<String> reported = new HashSet<>();
+            collectReported(request.getFilteredComments(), STATUS_FILTERED, pending, prefix, learned, reported);
+            collectReported(request.getContentSuggestions(), STATUS_SUGGESTION, pending, prefix, learned, reported);
+
+            // 중립 추정: 처리됨 표시가 두 번의 결과 수신에 걸쳐 유지된 댓글
+            List<Object> unreported = pending.keySet().stream()
+                .filter(commentId -> !reported.contains(commentId.toString()))
+                .toList();
+            Map<String, String> seen = new HashMap<>();
+            if (!unreported.isEmpty()) {
+                Map<Object, Boolean> processed = stringRedisTemplate.opsForSet()
+                    .isMember("video:" + youtubeVideoId + ":processed", unreported.toArray());
+                for (Object commentId : unreported) {
+                    if (processed == null || !Boolean.TRUE.equals(processed.get(commentId))) {
+                        continue;
+                    }
+                    String value = pending.get(commentId).toString();
+                    if (value.startsWith(SEEN_PREFIX)) {
+                        learned.put(prefix + value.substring(SEEN_PREFIX.length()), new CachedVerdict(STATUS_NEUTRAL, null));
+                        reported.add(commentId.toString());
+                    } else {
+                        seen.put(commentId.toString(), SEEN_PREFIX + value);
+                    }
+                }
+            }
+
+            for (Map.Entry<String, CachedVerdict> entry : learned.entrySet()) {
+                stringRedisTemplate.opsForValue().set(entry.getKey(), objectMapper.writeValueAsString(entry.getValue()), ENTRY_TTL);
+            }
+            if (!reported.isEmpty()) {
+                stringRedisTemplate.opsForHash().delete(pendingKey, reported.toArray());
+            }
+            if (!seen.isEmpty()) {
+                stringRedisTemplate.opsForHash().putAll(pendingKey, seen);
+            }
+            if (!learned.isEmpty()) {
+                log.debug("🗂️ [분류 캐시] 저장: videoId={}, channelId={}, 항목={}개", youtubeVideoId, channelId, learned.size());
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [분류 캐시] 결과 반영 실패: videoId={}, error={}", youtubeVideoId, e.getMessage());
+        }
+    }
+
+    /**
+     * 필터 정책 변경 시 캐시 버전 증가 (커밋 이후)
+     * - channelId가 null(전역 설정)이면 사용자의 모든 채널
+     */
+    public void bumpPolicyVersion(Integer userId, Integer channelId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementPolicyVersion(userId, channelId);
+                }
+            });
+        } else {
+            incrementPolicyVersion(userId, channelId);
+        }
+    }
+
+    private void incrementPolicyVersion(Integer userId, Integer channelId) {
+        try {
+            List<Integer> channelIds = channelId != null
+                ? List.of(channelId)
+                : channelMapper.getChannelsByUserId(userId).stream().map(YoutubeChannelDto::getId).toList();
+            for (Integer id : channelIds) {
+                stringRedisTemplate.opsForValue().increment(versionKey(id));
+            }
+            log.debug("🔄 [분류 캐시] 정책 버전 증가: userId={}, channelIds={}", userId, channelIds);
+        } catch (Exception e) {
+            log.warn("⚠️ [분류 캐시] 정책 버전 증가 실패: userId={}, channelId={}, error={}",
+                userId, channelId, e.getMessage());
+        }
+    }
+
+    private void collectReported(List<AgentFilteredCommentsRequest.CommentData> comments, String status,
+                                 Map<Object, Object> pending, String prefix,
+                                 Map<String, CachedVerdict> learned, Set<String> reported) {
+        if (comments == null) {
+            return;
+        }
+        for (AgentFilteredCommentsRequest.CommentData comment : comments) {
+            Object value = comment.getCommentId() != null ? pending.get(comment.getCommentId()) : null;
+            if (value == null) {
+                continue;
+            }
+            String contentHash = value.toString();
+            if (contentHash.startsWith(SEEN_PREFIX)) {
+                contentHash = contentHash.substring(SEEN_PREFIX.length());
+            }
+            learned.put(prefix + contentHash, new CachedVerdict(status, comment.getReason()));
+            reported.add(comment.getCommentId());
+        }
+    }
+
+    /**
+     * 캐시 대상이 아니면 null
+     */
+    private String contentHash(String text, MessageDigest digest) {
+        if (text == null) {
+            return null;
+        }
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT))
+            .replaceAll(" ")
+            .strip();
+        if (normalized.isEmpty() || normalized.length() > MAX_CACHEABLE_LENGTH) {
+            return null;
+        }
+        byte[] hash = digest.digest(normalized.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(hash, 0, 16);
+    }
+
+    private Integer resolveChannelId(String youtubeVideoId) {
+        if (youtubeVideoId == null || youtubeVideoId.isBlank()) {
+            return null;
+        }
+        Integer channelId = channelIdByVideo.getIfPresent(youtubeVideoId);
+        if (channelId == null) {
+            channelId = filterMapper.findChannelIdByYoutubeVideoId(youtubeVideoId);
+            if (channelId != null) {
+                channelIdByVideo.put(youtubeVideoId, channelId);
+            }
+        }
+        return channelId;
+    }
+
+    private String entryPrefix(Integer channelId) {
+        String version = stringRedisTemplate.opsForValue().get(versionKey(channelId));
+        return "classification:channel:" + channelId + ":v" + (version != null ? version : "0") + ":";
+    }
+
+    private String versionKey(Integer channelId) {
+        return "classification:channel:" + channelId + ":version";
+    }
+
+    private String pendingKey(String youtubeVideoId) {
+        return "video:" + youtubeVideoId + ":classification_pending";
+    }
+
+    private double hitRatio() {
+        double total = hitCounter.count() + missCounter.count();
+        return total == 0 ? 0 : hitCounter.count() / total;
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("comment.classification.cache.lookups")
+            .description("분류 캐시 조회 결과 (댓글 단위)")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 분류 결과
+     *
+     * @param status filtered / content_suggestion / neutral
+     * @param reason 에이전트 판정 사유 (중립은 null)
+     */
+    public record CachedVerdict(String status, String reason) {
+    }
+}
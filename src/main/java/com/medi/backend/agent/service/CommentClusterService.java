@@ -0,0 +1,483 @@
+package com.medi.backend.agent.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medi.backend.agent.dto.AgentFilteredCommentsRequest;
+import com.medi.backend.agent.mapper.AgentMapper;
+import com.medi.backend.filter.service.KoreanTextNormalizer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 유사 중복 댓글 클러스터링 (에이전트 전달 전)
+ *
+ * - 댓글 동기화 배치마다 영상 단위로 SimHash(64bit, 정규화 자모 3-gram)를 계산해 해밍 거리 MAX_HAMMING_DISTANCE 이하를 후보로 찾음
+ *   (후보 탐색은 밴드 LSH: 64bit를 8bit씩 나눠 같은 밴드 값을 가진 대표만 비교)
+ * - 후보는 본문이 실제로 같은지 확인한 뒤에만 흡수 (SimHash 거리만으로는 "긴 댓글 + 욕설 한 단어"도 4bit 차이)
+ *   · 정규화 본문이 같거나
+ *   · 3-gram Jaccard가 MIN_JACCARD 이상이고, 대표에 없는 단어가 사용자 규칙 키워드에 걸리지 않을 때
+ * - 정규화 결과가 짧은 댓글(MIN_SIMHASH_LENGTH 미만)은 완전히 같은 경우만 묶음
+ * - 클러스터마다 첫 댓글(대표)만 video:{id}:comments로 보내고, 나머지는 video:{id}:comment_clusters에 보관
+ * - 에이전트 결과 저장 시 대표의 판정(status, reason)을 멤버에 그대로 적용 (AgentServiceImpl.insertFilteredComment)
+ * - 에이전트가 돌려주지 않은 대표(중립)의 멤버는 대표가 처리된 것을 확인한 뒤 중립으로 확정 (applyNeutralToUnreported)
+ *   · 다음 결과 수신 때 또는 CONFIRM_DELAY 경과 후 (confirmQuietClusters, 조용해진 영상 대비)
+ *   · video:{id}:processed에 추가하고 daily_comment_stats 전체 수에 더함 → 중립 멤버도 에이전트로 다시 보내지 않음
+ *   → 중립/차단 모두 멤버가 한 번씩 집계됨
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentClusterService {
+
+    private static final int MAX_HAMMING_DISTANCE = 7;   // 후보 기준 (무관한 댓글은 평균 32, 확정은 confirm에서)
+    private static final double MIN_JACCARD = 0.95;      // 정규화 자모 3-gram 집합 기준
+    private static final int MIN_SIMHASH_LENGTH = 16;    // 정규화 자모 수 (약 5~6음절)
+    private static final int SHINGLE_SIZE = 3;
+    private static final int BANDS = 8;                  // 8bit × 8밴드: 거리 7 이하면 적어도 한 밴드 일치
+    private static final Duration CLUSTER_TTL = Duration.ofDays(3);  // video:{id}:comments와 동일
+    private static final String SEEN_PREFIX = "~";       // 미보고 대표 확인 1단계 표시: "~{epoch ms}~{멤버 JSON}"
+    private static final Duration CONFIRM_DELAY = Duration.ofMinutes(10);  // 다음 결과 없이 중립 확정까지 대기
+    private static final Duration PROCESSED_TTL = Duration.ofDays(30);     // video:{id}:processed와 동일
+    private static final String UNCONFIRMED_VIDEOS_KEY = "comment_clusters:unconfirmed";  // ZSet: videoId, score = 최초 표시 시각
+
+    private static final ThreadLocal<KoreanTextNormalizer.Buffer> TEXT_BUFFER =
+        ThreadLocal.withInitial(KoreanTextNormalizer.Buffer::new);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final AgentMapper agentMapper;
+
+    /**
+     * 새 댓글 배치에서 유사 중복을 묶고 멤버를 Redis에 보관
+     * - 보관에 실패하면 모든 댓글을 그대로 에이전트로 보냄 (fail-open)
+     *
+     * @param ruleMatcher 대표에 없는 단어가 규칙 키워드에 걸리는지 (null이면 검사 생략)
+     * @return 대표에 흡수되어 에이전트로 보내지 않을 댓글 ID
+     */
+    public Set<String> collapse(String youtubeVideoId, List<ClusterCandidate> candidates, Predicate<String> ruleMatcher) {
+        if (candidates == null || candidates.size() < 2) {
+            return Set.of();
+        }
+
+        Map<String, List<AgentFilteredCommentsRequest.CommentData>> membersByRepresentative = new LinkedHashMap<>();
+        Map<String, String> exactRepresentatives = new HashMap<>();          // 짧은 댓글: 정규화 문자열 → 대표 ID
+        List<Long> representativeHashes = new ArrayList<>();
+        List<ClusterCandidate> representatives = new ArrayList<>();
+        List<String> representativeTexts = new ArrayList<>();               // 정규화 본문
+        List<Map<Integer, List<Integer>>> bands = new ArrayList<>();
+        for (int b = 0; b < BANDS; b++) {
+            bands.add(new HashMap<>());
+        }
+
+        for (ClusterCandidate candidate : candidates) {
+            if (candidate.commentId() == null) {
+                continue;
+            }
+            KoreanTextNormalizer.Buffer normalized = TEXT_BUFFER.get();
+            KoreanTextNormalizer.normalize(candidate.text(), normalized);
+            if (normalized.length() == 0) {
+                continue;
+            }
+
+            String representativeId;
+            if (normalized.length() < MIN_SIMHASH_LENGTH) {
+                representativeId = exactRepresentatives.putIfAbsent(normalized.toString(), candidate.commentId());
+            } else {
+                long hash = simHash(normalized.chars(), normalized.length());
+                String text = normalized.toString();
+                representativeId = findRepresentative(candidate, text, hash, representativeHashes, representatives,
+                    representativeTexts, bands, ruleMatcher);
+                if (representativeId == null) {
+                    int index = representativeHashes.size();
+                    representativeHashes.add(hash);
+                    representatives.add(candidate);
+                    representativeTexts.add(text);
+                    for (int b = 0; b < BANDS; b++) {
+                        bands.get(b).computeIfAbsent(band(hash, b), key -> new ArrayList<>()).add(index);
+                    }
+                }
+            }
+
+            if (representativeId != null) {
+                membersByRepresentative.computeIfAbsent(representativeId, key -> new ArrayList<>())
+                    .add(candidate.member());
+            }
+        }
+
+        if (membersByRepresentative.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> absorbed = new HashSet<>();
+        try {
+            String key = buildClustersKey(youtubeVideoId);
+            Map<String, String> fields = new HashMap<>();
+            for (Map.Entry<String, List<AgentFilteredCommentsRequest.CommentData>> entry : membersByRepresentative.entrySet()) {
+                fields.put(entry.getKey(), objectMapper.writeValueAsString(entry.getValue()));
+                entry.getValue().forEach(member -> absorbed.add(member.getCommentId()));
+            }
+            stringRedisTemplate.opsForHash().putAll(key, fields);
+            stringRedisTemplate.expire(key, CLUSTER_TTL);
+        } catch (Exception e) {
+            log.warn("⚠️ [중복 클러스터] 멤버 보관 실패, 전체 댓글을 에이전트로 전달: videoId={}, error={}",
+                youtubeVideoId, e.getMessage());
+            return Set.of();
+        }
+
+        log.info("🧬 [중복 클러스터] videoId={}, 전체={}개, 클러스터={}개, 흡수={}개",
+            youtubeVideoId, candidates.size(), membersByRepresentative.size(), absorbed.size());
+        return absorbed;
+    }
+
+    /**
+     * 에이전트 결과에 없는 대표(중립)의 판정을 멤버에 적용
+     * - 에이전트는 중립 댓글을 돌려주지 않으므로, video:{id}:processed에 들어간 대표가
+     *   두 번의 결과 수신에 걸쳐 보고되지 않았을 때 중립으로 확정 (분할 전송된 결과의 오판 방지)
+     * - 다음 결과가 오지 않는 영상은 confirmQuietClusters()가 CONFIRM_DELAY 후 확정
+     *
+     * @param reportedIds 이번 결과의 filteredComments / contentSuggestions 댓글 ID
+     * @return 중립으로 확정한 멤버 수
+     */
+    public int applyNeutralToUnreported(String youtubeVideoId, Set<String> reportedIds) {
+        if (youtubeVideoId == null) {
+            return 0;
+        }
+        String key = buildClustersKey(youtubeVideoId);
+        try {
+            Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(key);
+            List<Object> unreported = entries.keySet().stream()
+                .filter(representativeId -> !reportedIds.contains(representativeId.toString()))
+                .toList();
+            if (unreported.isEmpty()) {
+                return 0;
+            }
+            Map<Object, Boolean> processed = stringRedisTemplate.opsForSet()
+                .isMember(buildProcessedKey(youtubeVideoId), unreported.toArray());
+
+            Map<Object, Object> confirmed = new HashMap<>();
+            Map<String, String> seen = new HashMap<>();
+            long now = System.currentTimeMillis();
+            for (Object representativeId : unreported) {
+                if (processed == null || !Boolean.TRUE.equals(processed.get(representativeId))) {
+                    continue;
+                }
+                String value = entries.get(representativeId).toString();
+                if (value.startsWith(SEEN_PREFIX)) {
+                    confirmed.put(representativeId, value);
+                } else {
+                    seen.put(representativeId.toString(), SEEN_PREFIX + now + SEEN_PREFIX + value);
+                }
+            }
+
+            if (!seen.isEmpty()) {
+                stringRedisTemplate.opsForHash().putAll(key, seen);
+                stringRedisTemplate.opsForZSet().addIfAbsent(UNCONFIRMED_VIDEOS_KEY, youtubeVideoId, now);
+            }
+            return applyNeutral(youtubeVideoId, confirmed);
+        } catch (Exception e) {
+            log.warn("⚠️ [중복 클러스터] 미보고 대표 중립 적용 실패: videoId={}, error={}", youtubeVideoId, e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * 미보고 대표 표시 후 CONFIRM_DELAY가 지나도록 다음 결과가 오지 않은 영상의 멤버를 중립으로 확정
+     * - 봇 댓글이 몰린 뒤 조용해진 영상은 새 필터링 작업(= 다음 결과)이 생기지 않으므로 시간 기준으로 확정
+     */
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000)
+    public void confirmQuietClusters() {
+        long cutoff = System.currentTimeMillis() - CONFIRM_DELAY.toMillis();
+        Set<String> videoIds = stringRedisTemplate.opsForZSet().rangeByScore(UNCONFIRMED_VIDEOS_KEY, 0, cutoff);
+        if (videoIds == null || videoIds.isEmpty()) {
+            return;
+        }
+        int confirmedMembers = 0;
+        for (String youtubeVideoId : videoIds) {
+            try {
+                // 먼저 제거 (처리 중 새로 표시된 대표는 addIfAbsent로 다시 등록됨)
+                stringRedisTemplate.opsForZSet().remove(UNCONFIRMED_VIDEOS_KEY, youtubeVideoId);
+                String key = buildClustersKey(youtubeVideoId);
+                Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(key);
+
+                Map<Object, Object> expired = new HashMap<>();
+                long oldestRemaining = Long.MAX_VALUE;
+                for (Map.Entry<Object, Object> entry : entries.entrySet()) {
+                    String value = entry.getValue().toString();
+                    if (!value.startsWith(SEEN_PREFIX)) {
+                        continue;
+                    }
+                    long seenAt = seenAt(value);
+                    if (seenAt <= cutoff) {
+                        expired.put(entry.getKey(), value);
+                    } else {
+                        oldestRemaining = Math.min(oldestRemaining, seenAt);
+                    }
+                }
+                if (!expired.isEmpty()) {
+                    // 표시 이후 수정 등으로 processed에서 빠진 대표는 다시 분석되므로 제외
+                    List<Object> representativeIds = new ArrayList<>(expired.keySet());
+                    Map<Object, Boolean> processed = stringRedisTemplate.opsForSet()
+                        .isMember(buildProcessedKey(youtubeVideoId), representativeIds.toArray());
+                    for (Object representativeId : representativeIds) {
+                        if (processed == null || !Boolean.TRUE.equals(processed.get(representativeId))) {
+                            expired.remove(representativeId);
+                        }
+                    }
+                    confirmedMembers += applyNeutral(youtubeVideoId, expired);
+                }
+                if (oldestRemaining != Long.MAX_VALUE) {
+                    stringRedisTemplate.opsForZSet().add(UNCONFIRMED_VIDEOS_KEY, youtubeVideoId, oldestRemaining);
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ [중복 클러스터] 미보고 대표 시간 확정 실패: videoId={}, error={}", youtubeVideoId, e.getMessage());
+            }
+        }
+        if (confirmedMembers > 0) {
+            log.info("🧬 [중복 클러스터] 결과가 더 오지 않은 영상의 멤버 중립 확정: 영상={}개, 멤버={}개",
+                videoIds.size(), confirmedMembers);
+        }
+    }
+
+    /**
+     * 확정된 대표의 멤버를 중립으로 반영
+     * - daily_comment_stats 전체 수에 더하고 video:{id}:processed에 추가, 클러스터 항목 삭제
+     * - 트랜잭션 안에서 호출되면 Redis 반영은 커밋 이후 (롤백 시 다음 확인 때 다시 적용)
+     */
+    private int applyNeutral(String youtubeVideoId, Map<Object, Object> confirmed) throws IOException {
+        if (confirmed.isEmpty()) {
+            return 0;
+        }
+        List<String> memberIds = new ArrayList<>();
+        for (Object value : confirmed.values()) {
+            for (AgentFilteredCommentsRequest.CommentData member : readMembers(value.toString())) {
+                if (member.getCommentId() != null) {
+                    memberIds.add(member.getCommentId());
+                }
+            }
+        }
+
+        if (!memberIds.isEmpty()) {
+            Integer internalVideoId = agentMapper.findVideoIdByYoutubeVideoId(youtubeVideoId);
+            Integer channelId = internalVideoId != null ? agentMapper.findChannelIdByVideoId(internalVideoId) : null;
+            if (channelId != null) {
+                agentMapper.upsertDailyCommentStats(channelId, internalVideoId, LocalDate.now(), memberIds.size(), 0);
+            } else {
+                log.warn("⚠️ [중복 클러스터] 일별 통계 반영 생략 (영상/채널 없음): videoId={}", youtubeVideoId);
+            }
+        }
+
+        String key = buildClustersKey(youtubeVideoId);
+        Object[] representativeIds = confirmed.keySet().toArray();
+        afterCommit(() -> {
+            if (!memberIds.isEmpty()) {
+                String processedKey = buildProcessedKey(youtubeVideoId);
+                stringRedisTemplate.opsForSet().add(processedKey, memberIds.toArray(new String[0]));
+                stringRedisTemplate.expire(processedKey, PROCESSED_TTL);
+            }
+            stringRedisTemplate.opsForHash().delete(key, representativeIds);
+        });
+        log.info("🧬 [중복 클러스터] 미보고 대표의 멤버 중립 확정: videoId={}, 대표={}개, 멤버={}개",
+            youtubeVideoId, representativeIds.length, memberIds.size());
+        return memberIds.size();
+    }
+
+    /**
+     * 대표 댓글의 클러스터 멤버 조회
+     * - 트랜잭션 안에서 호출되면 커밋 이후에 보관 항목을 삭제 (롤백 시 다음 결과 수신 때 재적용 가능)
+     */
+    public List<AgentFilteredCommentsRequest.CommentData> takeMembers(String youtubeVideoId, String representativeId) {
+        if (youtubeVideoId == null || representativeId == null) {
+            return List.of();
+        }
+        String key = buildClustersKey(youtubeVideoId);
+        try {
+            Object json = stringRedisTemplate.opsForHash().get(key, representativeId);
+            if (json == null) {
+                return List.of();
+            }
+            List<AgentFilteredCommentsRequest.CommentData> members = readMembers(json.toString());
+            release(key, representativeId);
+            return members;
+        } catch (Exception e) {
+            log.warn("⚠️ [중복 클러스터] 멤버 조회 실패: videoId={}, representativeId={}, error={}",
+                youtubeVideoId, representativeId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    private void release(String key, String representativeId) {
+        afterCommit(() -> stringRedisTemplate.opsForHash().delete(key, representativeId));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private List<AgentFilteredCommentsRequest.CommentData> readMembers(String value) throws IOException {
+        String json = value.startsWith(SEEN_PREFIX) ? value.substring(value.indexOf(SEEN_PREFIX, 1) + 1) : value;
+        return objectMapper.readValue(json, new TypeReference<List<AgentFilteredCommentsRequest.CommentData>>() {});
+    }
+
+    /**
+     * "~{표시 시각 epoch ms}~{멤버 JSON}"의 표시 시각
+     */
+    private static long seenAt(String value) {
+        return Long.parseLong(value.substring(SEEN_PREFIX.length(), value.indexOf(SEEN_PREFIX, 1)));
+    }
+
+    private String findRepresentative(ClusterCandidate candidate, String text, long hash,
+                                      List<Long> representativeHashes, List<ClusterCandidate> representatives,
+                                      List<String> representativeTexts, List<Map<Integer, List<Integer>>> bands,
+                                      Predicate<String> ruleMatcher) {
+        Set<Integer> checked = new HashSet<>();
+        for (int b = 0; b < BANDS; b++) {
+            List<Integer> candidates = bands.get(b).get(band(hash, b));
+            if (candidates == null) {
+                continue;
+            }
+            for (int index : candidates) {
+                if (checked.add(index)
+                        && Long.bitCount(hash ^ representativeHashes.get(index)) <= MAX_HAMMING_DISTANCE
+                        && confirm(representatives.get(index), representativeTexts.get(index), candidate, text, ruleMatcher)) {
+                    return representatives.get(index).commentId();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * SimHash 후보가 실제로 같은 본문인지 확인
+     */
+    private static boolean confirm(ClusterCandidate representative, String representativeText,
+                           ClusterCandidate candidate, String candidateText, Predicate<String> ruleMatcher) {
+        if (representativeText.equals(candidateText)) {
+            return true;
+        }
+        if (jaccard(shingles(representativeText), shingles(candidateText)) < MIN_JACCARD) {
+            return false;
+        }
+        if (ruleMatcher == null) {
+            return true;
+        }
+        String added = addedWords(representative.text(), candidate.text());
+        return added.isEmpty() || !ruleMatcher.test(added);
+    }
+
+    private static Set<Long> shingles(String text) {
+        Set<Long> shingles = new HashSet<>();
+        for (int i = 0; i + SHINGLE_SIZE <= text.length(); i++) {
+            shingles.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return shingles;
+    }
+
+    private static double jaccard(Set<Long> a, Set<Long> b) {
+        if (a.isEmpty() && b.isEmpty()) {
+            return 1.0;
+        }
+        int intersection = 0;
+        for (Long shingle : a) {
+            if (b.contains(shingle)) {
+                intersection++;
+            }
+        }
+        return (double) intersection / (a.size() + b.size() - intersection);
+    }
+
+    /**
+     * 후보 본문에만 있는 단어 (공백 기준, 정규화 비교)
+     */
+    private static String addedWords(String representativeText, String candidateText) {
+        Set<String> representativeWords = new HashSet<>();
+        for (String word : splitWords(representativeText)) {
+            representativeWords.add(KoreanTextNormalizer.normalize(word));
+        }
+        StringBuilder added = new StringBuilder();
+        for (String word : splitWords(candidateText)) {
+            if (!representativeWords.contains(KoreanTextNormalizer.normalize(word))) {
+                added.append(word).append(' ');
+            }
+        }
+        return added.toString().strip();
+    }
+
+    private static String[] splitWords(String text) {
+        return text == null ? new String[0] : text.strip().split("\\s+");
+    }
+
+    private static int band(long hash, int b) {
+        return (int) ((hash >>> (b * 8)) & 0xFF);
+    }
+
+    /**
+     * 자모 3-gram 가중치 동일 SimHash
+     */
+    private static long simHash(char[] text, int length) {
+        int[] weights = new int[64];
+        for (int i = 0; i + SHINGLE_SIZE <= length; i++) {
+            long h = 0xcbf29ce484222325L;                     // FNV-1a
+            for (int j = i; j < i + SHINGLE_SIZE; j++) {
+                h ^= text[j];
+                h *= 0x100000001b3L;
+            }
+            h ^= (h >>> 33);                                  // 하위 비트 분산 (fmix64)
+            h *= 0xff51afd7ed558ccdL;
+            h ^= (h >>> 33);
+            for (int bit = 0; bit < 64; bit++) {
+                weights[bit] += ((h >>> bit) & 1) == 1 ? 1 : -1;
+            }
+        }
+        long hash = 0;
+        for (int bit = 0; bit < 64; bit++) {
+            if (weights[bit] > 0) {
+                hash |= 1L << bit;
+            }
+        }
+        return hash;
+    }
+
+    private String buildClustersKey(String youtubeVideoId) {
+        return "video:" + youtubeVideoId + ":comment_clusters";
+    }
+
+    private String buildProcessedKey(String youtubeVideoId) {
+        return "video:" + youtubeVideoId + ":processed";
+    }
+
+    /**
+     * 클러스터링 대상 댓글
+     *
+     * @param member 멤버로 흡수될 때 보관할 댓글 정보 (대표 판정 적용 시 저장에 사용)
+     */
+    public record ClusterCandidate(String commentId, String text, AgentFilteredCommentsRequest.CommentData member) {
+    }
+}
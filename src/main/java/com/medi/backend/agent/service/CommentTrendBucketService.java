@@ -0,0 +1,219 @@
+package com.medi.backend.agent.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.medi.backend.agent.dto.CommentBucketKey;
+import com.medi.backend.agent.dto.DateStat;
+import com.medi.backend.agent.mapper.CommentTrendBucketMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 댓글 추이 시간 버킷 서비스
+ * - 갱신: 댓글 저장/삭제로 영향받은 (영상, 정시) 버킷만 시간별 → 일별 → 월별 순서로 재계산
+ * - 조회: 요청 범위를 만족하는 가장 큰 단위의 버킷 테이블을 선택
+ *   (1년 범위 월별/년별 조회는 월별 버킷 최대 12~13행, 일별 조회는 최대 366행)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentTrendBucketService {
+
+    private static final String SCOPE_VIDEO = "VIDEO";
+    private static final String SCOPE_CHANNEL = "CHANNEL";
+    private static final String SCOPE_USER = "USER";
+
+    private final CommentTrendBucketMapper bucketMapper;
+
+    /**
+     * Agent 결과 저장분 반영 (since 이후 생성된 댓글의 버킷)
+     */
+    @Transactional
+    public void refreshCreatedSince(Integer videoId, LocalDateTime since) {
+        if (videoId == null || since == null) {
+            return;
+        }
+        refreshBuckets(bucketMapper.findBucketKeysCreatedSince(videoId, since));
+    }
+
+    /**
+     * 삭제 요청(PENDING_DELETE 전환)으로 빠진 댓글들의 버킷 반영
+     */
+    @Transactional
+    public void refreshForDeletionRequest(String requestId) {
+        if (requestId == null) {
+            return;
+        }
+        refreshBuckets(bucketMapper.findBucketKeysByDeletionRequestId(requestId));
+    }
+
+    /**
+     * 단일 댓글 상태 변경 반영
+     */
+    @Transactional
+    public void refreshForComment(String youtubeCommentId) {
+        if (youtubeCommentId == null) {
+            return;
+        }
+        refreshBuckets(bucketMapper.findBucketKeysByYoutubeCommentId(youtubeCommentId));
+    }
+
+    /**
+     * 날짜별 댓글 추이 조회 (GET /api/agent/comments/stats)
+     *
+     * @param periodType hourly(6시간 단위) / daily / monthly / yearly
+     * @param startDate  hourly: "YYYY-MM-DDTHH:mm", 그 외: "YYYY-MM-DD" (선택)
+     * @param endDate    시작과 같은 형식, 해당 시각/날짜 포함 (선택)
+     */
+    @Transactional(readOnly = true)
+    public List<DateStat> findStats(Integer userId, Integer videoId, Integer channelId,
+                                    String periodType, String startDate, String endDate) {
+        boolean hourly = "hourly".equals(periodType);
+
+        LocalDateTime rangeStart = null;
+        LocalDateTime rangeEnd = null;
+        if (startDate != null && !startDate.isBlank()) {
+            LocalDateTime parsed = parseDateTime(startDate);
+            rangeStart = hourly ? parsed.truncatedTo(ChronoUnit.HOURS) : parsed.truncatedTo(ChronoUnit.DAYS);
+        }
+        if (endDate != null && !endDate.isBlank()) {
+            LocalDateTime parsed = parseDateTime(endDate);
+            rangeEnd = hourly
+                ? parsed.truncatedTo(ChronoUnit.HOURS).plusHours(1)
+                : parsed.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        }
+
+        String granularity = chooseGranularity(periodType, rangeStart, rangeEnd);
+
+        String scope;
+        Integer scopeId;
+        if (videoId != null) {
+            scope = SCOPE_VIDEO;
+            scopeId = videoId;
+        } else if (channelId != null) {
+            scope = SCOPE_CHANNEL;
+            scopeId = channelId;
+        } else {
+            scope = SCOPE_USER;
+            scopeId = userId;
+        }
+
+        log.debug("📈 [댓글 추이] 버킷 조회: scope={}, scopeId={}, periodType={}, granularity={}, range=[{}, {})",
+            scope, scopeId, periodType, granularity, rangeStart, rangeEnd);
+
+        return bucketMapper.findTrend(userId, scope, scopeId, channelId, granularity, periodType, rangeStart, rangeEnd);
+    }
+
+    /**
+     * 전체 재집계 (매일 오전 3시 45분, Asia/Seoul)
+     * - 증분 갱신 중 실패/누락된 부분을 원본(youtube_comments) 기준으로 보정
+     */
+    @Scheduled(cron = "0 45 3 * * *", zone = "Asia/Seoul")
+    @Transactional
+    public void reconcileAll() {
+        log.info("📈 [댓글 추이] 버킷 전체 재집계 시작");
+        long start = System.currentTimeMillis();
+
+        bucketMapper.deleteAllHourly();
+        int video = bucketMapper.rebuildAllVideoHourly();
+        int channel = bucketMapper.rebuildAllChannelHourly();
+        int user = bucketMapper.rebuildAllUserHourly();
+        bucketMapper.deleteAllDaily();
+        int daily = bucketMapper.rebuildAllDaily();
+        bucketMapper.deleteAllMonthly();
+        int monthly = bucketMapper.rebuildAllMonthly();
+
+        log.info("✅ [댓글 추이] 버킷 전체 재집계 완료: hourly(video={}, channel={}, user={}), daily={}, monthly={}, {}ms",
+            video, channel, user, daily, monthly, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 요청 범위를 정확히 표현할 수 있는 가장 큰 단위 선택
+     * - hourly: 시간별 버킷
+     * - daily: 일별 버킷
+     * - monthly / yearly: 범위 경계가 월 단위로 맞으면 월별 버킷, 아니면 일별 버킷
+     */
+    private String chooseGranularity(String periodType, LocalDateTime rangeStart, LocalDateTime rangeEnd) {
+        if ("hourly".equals(periodType)) {
+            return "hourly";
+        }
+        if ("monthly".equals(periodType) || "yearly".equals(periodType)) {
+            if (isMonthAligned(rangeStart) && isMonthAligned(rangeEnd)) {
+                return "monthly";
+            }
+        }
+        return "daily";
+    }
+
+    private boolean isMonthAligned(LocalDateTime boundary) {
+        return boundary == null || boundary.toLocalDate().getDayOfMonth() == 1;
+    }
+
+    private LocalDateTime parseDateTime(String value) {
+        try {
+            if (value.length() <= 10) {
+                return LocalDate.parse(value).atStartOfDay();
+            }
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("날짜 형식이 올바르지 않습니다: " + value);
+        }
+    }
+
+    private void refreshBuckets(List<CommentBucketKey> keys) {
+        if (keys == null || keys.isEmpty()) {
+            return;
+        }
+
+        Set<ScopeBucket> channelHours = new LinkedHashSet<>();
+        Set<ScopeBucket> userHours = new LinkedHashSet<>();
+        Set<ScopeBucket> days = new LinkedHashSet<>();
+
+        // 1. 영상 시간별 버킷 (원본 youtube_comments에서 재계산)
+        for (CommentBucketKey key : keys) {
+            LocalDateTime hour = key.getBucketStart();
+            bucketMapper.refreshVideoHour(key.getVideoId(), hour);
+            channelHours.add(new ScopeBucket(SCOPE_CHANNEL, key.getChannelId(), hour));
+            userHours.add(new ScopeBucket(SCOPE_USER, key.getUserId(), hour));
+            days.add(new ScopeBucket(SCOPE_VIDEO, key.getVideoId(), hour.truncatedTo(ChronoUnit.DAYS)));
+        }
+
+        // 2. 채널 → 사용자 시간별 버킷 (하위 버킷 합계)
+        for (ScopeBucket bucket : channelHours) {
+            bucketMapper.refreshChannelHour(bucket.scopeId(), bucket.start());
+            days.add(new ScopeBucket(SCOPE_CHANNEL, bucket.scopeId(), bucket.start().truncatedTo(ChronoUnit.DAYS)));
+        }
+        for (ScopeBucket bucket : userHours) {
+            bucketMapper.refreshUserHour(bucket.scopeId(), bucket.start());
+            days.add(new ScopeBucket(SCOPE_USER, bucket.scopeId(), bucket.start().truncatedTo(ChronoUnit.DAYS)));
+        }
+
+        // 3. 일별 → 월별 버킷
+        Set<ScopeBucket> months = new LinkedHashSet<>();
+        for (ScopeBucket day : days) {
+            LocalDate date = day.start().toLocalDate();
+            bucketMapper.refreshDay(day.scope(), day.scopeId(), date);
+            months.add(new ScopeBucket(day.scope(), day.scopeId(), date.withDayOfMonth(1).atStartOfDay()));
+        }
+        for (ScopeBucket month : months) {
+            bucketMapper.refreshMonth(month.scope(), month.scopeId(), month.start().toLocalDate());
+        }
+
+        log.debug("📈 [댓글 추이] 버킷 갱신: 영상 시간={}, 채널 시간={}, 사용자 시간={}, 일={}, 월={}",
+            keys.size(), channelHours.size(), userHours.size(), days.size(), months.size());
+    }
+
+    private record ScopeBucket(String scope, Integer scopeId, LocalDateTime start) {
+    }
+}
@@ -0,0 +1,202 @@
+package com.medi.backend.agent.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medi.backend.agent.dto.FilteredCommentCursor;
+import com.medi.backend.agent.dto.FilteredCommentResponse;
+import com.medi.backend.agent.mapper.AgentMapper;
+import com.medi.backend.youtube.dto.YoutubeChannelDto;
+import com.medi.backend.youtube.mapper.ChannelMapper;
+import com.medi.backend.youtube.mapper.VideoMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 필터링 댓글 내보내기 (CSV / NDJSON, 선택적 gzip)
+ * - (created_at DESC, id DESC) 키셋으로 PAGE_SIZE개씩 읽어 바로 응답 스트림에 쓰므로 힙 사용량은 행 수와 무관
+ * - 페이지마다 별도 쿼리라 DB 커넥션은 조회하는 동안만 사용 (느린 클라이언트에 쓰는 동안 커넥션을 잡고 있지 않음)
+ * - 사용자 전체 범위는 채널별로 나눠 각 채널 인덱스 순서대로 읽음 (전체 정렬용 임시 테이블 방지)
+ * - 권한 확인(canExport)은 응답 헤더 전에, 페이지 조회는 컨테이너가 본문을 쓸 때 실행
+ */
+@Slf4j
+@Service
+public class FilteredCommentExportService {
+
+    public static final String FORMAT_CSV = "csv";
+    public static final String FORMAT_NDJSON = "ndjson";
+
+    private static final int PAGE_SIZE = 1000;     // 페이지마다 flush
+
+    private static final String[] CSV_HEADER = {
+        "commentId", "youtubeCommentId", "videoId", "youtubeVideoId", "videoTitle",
+        "channelId", "youtubeChannelId", "channelName", "commenterName", "commentText",
+        "publishedAt", "likeCount", "createdAt", "status", "detectedCategory",
+        "harmfulnessLevel", "detectionSource", "reason", "analyzedAt"
+    };
+
+    private final AgentMapper agentMapper;
+    private final ChannelMapper channelMapper;
+    private final VideoMapper videoMapper;
+    private final ObjectMapper objectMapper;
+
+    public FilteredCommentExportService(AgentMapper agentMapper, ChannelMapper channelMapper,
+                                        VideoMapper videoMapper, ObjectMapper objectMapper) {
+        this.agentMapper = agentMapper;
+        this.channelMapper = channelMapper;
+        this.videoMapper = videoMapper;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 내보내기 형식 검증 (null이면 csv)
+     */
+    public String resolveFormat(String format) {
+        if (format == null || format.isBlank()) {
+            return FORMAT_CSV;
+        }
+        String normalized = format.trim().toLowerCase();
+        if (!FORMAT_CSV.equals(normalized) && !FORMAT_NDJSON.equals(normalized)) {
+            throw new IllegalArgumentException("지원하지 않는 내보내기 형식입니다: " + format);
+        }
+        return normalized;
+    }
+
+    /**
+     * 내보내기 대상 소유권 확인 (응답 헤더가 나가기 전에 판단)
+     */
+    public boolean canExport(Integer userId, Integer channelId, Integer videoId) {
+        if (videoId != null) {
+            return videoMapper.getVideoByIdAndUserId(videoId, userId) != null;
+        }
+        if (channelId != null) {
+            return channelMapper.getOneChannelByIdAndUserId(channelId, userId) != null;
+        }
+        return true;
+    }
+
+    /**
+     * 응답 본문 생성 - 실제 조회는 서블릿 컨테이너가 본문을 쓸 때 실행
+     */
+    public StreamingResponseBody export(Integer userId, Integer channelId, Integer videoId,
+                                        String status, String category, String format, boolean gzip) {
+        return out -> {
+            long start = System.currentTimeMillis();
+            long rows;
+            // 응답 스트림은 컨테이너가 닫으므로 감싸서 닫지 않고, gzip/writer는 오류가 나도 닫아 Deflater 해제
+            OutputStream body = StreamUtils.nonClosing(out);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                    gzip ? new GZIPOutputStream(body, 8192) : body, StandardCharsets.UTF_8), 64 * 1024)) {
+                if (FORMAT_CSV.equals(format)) {
+                    writer.write('\uFEFF');  // Excel에서 한글이 깨지지 않도록 UTF-8 BOM
+                    writeCsvRow(writer, CSV_HEADER);
+                }
+                rows = writeRows(writer, userId, channelId, videoId, status, category, format);
+            } catch (IOException e) {
+                // 클라이언트 연결 종료 등
+                log.warn("⚠️ [댓글 내보내기] 전송 중단: userId={}, channelId={}, videoId={}, error={}",
+                    userId, channelId, videoId, e.getMessage());
+                throw e;
+            }
+            out.flush();
+
+            log.info("📤 [댓글 내보내기] 완료: userId={}, channelId={}, videoId={}, format={}, gzip={}, rows={}, {}ms",
+                userId, channelId, videoId, format, gzip, rows, System.currentTimeMillis() - start);
+        };
+    }
+
+    private long writeRows(Writer writer, Integer userId, Integer channelId, Integer videoId,
+                           String status, String category, String format) throws IOException {
+        if (videoId != null || channelId != null) {
+            return writeScope(writer, userId, channelId, videoId, status, category, format);
+        }
+        long count = 0;
+        List<YoutubeChannelDto> channels = channelMapper.getChannelsByUserId(userId);
+        for (YoutubeChannelDto channel : channels) {
+            count += writeScope(writer, userId, channel.getId(), null, status, category, format);
+        }
+        return count;
+    }
+
+    /**
+     * 비디오 또는 채널 범위를 키셋 페이지로 끝까지 전송
+     */
+    private long writeScope(Writer writer, Integer userId, Integer channelId, Integer videoId,
+                            String status, String category, String format) throws IOException {
+        long count = 0;
+        FilteredCommentCursor after = null;
+        while (true) {
+            List<FilteredCommentResponse> page = agentMapper.findFilteredCommentsForExport(
+                userId, channelId, videoId, status, category,
+                after != null ? after.createdAt() : null, after != null ? after.id() : null, PAGE_SIZE);
+            for (FilteredCommentResponse row : page) {
+                if (FORMAT_NDJSON.equals(format)) {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                } else {
+                    writeCsvRow(writer, toCsvValues(row));
+                }
+            }
+            count += page.size();
+            writer.flush();
+            if (page.size() < PAGE_SIZE) {
+                return count;
+            }
+            after = FilteredCommentCursor.from(page.get(page.size() - 1));
+        }
+    }
+
+    private String[] toCsvValues(FilteredCommentResponse row) {
+        return new String[] {
+            str(row.getCommentId()), row.getYoutubeCommentId(), str(row.getVideoId()), row.getYoutubeVideoId(),
+            row.getVideoTitle(), str(row.getChannelId()), row.getYoutubeChannelId(), row.getChannelName(),
+            row.getCommenterName(), row.getCommentText(), str(row.getPublishedAt()), str(row.getLikeCount()),
+            str(row.getCreatedAt()), row.getStatus(), row.getDetectedCategory(), row.getHarmfulnessLevel(),
+            row.getDetectionSource(), row.getReason(), str(row.getAnalyzedAt())
+        };
+    }
+
+    private void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * RFC 4180 이스케이프 + 스프레드시트 수식 주입 방지 (=, +, -, @ 로 시작하는 값 앞에 ')
+     */
+    private String escapeCsv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String escaped = value;
+        char first = escaped.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            escaped = "'" + escaped;
+        }
+        if (escaped.indexOf(',') >= 0 || escaped.indexOf('"') >= 0
+                || escaped.indexOf('\n') >= 0 || escaped.indexOf('\r') >= 0) {
+            escaped = "\"" + escaped.replace("\"", "\"\"") + "\"";
+        }
+        return escaped;
+    }
+
+    private String str(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.medi.backend.auth.service;
 
 
+import com.medi.backend.admin.service.PlatformStatsService;
 import com.medi.backend.auth.dto.EmailVerification;
 import com.medi.backend.auth.dto.LoginRequest;
 import com.medi.backend.auth.dto.LoginResponse;
@@ -48,6 +49,9 @@ public class AuthServiceImpl implements AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;  // Spring Security 인증 매니저
     
+    @Autowired
+    private PlatformStatsService platformStatsService;  // 관리자 플랫폼 통계 카운터
+    
     private static final String CHARACTERS = "0123456789";  // 인증 코드 문자 (숫자만)
     private static final int CODE_LENGTH = 6;               // 인증 코드 길이 (6자리)
     private static final int EXPIRATION_MINUTES = 5;        // 만료 시간 (5분)
@@ -124,6 +128,7 @@ public class AuthServiceImpl implements AuthService {
         
         // 3. DB에 사용자 정보 저장
         userMapper.insertUser(user);
+        platformStatsService.recordSignup();
         
         // 4. 저장된 사용자 정보 반환 (id 포함)
         return user;
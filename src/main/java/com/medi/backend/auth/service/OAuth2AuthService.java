@@ -1,5 +1,6 @@
 package com.medi.backend.auth.service;
 
+import com.medi.backend.admin.service.PlatformStatsService;
 import com.medi.backend.auth.dto.OAuth2UserInfo;
 import com.medi.backend.user.dto.UserDTO;
 import com.medi.backend.user.mapper.UserMapper;
@@ -18,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class OAuth2AuthService {
     
     private final UserMapper userMapper;
+    private final PlatformStatsService platformStatsService;
     
     /**
      * OAuth2 사용자 처리 (회원가입 또는 로그인)
@@ -74,6 +76,7 @@ public class OAuth2AuthService {
         log.info("[OAuth2][DEBUG] insertOAuth2User result={}, user={}", result, newUser); // TODO: remove after debugging
         
         if (result > 0) {
+            platformStatsService.recordSignup();
             log.info("Google OAuth2 회원가입 완료: email={}, userId={}", 
                     newUser.getEmail(), newUser.getId());
             return newUser;
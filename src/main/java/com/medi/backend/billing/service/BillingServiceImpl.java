@@ -3,10 +3,14 @@ package com.medi.backend.billing.service;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.medi.backend.admin.service.PlatformStatsService;
 import com.medi.backend.billing.dto.PaymentMethodDto;
 import com.medi.backend.billing.dto.SubscriptionPlanDto;
 import com.medi.backend.billing.dto.UserSubscriptionDto;
@@ -17,38 +21,51 @@ import com.medi.backend.billing.mapper.BillingMapper;
 public class BillingServiceImpl implements BillingService{
 
     private final BillingMapper billingMapper;
+    private final PlatformStatsService platformStatsService;
 
-    public BillingServiceImpl(BillingMapper billingMapper){
+    public BillingServiceImpl(BillingMapper billingMapper, PlatformStatsService platformStatsService){
         this.billingMapper = billingMapper;
+        this.platformStatsService = platformStatsService;
     }
 
     // SubscriptionPlanDto.java
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "subscriptionPlans", key = "'all'")
     public List<SubscriptionPlanDto> getAllPlans() {
         return billingMapper.getAllPlans();
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = "subscriptionPlan", key = "#id", unless = "#result == null")
     public SubscriptionPlanDto getOnePlanById(int id) {
         return billingMapper.getOnePlanById(id);
     }
 
     @Override
     @Transactional
+    @CacheEvict(value = "subscriptionPlans", allEntries = true)
     public int createPlan(SubscriptionPlanDto subscriptionPlanDto) {
         return billingMapper.createPlan(subscriptionPlanDto);
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+        @CacheEvict(value = "subscriptionPlans", allEntries = true),
+        @CacheEvict(value = "subscriptionPlan", key = "#subscriptionPlanDto.id")
+    })
     public int updatePlan(SubscriptionPlanDto subscriptionPlanDto) {
         return billingMapper.updatePlan(subscriptionPlanDto) ;
     }
 
     @Override
     @Transactional
+    @Caching(evict = {
+        @CacheEvict(value = "subscriptionPlans", allEntries = true),
+        @CacheEvict(value = "subscriptionPlan", key = "#id")
+    })
     public int deletePlanById(int id) {
         return billingMapper.deletePlanById(id);
     }
@@ -138,6 +155,9 @@ public class BillingServiceImpl implements BillingService{
 
         try {
             int result = billingMapper.createUserSubscription(userSubscriptionDto);
+            if (result > 0) {
+                platformStatsService.recordSubscriptionStarted(planId);
+            }
             return result; // 1: success
 
         } catch (DuplicateKeyException e) {
@@ -151,7 +171,14 @@ public class BillingServiceImpl implements BillingService{
     @Override
     @Transactional
     public int cancelSubscriptionByIdAndUserId(int subscriptionId, int userId) {
-        return billingMapper.cancelSubscriptionByIdAndUserId(subscriptionId, userId);
+        // plan id for the admin counters (only an ACTIVE subscription can be cancelled)
+        UserSubscriptionDto activeSubscription = billingMapper.getActiveSubscriptionByUserId(userId);
+
+        int updateCount = billingMapper.cancelSubscriptionByIdAndUserId(subscriptionId, userId);
+        if (updateCount > 0 && activeSubscription != null && activeSubscription.getId() == subscriptionId) {
+            platformStatsService.recordSubscriptionEnded(activeSubscription.getPlanId());
+        }
+        return updateCount;
     }
    
 
@@ -179,6 +206,7 @@ public class BillingServiceImpl implements BillingService{
         newSubscriptionDto.setEndDate(now.plusDays(30)); 
         
         billingMapper.createUserSubscription(newSubscriptionDto);
+        platformStatsService.recordPlanChanged(userSubscriptionDto.getPlanId(), planId);
         return 1;
     }
 
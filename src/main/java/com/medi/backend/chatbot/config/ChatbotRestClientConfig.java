@@ -1,25 +1,110 @@
 package com.medi.backend.chatbot.config;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.ManagedHttpClientConnectionFactory;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.io.ManagedHttpClientConnection;
+import org.apache.hc.core5.http.io.HttpConnectionFactory;
+import org.apache.hc.core5.http.io.SocketConfig;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import com.medi.backend.chatbot.service.ChatbotBackendGuard;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * 챗봇용 RestClient 설정
  */
 @Configuration
 public class ChatbotRestClientConfig {
-    
+
+    /**
+     * 일반 chat 경로용 RestClient (Apache HttpClient 커넥션 풀)
+     * - keep-alive 커넥션 재사용 (요청마다 TCP 연결을 새로 맺지 않음)
+     * - 풀 크기 = bulkhead 동시 호출 상한 (ChatbotBackendGuard)
+     *
+     * 메트릭: chatbot.http.requests / chatbot.http.connections.created (재사용률 = 1 - created/requests),
+     *        chatbot.http.pool.leased / available / pending
+     */
     @Bean
-    public RestClient restClient() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);      // 연결 타임아웃 5초
-        factory.setReadTimeout(600000);       // 읽기 타임아웃 10분 (긴 LLM 응답 대비)
-        
+    public RestClient restClient(MeterRegistry meterRegistry, ChatbotBackendGuard chatbotBackendGuard) {
+        Counter requests = Counter.builder("chatbot.http.requests")
+            .description("챗봇 백엔드 HTTP 요청 수")
+            .register(meterRegistry);
+        Counter connectionsCreated = Counter.builder("chatbot.http.connections.created")
+            .description("챗봇 백엔드 신규 TCP 연결 수")
+            .register(meterRegistry);
+
+        HttpConnectionFactory<ManagedHttpClientConnection> countingConnectionFactory = socket -> {
+            connectionsCreated.increment();
+            return ManagedHttpClientConnectionFactory.INSTANCE.createConnection(socket);
+        };
+
+        int poolSize = chatbotBackendGuard.getMaxConcurrent();
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+            .setConnectionFactory(countingConnectionFactory)
+            .setMaxConnTotal(poolSize)
+            .setMaxConnPerRoute(poolSize)               // 대상은 chatbot.api-url 하나
+            .setDefaultConnectionConfig(ConnectionConfig.custom()
+                .setConnectTimeout(Timeout.ofSeconds(5))            // 연결 타임아웃 5초
+                .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                .setTimeToLive(TimeValue.ofMinutes(5))
+                .build())
+            .setDefaultSocketConfig(SocketConfig.custom()
+                .setSoTimeout(Timeout.ofMinutes(10))                // 읽기 타임아웃 10분 (긴 LLM 응답 대비)
+                .build())
+            .build();
+
+        Gauge.builder("chatbot.http.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+            .register(meterRegistry);
+        Gauge.builder("chatbot.http.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+            .register(meterRegistry);
+        Gauge.builder("chatbot.http.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+            .register(meterRegistry);
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofSeconds(1))  // bulkhead가 먼저 막으므로 풀 대기는 짧게
+                .setResponseTimeout(Timeout.ofMinutes(10))
+                .build())
+            .addRequestInterceptorFirst((request, entity, context) -> requests.increment())
+            .evictIdleConnections(TimeValue.ofSeconds(30))
+            .evictExpiredConnections()
+            .build();
+
         return RestClient.builder()
-            .requestFactory(factory)
+            .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
             .build();
     }
-}
 
+    /**
+     * 챗봇 스트리밍용 JDK HttpClient (논블로킹)
+     * - 연결은 HttpClient 내부 풀에서 keep-alive로 재사용
+     * - 응답 처리 콜백은 chatbotStreamExecutor에서 실행 (스트림당 스레드를 점유하지 않음)
+     */
+    @Bean(name = "chatbotHttpClient")
+    public HttpClient chatbotHttpClient(@Qualifier("chatbotStreamExecutor") Executor chatbotStreamExecutor) {
+        return HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)       // FastAPI(uvicorn)는 h2c 미지원
+            .connectTimeout(Duration.ofSeconds(5))      // 연결 타임아웃 5초
+            .executor(chatbotStreamExecutor)
+            .build();
+    }
+}
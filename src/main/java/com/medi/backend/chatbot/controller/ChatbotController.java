@@ -12,6 +12,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -112,8 +114,8 @@ public class ChatbotController {
     /**
      * 챗봇 메시지 전송 및 응답 받기
      * 
-     * @param request 챗봇 요청 (channelId, message, conversationHistory)
-     * @return 챗봇 응답
+     * @param request 챗봇 요청 (channelId, message, conversationId 또는 conversationHistory)
+     * @return 챗봇 응답 (conversation_id 포함)
      */
     @PreAuthorize("isAuthenticated()")
     @PostMapping("/chat")
@@ -147,7 +149,7 @@ public class ChatbotController {
             request.getMessage() != null ? request.getMessage().length() : 0);
         
         // Service 호출 (FastAPI로 전달)
-        ChatbotResponse response = chatbotService.chat(request);
+        ChatbotResponse response = chatbotService.chat(userId, request);
         
         // 응답 그대로 반환
         return ResponseEntity.ok(response);
@@ -156,8 +158,8 @@ public class ChatbotController {
     /**
      * 챗봇 메시지 전송 및 스트리밍 응답 받기 (SSE)
      * 
-     * @param request 챗봇 요청 (channelId, message, conversationHistory)
-     * @return SSE Emitter
+     * @param request 챗봇 요청 (channelId, message, conversationId 또는 conversationHistory)
+     * @return SSE Emitter (첫 이벤트로 conversation_id 전송)
      */
     @PreAuthorize("isAuthenticated()")
     @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
@@ -196,7 +198,23 @@ public class ChatbotController {
             request.getMessage() != null ? request.getMessage().length() : 0);
         
         // Service 호출 (FastAPI 스트리밍으로 전달)
-        return chatbotService.streamChat(request);
+        return chatbotService.streamChat(userId, request);
+    }
+    
+    /**
+     * 서버 저장 대화 기록 삭제 (새 대화 시작)
+     * 
+     * @param conversationId 대화 ID
+     */
+    @PreAuthorize("isAuthenticated()")
+    @DeleteMapping("/conversations/{conversationId}")
+    public ResponseEntity<Void> clearConversation(@PathVariable String conversationId) {
+        Integer userId = authUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        
+        chatbotService.clearConversation(userId, conversationId);
+        return ResponseEntity.noContent().build();
     }
 }
-
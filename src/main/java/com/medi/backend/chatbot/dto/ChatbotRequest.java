@@ -10,6 +10,7 @@ import java.util.List;
  * 챗봇 요청 DTO
  * - channelId: YouTube 채널 ID (String, 예: "UCxxxxxxxxxxxxxxxxxxxxxxxxxxxxx")
  * - FastAPI와 통신 시 snake_case로 변환됨
+ * - conversationId: 서버 저장 대화 ID (클라이언트는 새 메시지만 전송)
  */
 @Data
 @NoArgsConstructor
@@ -26,7 +27,23 @@ public class ChatbotRequest {
     @JsonProperty("message")
     private String message;
     
+    /**
+     * 이전 대화 기록
+     * conversation_id를 사용하면 비워서 보내고, 서버가 저장된 최근 대화로 채움
+     * (conversation_id 없이 기록을 직접 보내는 기존 방식도 그대로 지원)
+     */
     @JsonProperty("conversation_history")
     private List<Message> conversationHistory;
+    
+    /**
+     * 서버 저장 대화 ID (ChatHistoryService)
+     * null이면 새 대화로 시작하고, 발급된 ID를 응답의 conversation_id로 반환
+     */
+    @JsonProperty("conversation_id")
+    private String conversationId;
+    
+    public ChatbotRequest(String channelId, String message, List<Message> conversationHistory) {
+        this(channelId, message, conversationHistory, null);
+    }
 }
 
@@ -26,5 +26,15 @@ public class ChatbotResponse {
     
     @JsonProperty("success")
     private Boolean success;
+    
+    /**
+     * 서버 저장 대화 ID (다음 요청에 그대로 전달)
+     */
+    @JsonProperty("conversation_id")
+    private String conversationId;
+    
+    public ChatbotResponse(String response, String channelId, List<String> toolsUsed, Boolean success) {
+        this(response, channelId, toolsUsed, success, null);
+    }
 }
 
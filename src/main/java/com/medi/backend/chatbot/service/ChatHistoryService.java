@@ -0,0 +1,106 @@
+package com.medi.backend.chatbot.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medi.backend.chatbot.dto.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 챗봇 대화 기록 저장소 (Redis DB 0)
+ *
+ * - 키: chatbot:conversation:{userId}:{conversationId} (List, 원소는 Message JSON)
+ * - 최근 MAX_MESSAGES개만 유지 (LTRIM) → FastAPI에 보내는 문맥 크기가 대화 길이와 무관하게 일정
+ * - TTL: 마지막 대화 후 24시간
+ *
+ * 클라이언트는 conversation_id와 새 메시지만 보내고, 이전 대화는 서버가 채워서 챗봇에 전달합니다.
+ * 키에 userId가 포함되므로 다른 사용자의 conversation_id로는 기록을 읽을 수 없습니다.
+ */
+@Slf4j
+@Service
+public class ChatHistoryService {
+
+    private static final String KEY_PREFIX = "chatbot:conversation:";
+    private static final int MAX_MESSAGES = 20;  // 최근 10턴 (user + assistant)
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final Pattern CONVERSATION_ID_PATTERN = Pattern.compile("[A-Za-z0-9-]{1,64}");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ChatHistoryService(StringRedisTemplate stringRedisTemplate, ObjectMapper objectMapper) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 요청의 conversation_id 확인 (없거나 형식이 잘못되면 새 대화 ID 발급)
+     */
+    public String resolveConversationId(String conversationId) {
+        if (conversationId != null && CONVERSATION_ID_PATTERN.matcher(conversationId).matches()) {
+            return conversationId;
+        }
+        if (conversationId != null && !conversationId.isBlank()) {
+            log.warn("⚠️ [챗봇 대화 기록] 잘못된 conversationId, 새 대화로 시작: {}", conversationId);
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * 최근 대화 기록 (오래된 순)
+     */
+    public List<Message> loadWindow(Integer userId, String conversationId) {
+        List<Message> messages = new ArrayList<>();
+        try {
+            List<String> values = stringRedisTemplate.opsForList().range(key(userId, conversationId), -MAX_MESSAGES, -1);
+            if (values == null) {
+                return messages;
+            }
+            for (String value : values) {
+                messages.add(objectMapper.readValue(value, Message.class));
+            }
+        } catch (Exception e) {
+            // 기록을 못 읽어도 대화는 계속 (문맥 없이 전달)
+            log.warn("⚠️ [챗봇 대화 기록] 조회 실패: userId={}, conversationId={}, error={}",
+                userId, conversationId, e.getMessage());
+        }
+        return messages;
+    }
+
+    /**
+     * 한 턴(사용자 메시지 + 챗봇 응답) 추가
+     */
+    public void appendTurn(Integer userId, String conversationId, String userMessage, String assistantMessage) {
+        try {
+            String key = key(userId, conversationId);
+            stringRedisTemplate.opsForList().rightPushAll(key,
+                objectMapper.writeValueAsString(new Message("user", userMessage)),
+                objectMapper.writeValueAsString(new Message("assistant", assistantMessage)));
+            stringRedisTemplate.opsForList().trim(key, -MAX_MESSAGES, -1);
+            stringRedisTemplate.expire(key, TTL);
+        } catch (JsonProcessingException e) {
+            log.error("❌ [챗봇 대화 기록] 직렬화 실패: userId={}, conversationId={}", userId, conversationId, e);
+        } catch (Exception e) {
+            log.warn("⚠️ [챗봇 대화 기록] 저장 실패: userId={}, conversationId={}, error={}",
+                userId, conversationId, e.getMessage());
+        }
+    }
+
+    /**
+     * 대화 기록 삭제
+     */
+    public void clear(Integer userId, String conversationId) {
+        stringRedisTemplate.delete(key(userId, conversationId));
+    }
+
+    private String key(Integer userId, String conversationId) {
+        return KEY_PREFIX + userId + ":" + conversationId;
+    }
+}
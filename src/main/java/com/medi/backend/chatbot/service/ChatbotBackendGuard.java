@@ -0,0 +1,207 @@
+package com.medi.backend.chatbot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 챗봇 백엔드(chatbot.api-url) 호출 보호 (일반 chat 경로)
+ *
+ * - Bulkhead: 동시 호출 수 상한 (초과 시 대기하지 않고 즉시 거절 → Tomcat 스레드가 느린 챗봇에 묶이지 않음)
+ * - Circuit Breaker: 최근 WINDOW_SIZE건 중 실패율이 FAILURE_RATE_THRESHOLD 이상이면 OPEN_DURATION_MS 동안 즉시 거절,
+ *   이후 시험 호출 1건(HALF_OPEN)이 성공하면 복구
+ *   (상태는 허용 시 받은 Admission.TRIAL 호출의 결과로만 바뀜, OPEN 전에 시작해 늦게 끝난 호출은 메트릭만 집계)
+ *
+ * 메트릭: chatbot.client.calls{outcome}, chatbot.client.circuit.state, chatbot.client.bulkhead.available
+ */
+@Slf4j
+@Component
+public class ChatbotBackendGuard {
+
+    private static final int WINDOW_SIZE = 20;
+    private static final int MIN_CALLS = 10;                 // 이 건수 미만이면 실패율 판단 안 함
+    private static final double FAILURE_RATE_THRESHOLD = 0.5;
+    private static final long OPEN_DURATION_MS = 30_000;
+
+    private enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private enum Admission { REJECTED, NORMAL, TRIAL }
+
+    private final Semaphore bulkhead;
+    private final int maxConcurrent;
+    private final LongSupplier clock;
+
+    // 원형 버퍼 (true = 실패), this로 동기화
+    private final boolean[] window = new boolean[WINDOW_SIZE];
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter bulkheadRejectedCounter;
+    private final Counter circuitRejectedCounter;
+
+    @Autowired
+    public ChatbotBackendGuard(MeterRegistry meterRegistry,
+                               @Value("${chatbot.client.max-concurrent:20}") int maxConcurrent) {
+        this(meterRegistry, maxConcurrent, System::currentTimeMillis);
+    }
+
+    ChatbotBackendGuard(MeterRegistry meterRegistry, int maxConcurrent, LongSupplier clock) {
+        this.maxConcurrent = maxConcurrent;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.clock = clock;
+
+        this.successCounter = callCounter(meterRegistry, "success");
+        this.failureCounter = callCounter(meterRegistry, "failure");
+        this.bulkheadRejectedCounter = callCounter(meterRegistry, "rejected_bulkhead");
+        this.circuitRejectedCounter = callCounter(meterRegistry, "rejected_circuit");
+
+        Gauge.builder("chatbot.client.circuit.state", this, guard -> guard.currentState().ordinal())
+            .description("챗봇 서킷 상태 (0=CLOSED, 1=HALF_OPEN, 2=OPEN)")
+            .register(meterRegistry);
+        Gauge.builder("chatbot.client.bulkhead.available", bulkhead, Semaphore::availablePermits)
+            .description("챗봇 동시 호출 여유 슬롯")
+            .register(meterRegistry);
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /**
+     * 보호된 호출 실행
+     * - IllegalArgumentException(요청 자체 오류, 4xx)은 백엔드 장애로 집계하지 않음
+     *
+     * @throws RejectedException 서킷 OPEN 또는 동시 호출 수 초과
+     */
+    public <T> T execute(Supplier<T> call) {
+        Admission admission = tryEnterCircuit();
+        if (admission == Admission.REJECTED) {
+            circuitRejectedCounter.increment();
+            throw new RejectedException("챗봇 서버 응답이 지연되고 있습니다. 잠시 후 다시 시도해주세요.");
+        }
+        if (!bulkhead.tryAcquire()) {
+            if (admission == Admission.TRIAL) {
+                releaseTrial();
+            }
+            bulkheadRejectedCounter.increment();
+            throw new RejectedException("챗봇 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        try {
+            T result = call.get();
+            record(admission, false);
+            successCounter.increment();
+            return result;
+        } catch (IllegalArgumentException e) {
+            record(admission, false);
+            successCounter.increment();
+            throw e;
+        } catch (RuntimeException e) {
+            record(admission, true);
+            failureCounter.increment();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private synchronized Admission tryEnterCircuit() {
+        State current = currentState();
+        if (current == State.CLOSED) {
+            return Admission.NORMAL;
+        }
+        if (current == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;  // 시험 호출은 한 번에 1건만
+            return Admission.TRIAL;
+        }
+        return Admission.REJECTED;
+    }
+
+    private synchronized void releaseTrial() {
+        trialInFlight = false;
+    }
+
+    private synchronized void record(Admission admission, boolean failed) {
+        if (admission == Admission.TRIAL) {
+            // OPEN 시간이 지나 들어온 시험 호출 결과
+            trialInFlight = false;
+            if (failed) {
+                open();
+            } else {
+                log.info("✅ [챗봇 서킷] 복구 (CLOSED)");
+                state = State.CLOSED;
+                resetWindow();
+            }
+            return;
+        }
+        if (state != State.CLOSED) {
+            // CLOSED일 때 시작했지만 OPEN 이후에 끝난 호출 → 상태 판단에 쓰지 않음
+            return;
+        }
+
+        if (windowCount == WINDOW_SIZE && window[windowIndex]) {
+            windowFailures--;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % WINDOW_SIZE;
+        windowCount = Math.min(windowCount + 1, WINDOW_SIZE);
+
+        if (windowCount >= MIN_CALLS && (double) windowFailures / windowCount >= FAILURE_RATE_THRESHOLD) {
+            open();
+        }
+    }
+
+    private void open() {
+        log.warn("⚠️ [챗봇 서킷] OPEN: 최근 실패 {}/{}건, {}ms 동안 호출 차단",
+            windowFailures, windowCount, OPEN_DURATION_MS);
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowIndex = 0;
+        windowCount = 0;
+        windowFailures = 0;
+    }
+
+    private synchronized State currentState() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= OPEN_DURATION_MS) {
+            state = State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("chatbot.client.calls")
+            .description("챗봇 백엔드 호출 결과")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    /**
+     * 서킷 OPEN / bulkhead 초과로 호출하지 않고 거절
+     */
+    public static class RejectedException extends RuntimeException {
+        public RejectedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -12,17 +12,27 @@ public interface ChatbotService {
     /**
      * 챗봇에 메시지 전송 및 응답 받기
      * 
-     * @param request 챗봇 요청 (channelId, message, conversationHistory)
+     * @param userId 사용자 ID (대화 기록 소유자)
+     * @param request 챗봇 요청 (channelId, message, conversationId 또는 conversationHistory)
      * @return 챗봇 응답
      */
-    ChatbotResponse chat(ChatbotRequest request);
+    ChatbotResponse chat(Integer userId, ChatbotRequest request);
     
     /**
      * 챗봇에 메시지 전송 및 스트리밍 응답 받기 (SSE)
      * 
-     * @param request 챗봇 요청 (channelId, message, conversationHistory)
+     * @param userId 사용자 ID (대화 기록 소유자)
+     * @param request 챗봇 요청 (channelId, message, conversationId 또는 conversationHistory)
      * @return SSE Emitter
      */
-    SseEmitter streamChat(ChatbotRequest request);
+    SseEmitter streamChat(Integer userId, ChatbotRequest request);
+    
+    /**
+     * 서버 저장 대화 기록 삭제
+     * 
+     * @param userId 사용자 ID
+     * @param conversationId 대화 ID
+     */
+    void clearConversation(Integer userId, String conversationId);
 }
 
@@ -0,0 +1,498 @@
+package com.medi.backend.chatbot.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medi.backend.chatbot.dto.ChatbotRequest;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * FastAPI 챗봇 스트리밍 응답 → SseEmitter 중계
+ *
+ * - JDK HttpClient sendAsync + 줄 단위 Subscriber: 응답을 기다리는 동안 스레드를 점유하지 않음
+ *   (스트림 수가 늘어도 chatbotStreamExecutor 스레드 수는 고정)
+ * - 토큰 이벤트 묶음 전송: 짧은 message 이벤트를 COALESCE_WINDOW_MS 동안 모아 한 번에 flush
+ *   (이벤트 자체는 그대로 유지되므로 프론트엔드 파싱 방식은 변경 없음)
+ * - 클라이언트 전송은 chatbotSseWriteExecutor에서 스트림당 하나씩 순서대로 실행
+ *   (느린 클라이언트 write가 FastAPI 수신 스레드를 막지 않음, 미전송 MAX_UNSENT_CHARS 초과 시 스트림 종료)
+ * - 클라이언트 연결 종료/타임아웃 시 즉시 업스트림 구독 취소 → FastAPI 연결이 닫혀 생성 중단
+ * - 서버 저장 대화: 첫 이벤트로 conversation_id 전송, 정상 종료 시 누적한 응답 텍스트를 콜백으로 전달
+ *   (FastAPI 응답 텍스트 이벤트 = {"type": <chatbot.stream.text-event-types>, "content": "..."}만 누적)
+ */
+@Slf4j
+@Component
+public class ChatbotStreamRelay {
+
+    private static final long EMITTER_TIMEOUT_MS = 600000L;                 // 10분
+    private static final Duration RESPONSE_HEADER_TIMEOUT = Duration.ofSeconds(60);
+    private static final long COALESCE_WINDOW_MS = 40;                      // 토큰 이벤트 최대 대기 시간
+    private static final int COALESCE_MAX_EVENTS = 16;                      // 이 개수가 모이면 즉시 flush
+    private static final int COALESCE_MAX_CHARS = 2048;                     // 이 길이가 모이면 즉시 flush
+    private static final int MAX_UNSENT_CHARS = 256 * 1024;                 // 클라이언트가 이만큼 못 받아 가면 종료
+    private static final int MAX_SEEN_EVENT_TYPES = 8;                      // 텍스트 누락 경고에 남길 이벤트 타입 수
+
+    private static final String ERROR_SERVER = "{\"type\":\"error\",\"content\":\"챗봇 서버 오류가 발생했습니다.\"}";
+    private static final String ERROR_INTERNAL = "{\"type\":\"error\",\"content\":\"서버 내부 오류가 발생했습니다.\"}";
+    private static final String ERROR_TIMEOUT = "{\"type\":\"error\",\"content\":\"응답 시간이 초과되었습니다. 다시 시도해주세요.\"}";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final Executor writeExecutor;
+
+    // flush 예약 전용 (실제 전송은 writeExecutor에서 실행)
+    private final ScheduledExecutorService flushScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ChatbotStreamFlush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
+    @Value("${chatbot.api-url:http://localhost:8000}")
+    private String fastApiBaseUrl;
+
+    // FastAPI가 응답 텍스트 조각을 보내는 이벤트 type (content 필드에 텍스트)
+    @Value("${chatbot.stream.text-event-types:token}")
+    private List<String> textEventTypes;
+
+    public ChatbotStreamRelay(@Qualifier("chatbotHttpClient") HttpClient httpClient,
+                              ObjectMapper objectMapper,
+                              @Qualifier("chatbotSseWriteExecutor") Executor writeExecutor) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.writeExecutor = writeExecutor;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushScheduler.shutdownNow();
+    }
+
+    /**
+     * FastAPI /api/chat/stream 호출 후 이벤트를 중계하는 SseEmitter 반환 (즉시 반환)
+     *
+     * @param conversationId 서버 저장 대화 ID (null이면 conversation 이벤트 생략)
+     * @param onCompleted 정상 종료 시 챗봇 응답 전체 텍스트 (null이면 누적하지 않음)
+     */
+    public SseEmitter relay(ChatbotRequest request, String conversationId, Consumer<String> onCompleted) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        RelaySession session = new RelaySession(emitter, request.getChannelId(), onCompleted);
+
+        if (conversationId != null) {
+            session.enqueueEvent("conversation",
+                objectMapper.createObjectNode()
+                    .put("type", "conversation")
+                    .put("conversation_id", conversationId)
+                    .toString());
+            session.requestFlush();
+        }
+
+        HttpRequest httpRequest;
+        try {
+            httpRequest = HttpRequest.newBuilder(URI.create(fastApiBaseUrl + "/api/chat/stream"))
+                .timeout(RESPONSE_HEADER_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "text/event-stream")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(request), StandardCharsets.UTF_8))
+                .build();
+        } catch (JsonProcessingException e) {
+            session.fail(ERROR_INTERNAL, e);
+            return emitter;
+        }
+
+        // 클라이언트 쪽 종료 → 업스트림 취소
+        emitter.onTimeout(() -> {
+            log.warn("⏱️ [챗봇 스트리밍] 타임아웃: channelId={}", session.channelId);
+            // 타임아웃 콜백 안에서 종료해야 하므로 이 스레드에서 바로 전송
+            session.finishWithEvent("error", ERROR_TIMEOUT, Runnable::run);
+        });
+        emitter.onError(ex -> {
+            log.warn("⚠️ [챗봇 스트리밍] 클라이언트 연결 종료: channelId={}, error={}", session.channelId, ex.getMessage());
+            session.cancelUpstream();
+        });
+        emitter.onCompletion(session::cancelIfStreaming);
+
+        int active = activeStreams.incrementAndGet();
+        log.info("📡 [챗봇 스트리밍] FastAPI 호출 시작: channelId={}, activeStreams={}", session.channelId, active);
+
+        CompletableFuture<HttpResponse<Void>> responseFuture = httpClient.sendAsync(httpRequest, responseInfo ->
+            responseInfo.statusCode() == 200
+                ? HttpResponse.BodySubscribers.fromLineSubscriber(session)
+                : HttpResponse.BodySubscribers.discarding());
+        session.responseFuture = responseFuture;
+
+        responseFuture.whenComplete((response, ex) -> {
+            activeStreams.decrementAndGet();
+            if (ex != null) {
+                if (!session.isClosed()) {
+                    log.error("❌ [챗봇 스트리밍] 오류: channelId={}, error={}", session.channelId, ex.getMessage(), ex);
+                }
+                session.fail(ERROR_INTERNAL, ex);
+            } else if (response.statusCode() != 200) {
+                log.error("❌ [챗봇 스트리밍] FastAPI 에러: status={}, channelId={}", response.statusCode(), session.channelId);
+                session.fail(ERROR_SERVER, new RuntimeException("FastAPI 응답 오류: " + response.statusCode()));
+            }
+        });
+
+        return emitter;
+    }
+
+    /**
+     * 스트림 하나의 중계 상태 (FastAPI 응답 줄 Subscriber)
+     */
+    private final class RelaySession implements Flow.Subscriber<String> {
+
+        private final SseEmitter emitter;
+        private final String channelId;
+        private final Consumer<String> onCompleted;
+        private final StringBuilder assistantText;
+        private final Set<String> seenEventTypes = new LinkedHashSet<>();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // FastAPI 응답이 끝까지 왔는지 ([DONE] 또는 본문 종료) - true면 emitter 종료 시 업스트림을 취소하지 않음
+        private volatile boolean upstreamComplete;
+
+        // 아직 전송하지 않은 이벤트 (this로 동기화, 전송 자체는 잠금 밖에서)
+        private final Set<DataWithMediaType> pending = new LinkedHashSet<>();
+        private int pendingEvents;
+        private int pendingChars;
+        private ScheduledFuture<?> flushTask;
+        private boolean draining;           // writeExecutor에 전송 작업이 예약/실행 중
+        private Runnable afterDrain;        // 마지막 이벤트 전송 후 emitter 종료 처리
+
+        private volatile Flow.Subscription subscription;
+        private volatile CompletableFuture<?> responseFuture;
+
+        private RelaySession(SseEmitter emitter, String channelId, Consumer<String> onCompleted) {
+            this.emitter = emitter;
+            this.channelId = channelId;
+            this.onCompleted = onCompleted;
+            this.assistantText = onCompleted != null ? new StringBuilder() : null;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (closed.get()) {
+                subscription.cancel();
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (closed.get()) {
+                // [DONE] 이후 남은 본문은 읽어서 버림 (커넥션을 keep-alive 풀로 반환)
+                requestNext();
+                return;
+            }
+
+            // SSE 형식: "data: {json}" (빈 줄, 주석, 기타 필드는 무시)
+            if (line.startsWith("data:")) {
+                String data = line.substring(5);
+                if (data.startsWith(" ")) {
+                    data = data.substring(1);
+                }
+
+                // [DONE] 신호 처리
+                if ("[DONE]".equals(data.trim())) {
+                    // emitter.complete() → onCompletion(cancelIfStreaming)보다 먼저 표시해야 남은 본문을 끝까지 읽음
+                    upstreamComplete = true;
+                    finishWithEvent("done", "{\"type\":\"done\"}");
+                    notifyCompleted();
+                    log.info("✅ [챗봇 스트리밍] 완료: channelId={}", channelId);
+                    return;
+                }
+
+                // JSON 데이터를 그대로 전달 (묶어서 flush)
+                appendAssistantText(data);
+                enqueue(data);
+            }
+
+            requestNext();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            // 실패 처리는 responseFuture.whenComplete에서 한 번만 수행
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamComplete = true;
+            // [DONE] 없이 업스트림이 끝난 경우
+            if (closed.compareAndSet(false, true)) {
+                synchronized (this) {
+                    afterDrain = emitter::complete;
+                }
+                requestFlush();
+                notifyCompleted();
+                log.info("✅ [챗봇 스트리밍] 완료: channelId={}", channelId);
+            }
+        }
+
+        /**
+         * 응답 텍스트 누적 - chatbot.stream.text-event-types에 해당하는 이벤트의 content만 (error/tool 등 제외)
+         */
+        private void appendAssistantText(String data) {
+            if (assistantText == null) {
+                return;
+            }
+            String type;
+            try {
+                JsonNode node = objectMapper.readTree(data);
+                type = node.path("type").asText("");
+                JsonNode content = node.get("content");
+                if (content != null && content.isTextual() && textEventTypes.contains(type)) {
+                    assistantText.append(content.asText());
+                    return;
+                }
+            } catch (JsonProcessingException e) {
+                type = "(non-json)";
+            }
+            if (seenEventTypes.size() < MAX_SEEN_EVENT_TYPES) {
+                seenEventTypes.add(type);
+            }
+        }
+
+        private void notifyCompleted() {
+            if (onCompleted == null) {
+                return;
+            }
+            if (assistantText.length() == 0) {
+                // 계약(이벤트 type)이 어긋나면 대화가 조용히 저장되지 않으므로 남겨 둠
+                log.warn("⚠️ [챗봇 스트리밍] 응답 텍스트를 찾지 못해 대화 기록에 저장하지 않습니다: channelId={}, 수신 이벤트 type={}, 텍스트 type={}",
+                    channelId, seenEventTypes, textEventTypes);
+                return;
+            }
+            try {
+                onCompleted.accept(assistantText.toString());
+            } catch (Exception e) {
+                log.warn("⚠️ [챗봇 스트리밍] 완료 콜백 실패: channelId={}, error={}", channelId, e.getMessage());
+            }
+        }
+
+        private boolean isClosed() {
+            return closed.get();
+        }
+
+        private void requestNext() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.request(1);
+            }
+        }
+
+        /**
+         * 즉시 전송할 이벤트 추가 (다음 flush에 포함)
+         */
+        private synchronized void enqueueEvent(String eventName, String data) {
+            pending.addAll(SseEmitter.event().name(eventName).data(data).build());
+        }
+
+        private void enqueue(String data) {
+            boolean flushNow;
+            boolean overflow;
+            synchronized (this) {
+                pending.addAll(SseEmitter.event().name("message").data(data).build());
+                pendingEvents++;
+                pendingChars += data.length();
+                overflow = pendingChars > MAX_UNSENT_CHARS;
+                flushNow = pendingEvents >= COALESCE_MAX_EVENTS || pendingChars >= COALESCE_MAX_CHARS;
+                if (!flushNow && flushTask == null) {
+                    flushTask = flushScheduler.schedule(this::requestFlush, COALESCE_WINDOW_MS, TimeUnit.MILLISECONDS);
+                }
+            }
+            if (overflow) {
+                dropSlowClient();
+            } else if (flushNow) {
+                requestFlush();
+            }
+        }
+
+        private void requestFlush() {
+            requestFlush(writeExecutor);
+        }
+
+        /**
+         * 모아 둔 이벤트 전송 예약 (스트림당 전송 작업은 하나만 실행 → 이벤트 순서 유지)
+         */
+        private void requestFlush(Executor executor) {
+            synchronized (this) {
+                if (flushTask != null) {
+                    flushTask.cancel(false);
+                    flushTask = null;
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                log.warn("⚠️ [챗봇 스트리밍] 전송 스레드 부족으로 스트림 종료: channelId={}", channelId);
+                closed.set(true);
+                cancelUpstream();
+                synchronized (this) {
+                    draining = false;
+                }
+                emitter.complete();
+            }
+        }
+
+        /**
+         * 모아 둔 이벤트를 한 번의 write/flush로 전송 (writeExecutor에서 실행, 남은 이벤트가 없을 때까지 반복)
+         * 비운 뒤 종료 처리(afterDrain)가 예약돼 있으면 실행
+         */
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> batch;
+                Runnable finisher = null;
+                synchronized (this) {
+                    if (pending.isEmpty()) {
+                        draining = false;
+                        finisher = afterDrain;
+                        afterDrain = null;
+                        batch = null;
+                    } else {
+                        batch = new LinkedHashSet<>(pending);
+                        pending.clear();
+                        pendingEvents = 0;
+                        pendingChars = 0;
+                    }
+                }
+                if (batch == null) {
+                    if (finisher != null) {
+                        finisher.run();
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(batch);
+                } catch (IOException | IllegalStateException e) {
+                    // 클라이언트 연결 종료 → 더 생성할 필요 없음
+                    log.info("🔌 [챗봇 스트리밍] 클라이언트 연결 종료, 업스트림 취소: channelId={}", channelId);
+                    closed.set(true);
+                    cancelUpstream();
+                    synchronized (this) {
+                        pending.clear();
+                        afterDrain = null;
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+
+        /**
+         * 클라이언트가 미전송 한도를 넘도록 받아 가지 못함 → 업스트림 취소, 진행 중인 전송이 끝나면 종료
+         */
+        private void dropSlowClient() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            log.warn("🐢 [챗봇 스트리밍] 클라이언트 수신 지연(미전송 {}자 초과), 스트림 종료: channelId={}", MAX_UNSENT_CHARS, channelId);
+            cancelUpstream();
+            synchronized (this) {
+                pending.clear();
+                pendingEvents = 0;
+                pendingChars = 0;
+                afterDrain = emitter::complete;
+            }
+            requestFlush();
+        }
+
+        /**
+         * 남은 이벤트 + 마지막 이벤트 전송 후 정상 종료
+         * (업스트림은 끝까지 읽고 닫히므로 여기서 취소하지 않음 - 타임아웃은 onCompletion에서 취소)
+         */
+        private void finishWithEvent(String eventName, String data) {
+            finishWithEvent(eventName, data, writeExecutor);
+        }
+
+        private void finishWithEvent(String eventName, String data, Executor executor) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            synchronized (this) {
+                pending.addAll(SseEmitter.event().name(eventName).data(data).build());
+                afterDrain = emitter::complete;
+            }
+            requestFlush(executor);
+        }
+
+        /**
+         * 오류 이벤트 전송 후 오류 종료
+         */
+        private void fail(String errorData, Throwable cause) {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            cancelUpstream();
+            synchronized (this) {
+                pending.addAll(SseEmitter.event().name("error").data(errorData).build());
+                afterDrain = () -> emitter.completeWithError(cause);
+            }
+            requestFlush();
+        }
+
+        /**
+         * SseEmitter 종료 시 호출 - 업스트림이 아직 응답 중이면 취소
+         */
+        private void cancelIfStreaming() {
+            if (!upstreamComplete) {
+                cancelUpstream();
+            }
+        }
+
+        /**
+         * FastAPI 연결 종료 (구독 취소 시 HttpClient가 커넥션을 닫음)
+         */
+        private void cancelUpstream() {
+            closed.set(true);
+            synchronized (this) {
+                if (flushTask != null) {
+                    flushTask.cancel(false);
+                    flushTask = null;
+                }
+            }
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+            CompletableFuture<?> future = responseFuture;
+            if (future != null && !future.isDone()) {
+                future.cancel(true);
+            }
+        }
+    }
+}
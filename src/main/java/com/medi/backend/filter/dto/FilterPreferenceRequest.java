@@ -52,5 +52,13 @@ public class FilterPreferenceRequest {
      * - email: 알림을 받을 이메일 주소 (선택적, null이면 users 테이블의 email 사용)
      */
     private EmailNotificationSettings emailNotificationSettings;
+    
+    /**
+     * 유해 댓글 처리 방식 (선택, null이면 기존 설정 유지 / 최초 저장 시 DELETE)
+     * - DELETE: 댓글마다 삭제
+     * - REJECT: 여러 댓글을 한 번에 숨김 (API 호출 수 절감)
+     * - HOLD: 여러 댓글을 한 번에 검토 대기로 보류
+     */
+    private String moderationMode;
 }
 
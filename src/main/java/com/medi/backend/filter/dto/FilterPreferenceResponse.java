@@ -24,6 +24,7 @@ public class FilterPreferenceResponse {
     private List<String> allowExamples;
     
     private EmailNotificationSettings emailNotificationSettings;
+    private String moderationMode;
     
     private Boolean isActive;
     private LocalDateTime createdAt;
@@ -0,0 +1,19 @@
+package com.medi.backend.filter.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 필터링 규칙 DTO (user_global_rules / youtube_channel_rules / youtube_video_rules 통합 조회용)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilterRuleDto {
+    
+    private String scope;           // "GLOBAL", "CHANNEL", "VIDEO"
+    private String youtubeVideoId;  // scope = VIDEO일 때만 값 있음
+    private String ruleType;        // KEYWORD_BLACKLIST, KEYWORD_WHITELIST, USER_BLACKLIST, EXCLUDE_FROM_SCANNING
+    private String value;
+}
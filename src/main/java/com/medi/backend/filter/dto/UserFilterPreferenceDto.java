@@ -44,6 +44,11 @@ public class UserFilterPreferenceDto {
      */
     private EmailNotificationSettings emailNotificationSettings;
     
+    /**
+     * 유해 댓글 처리 방식 (DELETE, REJECT, HOLD)
+     */
+    private String moderationMode;
+    
     private Boolean isActive;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
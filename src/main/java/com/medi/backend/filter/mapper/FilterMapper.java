@@ -1,10 +1,12 @@
 package com.medi.backend.filter.mapper;
 
 import com.medi.backend.filter.dto.FilterExampleCommentDto;
+import com.medi.backend.filter.dto.FilterRuleDto;
 import com.medi.backend.filter.dto.UserFilterPreferenceDto;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 필터링 설정 및 예시 댓글 Mapper
@@ -29,6 +31,11 @@ public interface FilterMapper {
      */
     int upsertPreference(UserFilterPreferenceDto preference);
     
+    /**
+     * 사용자 전역 설정의 유해 댓글 처리 방식 (없으면 null)
+     */
+    String findModerationModeByUserId(@Param("userId") Integer userId);
+    
     /**
      * 필터링 설정 삭제 (소프트 삭제: is_active = false)
      */
@@ -40,51 +47,37 @@ public interface FilterMapper {
     // ========== FilterExampleComment 관련 ==========
     
     /**
-     * 카테고리별 예시 댓글 조회
-     * - categories: 조회할 카테고리 배열
-     * - limit: 최대 개수
-     * - mixDifficulty: 난이도 믹스 여부
+     * 활성 예시 댓글 전체 조회 (메모리 인덱스 적재용)
      */
-    List<FilterExampleCommentDto> findExamplesByCategories(
-        @Param("categories") List<String> categories,
-        @Param("limit") Integer limit,
-        @Param("mixDifficulty") Boolean mixDifficulty
-    );
+    List<FilterExampleCommentDto> findAllActiveExamples();
     
     /**
-     * 단일 카테고리 예시 댓글 조회
-     * - categoryId: 조회할 카테고리 ID
-     * - limit: 최대 개수
-     * - mixDifficulty: 난이도 믹스 여부
-     * - difficultyLevel: 특정 난이도만 조회 (선택적, null이면 모든 난이도)
+     * 예시 댓글 테이블 버전 (행 수 + 마지막 수정 시각)
+     * - 값이 바뀌면 메모리 인덱스 재적재
      */
-    List<FilterExampleCommentDto> findExamplesByCategory(
-        @Param("categoryId") String categoryId,
-        @Param("limit") Integer limit,
-        @Param("mixDifficulty") Boolean mixDifficulty,
-        @Param("difficultyLevel") String difficultyLevel
-    );
+    String findExampleCorpusVersion();
     
     /**
-     * 공통 예시 댓글 조회 (category_id = 'common')
+     * 예시 댓글 사용 횟수 일괄 증가
+     * - counts: 예시 댓글 ID → 증가분
      */
-    List<FilterExampleCommentDto> findCommonExamples(
-        @Param("limit") Integer limit
-    );
+    int addUsageCounts(@Param("counts") Map<Integer, Integer> counts);
+    
+    // ========== 필터링 규칙 (user_global_rules / youtube_channel_rules / youtube_video_rules) ==========
     
     /**
-     * 카테고리별 Few-shot 예시 조회 (프롬프트용)
-     * - 각 카테고리별로 block/allow 균형있게 조회
-     * - limit: 카테고리당 최대 개수
+     * YouTube 비디오 ID로 내부 채널 ID 조회 (규칙 세트 선택용)
      */
-    List<FilterExampleCommentDto> findFewShotExamplesByCategory(
-        @Param("categoryId") String categoryId,
-        @Param("limit") Integer limit
-    );
+    Integer findChannelIdByYoutubeVideoId(@Param("youtubeVideoId") String youtubeVideoId);
+    
+    /**
+     * 채널에 적용되는 전체 규칙 (채널 소유자 전역 ∪ 채널 ∪ 채널의 비디오별)
+     */
+    List<FilterRuleDto> findEffectiveRulesByChannelId(@Param("channelId") Integer channelId);
     
     /**
-     * 예시 댓글 사용 횟수 증가
+     * 채널 규칙 버전 (세 테이블의 행 수 + 마지막 수정 시각)
+     * - 값이 바뀌면 규칙 세트 재컴파일
      */
-    int incrementUsageCount(@Param("id") Integer id);
+    String findRuleVersionByChannelId(@Param("channelId") Integer channelId);
 }
-
@@ -0,0 +1,172 @@
+package com.medi.backend.filter.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.medi.backend.agent.dto.AgentFilteredCommentsRequest;
+import com.medi.backend.agent.service.AgentService;
+import com.medi.backend.filter.mapper.FilterMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자 규칙 기반 댓글 사전 필터 (댓글 동기화 중 실행)
+ *
+ * - 규칙: user_global_rules ∪ youtube_channel_rules ∪ youtube_video_rules → 채널별 CommentRuleSet으로 컴파일해 메모리 보관
+ * - 갱신: 채널별로 VERSION_CHECK_INTERVAL_MS마다 규칙 버전(행 수 + MAX(updated_at))을 확인해 바뀐 경우에만 재컴파일
+ * - 차단 규칙 매칭 댓글은 로컬에서 filtered로 저장 (detection_source = USER_KEYWORD, reason = 매칭 규칙)
+ * - 허용 규칙 매칭 댓글은 에이전트로 보내지 않음
+ * - 제외 비디오는 댓글 수집/필터링 큐 대상에서 빠짐
+ *
+ * 규칙 조회/저장에 실패하면 기존처럼 모든 댓글을 에이전트로 보냄 (fail-open)
+ */
+@Slf4j
+@Service
+public class CommentRulePrefilter {
+
+    private static final long VERSION_CHECK_INTERVAL_MS = 30_000;
+    private static final int REASON_MAX_LENGTH = 100;  // ai_comment_analysis_result.reason VARCHAR(100)
+
+    private final FilterMapper filterMapper;
+    private final AgentService agentService;
+
+    private final Map<Integer, CompiledRules> compiledByChannel = new ConcurrentHashMap<>();
+    private final Cache<String, Integer> channelIdByVideo = Caffeine.newBuilder()
+        .maximumSize(10_000)
+        .build();
+
+    public CommentRulePrefilter(FilterMapper filterMapper, AgentService agentService) {
+        this.filterMapper = filterMapper;
+        this.agentService = agentService;
+    }
+
+    /**
+     * EXCLUDE_FROM_SCANNING 대상 비디오인지 (댓글 수집·필터링 큐 추가 전 확인)
+     */
+    public boolean isExcluded(String youtubeVideoId) {
+        return rulesForVideo(youtubeVideoId).isExcluded(youtubeVideoId);
+    }
+
+    /**
+     * 새 댓글에 규칙 적용
+     * - 차단 댓글은 이 메서드 안에서 저장까지 완료
+     *
+     * @return 로컬에서 처리되어 에이전트로 보내지 않을 댓글 ID
+     */
+    public Set<String> apply(String youtubeVideoId, List<RuleCandidate> candidates) {
+        if (candidates == null || candidates.isEmpty()) {
+            return Set.of();
+        }
+        CommentRuleSet rules = rulesForVideo(youtubeVideoId);
+        if (rules.isEmpty()) {
+            return Set.of();
+        }
+
+        List<AgentFilteredCommentsRequest.CommentData> blocked = new ArrayList<>();
+        Set<String> handled = new HashSet<>();
+        int allowedCount = 0;
+        for (RuleCandidate candidate : candidates) {
+            CommentRuleSet.Verdict verdict = rules.evaluate(
+                youtubeVideoId, candidate.text(), candidate.authorName(), candidate.authorChannelId());
+            if (verdict == null) {
+                continue;
+            }
+            handled.add(candidate.commentId());
+            if (verdict.allowed()) {
+                allowedCount++;
+            } else {
+                blocked.add(new AgentFilteredCommentsRequest.CommentData(
+                    candidate.commentId(), candidate.text(), candidate.authorName(),
+                    candidate.likeCount(), candidate.publishedAt(), truncate(verdict.reason())));
+            }
+        }
+        if (handled.isEmpty()) {
+            return Set.of();
+        }
+
+        try {
+            agentService.insertRuleFilteredComments(youtubeVideoId, blocked, allowedCount);
+        } catch (Exception e) {
+            log.error("❌ [규칙 필터] 로컬 분류 저장 실패, 에이전트로 전달: videoId={}, error={}",
+                youtubeVideoId, e.getMessage(), e);
+            return Set.of();
+        }
+
+        log.info("🧹 [규칙 필터] videoId={}, 전체={}개, 차단={}개, 허용={}개, 에이전트 전달={}개",
+            youtubeVideoId, candidates.size(), blocked.size(), allowedCount, candidates.size() - handled.size());
+        return handled;
+    }
+
+    /**
+     * 본문에 차단/허용 키워드가 등장하는지 (저장 없이 판정만, 유사 중복 확인용)
+     */
+    public boolean matchesKeyword(String youtubeVideoId, String text) {
+        return rulesForVideo(youtubeVideoId).evaluate(youtubeVideoId, text, null, null) != null;
+    }
+
+    private CommentRuleSet rulesForVideo(String youtubeVideoId) {
+        if (youtubeVideoId == null || youtubeVideoId.isBlank()) {
+            return CommentRuleSet.EMPTY;
+        }
+        try {
+            Integer channelId = channelIdByVideo.getIfPresent(youtubeVideoId);
+            if (channelId == null) {
+                channelId = filterMapper.findChannelIdByYoutubeVideoId(youtubeVideoId);
+                if (channelId == null) {
+                    return CommentRuleSet.EMPTY;
+                }
+                channelIdByVideo.put(youtubeVideoId, channelId);
+            }
+            return rulesForChannel(channelId);
+        } catch (Exception e) {
+            log.warn("⚠️ [규칙 필터] 규칙 조회 실패, 규칙 없이 진행: videoId={}, error={}", youtubeVideoId, e.getMessage());
+            return CommentRuleSet.EMPTY;
+        }
+    }
+
+    private CommentRuleSet rulesForChannel(Integer channelId) {
+        long now = System.currentTimeMillis();
+        CompiledRules current = compiledByChannel.get(channelId);
+        if (current != null && now - current.checkedAt() < VERSION_CHECK_INTERVAL_MS) {
+            return current.rules();
+        }
+
+        String version = filterMapper.findRuleVersionByChannelId(channelId);
+        if (current != null && Objects.equals(current.version(), version)) {
+            compiledByChannel.put(channelId, new CompiledRules(version, current.rules(), now));
+            return current.rules();
+        }
+
+        CommentRuleSet rules = version == null || version.startsWith("0|")
+            ? CommentRuleSet.EMPTY
+            : CommentRuleSet.compile(filterMapper.findEffectiveRulesByChannelId(channelId));
+        compiledByChannel.put(channelId, new CompiledRules(version, rules, now));
+        if (!rules.isEmpty()) {
+            log.info("✅ [규칙 필터] 규칙 컴파일: channelId={}, 규칙={}개, version={}", channelId, rules.size(), version);
+        }
+        return rules;
+    }
+
+    private String truncate(String reason) {
+        return reason.length() <= REASON_MAX_LENGTH ? reason : reason.substring(0, REASON_MAX_LENGTH);
+    }
+
+    private record CompiledRules(String version, CommentRuleSet rules, long checkedAt) {
+    }
+
+    /**
+     * 규칙 판정 대상 댓글
+     *
+     * @param publishedAt ISO 8601 문자열 (에이전트 결과와 같은 형식)
+     */
+    public record RuleCandidate(String commentId, String text, String authorName, String authorChannelId,
+                                Long likeCount, String publishedAt) {
+    }
+}
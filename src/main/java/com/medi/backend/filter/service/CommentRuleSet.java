@@ -0,0 +1,189 @@
+package com.medi.backend.filter.service;
+
+import com.medi.backend.filter.dto.FilterRuleDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 채널 하나에 적용되는 컴파일된 규칙 세트 (전역 ∪ 채널 ∪ 비디오별, 불변)
+ *
+ * - KEYWORD_BLACKLIST / KEYWORD_WHITELIST: 하나의 Aho-Corasick 오토마톤으로 동시에 탐색
+ *   (비디오별 키워드는 해당 비디오 댓글에만 적용)
+ * - 키워드와 본문 모두 KoreanTextNormalizer로 자모 단위 정규화 후 비교 ("시 발", "ㅅ1발" 등 우회 표기 대응)
+ *   (음절 중간에서 시작하거나 끝나는 매칭은 버림, 예: "시바를"의 "시발", "조지아"의 "좆")
+ * - 화이트리스트 등장 구간 안에 포함된 블랙리스트 등장은 무시 (예: 블랙 "시발" / 화이트 "시발점")
+ * - USER_BLACKLIST: 작성자 이름(@ 제외) 또는 작성자 채널 ID 일치
+ * - EXCLUDE_FROM_SCANNING: 비디오 규칙이면 그 비디오, 전역/채널 규칙이면 value의 비디오 ID를 검사 대상에서 제외
+ *   (채널 규칙의 value가 비어 있으면 채널 전체 제외)
+ *
+ * 우선순위: 작성자 차단 > 키워드 차단(화이트리스트로 가려지지 않은 것) > 키워드 허용
+ */
+final class CommentRuleSet {
+
+    static final CommentRuleSet EMPTY = compile(List.of());
+
+    private static final String ALL_VIDEOS = "";
+
+    private final KeywordAutomaton automaton;
+    private final List<String> keywords;                  // 사유 표시용 원문 (정규화 키워드와 같은 인덱스)
+    private final List<List<KeywordRule>> keywordRules;   // keywords와 같은 인덱스
+    private final Map<String, Set<String>> blockedAuthors; // 작성자 → 적용 비디오 (ALL_VIDEOS = 전체)
+    private final Set<String> excludedVideoIds;
+    private final boolean channelExcluded;
+    private final int ruleCount;
+
+    // 댓글마다 새 배열을 만들지 않도록 스레드별 정규화 버퍼 재사용
+    private static final ThreadLocal<KoreanTextNormalizer.Buffer> TEXT_BUFFER =
+        ThreadLocal.withInitial(KoreanTextNormalizer.Buffer::new);
+
+    private CommentRuleSet(List<String> normalizedKeywords, List<String> keywords,
+                           List<List<KeywordRule>> keywordRules,
+                           Map<String, Set<String>> blockedAuthors, Set<String> excludedVideoIds,
+                           boolean channelExcluded, int ruleCount) {
+        this.automaton = new KeywordAutomaton(normalizedKeywords);
+        this.keywords = keywords;
+        this.keywordRules = keywordRules;
+        this.blockedAuthors = blockedAuthors;
+        this.excludedVideoIds = excludedVideoIds;
+        this.channelExcluded = channelExcluded;
+        this.ruleCount = ruleCount;
+    }
+
+    static CommentRuleSet compile(List<FilterRuleDto> rules) {
+        Map<String, List<KeywordRule>> byKeyword = new LinkedHashMap<>();
+        Map<String, String> originalByKeyword = new HashMap<>();
+        Map<String, Set<String>> blockedAuthors = new HashMap<>();
+        Set<String> excludedVideoIds = new HashSet<>();
+        boolean channelExcluded = false;
+
+        for (FilterRuleDto rule : rules) {
+            String videoScope = "VIDEO".equals(rule.getScope()) ? rule.getYoutubeVideoId() : ALL_VIDEOS;
+            if (videoScope == null) {
+                continue;
+            }
+            String value = rule.getValue() != null ? rule.getValue().strip() : "";
+
+            switch (String.valueOf(rule.getRuleType())) {
+                case "KEYWORD_BLACKLIST", "KEYWORD_WHITELIST" -> {
+                    String keyword = KoreanTextNormalizer.normalize(value);
+                    if (!keyword.isEmpty()) {
+                        originalByKeyword.putIfAbsent(keyword, value);
+                        byKeyword.computeIfAbsent(keyword, key -> new ArrayList<>())
+                            .add(new KeywordRule("KEYWORD_WHITELIST".equals(rule.getRuleType()), videoScope));
+                    }
+                }
+                case "USER_BLACKLIST" -> {
+                    String author = normalizeAuthor(value);
+                    if (!author.isEmpty()) {
+                        blockedAuthors.computeIfAbsent(author, key -> new HashSet<>()).add(videoScope);
+                    }
+                }
+                case "EXCLUDE_FROM_SCANNING" -> {
+                    if (!ALL_VIDEOS.equals(videoScope)) {
+                        excludedVideoIds.add(videoScope);
+                    } else if (!value.isEmpty()) {
+                        excludedVideoIds.add(value);
+                    } else if ("CHANNEL".equals(rule.getScope())) {
+                        channelExcluded = true;
+                    }
+                }
+                default -> {
+                    // CHECK 제약 밖의 값은 무시
+                }
+            }
+        }
+
+        return new CommentRuleSet(
+            List.copyOf(byKeyword.keySet()),
+            byKeyword.keySet().stream().map(originalByKeyword::get).toList(),
+            byKeyword.values().stream().map(List::copyOf).toList(),
+            blockedAuthors,
+            excludedVideoIds,
+            channelExcluded,
+            rules.size());
+    }
+
+    boolean isEmpty() {
+        return ruleCount == 0;
+    }
+
+    int size() {
+        return ruleCount;
+    }
+
+    boolean isExcluded(String youtubeVideoId) {
+        return channelExcluded || excludedVideoIds.contains(youtubeVideoId);
+    }
+
+    /**
+     * 댓글 하나 판정
+     *
+     * @return 매칭된 규칙이 없으면 null (에이전트로 전달)
+     */
+    Verdict evaluate(String youtubeVideoId, String text, String authorName, String authorChannelId) {
+        for (String author : new String[] { normalizeAuthor(authorName), normalizeAuthor(authorChannelId) }) {
+            Set<String> scopes = author.isEmpty() ? null : blockedAuthors.get(author);
+            if (scopes != null && (scopes.contains(ALL_VIDEOS) || scopes.contains(youtubeVideoId))) {
+                return new Verdict(false, "USER_BLACKLIST: " + author);
+            }
+        }
+
+        List<KeywordAutomaton.Match> allowed = new ArrayList<>();
+        List<KeywordAutomaton.Match> blocked = new ArrayList<>();
+        KoreanTextNormalizer.Buffer normalized = TEXT_BUFFER.get();
+        KoreanTextNormalizer.normalize(text, normalized);
+        for (KeywordAutomaton.Match match : automaton.findAll(normalized.chars(), normalized.length())) {
+            if (!normalized.isBoundary(match.start()) || !normalized.isBoundary(match.end())) {
+                continue;
+            }
+            for (KeywordRule rule : keywordRules.get(match.keywordIndex())) {
+                if (!rule.appliesTo(youtubeVideoId)) {
+                    continue;
+                }
+                (rule.whitelist() ? allowed : blocked).add(match);
+            }
+        }
+
+        for (KeywordAutomaton.Match block : blocked) {
+            boolean masked = allowed.stream()
+                .anyMatch(allow -> allow.start() <= block.start() && block.end() <= allow.end());
+            if (!masked) {
+                return new Verdict(false, "KEYWORD_BLACKLIST: " + keywords.get(block.keywordIndex()));
+            }
+        }
+        if (!allowed.isEmpty()) {
+            return new Verdict(true, "KEYWORD_WHITELIST: " + keywords.get(allowed.get(0).keywordIndex()));
+        }
+        return null;
+    }
+
+    private static String normalizeAuthor(String author) {
+        if (author == null) {
+            return "";
+        }
+        String normalized = author.strip().toLowerCase(Locale.ROOT);
+        return normalized.startsWith("@") ? normalized.substring(1) : normalized;
+    }
+
+    private record KeywordRule(boolean whitelist, String videoScope) {
+        boolean appliesTo(String youtubeVideoId) {
+            return ALL_VIDEOS.equals(videoScope) || videoScope.equals(youtubeVideoId);
+        }
+    }
+
+    /**
+     * 판정 결과
+     *
+     * @param allowed true = 화이트리스트 허용, false = 차단
+     * @param reason  매칭된 규칙 (ai_comment_analysis_result.reason)
+     */
+    record Verdict(boolean allowed, String reason) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.medi.backend.filter.service;
+
+import com.medi.backend.filter.dto.FilterExampleCommentDto;
+import com.medi.backend.filter.mapper.FilterMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 예시 댓글 메모리 인덱스 (filter_example_comments)
+ *
+ * - 적재: 시작 시 전체 활성 예시를 읽어 category → difficulty 별 배열로 보관
+ * - 갱신: 1분마다 테이블 버전(행 수 + MAX(updated_at))을 확인해 바뀐 경우에만 재적재
+ * - 샘플링: 배열 복사본을 k번만 섞는 부분 Fisher-Yates (요청마다 DB 조회/정렬 없음)
+ * - 사용 횟수: 메모리에 누적 후 1분마다 UPDATE 한 번으로 반영 (종료 시에도 반영)
+ */
+@Slf4j
+@Component
+public class FilterExampleCorpus {
+
+    public static final String COMMON_CATEGORY = "common";
+
+    private static final FilterExampleCommentDto[] EMPTY = new FilterExampleCommentDto[0];
+
+    private final FilterMapper filterMapper;
+
+    private volatile Snapshot snapshot = new Snapshot(null, Map.of(), Map.of());
+    private final Map<Integer, AtomicInteger> pendingUsage = new ConcurrentHashMap<>();
+
+    public FilterExampleCorpus(FilterMapper filterMapper) {
+        this.filterMapper = filterMapper;
+    }
+
+    /**
+     * 카테고리(+난이도)에서 중복 없이 최대 limit개 무작위 추출
+     *
+     * @param difficultyLevel null이면 모든 난이도
+     */
+    public List<FilterExampleCommentDto> sample(String categoryId, String difficultyLevel, int limit) {
+        Snapshot current = currentSnapshot();
+        FilterExampleCommentDto[] pool = difficultyLevel == null
+            ? current.byCategory.getOrDefault(categoryId, EMPTY)
+            : current.byCategoryAndDifficulty.getOrDefault(categoryId, Map.of()).getOrDefault(difficultyLevel, EMPTY);
+        return sample(pool, limit);
+    }
+
+    /**
+     * 카테고리 전체 예시 (추출 후 부족분 보충용)
+     */
+    public List<FilterExampleCommentDto> all(String categoryId) {
+        return List.of(currentSnapshot().byCategory.getOrDefault(categoryId, EMPTY));
+    }
+
+    /**
+     * 응답에 포함된 예시 사용 횟수 누적 (flushUsage에서 DB 반영)
+     */
+    public void recordUsage(Collection<FilterExampleCommentDto> examples) {
+        for (FilterExampleCommentDto example : examples) {
+            if (example != null && example.getId() != null) {
+                pendingUsage.computeIfAbsent(example.getId(), id -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        refreshIfChanged();
+    }
+
+    /**
+     * 테이블 변경 확인 후 재적재
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void refreshIfChanged() {
+        try {
+            String version = filterMapper.findExampleCorpusVersion();
+            if (snapshot.version != null && Objects.equals(snapshot.version, version)) {
+                return;
+            }
+            reload(version);
+        } catch (Exception e) {
+            log.error("❌ [예시 댓글 인덱스] 갱신 실패 (기존 인덱스 유지): {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 누적된 사용 횟수 일괄 반영
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void flushUsage() {
+        if (pendingUsage.isEmpty()) {
+            return;
+        }
+
+        // 항목은 남겨 두고 값만 0으로 교환 (제거 후 읽으면 그 사이 증가분이 사라짐, 항목 수는 예시 수 이내)
+        Map<Integer, Integer> counts = new HashMap<>();
+        pendingUsage.forEach((id, counter) -> {
+            int delta = counter.getAndSet(0);
+            if (delta > 0) {
+                counts.put(id, delta);
+            }
+        });
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        try {
+            filterMapper.addUsageCounts(counts);
+            log.debug("📊 [예시 댓글] 사용 횟수 반영: {}건", counts.size());
+        } catch (Exception e) {
+            // 실패분은 다음 주기에 다시 반영
+            counts.forEach((id, delta) ->
+                pendingUsage.computeIfAbsent(id, key -> new AtomicInteger()).addAndGet(delta));
+            log.warn("⚠️ [예시 댓글] 사용 횟수 반영 실패, 다음 주기에 재시도: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushUsage();
+    }
+
+    private Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current.version == null) {
+            // 시작 직후 적재 전 요청
+            synchronized (this) {
+                if (snapshot.version == null) {
+                    reload(filterMapper.findExampleCorpusVersion());
+                }
+                current = snapshot;
+            }
+        }
+        return current;
+    }
+
+    private synchronized void reload(String version) {
+        List<FilterExampleCommentDto> examples = filterMapper.findAllActiveExamples();
+
+        Map<String, List<FilterExampleCommentDto>> byCategory = new HashMap<>();
+        Map<String, Map<String, List<FilterExampleCommentDto>>> byCategoryAndDifficulty = new HashMap<>();
+        for (FilterExampleCommentDto example : examples) {
+            byCategory.computeIfAbsent(example.getCategoryId(), key -> new ArrayList<>()).add(example);
+            byCategoryAndDifficulty
+                .computeIfAbsent(example.getCategoryId(), key -> new HashMap<>())
+                .computeIfAbsent(example.getDifficultyLevel(), key -> new ArrayList<>())
+                .add(example);
+        }
+
+        Map<String, FilterExampleCommentDto[]> categoryIndex = new HashMap<>();
+        byCategory.forEach((category, list) -> categoryIndex.put(category, list.toArray(EMPTY)));
+
+        Map<String, Map<String, FilterExampleCommentDto[]>> difficultyIndex = new HashMap<>();
+        byCategoryAndDifficulty.forEach((category, levels) -> {
+            Map<String, FilterExampleCommentDto[]> levelIndex = new HashMap<>();
+            levels.forEach((level, list) -> levelIndex.put(level, list.toArray(EMPTY)));
+            difficultyIndex.put(category, Map.copyOf(levelIndex));
+        });
+
+        snapshot = new Snapshot(version != null ? version : "", Map.copyOf(categoryIndex), Map.copyOf(difficultyIndex));
+        log.info("✅ [예시 댓글 인덱스] 적재 완료: {}개, 카테고리 {}개, version={}",
+            examples.size(), categoryIndex.size(), version);
+    }
+
+    /**
+     * 부분 Fisher-Yates: 앞쪽 k칸만 섞어서 반환 (복사본 사용, 원본 배열은 불변)
+     */
+    private List<FilterExampleCommentDto> sample(FilterExampleCommentDto[] pool, int limit) {
+        int k = Math.min(limit, pool.length);
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+
+        FilterExampleCommentDto[] copy = pool.clone();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<FilterExampleCommentDto> result = new ArrayList<>(k);
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(copy.length - i);
+            FilterExampleCommentDto picked = copy[j];
+            copy[j] = copy[i];
+            copy[i] = picked;
+            result.add(picked);
+        }
+        return result;
+    }
+
+    private record Snapshot(String version,
+                            Map<String, FilterExampleCommentDto[]> byCategory,
+                            Map<String, Map<String, FilterExampleCommentDto[]>> byCategoryAndDifficulty) {
+    }
+}
@@ -1,13 +1,18 @@
 package com.medi.backend.filter.service;
 
+import com.medi.backend.agent.service.ClassificationCacheService;
 import com.medi.backend.filter.dto.FilterPreferenceRequest;
 import com.medi.backend.filter.dto.FilterPreferenceResponse;
 import com.medi.backend.filter.dto.UserFilterPreferenceDto;
+import com.medi.backend.youtube.model.CommentModerationMode;
 import com.medi.backend.filter.mapper.FilterMapper;
+import com.medi.backend.global.config.CacheConfig;
 import com.medi.backend.youtube.dto.YoutubeChannelDto;
 import com.medi.backend.youtube.mapper.ChannelMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -27,6 +32,8 @@ public class FilterPreferenceServiceImpl implements FilterPreferenceService {
     private final FilterMapper filterMapper;
     private final ChannelMapper channelMapper;
     private final StringRedisTemplate stringRedisTemplate;
+    private final CacheManager cacheManager;
+    private final ClassificationCacheService classificationCacheService;
     
     // 카테고리 ID → 한글명 매핑
     private static final Map<String, String> CATEGORY_LABELS = Map.of(
@@ -41,7 +48,7 @@ public class FilterPreferenceServiceImpl implements FilterPreferenceService {
     
     @Override
     @Transactional
-    @CacheEvict(value = "filterPrompt", key = "#userId + ':' + (#request?.channelId != null ? #request.channelId : 'global')")
+    @CacheEvict(value = "filterPreference", key = "#userId + ':' + (#request?.channelId != null ? #request.channelId : 'global')")
     public FilterPreferenceResponse savePreference(Integer userId, FilterPreferenceRequest request) {
         log.info("💾 [필터 설정] 저장 시작: userId={}, channelId={}", userId, request.getChannelId());
         
@@ -53,6 +60,11 @@ public class FilterPreferenceServiceImpl implements FilterPreferenceService {
             throw new IllegalArgumentException("예시 댓글을 최소 3개 이상 선택해주세요. (현재: " + totalExamples + "개)");
         }
         
+        // 처리 방식 검증 (null이면 기존 값 유지)
+        String moderationMode = request.getModerationMode() != null
+            ? CommentModerationMode.from(request.getModerationMode()).name()
+            : null;
+        
         // DTO 변환
         UserFilterPreferenceDto dto = new UserFilterPreferenceDto();
         dto.setUserId(userId);
@@ -62,6 +74,7 @@ public class FilterPreferenceServiceImpl implements FilterPreferenceService {
         dto.setDislikeExamples(request.getDislikeExamples());
         dto.setAllowExamples(request.getAllowExamples());
         dto.setEmailNotificationSettings(request.getEmailNotificationSettings());
+        dto.setModerationMode(moderationMode);
         dto.setIsActive(true);
         
         // DB 저장 (UPSERT)
@@ -73,11 +86,15 @@ public class FilterPreferenceServiceImpl implements FilterPreferenceService {
         // ✅ Redis 저장 (DB 저장 직후)
         saveToRedis(userId, request.getChannelId());
         
+        // 정책이 바뀌었으므로 이전 정책으로 분류된 캐시 결과는 사용하지 않음 (커밋 후 버전 증가)
+        classificationCacheService.bumpPolicyVersion(userId, request.getChannelId());
+        
         // 응답 생성
         return toResponse(dto);
     }
     
     @Override
+    @Cacheable(value = "filterPreference", key = "#userId + ':' + (#channelId != null ? #channelId : 'global')", unless = "#result == null")
     public Optional<FilterPreferenceResponse> getPreference(Integer userId, Integer channelId) {
         log.debug("📖 [필터 설정] 조회: userId={}, channelId={}", userId, channelId);
         
@@ -159,7 +176,9 @@ public class FilterPreferenceServiceImpl implements FilterPreferenceService {
     private void saveToRedis(Integer userId, Integer channelDbId) {
         try {
             // 프롬프트 정책 블록 생성
+            // (내부 호출이라 @Cacheable 프록시를 거치지 않으므로 filterPrompt 캐시는 직접 갱신)
             String policyBlock = buildPromptPolicyBlock(userId, channelDbId);
+            cachePolicyBlock(userId, channelDbId, policyBlock);
             
             if (policyBlock == null || policyBlock.isEmpty()) {
                 log.warn("⚠️ [Redis 저장] 프롬프트 정책 블록이 비어있음: userId={}, channelId={}", userId, channelDbId);
@@ -192,6 +211,22 @@ public class FilterPreferenceServiceImpl implements FilterPreferenceService {
         }
     }
     
+    /**
+     * filterPrompt 캐시에 방금 만든 정책 블록 반영 (커밋 후 적용, 빈 블록이면 삭제)
+     */
+    private void cachePolicyBlock(Integer userId, Integer channelId, String policyBlock) {
+        Cache cache = cacheManager.getCache(CacheConfig.FILTER_PROMPT);
+        if (cache == null) {
+            return;
+        }
+        String key = userId + ":" + (channelId != null ? channelId : "global");
+        if (policyBlock == null || policyBlock.isEmpty()) {
+            cache.evict(key);
+        } else {
+            cache.put(key, policyBlock);
+        }
+    }
+    
     private FilterPreferenceResponse toResponse(UserFilterPreferenceDto dto) {
         FilterPreferenceResponse response = new FilterPreferenceResponse();
         response.setId(dto.getId());
@@ -202,6 +237,7 @@ public class FilterPreferenceServiceImpl implements FilterPreferenceService {
         response.setDislikeExamples(dto.getDislikeExamples());
         response.setAllowExamples(dto.getAllowExamples());
         response.setEmailNotificationSettings(dto.getEmailNotificationSettings());
+        response.setModerationMode(dto.getModerationMode());
         response.setIsActive(dto.getIsActive());
         response.setCreatedAt(dto.getCreatedAt());
         response.setUpdatedAt(dto.getUpdatedAt());
@@ -0,0 +1,112 @@
+package com.medi.backend.filter.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Aho-Corasick 다중 키워드 매처 (불변, 스레드 안전)
+ *
+ * - 키워드 수와 무관하게 본문 길이에 비례하는 한 번의 스캔으로 모든 등장 위치를 찾음
+ * - 생성자에서 trie + 실패 링크를 만들고, 각 노드의 출력에는 실패 링크로 이어진 키워드까지 합쳐 둠
+ * - 정규화는 호출 측 책임 (키워드와 본문에 같은 KoreanTextNormalizer 적용)
+ */
+final class KeywordAutomaton {
+
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final List<Map<Character, Integer>> transitions = new ArrayList<>();
+    private final int[] failure;
+    private final int[][] outputs;
+    private final int[] keywordLengths;
+
+    KeywordAutomaton(List<String> keywords) {
+        keywordLengths = new int[keywords.size()];
+        List<List<Integer>> nodeOutputs = new ArrayList<>();
+        transitions.add(new HashMap<>());
+        nodeOutputs.add(new ArrayList<>());
+
+        // 1. trie
+        for (int k = 0; k < keywords.size(); k++) {
+            String keyword = keywords.get(k);
+            keywordLengths[k] = keyword.length();
+            int node = 0;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = keyword.charAt(i);
+                Integer next = transitions.get(node).get(c);
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.get(node).put(c, next);
+                    transitions.add(new HashMap<>());
+                    nodeOutputs.add(new ArrayList<>());
+                }
+                node = next;
+            }
+            if (!keyword.isEmpty()) {
+                nodeOutputs.get(node).add(k);
+            }
+        }
+
+        // 2. 실패 링크 (BFS), 출력 병합
+        failure = new int[transitions.size()];
+        Queue<Integer> queue = new ArrayDeque<>(transitions.get(0).values());
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (Map.Entry<Character, Integer> edge : transitions.get(node).entrySet()) {
+                int child = edge.getValue();
+                int fallback = failure[node];
+                while (fallback != 0 && !transitions.get(fallback).containsKey(edge.getKey())) {
+                    fallback = failure[fallback];
+                }
+                Integer target = transitions.get(fallback).get(edge.getKey());
+                failure[child] = (target != null && target != child) ? target : 0;
+                nodeOutputs.get(child).addAll(nodeOutputs.get(failure[child]));
+                queue.add(child);
+            }
+        }
+
+        outputs = new int[nodeOutputs.size()][];
+        for (int i = 0; i < nodeOutputs.size(); i++) {
+            List<Integer> out = nodeOutputs.get(i);
+            outputs[i] = out.isEmpty() ? NO_OUTPUT : out.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    boolean isEmpty() {
+        return transitions.get(0).isEmpty();
+    }
+
+    /**
+     * 본문 text[0, length)에서 모든 키워드 등장 위치 탐색 (겹침 포함)
+     * - 정규화 버퍼를 그대로 받아 문자열 복사 없이 스캔
+     */
+    List<Match> findAll(char[] text, int length) {
+        if (length == 0 || isEmpty()) {
+            return List.of();
+        }
+        List<Match> matches = new ArrayList<>();
+        int node = 0;
+        for (int i = 0; i < length; i++) {
+            char c = text[i];
+            Integer next = transitions.get(node).get(c);
+            while (next == null && node != 0) {
+                node = failure[node];
+                next = transitions.get(node).get(c);
+            }
+            node = next != null ? next : 0;
+            for (int keywordIndex : outputs[node]) {
+                matches.add(new Match(keywordIndex, i + 1 - keywordLengths[keywordIndex], i + 1));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * 키워드 등장 위치 [start, end)
+     */
+    record Match(int keywordIndex, int start, int end) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.medi.backend.filter.service;
+
+import java.text.Normalizer;
+
+/**
+ * 우회 표기에 강한 한국어 정규화 (규칙 키워드 매칭용)
+ *
+ * 입력 문자 하나씩 한 번만 훑으면서 아래 단계를 순서대로 적용합니다.
+ * 1. NFKC (전각 ASCII는 산술 변환, 그 밖의 비 ASCII 기호는 문자별 결과를 캐시해 재사용)
+ * 2. 소문자화 + 한글 음절/조합형 자모 → 호환 자모 분해 (U+AC00 블록 산술: 초성·중성·종성 인덱스)
+ * 3. 모양이 비슷한 문자 접기 (표 기반, 1/| → ㅣ, 0 → ㅇ, 7 → ㄱ)
+ *    - 바로 옆 원문 문자가 한글일 때만 접음 ("ㅅ1발"은 접고 "10", "2017"은 그대로)
+ *    - 라틴 문자(l, i, o 등)는 접지 않음 ("kill" → "kㅣ" 같은 영어 단어 오탐 방지)
+ * 4. 구분자 제거 (공백·기호·이모지·제로폭 문자·한글 채움 문자 등 글자/숫자가 아닌 것)
+ * 5. 같은 문자 연속 반복 축약 (예: ㅋㅋㅋ → ㅋ, 음절에서 분해된 자모는 축약하지 않음)
+ *
+ * 예: "시 발", "ㅅ1발", "시.발!!", "시\u200B발" 류의 변형이 키워드와 같은 자모열로 모입니다.
+ * 키워드와 본문에 같은 정규화를 적용해야 하며, 결과의 각 문자는 원문 인덱스(positions)를 가집니다.
+ * 한 음절에서 나온 자모는 같은 원문 인덱스를 가지므로, isBoundary로 매칭이 음절 중간에서
+ * 시작/끝나는지 확인할 수 있습니다 (예: "시바를" 안의 "시발", "조지아" 안의 "좆" 제외).
+ *
+ * 흔한 입력(ASCII, 한글 음절/자모, 공백, 이모지)은 객체 생성 없이 처리되며,
+ * Buffer를 재사용하면 댓글당 추가 할당이 없습니다.
+ */
+public final class KoreanTextNormalizer {
+
+    private static final int SYLLABLE_BASE = 0xAC00;
+    private static final int SYLLABLE_LAST = 0xD7A3;
+    private static final int MEDIAL_COUNT = 21;
+    private static final int FINAL_COUNT = 28;
+
+    // 호환 자모 (U+3131~) 기준으로 통일
+    private static final char[] INITIALS = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ".toCharArray();
+    private static final char[] MEDIALS = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ".toCharArray();
+    private static final char[] FINALS = "\0ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ".toCharArray();
+
+    // 모양이 비슷한 문자 (소문자화 이후 기준)
+    private static final char[] LOOKALIKES = new char[128];
+
+    // 비 ASCII 문자별 NFKC 결과 캐시 (동시 기록은 같은 값이므로 경쟁 무해)
+    private static final String[] NFKC_CACHE = new String[0x10000];
+
+    static {
+        LOOKALIKES['1'] = 'ㅣ';
+        LOOKALIKES['|'] = 'ㅣ';
+        LOOKALIKES['0'] = 'ㅇ';
+        LOOKALIKES['7'] = 'ㄱ';
+    }
+
+    private KoreanTextNormalizer() {
+    }
+
+    /**
+     * 문자열 정규화 (키워드 컴파일용)
+     */
+    public static String normalize(String text) {
+        Buffer buffer = new Buffer();
+        normalize(text, buffer);
+        return buffer.toString();
+    }
+
+    /**
+     * 문자열 정규화 (재사용 버퍼)
+     */
+    public static void normalize(String text, Buffer out) {
+        int length = text == null ? 0 : text.length();
+        out.source = ensure(out.source, length);
+        if (length > 0) {
+            text.getChars(0, length, out.source, 0);
+        }
+        normalize(out.source, 0, length, out);
+    }
+
+    /**
+     * char 배열 구간 정규화
+     * - out.positions[i]는 out.chars[i]를 만든 원문 문자 인덱스 (offset 기준 절대 위치)
+     */
+    public static void normalize(char[] src, int offset, int length, Buffer out) {
+        out.length = 0;
+        out.lastCollapsible = false;
+        out.ensureCapacity(length * 3);
+        int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            char c = src[i];
+            if (c < 0x80) {
+                emitFolded(foldLookalike(c, src, offset, end, i), i, out);
+            } else if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                emitSyllable(c, i, out);
+            } else if (c >= 0x3131 && c <= 0x318E) {
+                emitFolded(c, i, out);                              // 호환 자모 (이미 기준 형태)
+            } else if (c >= 0xFF01 && c <= 0xFF5E) {
+                emitFolded(foldLookalike((char) (c - 0xFEE0), src, offset, end, i), i, out);  // 전각 ASCII (NFKC와 동일)
+            } else if (Character.isSurrogate(c)) {
+                // 이모지 등 BMP 밖 문자는 구분자로 취급
+            } else {
+                String normalized = nfkc(c);
+                out.ensureCapacity(out.length + normalized.length() * 3);
+                for (int j = 0; j < normalized.length(); j++) {
+                    char n = normalized.charAt(j);
+                    if (n >= SYLLABLE_BASE && n <= SYLLABLE_LAST) {
+                        emitSyllable(n, i, out);
+                    } else {
+                        emitFolded(foldLookalike(n, src, offset, end, i), i, out);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void emitSyllable(char c, int position, Buffer out) {
+        int index = c - SYLLABLE_BASE;
+        int initial = index / (MEDIAL_COUNT * FINAL_COUNT);
+        int medial = (index % (MEDIAL_COUNT * FINAL_COUNT)) / FINAL_COUNT;
+        int fin = index % FINAL_COUNT;
+        append(INITIALS[initial], position, out);
+        append(MEDIALS[medial], position, out);
+        if (fin != 0) {
+            append(FINALS[fin], position, out);
+        }
+        out.lastCollapsible = false;
+    }
+
+    /**
+     * 모양이 비슷한 문자 접기 (앞뒤 원문 문자 중 하나가 한글일 때만)
+     */
+    private static char foldLookalike(char c, char[] src, int from, int to, int position) {
+        if (c >= 0x80 || LOOKALIKES[c] == 0) {
+            return c;
+        }
+        boolean hangulNeighbor = (position > from && isHangul(src[position - 1]))
+            || (position + 1 < to && isHangul(src[position + 1]));
+        return hangulNeighbor ? LOOKALIKES[c] : c;
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST)
+            || (c >= 0x3131 && c <= 0x318E)
+            || (c >= 0x1100 && c <= 0x11FF);
+    }
+
+    private static void emitFolded(char c, int position, Buffer out) {
+        // 소문자화
+        if (c >= 'A' && c <= 'Z') {
+            c = (char) (c | 0x20);
+        } else if (c >= 0x80) {
+            c = Character.toLowerCase(c);
+        }
+
+        // 조합형 자모 → 호환 자모
+        if (c >= 0x1100 && c <= 0x1112) {
+            c = INITIALS[c - 0x1100];
+        } else if (c >= 0x1161 && c <= 0x1175) {
+            c = MEDIALS[c - 0x1161];
+        } else if (c >= 0x11A8 && c <= 0x11C2) {
+            c = FINALS[c - 0x11A8 + 1];
+        }
+
+        // 구분자 제거 (한글 채움 문자는 Letter로 분류되므로 별도 제외)
+        if (!Character.isLetterOrDigit(c) || c == 0x3164 || c == 0x115F || c == 0x1160 || c == 0xFFA0) {
+            return;
+        }
+        // 반복 축약 (직전 문자도 낱자일 때만 → 음절 자모의 원문 위치가 흐트러지지 않음)
+        if (out.lastCollapsible && out.chars[out.length - 1] == c) {
+            return;
+        }
+        append(c, position, out);
+        out.lastCollapsible = true;
+    }
+
+    private static void append(char c, int position, Buffer out) {
+        out.chars[out.length] = c;
+        out.positions[out.length] = position;
+        out.length++;
+    }
+
+    private static String nfkc(char c) {
+        String cached = NFKC_CACHE[c];
+        if (cached == null) {
+            cached = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFKC);
+            NFKC_CACHE[c] = cached;
+        }
+        return cached;
+    }
+
+    private static char[] ensure(char[] array, int capacity) {
+        return array != null && array.length >= capacity ? array : new char[Math.max(capacity, 64)];
+    }
+
+    /**
+     * 정규화 결과 버퍼 (스레드마다 하나씩 재사용)
+     */
+    public static final class Buffer {
+
+        private char[] source;
+        private char[] chars = new char[64];
+        private int[] positions = new int[64];
+        private int length;
+        private boolean lastCollapsible;   // 마지막 문자가 낱자(음절 분해 아님)인지
+
+        public char[] chars() {
+            return chars;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        /**
+         * 정규화 결과 i번째 문자를 만든 원문 인덱스
+         */
+        public int originalIndex(int i) {
+            return positions[i];
+        }
+
+        /**
+         * 정규화 결과 i번째 문자 앞이 원문 문자 경계인지 (0과 length()는 항상 경계)
+         * - 같은 음절에서 나온 자모 사이는 경계가 아님 → 매칭 [start, end)의 양 끝 검사용
+         */
+        public boolean isBoundary(int i) {
+            return i <= 0 || i >= length || positions[i - 1] != positions[i];
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (chars.length < capacity) {
+                int size = Math.max(capacity, chars.length * 2);
+                char[] grownChars = new char[size];
+                int[] grownPositions = new int[size];
+                System.arraycopy(chars, 0, grownChars, 0, length);
+                System.arraycopy(positions, 0, grownPositions, 0, length);
+                chars = grownChars;
+                positions = grownPositions;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.medi.backend.global.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 로컬(L1) 캐시 무효화 알림 (Redis Pub/Sub)
+ *
+ * - 채널: cache:invalidation
+ * - 메시지: {instanceId}|{cacheName}|{key} (key가 없으면 캐시 전체)
+ * - 자기 인스턴스가 보낸 메시지는 무시 (발행 전에 이미 로컬에서 지움)
+ */
+@Slf4j
+public class CacheInvalidationBus implements MessageListener {
+
+    public static final String CHANNEL = "cache:invalidation";
+
+    private static final String SEPARATOR = "|";
+
+    private final String instanceId = UUID.randomUUID().toString();
+    private final StringRedisTemplate stringRedisTemplate;
+    private volatile TwoLevelCacheManager cacheManager;
+
+    public CacheInvalidationBus(StringRedisTemplate stringRedisTemplate,
+                                RedisMessageListenerContainer listenerContainer) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    void bind(TwoLevelCacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * 다른 인스턴스에 L1 항목 무효화 알림
+     *
+     * @param key null이면 캐시 전체
+     */
+    void publish(String cacheName, String key) {
+        String payload = instanceId + SEPARATOR + cacheName + (key != null ? SEPARATOR + key : "");
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, payload);
+        } catch (Exception e) {
+            // 알림 실패 시 다른 인스턴스의 L1은 TTL 만료까지 이전 값 유지
+            log.warn("⚠️ [캐시 무효화] 발행 실패: cache={}, key={}, error={}", cacheName, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\" + SEPARATOR, 3);
+        if (parts.length < 2 || instanceId.equals(parts[0]) || cacheManager == null) {
+            return;
+        }
+        String key = parts.length == 3 ? parts[2] : null;
+        cacheManager.evictLocal(parts[1], key);
+        log.debug("🧹 [캐시 무효화] 수신: cache={}, key={}", parts[1], key != null ? key : "*");
+    }
+}
@@ -0,0 +1,80 @@
+package com.medi.backend.global.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 2단 캐시 매니저 (L1 Caffeine + L2 RedisCacheManager)
+ *
+ * - L1 TTL은 캐시별로 L2보다 짧게 지정 (무효화 알림 유실 시에도 오래 남지 않도록)
+ * - put/evict는 트랜잭션 커밋 후 반영 (TransactionAwareCacheDecorator)
+ *   → 커밋 전 값이 다른 인스턴스에 캐시되거나, 롤백된 값이 남지 않음
+ */
+public class TwoLevelCacheManager implements CacheManager {
+
+    private final CacheManager remoteCacheManager;
+    private final Map<String, Duration> localTtls;
+    private final Duration defaultLocalTtl;
+    private final long localMaximumSize;
+    private final CacheInvalidationBus invalidationBus;
+
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Cache> decoratedCaches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                Map<String, Duration> localTtls,
+                                Duration defaultLocalTtl,
+                                long localMaximumSize,
+                                CacheInvalidationBus invalidationBus) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.localTtls = Map.copyOf(localTtls);
+        this.defaultLocalTtl = defaultLocalTtl;
+        this.localMaximumSize = localMaximumSize;
+        this.invalidationBus = invalidationBus;
+        invalidationBus.bind(this);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return decoratedCaches.computeIfAbsent(name, key -> {
+            TwoLevelCache cache = caches.computeIfAbsent(key, this::createCache);
+            return new TransactionAwareCacheDecorator(cache);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * 다른 인스턴스의 변경 알림 → 이 인스턴스 L1만 비움
+     */
+    void evictLocal(String cacheName, String key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache != null) {
+            cache.evictLocal(key);
+        }
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            throw new IllegalStateException("L2 캐시를 생성할 수 없습니다: " + name);
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+            .maximumSize(localMaximumSize)
+            .expireAfterWrite(localTtls.getOrDefault(name, defaultLocalTtl))
+            .build();
+        return new TwoLevelCache(name, local, remote, invalidationBus);
+    }
+}
@@ -15,7 +15,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 /**
  * Spring 비동기 처리 설정
  * 
- * YouTube 자막 추출 병렬 처리를 위한 전용 Executor 설정
+ * YouTube 자막 추출, Redis 동기화, 댓글 삭제 워커 병렬 처리, 챗봇 스트리밍 중계를 위한 전용 Executor 설정
  */
 @Slf4j
 @Configuration
@@ -83,6 +83,87 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * 댓글 삭제 워커 전용 Executor 빈
+     * 
+     * CommentDeletionWorker가 선점한 댓글을 사용자 단위로 나눠 병렬 처리
+     * - corePoolSize/maxPoolSize: 4 (동시에 처리하는 사용자 수 상한)
+     * - queueCapacity: 100 (한 번 선점분의 사용자 묶음 대기)
+     * 
+     * 거부 정책: CallerRunsPolicy (큐가 꽉 차면 스케줄러 스레드에서 실행)
+     */
+    @Bean(name = "commentDeletionExecutor")
+    public Executor commentDeletionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("CommentDelete-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+
+        log.info("✅ Comment Deletion Executor 빈 생성 완료: corePoolSize=4, maxPoolSize=4, queueCapacity=100");
+
+        return executor;
+    }
+
+    /**
+     * 챗봇 스트리밍 중계 전용 Executor 빈
+     * 
+     * JDK HttpClient의 응답 처리(줄 단위 수신 → 전송 대기열 추가)를 실행 (클라이언트 write는 chatbotSseWriteExecutor)
+     * - 소켓 읽기는 HttpClient 셀렉터 스레드가 논블로킹으로 처리하므로
+     *   동시 스트림 수와 무관하게 고정된 소수 스레드로 충분
+     * - queueCapacity: 10000 (HttpClient 내부 작업이 거부되면 스트림이 끊기므로 넉넉하게)
+     * 
+     * 거부 정책: AbortPolicy (셀렉터 스레드에서 실행되지 않도록 CallerRuns 사용 안 함)
+     */
+    @Bean(name = "chatbotStreamExecutor")
+    public Executor chatbotStreamExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(8);
+        executor.setMaxPoolSize(8);
+        executor.setQueueCapacity(10000);
+        executor.setKeepAliveSeconds(60);
+        executor.setThreadNamePrefix("ChatbotStream-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+
+        log.info("✅ Chatbot Stream Executor 빈 생성 완료: corePoolSize=8, maxPoolSize=8, queueCapacity=10000");
+
+        return executor;
+    }
+
+    /**
+     * 챗봇 스트리밍 클라이언트 전송(SseEmitter write) 전용 Executor 빈
+     * 
+     * 느린 클라이언트의 소켓 write가 블로킹되어도 chatbotStreamExecutor(FastAPI 응답 수신)를 점유하지 않도록 분리
+     * - 스트림당 동시에 하나의 전송 작업만 실행되므로 스레드 수 = 전송 중인 스트림 수 (큐 대기 전에 스레드부터 사용하도록 core=max)
+     * - 느린 클라이언트는 ChatbotStreamRelay가 미전송 한도 초과 시 끊으므로 장시간 점유되지 않음
+     * 
+     * 거부 정책: AbortPolicy (거부되면 해당 스트림 종료, 수신 스레드에서 실행하지 않음)
+     */
+    @Bean(name = "chatbotSseWriteExecutor")
+    public Executor chatbotSseWriteExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(32);
+        executor.setMaxPoolSize(32);
+        executor.setQueueCapacity(1000);
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true); // 유휴 시 스레드 반환
+        executor.setThreadNamePrefix("ChatbotSseWrite-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+
+        log.info("✅ Chatbot SSE Write Executor 빈 생성 완료: corePoolSize=32, maxPoolSize=32, queueCapacity=1000");
+
+        return executor;
+    }
+
     /**
      * 비동기 작업 예외 처리 핸들러
      * 
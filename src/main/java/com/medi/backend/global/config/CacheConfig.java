@@ -1,40 +1,89 @@
 package com.medi.backend.global.config;
 
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.medi.backend.global.cache.CacheInvalidationBus;
+import com.medi.backend.global.cache.TwoLevelCacheManager;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.Map;
 
 /**
- * Redis 캐시 설정
- * - filterPrompt: 프롬프트 정책 블록 캐싱 (TTL: 1시간)
+ * 캐시 설정 (L1 Caffeine + L2 Redis, TwoLevelCacheManager)
+ *
+ * | 캐시               | 키                              | L2(Redis) TTL | L1(로컬) TTL |
+ * |--------------------|---------------------------------|---------------|--------------|
+ * | filterPrompt       | {userId}:{channelId|global}     | 1시간         | 5분          |
+ * | filterPreference   | {userId}:{channelId|global}     | 1시간         | 5분          |
+ * | subscriptionPlans  | all                             | 6시간         | 10분         |
+ * | subscriptionPlan   | {planId}                        | 6시간         | 10분         |
+ * | userChannels       | {userId}                        | 10분          | 1분          |
+ *
+ * 변경 시 L2 삭제/갱신 후 cache:invalidation 채널로 다른 인스턴스의 L1을 비웁니다.
  */
 @Configuration
 @EnableCaching
 public class CacheConfig {
-    
+
+    public static final String FILTER_PROMPT = "filterPrompt";
+    public static final String FILTER_PREFERENCE = "filterPreference";
+    public static final String SUBSCRIPTION_PLANS = "subscriptionPlans";
+    public static final String SUBSCRIPTION_PLAN = "subscriptionPlan";
+    public static final String USER_CHANNELS = "userChannels";
+
+    private static final long LOCAL_MAXIMUM_SIZE = 10_000;  // 캐시별 L1 최대 항목 수
+
+    @Bean
+    public CacheInvalidationBus cacheInvalidationBus(StringRedisTemplate stringRedisTemplate,
+                                                     RedisMessageListenerContainer redisMessageListenerContainer) {
+        return new CacheInvalidationBus(stringRedisTemplate, redisMessageListenerContainer);
+    }
+
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     CacheInvalidationBus cacheInvalidationBus) {
+        // DTO의 LocalDateTime/LocalDate 필드 직렬화를 위해 JavaTimeModule 등록
+        GenericJackson2JsonRedisSerializer valueSerializer = new GenericJackson2JsonRedisSerializer()
+            .configure(objectMapper -> objectMapper.registerModule(new JavaTimeModule()));
+
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-            .entryTtl(Duration.ofHours(1))  // TTL: 1시간
+            .entryTtl(Duration.ofHours(1))  // 기본 TTL: 1시간
             .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(
                 new StringRedisSerializer()))
             .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
-                new GenericJackson2JsonRedisSerializer()))
+                valueSerializer))
             .disableCachingNullValues();
-        
-        return RedisCacheManager.builder(connectionFactory)
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
             .cacheDefaults(config)
+            .withInitialCacheConfigurations(Map.of(
+                FILTER_PROMPT, config,
+                FILTER_PREFERENCE, config,
+                SUBSCRIPTION_PLANS, config.entryTtl(Duration.ofHours(6)),
+                SUBSCRIPTION_PLAN, config.entryTtl(Duration.ofHours(6)),
+                USER_CHANNELS, config.entryTtl(Duration.ofMinutes(10))))
             .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new TwoLevelCacheManager(
+            redisCacheManager,
+            Map.of(
+                SUBSCRIPTION_PLANS, Duration.ofMinutes(10),
+                SUBSCRIPTION_PLAN, Duration.ofMinutes(10),
+                USER_CHANNELS, Duration.ofMinutes(1)),
+            Duration.ofMinutes(5),
+            LOCAL_MAXIMUM_SIZE,
+            cacheInvalidationBus);
     }
 }
-
@@ -10,6 +10,7 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -74,9 +75,93 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
  * - 트리거: YoutubeTranscriptServiceImpl (자막 추출 시)
  * - 설명: 비디오 자막 텍스트 (채널 성격 파악용)
  * 
+ * 8. 사용자 대시보드 응답 캐시
+ * - 키: user:{userId}:dashboard:version (String, INCR)
+ * - 키: user:{userId}:dashboard:v{version}:{kind}[:{params}] (String JSON)
+ * - TTL: 버전 키 없음 / 응답 키 1시간
+ * - 트리거: UserDashboardCacheService (대시보드 조회 시 저장, Agent 결과 저장·댓글 삭제·동기화 시 버전 증가)
+ * - 설명: 버전이 바뀌면 이전 응답 키는 조회되지 않음 (캐시 미스 → MySQL 재조회)
+ * 
+ * 9. 비동기 댓글 삭제 진행 상황
+ * - 키: deletion:progress:{requestId}
+ * - 타입: Hash (Field: userId, total, completed, failed)
+ * - TTL: 7일
+ * - 트리거: DeletionProgressService (삭제 요청 시 total 기록, CommentDeletionWorker 처리 시 HINCRBY)
+ * - 설명: 변경될 때마다 deletion:progress:events 채널(Pub/Sub)에 requestId 발행 → SSE 구독자에게 전송
+ * 
+ * 10. 챗봇 대화 기록
+ * - 키: chatbot:conversation:{userId}:{conversationId}
+ * - 타입: List (원소: {role, content} JSON, 최근 20개만 유지)
+ * - TTL: 마지막 대화 후 24시간
+ * - 트리거: ChatHistoryService (챗봇 응답 성공 시 사용자 메시지 + 응답 추가)
+ * - 설명: 클라이언트는 conversation_id와 새 메시지만 보내고, 서버가 이전 대화를 채워 챗봇에 전달
+ * 
+ * 11. Spring Cache L2 (TwoLevelCacheManager)
+ * - 키: {cacheName}::{key} (filterPrompt, filterPreference, subscriptionPlans, subscriptionPlan, userChannels)
+ * - 타입: String (JSON, GenericJackson2JsonRedisSerializer)
+ * - TTL: 캐시별 10분 ~ 6시간 (CacheConfig 참고)
+ * - 트리거: @Cacheable 조회 시 저장, 변경 시 삭제
+ * - 설명: 인스턴스 로컬 L1(Caffeine) 뒤의 공유 캐시. 변경 시 cache:invalidation 채널(Pub/Sub)로 다른 인스턴스의 L1 무효화
+ * 
+ * 12. 유사 중복 댓글 클러스터
+ * - 키: video:{video_id}:comment_clusters
+ * - 타입: Hash (Field: 대표 comment_id, Value: 멤버 댓글 JSON 배열, 미보고 표시 후 "~{epoch ms}~{JSON}")
+ * - TTL: 3일
+ * - 키: comment_clusters:unconfirmed (ZSet, member: video_id, score: 미보고 대표 최초 표시 epoch ms, TTL 없음)
+ * - 트리거: CommentClusterService (증분 동기화 시 SimHash 후보 + 본문 확인으로 묶어 저장, 대표 판정 적용 후 삭제)
+ * - 설명: 대표 댓글만 video:{video_id}:comments에 저장되고, 에이전트 결과 수신 시 대표의 status/reason을 멤버에 적용.
+ *   결과에 보고되지 않고 processed Set에 들어간 대표(중립)는 1차 표시 후, 다음 결과에도 없거나 10분이 지나면
+ *   멤버를 중립으로 확정 (video:{video_id}:processed 추가 + daily_comment_stats 전체 수 반영)
+ * 
+ * 13. 댓글 분류 캐시 (정규화 본문 해시 → AI 판정)
+ * - 키: classification:channel:{channelId}:v{version}:{contentHash} (String JSON {status, reason}, TTL 7일)
+ * - 키: classification:channel:{channelId}:version (String, INCR, TTL 없음)
+ * - 키: video:{video_id}:classification_pending (Hash, Field: comment_id, Value: contentHash, TTL 3일)
+ * - 트리거: ClassificationCacheService (동기화 시 조회/대기 기록, 에이전트 결과 수신 시 저장, 필터 설정 저장 시 버전 증가)
+ * - 설명: 적중한 댓글은 에이전트로 보내지 않고 캐시된 판정으로 저장. 적중률은 comment.classification.cache.* 메트릭
+ * 
+ * 14. 필터링 작업 델타 매니페스트
+ * - 키: filtering:manifest:{manifestId}:{video_id}
+ * - 타입: Set (comment_id)
+ * - TTL: 3일
+ * - 트리거: YoutubeCommentServiceImpl (증분 동기화 시 video:{video_id}:comments에 새로 저장하거나 수정되어 다시 저장한 댓글 ID 기록)
+ * - 키: video:{video_id}:filtering_pending (Set, comment_id, TTL 3일) / filtering:pending_videos (Set, video_id, TTL 3일)
+ * - 설명: 필터링 작업 payload의 commentManifests(videoId → 키)로 전달. 에이전트는 전체 Hash 대신 델타만 처리
+ *   에이전트로 보낸 댓글은 filtering_pending에 보관하고 결과 수신 시 processed Set에 들어간 댓글을 제거.
+ *   남은 댓글은 다음 동기화 매니페스트에 다시 포함 (새 댓글이 없는 영상도, pending_videos에 있는 영상만 조회)
+ * 
+ * 15. 댓글 수정 감지 지문
+ * - 키: video:{video_id}:comment_fingerprints
+ * - 타입: Hash (Field: comment_id, Value: "{updatedAt epoch초 36진수}:{본문 CRC32}")
+ * - TTL: 30일 (video:{video_id}:processed와 동일)
+ * - 트리거: YoutubeCommentServiceImpl (증분 동기화에서 조회한 모든 댓글)
+ * - 설명: 지문이 바뀐 댓글은 processed Set/classification Hash에서 제거하고 델타 매니페스트에 포함해 재분류
+ * 
+ * 16. 영상 댓글 수 점검
+ * - 키: video:{video_id}:comment_count
+ * - 타입: Hash (observed: 최근 videos.list commentCount, crawled: 마지막 수집 시점 commentCount, crawled_at: epoch ms)
+ * - TTL: 30일
+ * - 트리거: CommentCountProbe (메타데이터 동기화 시 observed 기록, 댓글 수집 성공 시 crawled 확정)
+ * - 설명: 증분 동기화에서 observed == crawled이고 24시간 내 수집한 영상은 commentThreads.list 호출 생략
+ * 
+ * 17. 영상 조회 보류 (네거티브 캐시)
+ * - 키: video:{video_id}:unavailable
+ * - 타입: Hash (reason: COMMENTS_DISABLED/PRIVATE/DELETED, strikes: 연속 횟수, until: 보류 종료 epoch ms)
+ * - TTL: 30일
+ * - 트리거: VideoUnavailableCache (댓글 조회 오류 시 기록, 정상 조회 시 삭제)
+ * - 설명: until 전까지 메타데이터·댓글 조회 생략, 연속될수록 대기 시간 2배. DELETED 2회 연속이면 youtube_videos.deleted_at 기록
+ * 
+ * 18. WebSub 업로드 알림 구독
+ * - 키: websub:leases (Hash, Field: youtube_channel_id, Value: lease 만료 epoch ms, TTL 없음)
+ * - 키: websub:pending:{youtube_channel_id} (String, TTL 1시간) / websub:notified:{video_id} (String, TTL 10분)
+ * - 키: websub:renew:lock (String, TTL 50분)
+ * - 키: websub:polled (Hash, Field: youtube_channel_id, Value: 마지막 스케줄러 폴링 epoch ms, TTL 없음) lease가 있어도 7일마다 안전 폴링
+ * - 트리거: YoutubeWebSubService (매시간 lease 갱신, 허브 검증/알림 콜백)
+ * - 설명: lease가 유효한 채널은 스케줄러 playlistItems 폴링 생략, 새 영상 알림 시 해당 채널만 즉시 동기화
+ * 
  * ❌ 수동 저장 (API 호출 필요):
  * 
- * 8. 에이전트용 프롬프트 재저장
+ * 19. 에이전트용 프롬프트 재저장
  * - 키: channel:{youtubeChannelId}:form
  * - 타입: String (JSON)
  * - TTL: 없음 (영구 저장)
@@ -99,7 +184,7 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
  * - 키: filtering_agent:tasks:queue
  * - 타입: List (FIFO)
  * - 트리거: RedisQueueService.enqueueFiltering() (필터링 작업 요청 시)
- * - 설명: 댓글 필터링 작업을 큐에 추가
+ * - 설명: 댓글 필터링 작업을 큐에 추가 (증분 동기화 작업은 commentManifests로 영상별 새 댓글 ID Set 키 포함)
  * 
  * ❌ 수동 저장 (API 호출 필요):
  * 
@@ -129,6 +214,7 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
  * - stringRedisTemplate (Primary): DB 0 사용, YouTube 데이터 및 캐시 저장
  * - redisTemplate: DB 0 사용, JSON 직렬화 (현재 미사용)
  * - redisQueueTemplate: DB 1 사용, 작업 큐 전용
+ * - redisMessageListenerContainer: DB 0 연결, Pub/Sub 구독 (삭제 진행 상황 알림, 캐시 무효화 알림)
  */
 @Configuration
 public class RedisConfig {
@@ -164,6 +250,17 @@ public class RedisConfig {
         return t;
     }
 
+    /**
+     * Pub/Sub 구독 컨테이너 (DB 0 연결)
+     * - 리스너는 각 서비스가 직접 등록 (DeletionProgressService, CacheInvalidationBus)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory cf) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(cf);
+        return container;
+    }
+
     /**
      * 작업 큐 전용 Redis 템플릿 (DB 1)
      * - Profiling, Filtering, Form, Legal Report, Content Report 작업 큐
@@ -208,6 +208,7 @@ public class SecurityConfig {
                                                                                  // 허용
                         .requestMatchers("/api/youtube/connect").authenticated()
                         .requestMatchers("/api/youtube/oauth/callback").permitAll()
+                        .requestMatchers("/api/youtube/websub/callback").permitAll() // WebSub 허브 검증/알림
                         .requestMatchers("/api/youtube/token/status").authenticated()
                         .requestMatchers("/swagger-ui/**").permitAll() // Swagger UI
                         .requestMatchers("/v3/api-docs/**").permitAll() // Swagger API Docs
@@ -26,6 +26,7 @@ import com.medi.backend.userdashboard.dto.VideoFilteringStatisticsDto;
 import com.medi.backend.userdashboard.dto.OriginalCommentDto;
 import com.medi.backend.userdashboard.service.UserDashboardService;
 import com.medi.backend.agent.service.AgentService;
+import com.medi.backend.agent.dto.FilteredCommentPage;
 import com.medi.backend.agent.dto.FilteredCommentResponse;
 
 @RestController
@@ -160,9 +161,10 @@ public class UserDashboardController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        // AgentService에서 필터링된 댓글 조회 (status=null이면 전체)
-        List<FilteredCommentResponse> filteredComments = 
-            agentService.getFilteredCommentsByVideoId(videoId, userId, null);
+        // AgentService에서 필터링된 댓글 조회 (status=null이면 전체, 최신 저장순 첫 페이지)
+        List<FilteredCommentResponse> filteredComments = agentService
+            .getFilteredCommentsByVideoId(videoId, userId, null, null, null, FilteredCommentPage.MAX_SIZE)
+            .getComments();
 
         // FilteredCommentResponse → OriginalCommentDto 변환
         List<OriginalCommentDto> comments = filteredComments.stream()
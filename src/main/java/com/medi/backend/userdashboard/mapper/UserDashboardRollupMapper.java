@@ -0,0 +1,67 @@
+package com.medi.backend.userdashboard.mapper;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 대시보드 집계(rollup) 테이블 갱신용 Mapper
+ * - channel_comment_rollup_daily / channel_comment_rollup_monthly
+ * - user_comment_rollup_daily / user_comment_rollup_monthly
+ *
+ * 모든 갱신은 "해당 키의 값을 원본에서 다시 계산해 덮어쓰기" 방식이라 여러 번 실행해도 결과가 같습니다.
+ */
+@Mapper
+public interface UserDashboardRollupMapper {
+
+    // 채널 하루치 ACTIVE 댓글 수 재계산 (youtube_comments → channel_comment_rollup_daily)
+    int refreshChannelDaily(
+        @Param("channelId") Integer channelId,
+        @Param("statDate") LocalDate statDate
+    );
+
+    // 채널 월 합계 재계산 (channel_comment_rollup_daily → channel_comment_rollup_monthly)
+    int refreshChannelMonthly(
+        @Param("channelId") Integer channelId,
+        @Param("statMonth") LocalDate statMonth
+    );
+
+    // 사용자 하루 합계 재계산 (channel_comment_rollup_daily → user_comment_rollup_daily)
+    int refreshUserDaily(
+        @Param("channelId") Integer channelId,
+        @Param("statDate") LocalDate statDate
+    );
+
+    // 사용자 월 합계 재계산 (channel_comment_rollup_monthly → user_comment_rollup_monthly)
+    int refreshUserMonthly(
+        @Param("channelId") Integer channelId,
+        @Param("statMonth") LocalDate statMonth
+    );
+
+    // 단일 댓글의 채널 ID / 생성 날짜 (단건 삭제 시 재계산 대상)
+    Integer findChannelIdByYoutubeCommentId(@Param("youtubeCommentId") String youtubeCommentId);
+
+    LocalDate findCreatedDateByYoutubeCommentId(@Param("youtubeCommentId") String youtubeCommentId);
+
+    // 삭제 요청으로 상태가 바뀐 댓글들의 생성 날짜 (재계산 대상)
+    List<LocalDate> findCreatedDatesByDeletionRequestId(@Param("requestId") String requestId);
+
+    // 전체 재집계 (야간 보정용)
+    int resetAllChannelDaily();
+
+    int rebuildAllChannelDaily();
+
+    int resetAllChannelMonthly();
+
+    int rebuildAllChannelMonthly();
+
+    int resetAllUserDaily();
+
+    int rebuildAllUserDaily();
+
+    int resetAllUserMonthly();
+
+    int rebuildAllUserMonthly();
+}
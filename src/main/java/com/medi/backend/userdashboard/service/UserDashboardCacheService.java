@@ -0,0 +1,128 @@
+package com.medi.backend.userdashboard.service;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medi.backend.youtube.dto.YoutubeChannelDto;
+import com.medi.backend.youtube.mapper.ChannelMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 사용자 대시보드 응답 캐시 (Redis DB 0)
+ *
+ * - 버전 키: user:{userId}:dashboard:version (INCR, TTL 없음)
+ * - 응답 키: user:{userId}:dashboard:v{version}:{kind}[:{params}] (JSON, TTL 1시간)
+ *
+ * 데이터가 바뀌는 시점(Agent 결과 저장, 댓글 삭제, 채널/영상 동기화)에 버전만 올리면
+ * 이전 버전의 응답 키는 더 이상 조회되지 않고 TTL로 자연 소멸합니다.
+ * Redis 장애 시에는 캐시를 건너뛰고 MySQL 조회 결과를 그대로 반환합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserDashboardCacheService {
+
+    private static final Duration ENTRY_TTL = Duration.ofHours(1);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final ChannelMapper channelMapper;
+
+    /**
+     * 캐시 조회 → 없으면 loader 실행 후 현재 버전 키에 저장
+     *
+     * @param kind   응답 종류 (summary, statistics, trend ...)
+     * @param params 조회 파라미터 (없으면 null)
+     */
+    public <T> T getOrLoad(Integer userId, String kind, String params, TypeReference<T> type, Supplier<T> loader) {
+        String key = null;
+        try {
+            key = entryKey(userId, currentVersion(userId), kind, params);
+            String cached = stringRedisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                log.debug("📦 [대시보드 캐시] HIT: {}", key);
+                return objectMapper.readValue(cached, type);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ [대시보드 캐시] 조회 실패 (DB 조회로 대체): userId={}, kind={}, error={}",
+                userId, kind, e.getMessage());
+        }
+
+        T result = loader.get();
+
+        if (key != null && result != null) {
+            try {
+                stringRedisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(result), ENTRY_TTL);
+            } catch (Exception e) {
+                log.warn("⚠️ [대시보드 캐시] 저장 실패: key={}, error={}", key, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 사용자 데이터 버전 증가
+     * - 트랜잭션 안에서 호출되면 커밋 이후에 증가시켜, 커밋 전 데이터가 새 버전으로 캐시되는 것을 방지
+     */
+    public void bumpVersion(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementVersion(userId);
+                }
+            });
+        } else {
+            incrementVersion(userId);
+        }
+    }
+
+    /**
+     * 채널 소유자의 데이터 버전 증가
+     */
+    public void bumpVersionForChannel(Integer channelId) {
+        if (channelId == null) {
+            return;
+        }
+        YoutubeChannelDto channel = channelMapper.getOneChannelById(channelId);
+        if (channel == null) {
+            return;
+        }
+        bumpVersion(channel.getUserId());
+    }
+
+    private void incrementVersion(Integer userId) {
+        try {
+            Long version = stringRedisTemplate.opsForValue().increment(versionKey(userId));
+            log.debug("🔄 [대시보드 캐시] 버전 증가: userId={}, version={}", userId, version);
+        } catch (Exception e) {
+            log.warn("⚠️ [대시보드 캐시] 버전 증가 실패: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    private String currentVersion(Integer userId) {
+        String version = stringRedisTemplate.opsForValue().get(versionKey(userId));
+        return version != null ? version : "0";
+    }
+
+    private String versionKey(Integer userId) {
+        return "user:" + userId + ":dashboard:version";
+    }
+
+    private String entryKey(Integer userId, String version, String kind, String params) {
+        String key = "user:" + userId + ":dashboard:v" + version + ":" + kind;
+        return params != null ? key + ":" + params : key;
+    }
+}
@@ -0,0 +1,94 @@
+package com.medi.backend.userdashboard.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.medi.backend.userdashboard.mapper.UserDashboardRollupMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 대시보드 집계(rollup) 테이블 유지 서비스
+ * - 댓글 저장/삭제 시점에 영향받은 (채널, 날짜) 행만 재계산
+ * - 매일 새벽 전체 재집계로 누락/오차 보정
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserDashboardRollupService {
+
+    private final UserDashboardRollupMapper rollupMapper;
+
+    /**
+     * 특정 채널의 하루치 집계 갱신 (일별 → 월별 → 사용자 합계 순서)
+     */
+    @Transactional
+    public void refreshChannelDay(Integer channelId, LocalDate statDate) {
+        if (channelId == null || statDate == null) {
+            return;
+        }
+        LocalDate statMonth = statDate.withDayOfMonth(1);
+
+        rollupMapper.refreshChannelDaily(channelId, statDate);
+        rollupMapper.refreshChannelMonthly(channelId, statMonth);
+        rollupMapper.refreshUserDaily(channelId, statDate);
+        rollupMapper.refreshUserMonthly(channelId, statMonth);
+
+        log.debug("📊 [대시보드 집계] 갱신 완료: channelId={}, date={}", channelId, statDate);
+    }
+
+    /**
+     * 단일 댓글 상태 변경(ACTIVE → DELETED) 반영
+     */
+    @Transactional
+    public void refreshForComment(String youtubeCommentId) {
+        Integer channelId = rollupMapper.findChannelIdByYoutubeCommentId(youtubeCommentId);
+        LocalDate createdDate = rollupMapper.findCreatedDateByYoutubeCommentId(youtubeCommentId);
+        refreshChannelDay(channelId, createdDate);
+    }
+
+    /**
+     * 삭제 요청(PENDING_DELETE 전환)으로 빠진 댓글들의 날짜 행 갱신
+     */
+    @Transactional
+    public void refreshForDeletionRequest(Integer channelId, String requestId) {
+        if (channelId == null || requestId == null) {
+            return;
+        }
+        List<LocalDate> dates = rollupMapper.findCreatedDatesByDeletionRequestId(requestId);
+        for (LocalDate date : dates) {
+            refreshChannelDay(channelId, date);
+        }
+        log.debug("📊 [대시보드 집계] 삭제 요청 반영: channelId={}, requestId={}, 날짜 수={}",
+            channelId, requestId, dates.size());
+    }
+
+    /**
+     * 전체 재집계 (매일 오전 3시 30분, Asia/Seoul)
+     * - 증분 갱신 중 실패/누락된 부분을 원본(youtube_comments) 기준으로 보정
+     * - 하나의 트랜잭션으로 실행되어 조회 쪽에서는 중간 상태(0)가 보이지 않음
+     */
+    @Scheduled(cron = "0 30 3 * * *", zone = "Asia/Seoul")
+    @Transactional
+    public void reconcileAll() {
+        log.info("📊 [대시보드 집계] 전체 재집계 시작");
+        long start = System.currentTimeMillis();
+
+        rollupMapper.resetAllChannelDaily();
+        int channelDaily = rollupMapper.rebuildAllChannelDaily();
+        rollupMapper.resetAllChannelMonthly();
+        int channelMonthly = rollupMapper.rebuildAllChannelMonthly();
+        rollupMapper.resetAllUserDaily();
+        int userDaily = rollupMapper.rebuildAllUserDaily();
+        rollupMapper.resetAllUserMonthly();
+        int userMonthly = rollupMapper.rebuildAllUserMonthly();
+
+        log.info("✅ [대시보드 집계] 전체 재집계 완료: channelDaily={}, channelMonthly={}, userDaily={}, userMonthly={}, {}ms",
+            channelDaily, channelMonthly, userDaily, userMonthly, System.currentTimeMillis() - start);
+    }
+}
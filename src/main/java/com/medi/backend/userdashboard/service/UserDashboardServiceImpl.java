@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.medi.backend.userdashboard.dto.CategoryDistributionForUserDto;
 import com.medi.backend.userdashboard.dto.ChannelFilteringRankingDto;
 import com.medi.backend.userdashboard.dto.ChannelFilteringStatisticsDto;
@@ -28,24 +29,37 @@ public class UserDashboardServiceImpl implements UserDashboardService {
     private final UserDashboardMapper dashboardMapper;
     private final ChannelService channelService;
     private final VideoService videoService;
+    private final UserDashboardCacheService dashboardCacheService;
 
     public UserDashboardServiceImpl(UserDashboardMapper dashboardMapper,
                                     ChannelService channelService,
-                                    VideoService videoService) {
+                                    VideoService videoService,
+                                    UserDashboardCacheService dashboardCacheService) {
         this.dashboardMapper = dashboardMapper;
         this.channelService = channelService;
         this.videoService = videoService;
+        this.dashboardCacheService = dashboardCacheService;
     }
 
+    // 모든 조회는 사용자 데이터 버전 기준 Redis 캐시를 먼저 확인 (UserDashboardCacheService 참고)
+
     @Override
     @Transactional(readOnly = true)
     public UserDashboardSummaryDto getDashboardSummary(Integer userId) {
-        return dashboardMapper.getDashboardSummary(userId);
+        return dashboardCacheService.getOrLoad(userId, "summary", null,
+            new TypeReference<UserDashboardSummaryDto>() {},
+            () -> dashboardMapper.getDashboardSummary(userId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserFilteringStatisticsDto getFilteringStatistics(Integer userId) {
+        return dashboardCacheService.getOrLoad(userId, "statistics", null,
+            new TypeReference<UserFilteringStatisticsDto>() {},
+            () -> loadFilteringStatistics(userId));
+    }
+
+    private UserFilteringStatisticsDto loadFilteringStatistics(Integer userId) {
         UserFilteringStatisticsDto statistics = new UserFilteringStatisticsDto();
 
         Integer totalCount = dashboardMapper.getTotalFilteringCountByUserId(userId);
@@ -90,12 +104,24 @@ public class UserDashboardServiceImpl implements UserDashboardService {
             throw new IllegalArgumentException("조회 기간은 최대 1년까지 가능합니다.");
         }
 
-        return dashboardMapper.getFilteringTrendByDateRange(userId, from, to, channelId, videoId);
+        LocalDate rangeFrom = from;
+        LocalDate rangeTo = to;
+        return dashboardCacheService.getOrLoad(userId, "trend",
+            rangeFrom + ":" + rangeTo + ":" + channelId + ":" + videoId,
+            new TypeReference<List<FilteringTrendPointDto>>() {},
+            () -> dashboardMapper.getFilteringTrendByDateRange(userId, rangeFrom, rangeTo, channelId, videoId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public ChannelFilteringStatisticsDto getChannelFilteringStatistics(Integer userId, Integer channelId) {
+        // 캐시 키가 사용자 범위라 소유권 검증을 통과한 결과만 저장됨
+        return dashboardCacheService.getOrLoad(userId, "channel", String.valueOf(channelId),
+            new TypeReference<ChannelFilteringStatisticsDto>() {},
+            () -> loadChannelFilteringStatistics(userId, channelId));
+    }
+
+    private ChannelFilteringStatisticsDto loadChannelFilteringStatistics(Integer userId, Integer channelId) {
         // 입력값 검증
         if (channelId == null || channelId <= 0) {
             throw new IllegalArgumentException("유효하지 않은 채널 ID입니다.");
@@ -136,6 +162,12 @@ public class UserDashboardServiceImpl implements UserDashboardService {
     @Override
     @Transactional(readOnly = true)
     public VideoFilteringStatisticsDto getVideoFilteringStatistics(Integer userId, Integer videoId) {
+        return dashboardCacheService.getOrLoad(userId, "video", String.valueOf(videoId),
+            new TypeReference<VideoFilteringStatisticsDto>() {},
+            () -> loadVideoFilteringStatistics(userId, videoId));
+    }
+
+    private VideoFilteringStatisticsDto loadVideoFilteringStatistics(Integer userId, Integer videoId) {
         // 입력값 검증
         if (videoId == null || videoId <= 0) {
             throw new IllegalArgumentException("유효하지 않은 비디오 ID입니다.");
@@ -184,7 +216,10 @@ public class UserDashboardServiceImpl implements UserDashboardService {
         if (limit > 100) {
             limit = 100;
         }
-        return dashboardMapper.getChannelFilteringRanking(userId, limit);
+        Integer rankingLimit = limit;
+        return dashboardCacheService.getOrLoad(userId, "channelRanking", String.valueOf(rankingLimit),
+            new TypeReference<List<ChannelFilteringRankingDto>>() {},
+            () -> dashboardMapper.getChannelFilteringRanking(userId, rankingLimit));
     }
 
     @Override
@@ -198,7 +233,10 @@ public class UserDashboardServiceImpl implements UserDashboardService {
         if (limit > 100) {
             limit = 100;
         }
-        return dashboardMapper.getVideoFilteringRanking(userId, limit);
+        Integer rankingLimit = limit;
+        return dashboardCacheService.getOrLoad(userId, "videoRanking", String.valueOf(rankingLimit),
+            new TypeReference<List<VideoFilteringRankingDto>>() {},
+            () -> dashboardMapper.getVideoFilteringRanking(userId, rankingLimit));
     }
 
     private void calculatePercentageForHarmfulness(
@@ -0,0 +1,53 @@
+package com.medi.backend.youtube.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * YouTube 업로드 푸시 알림(WebSub) 설정
+ *
+ * application.yml의 youtube.websub.* 설정값을 관리합니다.
+ *
+ * 예시:
+ * youtube:
+ * websub:
+ * enabled: true
+ * callback-url: https://api.example.com/api/youtube/websub/callback
+ * secret: ${YOUTUBE_WEBSUB_SECRET}
+ *
+ * 로컬 테스트 시 hub-url을 허브 스텁 주소로 바꾸면 구독 요청/검증/알림 흐름을 그대로 확인할 수 있습니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "youtube.websub")
+public class YoutubeWebSubProperties {
+
+    /**
+     * 푸시 구독 사용 여부. false면 구독하지 않고 스케줄러 폴링만 사용한다. (secret이 없으면 true여도 비활성)
+     */
+    private boolean enabled = false;
+
+    /**
+     * 구독 요청을 보낼 허브 주소.
+     */
+    private String hubUrl = "https://pubsubhubbub.appspot.com/subscribe";
+
+    /**
+     * 허브가 검증 요청과 알림을 보낼 공개 콜백 주소 (/api/youtube/websub/callback).
+     */
+    private String callbackUrl;
+
+    /**
+     * 요청할 구독 기간(초). 허브가 실제로 부여한 기간은 검증 요청의 hub.lease_seconds를 따른다.
+     */
+    private long leaseSeconds = 432000; // 5일
+
+    /**
+     * 알림 본문 서명(X-Hub-Signature, HMAC-SHA1) 검증용 비밀값. 필수 - 비어 있으면 구독하지 않고 콜백 알림을 거부한다.
+     */
+    private String secret;
+}
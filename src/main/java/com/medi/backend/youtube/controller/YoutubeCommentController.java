@@ -1,14 +1,17 @@
 package com.medi.backend.youtube.controller;
 
 import com.medi.backend.global.util.AuthUtil;
+import com.medi.backend.youtube.service.DeletionProgressService;
 import com.medi.backend.youtube.service.YoutubeCommentDeletionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.HashMap;
 import java.util.List;
@@ -24,12 +27,15 @@ import java.util.Map;
 public class YoutubeCommentController {
 
     private final YoutubeCommentDeletionService commentDeletionService;
+    private final DeletionProgressService deletionProgressService;
     private final AuthUtil authUtil;
 
     public YoutubeCommentController(
             YoutubeCommentDeletionService commentDeletionService,
+            DeletionProgressService deletionProgressService,
             AuthUtil authUtil) {
         this.commentDeletionService = commentDeletionService;
+        this.deletionProgressService = deletionProgressService;
         this.authUtil = authUtil;
     }
 
@@ -325,4 +331,32 @@ public class YoutubeCommentController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
         }
     }
+
+    /**
+     * 삭제 작업 진행 상황 구독 (SSE)
+     * GET /api/youtube/comments/deletion-status/{requestId}/stream
+     * 
+     * 연결 직후 현재 진행 상황을 보내고, 워커가 댓글을 처리할 때마다 progress 이벤트를 전송합니다.
+     * 완료(isCompleted=true) 이벤트 이후 스트림이 종료됩니다.
+     * 
+     * @param requestId 삭제 요청 ID
+     * @return SSE Emitter (이벤트 데이터는 GET /deletion-status/{requestId} 응답과 동일)
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping(value = "/deletion-status/{requestId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "삭제 작업 진행 상황 구독", description = "비동기 삭제 작업의 진행 상황을 SSE로 받습니다. (폴링 대체)")
+    public ResponseEntity<SseEmitter> streamJobProgress(
+            @PathVariable String requestId) {
+        Integer userId = authUtil.getCurrentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            return ResponseEntity.ok(deletionProgressService.subscribe(requestId, userId));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package com.medi.backend.youtube.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.medi.backend.youtube.service.YoutubeWebSubService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * YouTube WebSub 허브 콜백 (허브에서만 호출, 인증 없음)
+ * - GET: 구독/해지 검증 → hub.challenge 그대로 반환
+ * - POST: 업로드 알림 (Atom XML, X-Hub-Signature로 검증)
+ *   secret 미설정 등 알림을 받지 않는 설정이면 403, 본문이 MAX_NOTIFICATION_BYTES를 넘으면 413
+ */
+@RestController
+@RequestMapping("/api/youtube/websub")
+@RequiredArgsConstructor
+public class YoutubeWebSubController {
+
+    private final YoutubeWebSubService webSubService;
+
+    @GetMapping(value = "/callback", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<String> verify(@RequestParam("hub.mode") String mode,
+                                         @RequestParam("hub.topic") String topic,
+                                         @RequestParam("hub.challenge") String challenge,
+                                         @RequestParam(value = "hub.lease_seconds", required = false) Long leaseSeconds) {
+        String accepted = webSubService.verifyIntent(mode, topic, challenge, leaseSeconds);
+        if (accepted == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(accepted);
+    }
+
+    @PostMapping("/callback")
+    public ResponseEntity<Void> receive(HttpServletRequest request,
+                                        @RequestHeader(value = "X-Hub-Signature", required = false) String signature) throws IOException {
+        if (!webSubService.acceptsNotifications()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        if (request.getContentLengthLong() > YoutubeWebSubService.MAX_NOTIFICATION_BYTES) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        // Content-Length 없이 오는 청크 본문도 상한까지만 읽는다
+        byte[] body;
+        try (InputStream in = request.getInputStream()) {
+            body = in.readNBytes(YoutubeWebSubService.MAX_NOTIFICATION_BYTES + 1);
+        }
+        if (body.length > YoutubeWebSubService.MAX_NOTIFICATION_BYTES) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+        if (body.length > 0) {
+            webSubService.handleNotification(body, signature);
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
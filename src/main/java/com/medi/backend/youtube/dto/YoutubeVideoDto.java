@@ -16,6 +16,7 @@ public class YoutubeVideoDto {
     private Long commentCount;
     private LocalDateTime publishedAt;
     private String thumbnailUrl;
+    private LocalDateTime deletedAt;        // YouTube에서 삭제 확정된 시각 (null이면 정상)
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -11,6 +11,18 @@ public interface YoutubeVideoMapper {
     void upsert(YoutubeVideoDto video);
     YoutubeVideoDto findByYoutubeVideoId(@Param("youtubeVideoId") String youtubeVideoId);
     List<YoutubeVideoDto> findByChannelId(@Param("channelId") Integer channelId);
+
+    /**
+     * 삭제 확정되지 않은 채널 영상 (스케줄 동기화 대상)
+     */
+    List<YoutubeVideoDto> findActiveByChannelId(@Param("channelId") Integer channelId);
+
+    /**
+     * YouTube에서 삭제된 영상 표시 (이미 표시된 경우 변경 없음)
+     *
+     * @return 갱신된 행 수
+     */
+    int markDeleted(@Param("youtubeVideoId") String youtubeVideoId);
     
     /**
      * 비디오 ID로 YouTube 채널 ID 조회 (JOIN 쿼리)
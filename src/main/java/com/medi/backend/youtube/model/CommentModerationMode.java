@@ -0,0 +1,46 @@
+package com.medi.backend.youtube.model;
+
+/**
+ * 유해 댓글 처리 방식 (사용자 필터 설정의 moderation_mode).
+ * DELETE : comments.delete로 댓글마다 한 번씩 삭제 (기본값)
+ * REJECT : comments.setModerationStatus(rejected)로 여러 댓글을 한 번에 숨김
+ * HOLD   : comments.setModerationStatus(heldForReview)로 여러 댓글을 한 번에 검토 대기로 보류
+ */
+public enum CommentModerationMode {
+    DELETE(null),
+    REJECT("rejected"),
+    HOLD("heldForReview");
+
+    private final String youtubeModerationStatus;
+
+    CommentModerationMode(String youtubeModerationStatus) {
+        this.youtubeModerationStatus = youtubeModerationStatus;
+    }
+
+    /**
+     * comments.setModerationStatus의 moderationStatus 값 (DELETE는 null)
+     */
+    public String getYoutubeModerationStatus() {
+        return youtubeModerationStatus;
+    }
+
+    public boolean isBatch() {
+        return youtubeModerationStatus != null;
+    }
+
+    /**
+     * 설정 값 변환 (null/빈 값이면 DELETE)
+     *
+     * @throws IllegalArgumentException 지원하지 않는 값
+     */
+    public static CommentModerationMode from(String value) {
+        if (value == null || value.isBlank()) {
+            return DELETE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("지원하지 않는 댓글 처리 방식입니다: " + value + " (DELETE, REJECT, HOLD)");
+        }
+    }
+}
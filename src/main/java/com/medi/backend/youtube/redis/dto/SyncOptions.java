@@ -24,6 +24,13 @@ public class SyncOptions {
      */
     private final boolean includeFullMetadata;
 
+    /**
+     * 필터링 작업 델타 매니페스트 ID
+     * - 지정하면 이번 동기화에서 에이전트용 Hash에 새로 저장한 댓글 ID를 영상별 Set으로 기록
+     * - null: 기록하지 않음
+     */
+    private final String manifestId;
+
     /**
      * 초기 동기화용 기본 옵션
      */
@@ -43,4 +50,15 @@ public class SyncOptions {
                 .includeFullMetadata(true) // 전체 메타데이터
                 .build();
     }
+
+    /**
+     * 증분 동기화 + 델타 매니페스트 기록 (필터링 작업에 새 댓글 ID만 전달)
+     */
+    public static SyncOptions incrementalSync(String manifestId) {
+        return SyncOptions.builder()
+                .maxCommentCount(null)
+                .includeFullMetadata(true)
+                .manifestId(manifestId)
+                .build();
+    }
 }
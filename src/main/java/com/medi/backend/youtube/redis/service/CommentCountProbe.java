@@ -0,0 +1,102 @@
+package com.medi.backend.youtube.redis.service;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 증분 동기화 사전 점검: commentCount가 바뀐 영상만 댓글 수집
+ *
+ * - observe: videos.list(statistics) 응답의 commentCount 기록 (메타데이터 동기화에서 이미 50개씩 조회하므로 추가 호출 없음)
+ * - selectChanged: 마지막 수집 당시 댓글 수와 다르거나 알 수 없는 영상만 반환
+ *   (삭제 + 새 댓글로 수가 같아지는 경우 대비, FORCE_CRAWL_INTERVAL이 지나면 다시 수집)
+ * - markCrawled: 댓글 수집 성공 후 관측값을 수집 기준값으로 확정
+ *
+ * Redis: video:{video_id}:comment_count (Hash: observed, crawled, crawled_at)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentCountProbe {
+
+    private static final Duration FORCE_CRAWL_INTERVAL = Duration.ofHours(24);
+    private static final Duration COUNT_TTL = Duration.ofDays(30);
+
+    private static final String FIELD_OBSERVED = "observed";
+    private static final String FIELD_CRAWLED = "crawled";
+    private static final String FIELD_CRAWLED_AT = "crawled_at";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * videos.list 응답의 commentCount 기록 (댓글 비활성화 등으로 값이 없으면 기록하지 않음)
+     */
+    public void observe(String videoId, BigInteger commentCount) {
+        if (videoId == null || commentCount == null) {
+            return;
+        }
+        try {
+            String key = buildCountKey(videoId);
+            stringRedisTemplate.opsForHash().put(key, FIELD_OBSERVED, commentCount.toString());
+            stringRedisTemplate.expire(key, COUNT_TTL);
+        } catch (Exception e) {
+            log.debug("댓글 수 기록 실패: videoId={}, error={}", videoId, e.getMessage());
+        }
+    }
+
+    /**
+     * 댓글 수집이 필요한 영상 (입력 순서 유지, 조회 실패 시 전체)
+     */
+    public List<String> selectChanged(List<String> videoIds) {
+        List<String> changed = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (String videoId : videoIds) {
+            try {
+                List<Object> values = stringRedisTemplate.opsForHash().multiGet(buildCountKey(videoId),
+                        List.of(FIELD_OBSERVED, FIELD_CRAWLED, FIELD_CRAWLED_AT));
+                Object observed = values.get(0);
+                Object crawled = values.get(1);
+                Object crawledAt = values.get(2);
+                boolean stale = crawledAt == null
+                        || now - Long.parseLong(crawledAt.toString()) >= FORCE_CRAWL_INTERVAL.toMillis();
+                if (observed == null || !observed.equals(crawled) || stale) {
+                    changed.add(videoId);
+                }
+            } catch (Exception e) {
+                changed.add(videoId);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 댓글 수집 성공 후 호출 (관측값을 기준값으로)
+     */
+    public void markCrawled(String videoId) {
+        try {
+            String key = buildCountKey(videoId);
+            Object observed = stringRedisTemplate.opsForHash().get(key, FIELD_OBSERVED);
+            if (observed == null) {
+                return;
+            }
+            stringRedisTemplate.opsForHash().putAll(key, Map.of(
+                    FIELD_CRAWLED, observed.toString(),
+                    FIELD_CRAWLED_AT, String.valueOf(System.currentTimeMillis())));
+            stringRedisTemplate.expire(key, COUNT_TTL);
+        } catch (Exception e) {
+            log.debug("댓글 수집 기준값 기록 실패: videoId={}, error={}", videoId, e.getMessage());
+        }
+    }
+
+    private String buildCountKey(String videoId) {
+        return "video:" + videoId + ":comment_count";
+    }
+}
@@ -0,0 +1,165 @@
+package com.medi.backend.youtube.redis.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 필터링 작업 델타 매니페스트
+ *
+ * - 증분 동기화 1회(= 필터링 작업 1개 묶음)마다 매니페스트 ID 발급
+ * - 영상별로 이번 동기화에서 video:{id}:comments에 새로 저장하거나 수정되어 다시 저장한 댓글 ID를 Set에 기록
+ *   - 키: filtering:manifest:{manifestId}:{videoId} (DB 0, TTL 3일)
+ * - 필터링 작업 payload의 commentManifests(videoId → 키)로 전달되어,
+ *   에이전트는 영상의 전체 댓글 Hash 대신 델타만 HMGET으로 읽을 수 있음
+ * - 에이전트로 보낸 댓글은 처리될 때까지 영상별 대기 Set에 보관
+ *   - 키: video:{videoId}:filtering_pending (Set, TTL 3일), 대기 댓글이 있는 영상 목록: filtering:pending_videos (Set)
+ *   - 결과 수신 시 video:{id}:processed에 들어간 댓글을 제거 (removeProcessed)
+ *   - 남은 댓글은 다음 매니페스트에 다시 포함 (새 댓글이 없는 영상도 대상 → 델타가 없다고 작업을 건너뛰어도 미처리 댓글이 남지 않음)
+ *   - 비용은 영상의 전체 댓글 수가 아니라 대기 댓글 수에 비례하고, 대기 댓글이 없는 영상은 조회하지 않음
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentDeltaManifestService {
+
+    private static final Duration MANIFEST_TTL = Duration.ofDays(3);  // video:{id}:comments와 동일
+    private static final String PENDING_VIDEOS_KEY = "filtering:pending_videos";
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public String newManifestId() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * 에이전트로 보낸 댓글 ID 기록 (같은 동기화에서 여러 번 호출되면 합쳐짐)
+     * - 처리될 때까지 대기 Set에 보관하고, manifestId가 있으면 델타 매니페스트에도 기록
+     */
+    public void record(String manifestId, String videoId, Collection<String> commentIds) {
+        if (commentIds == null || commentIds.isEmpty()) {
+            return;
+        }
+        String[] ids = commentIds.toArray(new String[0]);
+        String pendingKey = buildPendingKey(videoId);
+        stringRedisTemplate.opsForSet().add(pendingKey, ids);
+        stringRedisTemplate.expire(pendingKey, MANIFEST_TTL);
+        stringRedisTemplate.opsForSet().add(PENDING_VIDEOS_KEY, videoId);
+        stringRedisTemplate.expire(PENDING_VIDEOS_KEY, MANIFEST_TTL);
+        if (manifestId == null) {
+            return;
+        }
+        String key = buildManifestKey(manifestId, videoId);
+        stringRedisTemplate.opsForSet().add(key, ids);
+        stringRedisTemplate.expire(key, MANIFEST_TTL);
+    }
+
+    /**
+     * 처리된 댓글을 대기 Set에서 제거 (에이전트 결과 수신 시)
+     *
+     * @return 아직 처리되지 않은 댓글 ID
+     */
+    public List<String> removeProcessed(String videoId) {
+        String pendingKey = buildPendingKey(videoId);
+        Set<String> pending = stringRedisTemplate.opsForSet().members(pendingKey);
+        if (pending == null || pending.isEmpty()) {
+            stringRedisTemplate.opsForSet().remove(PENDING_VIDEOS_KEY, videoId);
+            return List.of();
+        }
+        Object[] ids = pending.toArray();
+        Map<Object, Boolean> processed = stringRedisTemplate.opsForSet()
+            .isMember("video:" + videoId + ":processed", ids);
+        List<Object> done = new ArrayList<>();
+        List<String> unprocessed = new ArrayList<>();
+        for (Object commentId : ids) {
+            if (processed != null && Boolean.TRUE.equals(processed.get(commentId))) {
+                done.add(commentId);
+            } else {
+                unprocessed.add(commentId.toString());
+            }
+        }
+        if (!done.isEmpty()) {
+            stringRedisTemplate.opsForSet().remove(pendingKey, done.toArray());
+        }
+        if (unprocessed.isEmpty()) {
+            stringRedisTemplate.opsForSet().remove(PENDING_VIDEOS_KEY, videoId);
+        }
+        return unprocessed;
+    }
+
+    /**
+     * 아직 처리되지 않은 댓글을 매니페스트에 추가
+     * - 대기 댓글이 있는 영상만 조회 (filtering:pending_videos에 없는 영상은 Redis 조회 없음)
+     * - 앞선 작업이 큐에 남아 있으면 같은 댓글이 두 작업에 들어갈 수 있으나, 에이전트는 processed Set으로 중복을 건너뜀
+     *
+     * @return 추가한 댓글 수
+     */
+    public int carryOverUnprocessed(String manifestId, List<String> videoIds) {
+        if (manifestId == null || videoIds.isEmpty()) {
+            return 0;
+        }
+        Map<Object, Boolean> hasPending;
+        try {
+            hasPending = stringRedisTemplate.opsForSet().isMember(PENDING_VIDEOS_KEY, videoIds.toArray());
+        } catch (Exception e) {
+            log.warn("미처리 댓글 이월 실패: manifestId={}, error={}", manifestId, e.getMessage());
+            return 0;
+        }
+        int carried = 0;
+        for (String videoId : videoIds) {
+            if (hasPending == null || !Boolean.TRUE.equals(hasPending.get(videoId))) {
+                continue;
+            }
+            try {
+                List<String> unprocessed = removeProcessed(videoId);
+                if (!unprocessed.isEmpty()) {
+                    String key = buildManifestKey(manifestId, videoId);
+                    stringRedisTemplate.opsForSet().add(key, unprocessed.toArray(new String[0]));
+                    stringRedisTemplate.expire(key, MANIFEST_TTL);
+                    carried += unprocessed.size();
+                }
+            } catch (Exception e) {
+                log.warn("미처리 댓글 이월 실패: videoId={}, error={}", videoId, e.getMessage());
+            }
+        }
+        if (carried > 0) {
+            log.info("🔁 미처리 댓글 매니페스트 이월: manifestId={}, 댓글={}개", manifestId, carried);
+        }
+        return carried;
+    }
+
+    /**
+     * 델타가 있는 영상의 매니페스트 키 (입력 순서 유지)
+     *
+     * @return videoId → 매니페스트 Set 키 (델타가 없는 영상은 제외)
+     */
+    public Map<String, String> manifestKeys(String manifestId, List<String> videoIds) {
+        Map<String, String> keys = new LinkedHashMap<>();
+        for (String videoId : videoIds) {
+            String key = buildManifestKey(manifestId, videoId);
+            if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(key))) {
+                keys.put(videoId, key);
+            }
+        }
+        return keys;
+    }
+
+    private String buildPendingKey(String videoId) {
+        return "video:" + videoId + ":filtering_pending";
+    }
+
+    private String buildManifestKey(String manifestId, String videoId) {
+        return "filtering:manifest:" + manifestId + ":" + videoId;
+    }
+}
@@ -82,11 +82,24 @@ public class RedisQueueService {
      * - Redis 키: channel:{channelId}:form (DB 0)
      */
     public void enqueueFiltering(String channelId, List<String> videoIds) {
+        enqueueFiltering(channelId, videoIds, null);
+    }
+
+    /**
+     * Filtering Agent 작업 추가 (델타 매니페스트 포함)
+     * - commentManifests: videoId → filtering:manifest:{manifestId}:{videoId} (DB 0, Set)
+     * - 매니페스트가 있는 영상은 Set에 든 댓글 ID만 video:{id}:comments에서 읽으면 됨
+     *   (없으면 기존처럼 전체 Hash 확인)
+     */
+    public void enqueueFiltering(String channelId, List<String> videoIds, Map<String, String> commentManifests) {
         try {
             Map<String, Object> task = new HashMap<>();
             task.put("channelId", channelId);
             task.put("type", "filtering"); // ⭐ 명시적으로 "filtering"
             task.put("videoIds", videoIds);
+            if (commentManifests != null && !commentManifests.isEmpty()) {
+                task.put("commentManifests", commentManifests);
+            }
 
             // ✅ 프롬프트는 큐에 포함하지 않음
             // 에이전트가 작업 처리 시 Redis(DB 0)에서 직접 읽음
@@ -99,8 +112,8 @@ public class RedisQueueService {
             // ⭐ DB 1의 FILTERING Queue에 추가
             redisQueueTemplate.opsForList().leftPush(FILTERING_QUEUE_KEY, taskJson);
 
-            log.info("✅ Filtering task 추가 (DB 1): channelId={}, queue={}, type=filtering, videoCount={}",
-                    channelId, FILTERING_QUEUE_KEY, videoIds.size());
+            log.info("✅ Filtering task 추가 (DB 1): channelId={}, queue={}, type=filtering, videoCount={}, manifestCount={}",
+                    channelId, FILTERING_QUEUE_KEY, videoIds.size(), commentManifests != null ? commentManifests.size() : 0);
             log.debug("💡 에이전트는 Redis(DB 0)에서 channel:{}:form 키로 프롬프트를 읽어야 합니다.", channelId);
         } catch (Exception e) {
             log.error("❌ Filtering task 추가 실패: channelId={}", channelId, e);
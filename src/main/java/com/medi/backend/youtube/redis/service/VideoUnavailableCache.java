@@ -0,0 +1,149 @@
+package com.medi.backend.youtube.redis.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.medi.backend.youtube.mapper.YoutubeVideoMapper;
+import com.medi.backend.youtube.redis.util.YoutubeErrorUtil;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 댓글을 가져올 수 없는 영상 네거티브 캐시
+ *
+ * - commentThreads.list 오류(댓글 비활성화 / 비공개 / 삭제)를 사유별로 기록하고,
+ *   대기 시간 동안은 메타데이터·댓글 조회 전에 건너뜀 (매 스케줄마다 같은 오류로 API 호출 반복 방지)
+ * - 같은 사유가 연속되면 대기 시간을 2배씩 늘림 (사유별 상한까지)
+ * - 삭제(videoNotFound)가 DELETE_CONFIRM_STRIKES번 연속되면 youtube_videos.deleted_at 기록 → 스케줄 대상에서 제외
+ * - 정상 조회되면 clear로 기록 삭제
+ *
+ * Redis: video:{video_id}:unavailable (Hash: reason, strikes, until)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VideoUnavailableCache {
+
+    private static final Duration ENTRY_TTL = Duration.ofDays(30);     // 연속 횟수 유지 기간 (최대 대기 시간 이상)
+    private static final int DELETE_CONFIRM_STRIKES = 2;
+
+    private static final String FIELD_REASON = "reason";
+    private static final String FIELD_STRIKES = "strikes";
+    private static final String FIELD_UNTIL = "until";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final YoutubeVideoMapper youtubeVideoMapper;
+
+    /**
+     * 사유별 첫 대기 시간 / 최대 대기 시간
+     */
+    public enum Reason {
+        COMMENTS_DISABLED(Duration.ofHours(6), Duration.ofDays(7)),   // 크리에이터가 다시 켤 수 있음
+        PRIVATE(Duration.ofHours(1), Duration.ofDays(3)),             // 공개 전환 가능
+        DELETED(Duration.ofHours(1), Duration.ofDays(30));            // 확정 전 일시 오류 대비
+
+        private final Duration baseBackoff;
+        private final Duration maxBackoff;
+
+        Reason(Duration baseBackoff, Duration maxBackoff) {
+            this.baseBackoff = baseBackoff;
+            this.maxBackoff = maxBackoff;
+        }
+
+        private Duration backoff(int strikes) {
+            long multiplier = 1L << Math.min(Math.max(strikes - 1, 0), 20);
+            Duration backoff = baseBackoff.multipliedBy(multiplier);
+            return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+        }
+    }
+
+    /**
+     * commentThreads.list 오류를 사유로 변환 (네거티브 캐시 대상이 아니면 null)
+     */
+    public static Reason classify(GoogleJsonResponseException e) {
+        String errorReason = YoutubeErrorUtil.extractErrorReason(e);
+        if ("commentsDisabled".equals(errorReason) || "disabledComments".equals(errorReason)) {
+            return Reason.COMMENTS_DISABLED;
+        }
+        if (e.getStatusCode() == 404 && "videoNotFound".equals(errorReason)) {
+            return Reason.DELETED;
+        }
+        if (e.getStatusCode() == 403 && "forbidden".equals(errorReason)) {
+            return Reason.PRIVATE;
+        }
+        return null;
+    }
+
+    /**
+     * 대기 중이 아닌 영상만 반환 (입력 순서 유지, 조회 실패 시 포함)
+     */
+    public List<String> filterAvailable(List<String> videoIds) {
+        List<String> available = new ArrayList<>(videoIds.size());
+        for (String videoId : videoIds) {
+            if (!isSuppressed(videoId)) {
+                available.add(videoId);
+            }
+        }
+        return available;
+    }
+
+    public boolean isSuppressed(String videoId) {
+        try {
+            Object until = stringRedisTemplate.opsForHash().get(buildUnavailableKey(videoId), FIELD_UNTIL);
+            return until != null && Long.parseLong(until.toString()) > System.currentTimeMillis();
+        } catch (Exception e) {
+            log.debug("네거티브 캐시 조회 실패: videoId={}, error={}", videoId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 조회 실패 기록 (같은 사유가 이어지면 연속 횟수 증가, 사유가 바뀌면 1부터)
+     */
+    public void record(String videoId, Reason reason) {
+        try {
+            String key = buildUnavailableKey(videoId);
+            List<Object> values = stringRedisTemplate.opsForHash().multiGet(key, List.of(FIELD_REASON, FIELD_STRIKES));
+            int strikes = 1;
+            if (reason.name().equals(values.get(0)) && values.get(1) != null) {
+                strikes = Integer.parseInt(values.get(1).toString()) + 1;
+            }
+            Duration backoff = reason.backoff(strikes);
+            stringRedisTemplate.opsForHash().putAll(key, Map.of(
+                    FIELD_REASON, reason.name(),
+                    FIELD_STRIKES, String.valueOf(strikes),
+                    FIELD_UNTIL, String.valueOf(System.currentTimeMillis() + backoff.toMillis())));
+            stringRedisTemplate.expire(key, ENTRY_TTL);
+            log.info("🚫 영상 조회 보류: videoId={}, reason={}, strikes={}, backoff={}", videoId, reason, strikes, backoff);
+
+            if (reason == Reason.DELETED && strikes >= DELETE_CONFIRM_STRIKES) {
+                int updated = youtubeVideoMapper.markDeleted(videoId);
+                log.info("🗑️ 삭제된 영상으로 확정: videoId={}, updated={}", videoId, updated);
+            }
+        } catch (Exception e) {
+            log.warn("네거티브 캐시 기록 실패: videoId={}, reason={}, error={}", videoId, reason, e.getMessage());
+        }
+    }
+
+    /**
+     * 정상 조회 후 호출 (보류 기록 삭제)
+     */
+    public void clear(String videoId) {
+        try {
+            stringRedisTemplate.delete(buildUnavailableKey(videoId));
+        } catch (Exception e) {
+            log.debug("네거티브 캐시 삭제 실패: videoId={}, error={}", videoId, e.getMessage());
+        }
+    }
+
+    private String buildUnavailableKey(String videoId) {
+        return "video:" + videoId + ":unavailable";
+    }
+}
@@ -1,5 +1,6 @@
 package com.medi.backend.youtube.redis.service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
@@ -7,10 +8,13 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
@@ -22,6 +26,11 @@ import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.Comment;
 import com.google.api.services.youtube.model.CommentThread;
 import com.google.api.services.youtube.model.CommentThreadListResponse;
+import com.medi.backend.agent.dto.AgentFilteredCommentsRequest;
+import com.medi.backend.agent.service.AgentService;
+import com.medi.backend.agent.service.ClassificationCacheService;
+import com.medi.backend.agent.service.CommentClusterService;
+import com.medi.backend.filter.service.CommentRulePrefilter;
 import com.medi.backend.youtube.dto.YoutubeCommentSyncCursorDto;
 import com.medi.backend.youtube.mapper.YoutubeCommentSyncCursorMapper;
 import com.medi.backend.youtube.redis.dto.RedisYoutubeComment;
@@ -50,6 +59,12 @@ import lombok.extern.slf4j.Slf4j;
  * - 증분 동기화: video:{video_id}:comments (원본 데이터, 절대 수정 금지)
  * Type: Hash
  * Field: comment_id, Value: JSON 문자열 (전체 메타데이터)
+ * - 수정 감지 지문: video:{video_id}:comment_fingerprints (updatedAt + 본문 해시, 수정된 댓글은 Hash 값을 최신 본문으로 갱신 후 재분류)
+ * Type: Hash
+ * Field: comment_id, Value: "{updatedAt 36진수}:{CRC32}"
+ * - 유사 중복 멤버: video:{video_id}:comment_clusters (대표 댓글만 comments Hash에 저장)
+ * Type: Hash
+ * Field: 대표 comment_id, Value: 멤버 댓글 JSON 배열
  * - 필터링 결과: video:{video_id}:classification (FastAPI agent가 저장)
  * Type: Hash
  * Field: comment_id, Value: JSON 문자열 (분류 결과)
@@ -70,6 +85,13 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
     private final ObjectMapper objectMapper;
     private final com.medi.backend.youtube.service.YoutubeDataApiClient youtubeDataApiClient;
     private final com.medi.backend.youtube.config.YoutubeDataApiProperties youtubeDataApiProperties;
+    private final CommentRulePrefilter rulePrefilter;
+    private final CommentClusterService commentClusterService;
+    private final ClassificationCacheService classificationCacheService;
+    private final AgentService agentService;
+    private final CommentDeltaManifestService manifestService;
+    private final CommentCountProbe commentCountProbe;
+    private final VideoUnavailableCache videoUnavailableCache;
 
     private static final Duration COMMENT_HASH_TTL = Duration.ofDays(3);
     private static final Duration PROCESSED_SET_TTL = Duration.ofDays(30);
@@ -115,6 +137,10 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
                             log.warn("영상 ID가 없습니다. 건너뜁니다: {}", video);
                             continue;
                         }
+                        if (videoUnavailableCache.isSuppressed(videoId)) {
+                            log.debug("영상 {}은 댓글 조회 보류 중이라 건너뜁니다", videoId);
+                            continue;
+                        }
 
                         // 변경: Redis Key 형식 변경
                         // 초기 동기화: video:{videoId}:comments:init (채널 프로파일링용)
@@ -134,6 +160,7 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
                             }
 
                             totalCommentCount += commentCount;
+                            videoUnavailableCache.clear(videoId);
                             log.debug("영상 {}의 댓글 {}개 저장 완료", videoId, commentCount);
                         } catch (Exception saveException) {
                             // 부분 실패 처리: 저장 실패 시 기존 댓글 복구
@@ -147,6 +174,10 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
                         // Python 코드 참고: HttpError 예외 처리
                         // Python: if reason in {"commentsDisabled", "disabledComments"}
                         String errorReason = YoutubeErrorUtil.extractErrorReason(e);
+                        VideoUnavailableCache.Reason unavailableReason = VideoUnavailableCache.classify(e);
+                        if (unavailableReason != null) {
+                            videoUnavailableCache.record(video.getYoutubeVideoId(), unavailableReason);
+                        }
                         if ("commentsDisabled".equals(errorReason) || "disabledComments".equals(errorReason)) {
                             log.info("영상 {}의 댓글이 비활성화되어 있습니다", video.getYoutubeVideoId());
                         } else {
@@ -197,6 +228,14 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
                         log.warn("유효하지 않은 비디오 ID: {}", videoId);
                         continue;
                     }
+                    if (rulePrefilter.isExcluded(videoId)) {
+                        log.info("영상 {}은 검사 제외 규칙(EXCLUDE_FROM_SCANNING) 대상이라 댓글 수집을 건너뜁니다", videoId);
+                        continue;
+                    }
+                    if (videoUnavailableCache.isSuppressed(videoId)) {
+                        log.debug("영상 {}은 댓글 조회 보류 중이라 건너뜁니다", videoId);
+                        continue;
+                    }
 
                     String commentsKey = buildCommentsKey(videoId);
                     String processedKey = buildProcessedKey(videoId);
@@ -212,11 +251,17 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
                     if (incrementalResult.getLatestPublishedAt() != null) {
                         updateLastSyncTime(cursorKey, videoId, incrementalResult.getLatestPublishedAt());
                     }
+                    commentCountProbe.markCrawled(videoId);
+                    videoUnavailableCache.clear(videoId);
 
                     stringRedisTemplate.expire(commentsKey, COMMENT_HASH_TTL);
                     stringRedisTemplate.expire(processedKey, PROCESSED_SET_TTL);
                 } catch (com.google.api.client.googleapis.json.GoogleJsonResponseException e) {
                     String errorReason = YoutubeErrorUtil.extractErrorReason(e);
+                    VideoUnavailableCache.Reason unavailableReason = VideoUnavailableCache.classify(e);
+                    if (unavailableReason != null) {
+                        videoUnavailableCache.record(videoId, unavailableReason);
+                    }
                     if ("commentsDisabled".equals(errorReason) || "disabledComments".equals(errorReason)) {
                         log.info("영상 {}의 댓글이 비활성화되어 있습니다", videoId);
                     } else {
@@ -253,6 +298,13 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
                 .map(Object::toString)
                 .collect(Collectors.toSet());
 
+        // 수정 감지용 지문 (comment_id → updatedAt + 본문 해시)
+        String fingerprintKey = buildFingerprintKey(videoId);
+        Map<Object, Object> fingerprints = stringRedisTemplate.opsForHash().entries(fingerprintKey);
+        Map<String, String> fingerprintUpdates = new HashMap<>();
+        List<Object> editedComments = new ArrayList<>();
+        Set<String> editedIds = new HashSet<>();
+
         List<Object> newComments = new ArrayList<>();
         String nextPageToken = null;
         int pageCount = 0;
@@ -344,6 +396,15 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
                     if (topId == null || topId.isBlank()) {
                         continue;
                     }
+                    Long totalReplyCount = thread.getSnippet().getTotalReplyCount() != null
+                            ? thread.getSnippet().getTotalReplyCount().longValue()
+                            : null;
+                    // 이미 본 댓글이 수정됐으면 재분류 대상 (커서 이전 댓글 포함, 조회한 페이지 안에서만)
+                    if (isEdited(top, fingerprints, fingerprintUpdates) && editedIds.add(topId)) {
+                        addIfNotNull(editedComments, useFullMetadata
+                                ? redisMapper.toRedisCommentFull(top, null, totalReplyCount)
+                                : redisMapper.toRedisComment(top, null));
+                    }
                     LocalDateTime topPublishedAt = toLocalDateTime(top.getSnippet().getPublishedAt());
                     if (topPublishedAt != null && !topPublishedAt.isAfter(cursorThreshold)) {
                         continue;
@@ -351,10 +412,6 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
                     boolean alreadyExists = existingIds.contains(topId);
 
                     if (!alreadyExists && useFullMetadata) {
-                        Long totalReplyCount = null;
-                        if (thread.getSnippet().getTotalReplyCount() != null) {
-                            totalReplyCount = thread.getSnippet().getTotalReplyCount().longValue();
-                        }
                         RedisYoutubeCommentFull topComment = redisMapper.toRedisCommentFull(top, null, totalReplyCount);
                         if (topComment != null) {
                             newComments.add(topComment);
@@ -392,7 +449,15 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
                             }
 
                             String replyId = reply != null ? reply.getId() : null;
-                            if (replyId == null || existingIds.contains(replyId)) {
+                            if (replyId == null) {
+                                continue;
+                            }
+                            if (isEdited(reply, fingerprints, fingerprintUpdates) && editedIds.add(replyId)) {
+                                addIfNotNull(editedComments, useFullMetadata
+                                        ? redisMapper.toRedisCommentFull(reply, top.getId(), null)
+                                        : redisMapper.toRedisComment(reply, top.getId()));
+                            }
+                            if (existingIds.contains(replyId)) {
                                 continue;
                             }
                             LocalDateTime replyPublishedAt = reply != null
@@ -453,8 +518,34 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
             newComments = newComments.subList(0, maxCommentCount);
         }
 
-        if (!newComments.isEmpty()) {
-            saveCommentsToRedisHash(commentsKey, newComments);
+        if (!fingerprintUpdates.isEmpty()) {
+            stringRedisTemplate.opsForHash().putAll(fingerprintKey, fingerprintUpdates);
+            stringRedisTemplate.expire(fingerprintKey, PROCESSED_SET_TTL);
+        }
+
+        // 수정된 댓글은 새 댓글과 같은 경로로 다시 분류 (에이전트가 처리 완료로 건너뛰지 않도록 표시 제거)
+        List<Object> changedComments = newComments;
+        if (!editedComments.isEmpty()) {
+            requeueEditedComments(videoId, editedIds);
+            changedComments = new ArrayList<>(newComments);
+            changedComments.addAll(editedComments);
+            log.info("✏️ 수정된 댓글 {}개를 재분류 대상으로 추가: videoId={}", editedComments.size(), videoId);
+        }
+
+        // 사용자 규칙(블랙/화이트리스트)으로 판정된 댓글은 로컬에서 처리하고 에이전트용 Hash에 넣지 않음
+        List<Object> agentComments = excludeRuleHandled(videoId, changedComments);
+        // 같은 정규화 본문의 이전 AI 판정이 캐시에 있으면 에이전트를 거치지 않고 저장
+        agentComments = excludeCachedClassifications(videoId, agentComments);
+        // 유사 중복 댓글은 대표 하나만 에이전트로 보내고, 대표의 판정을 결과 저장 시 나머지에 적용
+        agentComments = excludeNearDuplicates(videoId, agentComments);
+        if (!agentComments.isEmpty()) {
+            saveCommentsToRedisHash(commentsKey, agentComments);
+            classificationCacheService.markPending(videoId, toCommentData(agentComments));
+            // 처리될 때까지 대기 댓글로 기록하고, 필터링 작업이 전체 Hash 대신 이번에 저장한 댓글만 읽도록 델타 매니페스트 기록
+            manifestService.record(options != null ? options.getManifestId() : null, videoId, agentComments.stream()
+                    .map(this::extractCommentId)
+                    .filter(commentId -> commentId != null && !commentId.isBlank())
+                    .collect(Collectors.toList()));
         }
 
         return new IncrementalFetchResult(newComments.size(), latestPublishedAt);
@@ -589,6 +680,102 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
         return allComments.size();
     }
 
+    private List<Object> excludeRuleHandled(String videoId, List<Object> comments) {
+        if (comments.isEmpty()) {
+            return comments;
+        }
+        List<CommentRulePrefilter.RuleCandidate> candidates = new ArrayList<>(comments.size());
+        for (Object comment : comments) {
+            if (comment instanceof RedisYoutubeCommentFull full) {
+                candidates.add(new CommentRulePrefilter.RuleCandidate(full.getCommentId(), full.getTextOriginal(),
+                        full.getAuthorName(), full.getAuthorChannelId(), full.getLikeCount(), full.getPublishedAt()));
+            } else if (comment instanceof RedisYoutubeComment basic) {
+                candidates.add(new CommentRulePrefilter.RuleCandidate(basic.getCommentId(), basic.getTextOriginal(),
+                        basic.getAuthorName(), null, basic.getLikeCount(), basic.getPublishedAt()));
+            }
+        }
+
+        Set<String> handled = rulePrefilter.apply(videoId, candidates);
+        if (handled.isEmpty()) {
+            return comments;
+        }
+        return comments.stream()
+                .filter(comment -> !handled.contains(extractCommentId(comment)))
+                .collect(Collectors.toList());
+    }
+
+    private List<Object> excludeNearDuplicates(String videoId, List<Object> comments) {
+        if (comments.size() < 2) {
+            return comments;
+        }
+        List<CommentClusterService.ClusterCandidate> candidates = toCommentData(comments).stream()
+                .map(data -> new CommentClusterService.ClusterCandidate(data.getCommentId(), data.getTextOriginal(), data))
+                .collect(Collectors.toList());
+
+        // 대표에 없는 단어가 규칙 키워드에 걸리면 흡수하지 않음 (규칙 조회 실패로 사전 필터를 건너뛴 경우 대비)
+        Set<String> absorbed = commentClusterService.collapse(videoId, candidates,
+                text -> rulePrefilter.matchesKeyword(videoId, text));
+        if (absorbed.isEmpty()) {
+            return comments;
+        }
+        return comments.stream()
+                .filter(comment -> !absorbed.contains(extractCommentId(comment)))
+                .collect(Collectors.toList());
+    }
+
+    private List<Object> excludeCachedClassifications(String videoId, List<Object> comments) {
+        if (comments.isEmpty()) {
+            return comments;
+        }
+        List<AgentFilteredCommentsRequest.CommentData> commentData = toCommentData(comments);
+        Map<String, ClassificationCacheService.CachedVerdict> hits = classificationCacheService.lookup(videoId, commentData);
+        if (hits.isEmpty()) {
+            return comments;
+        }
+
+        List<AgentFilteredCommentsRequest.CommentData> filtered = new ArrayList<>();
+        List<AgentFilteredCommentsRequest.CommentData> suggestions = new ArrayList<>();
+        int neutralCount = 0;
+        for (AgentFilteredCommentsRequest.CommentData data : commentData) {
+            ClassificationCacheService.CachedVerdict verdict = hits.get(data.getCommentId());
+            if (verdict == null) {
+                continue;
+            }
+            AgentFilteredCommentsRequest.CommentData judged = new AgentFilteredCommentsRequest.CommentData(
+                    data.getCommentId(), data.getTextOriginal(), data.getAuthorName(),
+                    data.getLikeCount(), data.getPublishedAt(), verdict.reason());
+            switch (verdict.status()) {
+                case ClassificationCacheService.STATUS_FILTERED -> filtered.add(judged);
+                case ClassificationCacheService.STATUS_SUGGESTION -> suggestions.add(judged);
+                default -> neutralCount++;
+            }
+        }
+
+        try {
+            agentService.insertCachedClassifications(videoId, filtered, suggestions, neutralCount);
+        } catch (Exception e) {
+            log.error("분류 캐시 결과 저장 실패, 에이전트로 전달: videoId={}, error={}", videoId, e.getMessage(), e);
+            return comments;
+        }
+        return comments.stream()
+                .filter(comment -> !hits.containsKey(extractCommentId(comment)))
+                .collect(Collectors.toList());
+    }
+
+    private List<AgentFilteredCommentsRequest.CommentData> toCommentData(List<Object> comments) {
+        List<AgentFilteredCommentsRequest.CommentData> result = new ArrayList<>(comments.size());
+        for (Object comment : comments) {
+            if (comment instanceof RedisYoutubeCommentFull full) {
+                result.add(new AgentFilteredCommentsRequest.CommentData(full.getCommentId(), full.getTextOriginal(),
+                        full.getAuthorName(), full.getLikeCount(), full.getPublishedAt(), null));
+            } else if (comment instanceof RedisYoutubeComment basic) {
+                result.add(new AgentFilteredCommentsRequest.CommentData(basic.getCommentId(), basic.getTextOriginal(),
+                        basic.getAuthorName(), basic.getLikeCount(), basic.getPublishedAt(), null));
+            }
+        }
+        return result;
+    }
+
     private void saveCommentsToRedisHash(String commentsKey, List<Object> comments) {
         for (Object comment : comments) {
             String commentId = extractCommentId(comment);
@@ -627,6 +814,54 @@ public class YoutubeCommentServiceImpl implements YoutubeCommentService {
         return null;
     }
 
+    /**
+     * 댓글 지문 비교 (지문이 없으면 기준값으로 기록만 하고 수정 아님)
+     * - 지문: updatedAt(epoch 초, 36진수) + ":" + 본문 CRC32
+     */
+    private boolean isEdited(Comment comment, Map<Object, Object> fingerprints, Map<String, String> fingerprintUpdates) {
+        if (comment == null || comment.getSnippet() == null) {
+            return false;
+        }
+        String text = comment.getSnippet().getTextOriginal() != null
+                ? comment.getSnippet().getTextOriginal()
+                : comment.getSnippet().getTextDisplay();
+        DateTime updatedAt = comment.getSnippet().getUpdatedAt() != null
+                ? comment.getSnippet().getUpdatedAt()
+                : comment.getSnippet().getPublishedAt();
+        CRC32 crc = new CRC32();
+        if (text != null) {
+            crc.update(text.getBytes(StandardCharsets.UTF_8));
+        }
+        String fingerprint = Long.toString(updatedAt != null ? updatedAt.getValue() / 1000 : 0, 36)
+                + ":" + Long.toHexString(crc.getValue());
+
+        Object previous = fingerprints.get(comment.getId());
+        if (fingerprint.equals(previous)) {
+            return false;
+        }
+        fingerprintUpdates.put(comment.getId(), fingerprint);
+        return previous != null;
+    }
+
+    /**
+     * 수정된 댓글의 이전 처리 표시 제거 (에이전트 처리 완료 Set, 에이전트 분류 결과 Hash)
+     */
+    private void requeueEditedComments(String videoId, Set<String> editedIds) {
+        Object[] ids = editedIds.toArray();
+        stringRedisTemplate.opsForSet().remove(buildProcessedKey(videoId), ids);
+        stringRedisTemplate.opsForHash().delete("video:" + videoId + ":classification", ids);
+    }
+
+    private void addIfNotNull(List<Object> comments, Object comment) {
+        if (comment != null) {
+            comments.add(comment);
+        }
+    }
+
+    private String buildFingerprintKey(String videoId) {
+        return "video:" + videoId + ":comment_fingerprints";
+    }
+
     private String buildCommentsKey(String videoId) {
         return "video:" + videoId + ":comments";
     }
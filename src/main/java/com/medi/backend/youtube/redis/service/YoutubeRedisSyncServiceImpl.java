@@ -1,5 +1,6 @@
 package com.medi.backend.youtube.redis.service;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.services.youtube.YouTube;
+import com.medi.backend.filter.service.CommentRulePrefilter;
 import com.medi.backend.youtube.mapper.YoutubeVideoMapper;
 import com.medi.backend.youtube.mapper.YoutubeChannelMapper;
 import com.medi.backend.youtube.dto.YoutubeVideoDto;
@@ -71,6 +73,10 @@ public class YoutubeRedisSyncServiceImpl implements YoutubeRedisSyncService {
     private final YoutubeVideoMapper youtubeVideoMapper;
     private final YoutubeChannelMapper youtubeChannelMapper;
     private final RedisQueueService redisQueueService;
+    private final CommentRulePrefilter rulePrefilter;
+    private final CommentDeltaManifestService manifestService;
+    private final CommentCountProbe commentCountProbe;
+    private final VideoUnavailableCache videoUnavailableCache;
 
     // Redis 템플릿
     private final StringRedisTemplate stringRedisTemplate;
@@ -148,7 +154,7 @@ public class YoutubeRedisSyncServiceImpl implements YoutubeRedisSyncService {
                         .collect(Collectors.toList());
 
                 if (!videoIds.isEmpty()) {
-                    enqueueAgentTask(channelId, videoIds, "profiling");
+                    enqueueAgentTask(channelId, videoIds, "profiling", null);
                     enqueuedCount++;
                 } else {
                     log.warn("⚠️ 채널 {}의 비디오 리스트가 비어있습니다. 작업 큐에 추가하지 않습니다.", channelId);
@@ -296,34 +302,55 @@ public class YoutubeRedisSyncServiceImpl implements YoutubeRedisSyncService {
                         .build();
             }
 
+            // 댓글 비활성화/비공개/삭제로 조회 보류 중인 영상은 메타데이터·댓글 모두 조회하지 않음
+            // (이미 수집된 미처리 댓글은 작업 큐 단계에서 매니페스트로 이월되므로 전체 목록은 유지)
+            List<String> requestedVideoIds = videoIds;
+            List<String> availableVideoIds = videoUnavailableCache.filterAvailable(videoIds);
+            if (availableVideoIds.size() < videoIds.size()) {
+                log.info("조회 보류 영상 제외: userId={}, 제외={}개 / 전체={}개",
+                        userId, videoIds.size() - availableVideoIds.size(), videoIds.size());
+            }
+            videoIds = availableVideoIds;
+
             // 증분 동기화 옵션 (전체 메타데이터 + 전체 댓글)
-            SyncOptions incrementalOptions = SyncOptions.incrementalSync();
+            // 이번 동기화에서 새로 저장한 댓글 ID를 영상별로 기록 (필터링 작업은 델타만 처리)
+            String manifestId = manifestService.newManifestId();
+            SyncOptions incrementalOptions = SyncOptions.incrementalSync(manifestId);
 
             // 1단계: 비디오 메타데이터 저장 (전체 메타데이터)
             // ⭐ API 호출: 비디오 ID 리스트를 50개씩 묶어서 한 번에 조회
             // ⚠️ 메타데이터 저장 실패해도 이미 Redis에 있을 수 있으므로, 작업 큐 추가는 시도
             int savedVideoCount = 0;
             boolean metadataSyncSuccess = true;
-            try {
-                savedVideoCount = videoService.syncVideoMetadata(userId, videoIds, incrementalOptions);
-                if (savedVideoCount == 0) {
-                    log.warn("⚠️ 비디오 메타데이터 저장 실패 (0개): userId={}, 이미 Redis에 있을 수 있음", userId);
+            // 조회할 영상이 없으면(전부 보류) 미처리 댓글 이월만 진행
+            if (!videoIds.isEmpty()) {
+                try {
+                    savedVideoCount = videoService.syncVideoMetadata(userId, videoIds, incrementalOptions);
+                    if (savedVideoCount == 0) {
+                        log.warn("⚠️ 비디오 메타데이터 저장 실패 (0개): userId={}, 이미 Redis에 있을 수 있음", userId);
+                        metadataSyncSuccess = false;
+                    } else {
+                        log.info("비디오 메타데이터 저장 성공: userId={}, videoCount={}개", userId, savedVideoCount);
+                    }
+                } catch (Exception metadataEx) {
                     metadataSyncSuccess = false;
-                } else {
-                    log.info("비디오 메타데이터 저장 성공: userId={}, videoCount={}개", userId, savedVideoCount);
+                    log.error("⚠️ 비디오 메타데이터 저장 실패: userId={}, error={}", userId, metadataEx.getMessage(), metadataEx);
+                    // ⚠️ 메타데이터 저장 실패해도 이미 Redis에 있을 수 있으므로 큐 추가는 진행
                 }
-            } catch (Exception metadataEx) {
-                metadataSyncSuccess = false;
-                log.error("⚠️ 비디오 메타데이터 저장 실패: userId={}, error={}", userId, metadataEx.getMessage(), metadataEx);
-                // ⚠️ 메타데이터 저장 실패해도 이미 Redis에 있을 수 있으므로 큐 추가는 진행
             }
 
             // 2단계: 비디오 댓글 저장 (전체 댓글, 제한 없음)
             // ⭐ API 호출: 각 비디오마다 댓글 조회 (옵션에 따라 제한 없음)
+            // ⭐ 사전 점검: 1단계에서 받은 commentCount가 마지막 수집 때와 같은 영상은 댓글 페이지를 조회하지 않음
             long totalCommentCount = 0;
             boolean commentSyncSuccess = true;
             try {
-                totalCommentCount = commentService.syncVideoComments(userId, videoIds, incrementalOptions);
+                // 메타데이터 동기화 실패 시 commentCount를 새로 관측하지 못했으므로 전체 수집
+                List<String> crawlVideoIds = metadataSyncSuccess ? commentCountProbe.selectChanged(videoIds) : videoIds;
+                log.info("댓글 수 변경 영상: userId={}, 수집 대상={}개 / 전체={}개", userId, crawlVideoIds.size(), videoIds.size());
+                if (!crawlVideoIds.isEmpty()) {
+                    totalCommentCount = commentService.syncVideoComments(userId, crawlVideoIds, incrementalOptions);
+                }
                 log.info("댓글 동기화 성공: userId={}, 댓글={}개", userId, totalCommentCount);
             } catch (Exception commentEx) {
                 commentSyncSuccess = false;
@@ -333,18 +360,37 @@ public class YoutubeRedisSyncServiceImpl implements YoutubeRedisSyncService {
 
             // Redis에서 video 메타데이터를 조회하여 channelId별로 그룹화
             // ⚠️ 메타데이터/댓글 실패해도 이미 Redis에 있을 수 있으므로 큐 추가는 필수
-            log.info("🔄 channelId별 그룹화 시작: userId={}, videoIds={}개", userId, videoIds.size());
-            Map<String, List<String>> videoIdsByChannel = groupVideoIdsByChannel(videoIds);
+            // 조회 보류 영상도 포함 (이미 수집된 미처리 댓글 이월 대상)
+            log.info("🔄 channelId별 그룹화 시작: userId={}, videoIds={}개", userId, requestedVideoIds.size());
+            Map<String, List<String>> videoIdsByChannel = groupVideoIdsByChannel(requestedVideoIds);
 
             // 채널별로 작업 큐에 추가 (DB 1)
             log.info("🔄 작업 큐 추가 시작: userId={}, channelCount={}개", userId, videoIdsByChannel.size());
             int enqueuedCount = 0;
+            int noDeltaCount = 0;
             for (Map.Entry<String, List<String>> entry : videoIdsByChannel.entrySet()) {
                 String channelId = entry.getKey();
-                List<String> channelVideoIds = entry.getValue();
+                // 검사 제외 규칙(EXCLUDE_FROM_SCANNING) 대상 비디오는 필터링 큐에 넣지 않음
+                List<String> channelVideoIds = entry.getValue().stream()
+                        .filter(videoId -> !rulePrefilter.isExcluded(videoId))
+                        .collect(Collectors.toList());
 
                 if (!channelVideoIds.isEmpty()) {
-                    enqueueAgentTask(channelId, channelVideoIds, "filtering");
+                    // 댓글 동기화가 성공했다면 새 댓글 또는 미처리 댓글이 있는 영상만 매니페스트와 함께 전달
+                    // (실패 시에는 이미 Redis에 있을 수 있으므로 기존처럼 전체 영상 전달)
+                    Map<String, String> commentManifests = null;
+                    if (commentSyncSuccess) {
+                        // 이전 작업에서 처리되지 않은 댓글(수집을 건너뛴 영상/보류 영상 포함)은 이번 매니페스트로 이월
+                        manifestService.carryOverUnprocessed(manifestId, channelVideoIds);
+                        commentManifests = manifestService.manifestKeys(manifestId, channelVideoIds);
+                        if (commentManifests.isEmpty()) {
+                            log.info("채널 {}의 새 댓글/미처리 댓글이 없어 필터링 작업을 추가하지 않습니다.", channelId);
+                            noDeltaCount++;
+                            continue;
+                        }
+                        channelVideoIds = new ArrayList<>(commentManifests.keySet());
+                    }
+                    enqueueAgentTask(channelId, channelVideoIds, "filtering", commentManifests);
                     enqueuedCount++;
                 } else {
                     log.warn("⚠️ 채널 {}의 비디오 리스트가 비어있습니다. 작업 큐에 추가하지 않습니다.", channelId);
@@ -370,8 +416,8 @@ public class YoutubeRedisSyncServiceImpl implements YoutubeRedisSyncService {
             // 작업 큐 추가 여부 확인
             if (videoIdsByChannel.isEmpty()) {
                 log.error("❌ channelId별 그룹화 결과가 비어있습니다! 작업 큐에 추가되지 않았습니다. userId={}, videoIds={}개",
-                        userId, videoIds.size());
-            } else if (enqueuedCount == 0) {
+                        userId, requestedVideoIds.size());
+            } else if (enqueuedCount == 0 && noDeltaCount == 0) {
                 log.error("❌ 작업 큐에 추가된 채널이 0개입니다! userId={}, videoIdsByChannel={}개",
                         userId, videoIdsByChannel.size());
             }
@@ -416,12 +462,14 @@ public class YoutubeRedisSyncServiceImpl implements YoutubeRedisSyncService {
      * @param channelId YouTube 채널 ID
      * @param videoIds  처리할 비디오 ID 리스트
      * @param option    작업 옵션 ("profiling" 또는 "filtering")
+     * @param commentManifests 필터링 작업의 영상별 델타 매니페스트 키 (null이면 전체 Hash 확인)
      */
-    private void enqueueAgentTask(String channelId, List<String> videoIds, String option) {
+    private void enqueueAgentTask(String channelId, List<String> videoIds, String option,
+                                  Map<String, String> commentManifests) {
         try {
             if ("filtering".equals(option)) {
                 // ⭐ Filtering Queue에 추가 (filtering_agent:tasks:queue)
-                redisQueueService.enqueueFiltering(channelId, videoIds);
+                redisQueueService.enqueueFiltering(channelId, videoIds, commentManifests);
                 log.info("✅ Filtering 작업 큐 추가: channelId={}, videoCount={}", channelId, videoIds.size());
             } else if ("profiling".equals(option)) {
                 // ⭐ Profiling Queue에 추가 (profiling_agent:tasks:queue)
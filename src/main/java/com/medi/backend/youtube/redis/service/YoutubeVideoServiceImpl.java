@@ -52,6 +52,8 @@ public class YoutubeVideoServiceImpl implements YoutubeVideoService {
     private final ObjectMapper objectMapper;
     private final com.medi.backend.youtube.service.YoutubeDataApiClient youtubeDataApiClient;
     private final com.medi.backend.youtube.config.YoutubeDataApiProperties youtubeDataApiProperties;
+    private final CommentCountProbe commentCountProbe;
+    private final com.medi.backend.youtube.service.YoutubeVideoBatchCoalescer videoBatchCoalescer;
 
     @Override
     public Map<String, List<RedisYoutubeVideo>> getTop10VideosByChannel(YouTube yt, List<String> channelIds) {
@@ -260,32 +262,9 @@ public class YoutubeVideoServiceImpl implements YoutubeVideoService {
      * snippet, statistics, contentDetails 포함
      */
     private List<Video> fetchVideoDetailsWithApiKey(List<String> videoIds) throws Exception {
-        List<Video> videos = new ArrayList<>();
-
-        // YouTube API는 한 번에 최대 50개까지만 조회 가능
-        for (int i = 0; i < videoIds.size(); i += 50) {
-            int end = Math.min(i + 50, videoIds.size());
-            List<String> batch = videoIds.subList(i, end);
-
-            try {
-                VideoListResponse resp = youtubeDataApiClient.fetchVideoDetails(batch);
-                if (resp.getItems() != null) {
-                    videos.addAll(resp.getItems());
-                }
-            } catch (com.google.api.client.googleapis.json.GoogleJsonResponseException e) {
-                // API 키 쿼터 초과 시 예외 다시 던져서 상위에서 fallback 처리
-                if (e.getStatusCode() == 403) {
-                    String errorReason = com.medi.backend.youtube.redis.util.YoutubeErrorUtil.extractErrorReason(e);
-                    if ("quotaExceeded".equals(errorReason) || "dailyLimitExceeded".equals(errorReason)
-                            || "userRateLimitExceeded".equals(errorReason)) {
-                        throw e; // 상위로 전달하여 fallback 처리
-                    }
-                }
-                throw e;
-            }
-        }
-
-        return videos;
+        // 50개 단위 분할은 coalescer가 처리 (동시에 동기화 중인 다른 채널의 요청과 합쳐서 조회)
+        // 쿼터 초과 등 API 오류는 그대로 전달되어 상위에서 fallback 처리
+        return videoBatchCoalescer.fetchVideoDetails(videoIds);
     }
 
     /**
@@ -441,6 +420,13 @@ public class YoutubeVideoServiceImpl implements YoutubeVideoService {
                 return 0;
             }
 
+            // 댓글 수 기록 (증분 동기화에서 댓글 수가 바뀐 영상만 수집하는 데 사용, 추가 API 호출 없음)
+            for (Video video : videos) {
+                if (video.getStatistics() != null) {
+                    commentCountProbe.observe(video.getId(), video.getStatistics().getCommentCount());
+                }
+            }
+
             // 채널 ID 추출 (비디오에서 가져오기)
             Map<String, String> videoIdToChannelId = new HashMap<>();
             for (Video video : videos) {
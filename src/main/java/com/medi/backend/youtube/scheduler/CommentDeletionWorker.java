@@ -1,53 +1,123 @@
 package com.medi.backend.youtube.scheduler;
 
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.services.youtube.YouTube;
 import com.medi.backend.agent.mapper.AgentMapper;
+import com.medi.backend.filter.mapper.FilterMapper;
+import com.medi.backend.youtube.model.CommentModerationMode;
+import com.medi.backend.youtube.service.DeletionProgressService;
 import com.medi.backend.youtube.service.YoutubeCommentDeletionService;
 import com.medi.backend.youtube.service.YoutubeOAuthService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * 비동기 댓글 삭제 Background Worker
- * 10초마다 PENDING_DELETE 상태의 댓글을 처리합니다.
+ * 10초마다 PENDING_DELETE 상태의 댓글을 선점해 처리합니다.
+ *
+ * - 선점: claim token + lease (여러 인스턴스가 같은 댓글을 중복 처리하지 않음)
+ * - 사용자 단위 묶음: access token 조회와 YouTube 클라이언트 생성은 사용자당 한 번
+ * - 병렬 처리: commentDeletionExecutor (사용자 묶음 단위), 인스턴스 전체 호출 속도 제한
+ * - 처리 방식: 사용자 설정(moderation_mode)에 따라 댓글별 삭제 또는 최대 50개씩 일괄 숨김/보류
+ * - 실패: 오류 종류별로 재시도 시각 예약 (일시 오류는 지수 백오프, 할당량 소진은 리셋 시각까지 대기)
+ * - 진행 상황: 삭제 완료/실패 확정 시 요청(requestId)별 Redis 카운터 갱신 (DeletionProgressService)
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class CommentDeletionWorker {
 
+    private static final int MAX_RETRY_COUNT = 3;
+    private static final int CLAIM_BATCH_SIZE = 100;     // 한 번에 선점할 최대 댓글 수
+    private static final int CLAIM_LEASE_SECONDS = 300;  // 선점 유지 시간 (처리 도중 종료되면 이후 재선점)
+    private static final int DELETIONS_PER_SECOND = 5;   // 인스턴스당 YouTube 삭제 호출 상한
+    private static final int MODERATION_BATCH_SIZE = 50; // setModerationStatus 호출 1회당 댓글 수
+    private static final long BASE_BACKOFF_SECONDS = 30;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+    private static final ZoneId QUOTA_RESET_ZONE = ZoneId.of("America/Los_Angeles");  // YouTube 일일 할당량 리셋 기준
+
+    private static final long PERMIT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1) / DELETIONS_PER_SECOND;
+
     private final AgentMapper agentMapper;
     private final YoutubeCommentDeletionService deletionService;
     private final YoutubeOAuthService youtubeOAuthService;
+    private final FilterMapper filterMapper;
+    private final DeletionProgressService progressService;
+    private final Executor deletionExecutor;
 
-    private static final int MAX_RETRY_COUNT = 3;
-    private static final int BATCH_SIZE = 10; // 한 번에 10개씩 처리
+    private final Object rateLock = new Object();
+    private long nextPermitNanos = System.nanoTime();
+
+    // 할당량 소진 시 리셋 시각까지 선점/호출 중단
+    private volatile Instant quotaBlockedUntil = Instant.EPOCH;
+
+    public CommentDeletionWorker(AgentMapper agentMapper,
+                                 YoutubeCommentDeletionService deletionService,
+                                 YoutubeOAuthService youtubeOAuthService,
+                                 FilterMapper filterMapper,
+                                 DeletionProgressService progressService,
+                                 @Qualifier("commentDeletionExecutor") Executor deletionExecutor) {
+        this.agentMapper = agentMapper;
+        this.deletionService = deletionService;
+        this.youtubeOAuthService = youtubeOAuthService;
+        this.filterMapper = filterMapper;
+        this.progressService = progressService;
+        this.deletionExecutor = deletionExecutor;
+    }
 
     /**
      * 10초마다 PENDING_DELETE 댓글 처리
+     * (선점분을 모두 처리한 뒤 다음 주기가 시작되므로 한 인스턴스 안에서는 겹치지 않음)
      */
     @Scheduled(fixedDelay = 10000) // 10초
     public void processPendingDeletions() {
         try {
-            List<Map<String, Object>> pendingComments = agentMapper.findPendingDeletionComments(
+            if (Instant.now().isBefore(quotaBlockedUntil)) {
+                return; // 할당량 리셋 전에는 선점하지 않음
+            }
+
+            String claimToken = UUID.randomUUID().toString();
+            int claimed = agentMapper.claimPendingDeletions(
+                    claimToken,
                     MAX_RETRY_COUNT,
-                    BATCH_SIZE);
+                    CLAIM_BATCH_SIZE,
+                    CLAIM_LEASE_SECONDS);
 
-            if (pendingComments.isEmpty()) {
+            if (claimed == 0) {
                 return; // 처리할 댓글이 없으면 종료
             }
 
-            log.info("🔄 [Background Worker] 처리할 댓글 수: {}", pendingComments.size());
+            Map<Integer, List<Map<String, Object>>> byUser = agentMapper.findClaimedDeletions(claimToken).stream()
+                    .collect(Collectors.groupingBy(
+                            comment -> (Integer) comment.get("userId"),
+                            LinkedHashMap::new,
+                            Collectors.toList()));
 
-            for (Map<String, Object> comment : pendingComments) {
-                processComment(comment);
-            }
+            log.info("🔄 [Background Worker] 선점한 댓글 수: {}, 사용자 수: {}", claimed, byUser.size());
+
+            CompletableFuture<?>[] tasks = byUser.entrySet().stream()
+                    .map(entry -> CompletableFuture.runAsync(
+                            () -> processUserComments(entry.getKey(), entry.getValue()),
+                            deletionExecutor))
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture.allOf(tasks).join();
 
         } catch (Exception e) {
             log.error("❌ [Background Worker 오류] {}", e.getMessage(), e);
@@ -55,61 +125,247 @@ public class CommentDeletionWorker {
     }
 
     /**
-     * 개별 댓글 처리
+     * 사용자 한 명의 댓글 묶음 처리 (토큰/클라이언트 재사용)
      */
-    private void processComment(Map<String, Object> comment) {
-        String youtubeCommentId = (String) comment.get("youtubeCommentId");
-        Integer userId = (Integer) comment.get("userId");
-        Integer retryCount = (Integer) comment.get("deletionRetryCount");
-
+    private void processUserComments(Integer userId, List<Map<String, Object>> comments) {
+        YouTube youtube;
         try {
-            // 1. OAuth 토큰 가져오기
-            String accessToken = youtubeOAuthService.getValidAccessToken(userId);
+            // 1. OAuth 토큰 가져오기 (사용자당 한 번)
+            youtube = deletionService.buildYoutubeClient(youtubeOAuthService.getValidAccessToken(userId));
+        } catch (Exception e) {
+            log.warn("⚠️ [토큰 조회 실패] userId={}, 댓글 {}개 재시도 예약: {}", userId, comments.size(), e.getMessage());
+            for (Map<String, Object> comment : comments) {
+                handleDeletionError(comment, e);
+            }
+            return;
+        }
 
-            // 2. YouTube API 호출
-            String youtubeDeletionStatus = deletionService.deleteCommentFromYoutubeInternal(
-                    accessToken,
-                    youtubeCommentId);
+        CommentModerationMode mode = CommentModerationMode.from(filterMapper.findModerationModeByUserId(userId));
+        if (mode.isBatch()) {
+            moderateUserComments(userId, youtube, mode, comments);
+            return;
+        }
 
-            // 3. DB 업데이트 (DELETED 상태로 변경)
-            agentMapper.updateCommentStatusToDeleted(
-                    youtubeCommentId,
-                    youtubeDeletionStatus);
+        int successCount = 0;
+        for (Map<String, Object> comment : comments) {
+            String youtubeCommentId = (String) comment.get("youtubeCommentId");
+
+            Instant blockedUntil = quotaBlockedUntil;
+            if (Instant.now().isBefore(blockedUntil)) {
+                agentMapper.rescheduleDeletion(youtubeCommentId, "YouTube API 할당량 소진 - 리셋 후 재시도",
+                        blockedUntil, false);
+                continue;
+            }
+
+            try {
+                // 2. YouTube API 호출 (인스턴스 전체 속도 제한)
+                acquirePermit();
+                String youtubeDeletionStatus = deletionService.deleteCommentFromYoutube(youtube, youtubeCommentId);
+
+                // 3. DB 업데이트 (DELETED 상태로 변경, 선점 해제)
+                // 이미 DELETED였으면(선점 만료로 다른 워커가 먼저 처리) 진행 상황에 다시 세지 않음
+                if (isUpdated(agentMapper.updateCommentStatusToDeleted(youtubeCommentId, youtubeDeletionStatus))) {
+                    progressService.recordCompleted((String) comment.get("deletionRequestId"), 1);
+                }
+                successCount++;
+
+            } catch (Exception e) {
+                handleDeletionError(comment, e);
+            }
+        }
+
+        log.info("✅ [댓글 삭제 처리] userId={}, 성공={}/{}", userId, successCount, comments.size());
+    }
+
+    /**
+     * 일괄 숨김/보류 처리 (MODERATION_BATCH_SIZE개씩 호출 1회)
+     */
+    private void moderateUserComments(Integer userId, YouTube youtube, CommentModerationMode mode,
+                                      List<Map<String, Object>> comments) {
+        int processedCount = 0;
+        for (int from = 0; from < comments.size(); from += MODERATION_BATCH_SIZE) {
+            List<Map<String, Object>> chunk = comments.subList(from, Math.min(from + MODERATION_BATCH_SIZE, comments.size()));
+            processedCount += moderateChunk(youtube, mode, chunk);
+        }
+
+        log.info("✅ [댓글 일괄 처리] userId={}, mode={}, 처리={}/{}", userId, mode, processedCount, comments.size());
+    }
+
+    /**
+     * 댓글 묶음 한 번에 처리
+     * - 요청 단위로 성공/실패하므로 404(일부 댓글 없음)면 반으로 나눠 다시 시도해 댓글별 결과를 기록
+     *
+     * @return 처리 완료(SUCCESS/NOT_FOUND) 댓글 수
+     */
+    private int moderateChunk(YouTube youtube, CommentModerationMode mode, List<Map<String, Object>> chunk) {
+        List<String> ids = chunk.stream()
+                .map(comment -> (String) comment.get("youtubeCommentId"))
+                .toList();
+
+        Instant blockedUntil = quotaBlockedUntil;
+        if (Instant.now().isBefore(blockedUntil)) {
+            for (String youtubeCommentId : ids) {
+                agentMapper.rescheduleDeletion(youtubeCommentId, "YouTube API 할당량 소진 - 리셋 후 재시도",
+                        blockedUntil, false);
+            }
+            return 0;
+        }
+
+        try {
+            acquirePermit();
+            deletionService.moderateCommentsOnYoutube(youtube, ids, mode.getYoutubeModerationStatus());
+            recordCompleted(chunk, agentMapper.updateCommentsStatusToDeleted(ids, "SUCCESS"));
+            return ids.size();
 
-            log.info("✅ [댓글 삭제 성공] commentId={}, status={}", youtubeCommentId, youtubeDeletionStatus);
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() == 404) {
+                if (ids.size() == 1) {
+                    log.warn("⚠️ [댓글 없음] 댓글을 찾을 수 없음 (이미 삭제됨): commentId={}", ids.get(0));
+                    recordCompleted(chunk, agentMapper.updateCommentsStatusToDeleted(ids, "NOT_FOUND"));
+                    return 1;
+                }
+                int mid = chunk.size() / 2;
+                return moderateChunk(youtube, mode, chunk.subList(0, mid))
+                        + moderateChunk(youtube, mode, chunk.subList(mid, chunk.size()));
+            }
+            handleChunkError(chunk, e);
+            return 0;
 
         } catch (Exception e) {
-            handleDeletionError(youtubeCommentId, retryCount, e);
+            handleChunkError(chunk, e);
+            return 0;
+        }
+    }
+
+    private void handleChunkError(List<Map<String, Object>> chunk, Exception e) {
+        for (Map<String, Object> comment : chunk) {
+            handleDeletionError(comment, e);
+        }
+    }
+
+    /**
+     * 묶음 처리 결과를 진행 상황에 반영 (DELETED로 바뀐 행만, 댓글당 1회)
+     * - 일부가 이미 DELETED였으면 어느 댓글인지 알 수 없으므로, 요청 ID가 하나일 때만 실제 변경 수로 반영
+     */
+    private void recordCompleted(List<Map<String, Object>> chunk, Integer updated) {
+        int count = updated != null ? updated : 0;
+        if (count >= chunk.size()) {
+            progressService.recordCompleted(requestIds(chunk));
+            return;
+        }
+        Set<String> chunkRequestIds = new HashSet<>(requestIds(chunk));
+        if (count > 0 && chunkRequestIds.size() == 1) {
+            progressService.recordCompleted(chunkRequestIds.iterator().next(), count);
         }
     }
 
+    private boolean isUpdated(Integer updated) {
+        return updated != null && updated > 0;
+    }
+
+    private List<String> requestIds(List<Map<String, Object>> chunk) {
+        return chunk.stream()
+                .map(comment -> (String) comment.get("deletionRequestId"))
+                .toList();
+    }
+
     /**
      * 삭제 오류 처리
+     * - 할당량 소진: 다음 리셋 시각으로 예약 (재시도 횟수 차감 없음)
+     * - 속도 제한: 지수 백오프 (재시도 횟수 차감 없음)
+     * - 권한 없음/잘못된 요청: 재시도해도 같으므로 즉시 FAILED
+     * - 그 외 (5xx, 네트워크, 토큰 갱신 실패): 지수 백오프, 최대 재시도 초과 시 FAILED
      */
-    private void handleDeletionError(String youtubeCommentId, Integer retryCount, Exception e) {
+    private void handleDeletionError(Map<String, Object> comment, Exception e) {
+        String youtubeCommentId = (String) comment.get("youtubeCommentId");
+        Integer retryCount = (Integer) comment.get("deletionRetryCount");
+        String requestId = (String) comment.get("deletionRequestId");
         String errorMessage = e.getMessage();
+        int retries = retryCount != null ? retryCount : 0;
+
+        if (e instanceof GoogleJsonResponseException apiError) {
+            int statusCode = apiError.getStatusCode();
+            String reason = firstErrorReason(apiError);
+
+            if ("quotaExceeded".equals(reason) || "dailyLimitExceeded".equals(reason)) {
+                Instant resetAt = nextQuotaReset();
+                quotaBlockedUntil = resetAt;
+                agentMapper.rescheduleDeletion(youtubeCommentId, errorMessage, resetAt, false);
+                log.warn("⚠️ [Quota 초과] {} 이후 재시도: {}", resetAt, youtubeCommentId);
+                return;
+            }
+
+            if (statusCode == 429 || "rateLimitExceeded".equals(reason) || "userRateLimitExceeded".equals(reason)) {
+                Instant nextRetryAt = Instant.now().plusSeconds(backoffSeconds(retries));
+                agentMapper.rescheduleDeletion(youtubeCommentId, errorMessage, nextRetryAt, false);
+                log.warn("⚠️ [속도 제한] {} 이후 재시도: {}", nextRetryAt, youtubeCommentId);
+                return;
+            }
 
-        // Quota 초과 시 1시간 후 재시도
-        if (errorMessage != null && errorMessage.contains("quota")) {
-            agentMapper.incrementDeletionRetryCount(
-                    youtubeCommentId,
-                    errorMessage,
-                    Instant.now().plus(1, ChronoUnit.HOURS));
-            log.warn("⚠️ [Quota 초과] 1시간 후 재시도: {}", youtubeCommentId);
+            if (statusCode == 400 || statusCode == 403) {
+                if (isUpdated(agentMapper.markDeletionFailed(youtubeCommentId, errorMessage))) {
+                    progressService.recordFailed(requestId, 1);
+                }
+                log.error("❌ [삭제 불가] commentId={}, statusCode={}, reason={}", youtubeCommentId, statusCode, reason);
+                return;
+            }
+        }
+
+        if (retries + 1 >= MAX_RETRY_COUNT) {
+            if (isUpdated(agentMapper.markDeletionFailed(youtubeCommentId, errorMessage))) {
+                progressService.recordFailed(requestId, 1);
+            }
+            log.error("❌ [최대 재시도 초과] commentId={}, retryCount={}", youtubeCommentId, retries + 1);
             return;
         }
 
-        // 일반 오류 시 즉시 재시도
-        agentMapper.incrementDeletionRetryCount(
-                youtubeCommentId,
-                errorMessage,
-                Instant.now());
-
-        if (retryCount + 1 >= MAX_RETRY_COUNT) {
-            log.error("❌ [최대 재시도 초과] commentId={}, retryCount={}", youtubeCommentId, retryCount + 1);
-        } else {
-            log.warn("⚠️ [삭제 실패, 재시도 예정] commentId={}, retryCount={}, error={}",
-                    youtubeCommentId, retryCount + 1, errorMessage);
+        Instant nextRetryAt = Instant.now().plusSeconds(backoffSeconds(retries));
+        agentMapper.rescheduleDeletion(youtubeCommentId, errorMessage, nextRetryAt, true);
+        log.warn("⚠️ [삭제 실패, 재시도 예정] commentId={}, retryCount={}, nextRetryAt={}, error={}",
+                youtubeCommentId, retries + 1, nextRetryAt, errorMessage);
+    }
+
+    /**
+     * 지수 백오프 (30초 * 2^retry, 최대 1시간) + 최대 20% 지터
+     */
+    private long backoffSeconds(int retryCount) {
+        long base = Math.min(MAX_BACKOFF_SECONDS, BASE_BACKOFF_SECONDS << Math.min(retryCount, 10));
+        return base + ThreadLocalRandom.current().nextLong(base / 5 + 1);
+    }
+
+    /**
+     * YouTube Data API 일일 할당량 리셋 시각 (태평양 시간 자정) + 5분 여유
+     */
+    private Instant nextQuotaReset() {
+        ZonedDateTime now = ZonedDateTime.now(QUOTA_RESET_ZONE);
+        return now.toLocalDate().plusDays(1).atStartOfDay(QUOTA_RESET_ZONE).plusMinutes(5).toInstant();
+    }
+
+    private String firstErrorReason(GoogleJsonResponseException e) {
+        GoogleJsonError details = e.getDetails();
+        if (details == null || details.getErrors() == null || details.getErrors().isEmpty()) {
+            return null;
+        }
+        return details.getErrors().get(0).getReason();
+    }
+
+    /**
+     * 인스턴스 전체 YouTube 호출 간격 유지 (초당 DELETIONS_PER_SECOND회)
+     */
+    private void acquirePermit() {
+        long waitNanos;
+        synchronized (rateLock) {
+            long now = System.nanoTime();
+            long permitAt = Math.max(now, nextPermitNanos);
+            nextPermitNanos = permitAt + PERMIT_INTERVAL_NANOS;
+            waitNanos = permitAt - now;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 }
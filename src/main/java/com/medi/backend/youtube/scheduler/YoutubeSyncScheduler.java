@@ -10,6 +10,7 @@ import com.medi.backend.youtube.model.VideoSyncMode;
 import com.medi.backend.youtube.redis.service.YoutubeRedisSyncService;
 import com.medi.backend.youtube.service.YoutubeCommentCountSyncService;
 import com.medi.backend.youtube.service.YoutubeService;
+import com.medi.backend.youtube.service.YoutubeWebSubService;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -38,6 +39,7 @@ public class YoutubeSyncScheduler {
     private final YoutubeOAuthTokenMapper tokenMapper;
     private final YoutubeRedisSyncService youtubeRedisSyncService;
     private final YoutubeCommentCountSyncService youtubeCommentCountSyncService;
+    private final YoutubeWebSubService webSubService;
 
     // 동시 실행 채널 수 제한 (메모리 및 CPU 부하 방지)
     private static final int MAX_CONCURRENT_CHANNELS = 3;
@@ -117,15 +119,23 @@ public class YoutubeSyncScheduler {
 
                 // 1. 새 영상 동기화 (MySQL 저장만, 댓글 동기화 건너뜀)
                 // skipCommentSync=true로 설정하여 중복 API 호출 방지
-                List<YoutubeVideoDto> newVideos = youtubeService.syncVideos(
-                        userId, youtubeChannelId, null, VideoSyncMode.FOLLOW_UP, true);
+                // WebSub lease가 유효한 채널은 업로드 알림으로 즉시 동기화되므로 playlistItems 폴링 생략
+                // (알림 누락 대비로 일정 주기마다 한 번은 폴링)
+                if (webSubService.canSkipPolling(youtubeChannelId)) {
+                    log.debug("[YouTube] 푸시 구독 중인 채널 - 새 영상 폴링 생략: userId={}, channelId={}",
+                            userId, youtubeChannelId);
+                } else {
+                    List<YoutubeVideoDto> newVideos = youtubeService.syncVideos(
+                            userId, youtubeChannelId, null, VideoSyncMode.FOLLOW_UP, true);
+                    webSubService.recordPolled(youtubeChannelId);
 
-                log.debug("[YouTube] 스케줄링 동기화 성공 - userId={}, channelId={}, 새 영상={}개",
-                        userId, youtubeChannelId, newVideos != null ? newVideos.size() : 0);
+                    log.debug("[YouTube] 스케줄링 동기화 성공 - userId={}, channelId={}, 새 영상={}개",
+                            userId, youtubeChannelId, newVideos != null ? newVideos.size() : 0);
+                }
 
                 // 2. MySQL에 저장된 "모든 영상" 댓글 동기화 (초기 20개 + 누적된 신규 영상)
                 // (사용자 요구사항: 등록된 영상들은 계속해서 댓글 필터링)
-                List<YoutubeVideoDto> allVideos = youtubeVideoMapper.findByChannelId(channel.getId());
+                List<YoutubeVideoDto> allVideos = youtubeVideoMapper.findActiveByChannelId(channel.getId());
                 if (!allVideos.isEmpty()) {
 
                     // B. DB에 저장된 모든 영상 (초기 20개 + 누적된 신규 영상)
@@ -10,5 +10,10 @@ public interface ChannelService {
     public List<YoutubeChannelDto> getAllChannelsForAdmin();
 
     public Integer deleteChannelById(Integer id, Integer userId);
+
+    /**
+     * 사용자 채널 목록 캐시(userChannels) 무효화 (채널 동기화·변경 후 호출)
+     */
+    public void evictChannelCache(Integer userId);
     
 }
@@ -1,10 +1,15 @@
 package com.medi.backend.youtube.service;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.medi.backend.global.config.CacheConfig;
+import com.medi.backend.userdashboard.service.UserDashboardCacheService;
 import com.medi.backend.youtube.dto.YoutubeChannelDto;
 import com.medi.backend.youtube.mapper.ChannelMapper;
 
@@ -15,21 +20,38 @@ import lombok.extern.slf4j.Slf4j;
 public class ChannelServiceImpl implements ChannelService{
 
     private final ChannelMapper channelMapper;
+    private final UserDashboardCacheService dashboardCacheService;
+    private final CacheManager cacheManager;
 
-    public ChannelServiceImpl(ChannelMapper channelMapper) {
+    public ChannelServiceImpl(ChannelMapper channelMapper, UserDashboardCacheService dashboardCacheService,
+                              CacheManager cacheManager) {
         this.channelMapper = channelMapper;
+        this.dashboardCacheService = dashboardCacheService;
+        this.cacheManager = cacheManager;
     }
 
+    /**
+     * 사용자 채널 목록 (userChannels 캐시: L1 1분 / L2 10분)
+     * - 단건 조회(getOneChannelByIdAndUserId)도 같은 목록에서 찾음 (조건 동일: user_id + deleted_at IS NULL)
+     */
     @Override
     @Transactional(readOnly = true)
     public List<YoutubeChannelDto> getChannelsByUserId(Integer userId) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_CHANNELS);
+        if (cache == null) {
+            return loadChannels(userId);
+        }
+        return cache.get(userId, () -> loadChannels(userId));
+    }
+
+    private List<YoutubeChannelDto> loadChannels(Integer userId) {
         log.info("🔍 채널 목록 조회 시작: userId={}", userId);
         
         List<YoutubeChannelDto> channels = channelMapper.getChannelsByUserId(userId);
         
         if (channels == null) {
             log.warn("⚠️ 채널 목록 조회 결과가 null입니다: userId={}", userId);
-            return List.of();
+            return new ArrayList<>();  // 캐시 직렬화 대상이므로 List.of() 대신 ArrayList
         }
         
         log.info("✅ 채널 목록 조회 완료: userId={}, 채널수={}개", userId, channels.size());
@@ -51,7 +73,13 @@ public class ChannelServiceImpl implements ChannelService{
     @Override
     @Transactional(readOnly = true)
     public YoutubeChannelDto getOneChannelByIdAndUserId(Integer id, Integer userId) {
-        return channelMapper.getOneChannelByIdAndUserId(id, userId);
+        if (id == null) {
+            return null;
+        }
+        return getChannelsByUserId(userId).stream()
+            .filter(channel -> id.equals(channel.getId()))
+            .findFirst()
+            .orElse(null);
     }
 
     @Override
@@ -64,7 +92,20 @@ public class ChannelServiceImpl implements ChannelService{
     @Override
     @Transactional
     public Integer deleteChannelById(Integer id, Integer userId) {
-        return channelMapper.deleteChannelById(id, userId);
+        Integer deleteCount = channelMapper.deleteChannelById(id, userId);
+        if (deleteCount != null && deleteCount > 0) {
+            dashboardCacheService.bumpVersion(userId);
+            evictChannelCache(userId);
+        }
+        return deleteCount;
+    }
+
+    @Override
+    public void evictChannelCache(Integer userId) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_CHANNELS);
+        if (cache != null) {
+            cache.evict(userId);
+        }
     }
 
     
@@ -0,0 +1,302 @@
+package com.medi.backend.youtube.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.medi.backend.agent.mapper.AgentMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비동기 댓글 삭제 진행 상황 (Redis DB 0 + SSE)
+ *
+ * - 카운터: deletion:progress:{requestId} (Hash: userId, total, completed, failed, TTL 7일)
+ *   삭제 요청 시 total을 기록하고, CommentDeletionWorker가 처리할 때마다 completed/failed를 HINCRBY
+ * - 알림: 카운터가 바뀌면 deletion:progress:events 채널에 requestId 발행
+ *   → 각 인스턴스가 자신에게 연결된 SSE 구독자에게만 최신 값을 전송 (워커와 구독자가 다른 인스턴스여도 동작)
+ *
+ * 진행 상황 조회/구독은 Redis만 읽으므로 폴링이 잦아도 youtube_comments 집계 쿼리가 실행되지 않습니다.
+ * (Redis에 없는 오래된 요청만 최초 1회 DB 집계로 채움)
+ */
+@Slf4j
+@Service
+public class DeletionProgressService implements MessageListener {
+
+    public static final String EVENTS_CHANNEL = "deletion:progress:events";
+
+    private static final String KEY_PREFIX = "deletion:progress:";
+    private static final Duration TTL = Duration.ofDays(7);
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;  // 30분 (끊기면 클라이언트 재연결)
+
+    private static final String FIELD_USER_ID = "userId";
+    private static final String FIELD_TOTAL = "total";
+    private static final String FIELD_COMPLETED = "completed";
+    private static final String FIELD_FAILED = "failed";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final AgentMapper agentMapper;
+
+    // 이 인스턴스에 연결된 구독자 (requestId → emitters)
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public DeletionProgressService(StringRedisTemplate stringRedisTemplate,
+                                   RedisMessageListenerContainer listenerContainer,
+                                   AgentMapper agentMapper) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.listenerContainer = listenerContainer;
+        this.agentMapper = agentMapper;
+    }
+
+    @PostConstruct
+    void subscribeEvents() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(EVENTS_CHANNEL));
+    }
+
+    /**
+     * 삭제 요청 등록 (PENDING_DELETE 표시 트랜잭션 커밋 이후 기록)
+     * - completed/failed는 HINCRBY로만 늘리므로 워커가 먼저 처리해도 덮어쓰지 않음
+     */
+    public void start(String requestId, Integer userId, int total) {
+        Runnable write = () -> {
+            try {
+                String key = key(requestId);
+                stringRedisTemplate.opsForHash().putAll(key, Map.of(
+                    FIELD_USER_ID, String.valueOf(userId),
+                    FIELD_TOTAL, String.valueOf(total)));
+                stringRedisTemplate.expire(key, TTL);
+                publish(requestId);
+            } catch (Exception e) {
+                log.warn("⚠️ [삭제 진행 상황] 등록 실패: requestId={}, error={}", requestId, e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write.run();
+                }
+            });
+        } else {
+            write.run();
+        }
+    }
+
+    public void recordCompleted(String requestId, int count) {
+        increment(requestId, FIELD_COMPLETED, count);
+    }
+
+    public void recordFailed(String requestId, int count) {
+        increment(requestId, FIELD_FAILED, count);
+    }
+
+    /**
+     * 처리 결과 반영 (requestId별 개수) - 워커의 댓글 묶음 처리용
+     */
+    public void recordCompleted(List<String> requestIds) {
+        countByRequest(requestIds).forEach(this::recordCompleted);
+    }
+
+    /**
+     * 현재 진행 상황 (Redis → 없으면 DB 집계로 1회 채움)
+     *
+     * @return 진행 상황 (요청이 없으면 null)
+     */
+    public Map<String, Object> getProgress(String requestId) {
+        Map<Object, Object> hash = loadHash(requestId);
+        return hash.isEmpty() ? null : toProgress(requestId, hash);
+    }
+
+    /**
+     * 진행 상황 구독 (SSE)
+     * - 연결 직후 현재 값을 보내고, 이후 변경될 때마다 progress 이벤트 전송
+     * - 완료되면 스트림 종료
+     *
+     * @throws IllegalArgumentException 존재하지 않거나 다른 사용자의 요청
+     */
+    public SseEmitter subscribe(String requestId, Integer userId) {
+        Map<Object, Object> hash = loadHash(requestId);
+        if (hash.isEmpty() || !isOwner(hash, userId)) {
+            throw new IllegalArgumentException("존재하지 않는 요청 ID입니다.");
+        }
+        Map<String, Object> progress = toProgress(requestId, hash);
+
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Set<SseEmitter> emitters = subscribers.computeIfAbsent(requestId, id -> new CopyOnWriteArraySet<>());
+        emitters.add(emitter);
+        Runnable remove = () -> removeEmitter(requestId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        send(requestId, emitter, progress);
+        return emitter;
+    }
+
+    /**
+     * deletion:progress:events 수신 → 이 인스턴스의 구독자에게 최신 값 전송
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String requestId = new String(message.getBody());
+        Set<SseEmitter> emitters = subscribers.get(requestId);
+        if (emitters == null || emitters.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Object> hash = readHash(requestId);
+        if (hash.isEmpty()) {
+            return;
+        }
+        Map<String, Object> progress = toProgress(requestId, hash);
+        for (SseEmitter emitter : emitters) {
+            send(requestId, emitter, progress);
+        }
+    }
+
+    private void send(String requestId, SseEmitter emitter, Map<String, Object> progress) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").data(progress));
+            if (Boolean.TRUE.equals(progress.get("isCompleted"))) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트 연결 종료
+            removeEmitter(requestId, emitter);
+        }
+    }
+
+    private void removeEmitter(String requestId, SseEmitter emitter) {
+        subscribers.computeIfPresent(requestId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private void increment(String requestId, String field, int count) {
+        if (requestId == null || count <= 0) {
+            return;
+        }
+        try {
+            String key = key(requestId);
+            stringRedisTemplate.opsForHash().increment(key, field, count);
+            stringRedisTemplate.expire(key, TTL);
+            publish(requestId);
+        } catch (Exception e) {
+            log.warn("⚠️ [삭제 진행 상황] 갱신 실패: requestId={}, field={}, error={}", requestId, field, e.getMessage());
+        }
+    }
+
+    private void publish(String requestId) {
+        stringRedisTemplate.convertAndSend(EVENTS_CHANNEL, requestId);
+    }
+
+    private Map<Object, Object> loadHash(String requestId) {
+        Map<Object, Object> hash = readHash(requestId);
+        return hash.isEmpty() ? seedFromDatabase(requestId) : hash;
+    }
+
+    private Map<Object, Object> readHash(String requestId) {
+        try {
+            return stringRedisTemplate.opsForHash().entries(key(requestId));
+        } catch (Exception e) {
+            log.warn("⚠️ [삭제 진행 상황] 조회 실패: requestId={}, error={}", requestId, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    /**
+     * Redis 기록 이전에 생성된 요청 (또는 TTL 만료) - DB 집계 1회로 카운터 생성
+     */
+    private Map<Object, Object> seedFromDatabase(String requestId) {
+        Map<String, Object> row = agentMapper.getDeletionJobProgress(requestId);
+        if (row == null || toInt(row.get("totalComments")) == 0) {
+            return Map.of();
+        }
+
+        Map<Object, Object> hash = new HashMap<>();
+        if (row.get("userId") != null) {
+            hash.put(FIELD_USER_ID, String.valueOf(toInt(row.get("userId"))));
+        }
+        hash.put(FIELD_TOTAL, String.valueOf(toInt(row.get("totalComments"))));
+        hash.put(FIELD_COMPLETED, String.valueOf(toInt(row.get("completedComments"))));
+        hash.put(FIELD_FAILED, String.valueOf(toInt(row.get("failedComments"))));
+        try {
+            String key = key(requestId);
+            stringRedisTemplate.opsForHash().putAll(key, hash);
+            stringRedisTemplate.expire(key, TTL);
+        } catch (Exception e) {
+            log.warn("⚠️ [삭제 진행 상황] DB 집계 저장 실패: requestId={}, error={}", requestId, e.getMessage());
+        }
+        return hash;
+    }
+
+    /**
+     * 기존 GET /deletion-status 응답과 같은 형태
+     */
+    private Map<String, Object> toProgress(String requestId, Map<Object, Object> hash) {
+        int total = toInt(hash.get(FIELD_TOTAL));
+        int completed = toInt(hash.get(FIELD_COMPLETED));
+        int failed = toInt(hash.get(FIELD_FAILED));
+        double percentage = total > 0 ? ((double) (completed + failed) / total) * 100 : 0;
+
+        Map<String, Object> progress = new HashMap<>();
+        progress.put("requestId", requestId);
+        progress.put("totalComments", total);
+        progress.put("completedComments", completed);
+        progress.put("failedComments", failed);
+        progress.put("progressPercentage", Math.round(percentage * 100.0) / 100.0);
+        progress.put("isCompleted", total > 0 && completed + failed >= total);
+        return progress;
+    }
+
+    /**
+     * 요청 소유자 확인 (DB 집계로 채운 카운터도 채널 소유자 userId를 기록)
+     */
+    private boolean isOwner(Map<Object, Object> hash, Integer userId) {
+        Object owner = hash.get(FIELD_USER_ID);
+        return owner != null && userId != null && owner.toString().equals(String.valueOf(userId));
+    }
+
+    private Map<String, Integer> countByRequest(List<String> requestIds) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String requestId : requestIds) {
+            if (requestId != null) {
+                counts.merge(requestId, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private int toInt(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        return Integer.parseInt(value.toString());
+    }
+
+    private String key(String requestId) {
+        return KEY_PREFIX + requestId;
+    }
+}
@@ -1,13 +1,17 @@
 package com.medi.backend.youtube.service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.google.api.services.youtube.model.VideoListResponse;
+import com.google.api.services.youtube.model.Video;
 import com.medi.backend.agent.mapper.AgentMapper;
 import com.medi.backend.youtube.dto.YoutubeChannelDto;
 import com.medi.backend.youtube.dto.YoutubeVideoDto;
@@ -30,7 +34,7 @@ public class YoutubeCommentCountSyncService {
     private final YoutubeVideoMapper videoMapper;
     private final YoutubeChannelMapper channelMapper;
     private final AgentMapper agentMapper;
-    private final YoutubeDataApiClient youtubeDataApiClient;
+    private final YoutubeVideoBatchCoalescer videoBatchCoalescer;
 
     /**
      * 모든 비디오의 YouTube 실제 댓글 수를 저장
@@ -56,61 +60,18 @@ public class YoutubeCommentCountSyncService {
 
             log.info("📊 총 {}개 채널의 댓글 수 동기화 시작", channels.size());
 
+            // 모든 채널의 비디오를 모아 한 번에 조회 (채널별로 나누면 채널마다 절반만 찬 배치가 생김)
+            Map<String, YoutubeVideoDto> videosByYoutubeId = new LinkedHashMap<>();
+            Map<Integer, Integer> channelIdByVideoId = new HashMap<>();
             for (YoutubeChannelDto channel : channels) {
                 try {
-                    // 채널의 모든 비디오 조회
-                    List<YoutubeVideoDto> videos = videoMapper.findByChannelId(channel.getId());
-                    
+                    List<YoutubeVideoDto> videos = videoMapper.findActiveByChannelId(channel.getId());
                     if (videos == null || videos.isEmpty()) {
                         continue;
                     }
-
-                    // 비디오 ID 목록 추출
-                    List<String> videoIds = videos.stream()
-                        .map(YoutubeVideoDto::getYoutubeVideoId)
-                        .collect(Collectors.toList());
-
-                    // YouTube API에서 일괄 조회 (최대 50개씩)
-                    int batchSize = 50;
-                    for (int i = 0; i < videoIds.size(); i += batchSize) {
-                        int end = Math.min(i + batchSize, videoIds.size());
-                        List<String> batch = videoIds.subList(i, end);
-                        
-                        try {
-                            VideoListResponse response = youtubeDataApiClient.fetchVideoStatistics(batch);
-                            
-                            if (response != null && response.getItems() != null) {
-                                for (var videoItem : response.getItems()) {
-                                    if (videoItem.getStatistics() != null && 
-                                        videoItem.getStatistics().getCommentCount() != null) {
-                                        
-                                        // 해당 비디오 찾기
-                                        String youtubeVideoId = videoItem.getId();
-                                        YoutubeVideoDto video = videos.stream()
-                                            .filter(v -> v.getYoutubeVideoId().equals(youtubeVideoId))
-                                            .findFirst()
-                                            .orElse(null);
-                                        
-                                        if (video != null) {
-                                            Long commentCount = videoItem.getStatistics().getCommentCount().longValue();
-                                            
-                                            // daily_comment_stats 테이블에 저장
-                                            agentMapper.updateYoutubeTotalCount(
-                                                channel.getId(),
-                                                video.getId(),
-                                                targetDate,
-                                                commentCount
-                                            );
-                                            successCount++;
-                                            log.debug("✅ 비디오 {} 댓글 수 저장: {}개", youtubeVideoId, commentCount);
-                                        }
-                                    }
-                                }
-                            }
-                        } catch (Exception e) {
-                            log.error("❌ 비디오 배치 조회 실패: channelId={}, error={}", channel.getId(), e.getMessage());
-                            failCount += batch.size();
-                        }
+                    for (YoutubeVideoDto video : videos) {
+                        videosByYoutubeId.put(video.getYoutubeVideoId(), video);
+                        channelIdByVideoId.put(video.getId(), channel.getId());
                     }
                 } catch (Exception e) {
                     log.error("❌ 채널 {} 댓글 수 동기화 실패: {}", channel.getId(), e.getMessage(), e);
@@ -118,6 +79,37 @@ public class YoutubeCommentCountSyncService {
                 }
             }
 
+            if (!videosByYoutubeId.isEmpty()) {
+                // YouTube API에서 일괄 조회 (50개 단위 분할은 coalescer가 처리, 실패한 배치만 제외하고 저장)
+                YoutubeVideoBatchCoalescer.PartialResult result =
+                    videoBatchCoalescer.fetchVideoStatisticsPartial(new ArrayList<>(videosByYoutubeId.keySet()));
+                if (!result.failedIds().isEmpty()) {
+                    log.error("❌ 비디오 일괄 조회 일부 실패: videoCount={}, 실패={}개, error={}",
+                        videosByYoutubeId.size(), result.failedIds().size(), result.error().getMessage());
+                    failCount += result.failedIds().size();
+                }
+                for (Video videoItem : result.videos()) {
+                    if (videoItem.getStatistics() == null || videoItem.getStatistics().getCommentCount() == null) {
+                        continue;
+                    }
+                    YoutubeVideoDto video = videosByYoutubeId.get(videoItem.getId());
+                    if (video == null) {
+                        continue;
+                    }
+                    Long commentCount = videoItem.getStatistics().getCommentCount().longValue();
+
+                    // daily_comment_stats 테이블에 저장
+                    agentMapper.updateYoutubeTotalCount(
+                        channelIdByVideoId.get(video.getId()),
+                        video.getId(),
+                        targetDate,
+                        commentCount
+                    );
+                    successCount++;
+                    log.debug("✅ 비디오 {} 댓글 수 저장: {}개", videoItem.getId(), commentCount);
+                }
+            }
+
             log.info("📊 YouTube 실제 댓글 수 동기화 완료: 성공={}개, 실패={}개", successCount, failCount);
         } catch (Exception e) {
             log.error("❌ YouTube 댓글 수 동기화 중 오류 발생", e);
@@ -137,7 +129,7 @@ public class YoutubeCommentCountSyncService {
         int failCount = 0;
 
         try {
-            List<YoutubeVideoDto> videos = videoMapper.findByChannelId(channelId);
+            List<YoutubeVideoDto> videos = videoMapper.findActiveByChannelId(channelId);
             
             if (videos == null || videos.isEmpty()) {
                 log.info("📊 채널 {}에 동기화할 비디오가 없습니다.", channelId);
@@ -149,43 +141,33 @@ public class YoutubeCommentCountSyncService {
                 .map(YoutubeVideoDto::getYoutubeVideoId)
                 .collect(Collectors.toList());
 
-            // YouTube API에서 일괄 조회 (최대 50개씩)
-            int batchSize = 50;
-            for (int i = 0; i < videoIds.size(); i += batchSize) {
-                int end = Math.min(i + batchSize, videoIds.size());
-                List<String> batch = videoIds.subList(i, end);
-                
-                try {
-                    VideoListResponse response = youtubeDataApiClient.fetchVideoStatistics(batch);
-                    
-                    if (response != null && response.getItems() != null) {
-                        for (var videoItem : response.getItems()) {
-                            if (videoItem.getStatistics() != null && 
-                                videoItem.getStatistics().getCommentCount() != null) {
-                                
-                                String youtubeVideoId = videoItem.getId();
-                                YoutubeVideoDto video = videos.stream()
-                                    .filter(v -> v.getYoutubeVideoId().equals(youtubeVideoId))
-                                    .findFirst()
-                                    .orElse(null);
-                                
-                                if (video != null) {
-                                    Long commentCount = videoItem.getStatistics().getCommentCount().longValue();
-                                    
-                                    agentMapper.updateYoutubeTotalCount(
-                                        channelId,
-                                        video.getId(),
-                                        targetDate,
-                                        commentCount
-                                    );
-                                    successCount++;
-                                }
-                            }
-                        }
-                    }
-                } catch (Exception e) {
-                    log.error("❌ 비디오 배치 조회 실패: channelId={}, error={}", channelId, e.getMessage());
-                    failCount += batch.size();
+            Map<String, YoutubeVideoDto> videosByYoutubeId = new LinkedHashMap<>();
+            for (YoutubeVideoDto video : videos) {
+                videosByYoutubeId.put(video.getYoutubeVideoId(), video);
+            }
+
+            // YouTube API에서 일괄 조회 (50개 단위 분할은 coalescer가 처리, 실패한 배치만 제외하고 저장)
+            YoutubeVideoBatchCoalescer.PartialResult result = videoBatchCoalescer.fetchVideoStatisticsPartial(videoIds);
+            if (!result.failedIds().isEmpty()) {
+                log.error("❌ 비디오 일괄 조회 일부 실패: channelId={}, 실패={}개, error={}",
+                    channelId, result.failedIds().size(), result.error().getMessage());
+                failCount += result.failedIds().size();
+            }
+            for (Video videoItem : result.videos()) {
+                if (videoItem.getStatistics() == null || videoItem.getStatistics().getCommentCount() == null) {
+                    continue;
+                }
+                YoutubeVideoDto video = videosByYoutubeId.get(videoItem.getId());
+                if (video != null) {
+                    Long commentCount = videoItem.getStatistics().getCommentCount().longValue();
+
+                    agentMapper.updateYoutubeTotalCount(
+                        channelId,
+                        video.getId(),
+                        targetDate,
+                        commentCount
+                    );
+                    successCount++;
                 }
             }
 
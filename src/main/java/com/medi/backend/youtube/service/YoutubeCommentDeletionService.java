@@ -1,14 +1,19 @@
 package com.medi.backend.youtube.service;
 
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.javanet.NetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.youtube.YouTube;
 import com.medi.backend.agent.mapper.AgentMapper;
+import com.medi.backend.agent.service.CommentTrendBucketService;
+import com.medi.backend.userdashboard.service.UserDashboardCacheService;
+import com.medi.backend.userdashboard.service.UserDashboardRollupService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -21,14 +26,29 @@ import java.util.Map;
 @Service
 public class YoutubeCommentDeletionService {
 
+    // 스레드 안전, 커넥션 재사용을 위해 인스턴스 공유 (요청마다 newTrustedTransport() 생성하지 않음)
+    private static final HttpTransport HTTP_TRANSPORT = new NetHttpTransport();
+
     private final YoutubeOAuthService youtubeOAuthService;
     private final AgentMapper agentMapper;
+    private final UserDashboardRollupService dashboardRollupService;
+    private final UserDashboardCacheService dashboardCacheService;
+    private final CommentTrendBucketService commentTrendBucketService;
+    private final DeletionProgressService deletionProgressService;
 
     public YoutubeCommentDeletionService(
             YoutubeOAuthService youtubeOAuthService,
-            AgentMapper agentMapper) {
+            AgentMapper agentMapper,
+            UserDashboardRollupService dashboardRollupService,
+            UserDashboardCacheService dashboardCacheService,
+            CommentTrendBucketService commentTrendBucketService,
+            DeletionProgressService deletionProgressService) {
         this.youtubeOAuthService = youtubeOAuthService;
         this.agentMapper = agentMapper;
+        this.dashboardRollupService = dashboardRollupService;
+        this.dashboardCacheService = dashboardCacheService;
+        this.commentTrendBucketService = commentTrendBucketService;
+        this.deletionProgressService = deletionProgressService;
     }
 
     /**
@@ -50,6 +70,9 @@ public class YoutubeCommentDeletionService {
 
         // 4. DB 업데이트 (Soft Delete)
         agentMapper.updateCommentStatusToDeleted(youtubeCommentId, youtubeDeletionStatus);
+        dashboardRollupService.refreshForComment(youtubeCommentId);
+        commentTrendBucketService.refreshForComment(youtubeCommentId);
+        dashboardCacheService.bumpVersion(userId);
 
         // 5. 할당량 로그 출력
         log.info("✅ [댓글 삭제 완료] userId={}, youtubeCommentId={}, status={}, YouTube API 할당량 사용: 50 units",
@@ -101,7 +124,7 @@ public class YoutubeCommentDeletionService {
     public Map<String, Object> deleteFilteredCommentsByVideoId(Integer userId, Integer videoId) {
         // 1. 필터링된 댓글 조회 (status='filtered'만)
         List<com.medi.backend.agent.dto.FilteredCommentResponse> filteredComments = agentMapper
-                .findFilteredCommentsByVideoId(videoId, userId, "filtered");
+                .findFilteredCommentsByVideoId(videoId, userId, "filtered", null, null, null, 200);
 
         if (filteredComments.isEmpty()) {
             log.info("ℹ️ [삭제할 댓글 없음] userId={}, videoId={}", userId, videoId);
@@ -132,7 +155,7 @@ public class YoutubeCommentDeletionService {
     public Map<String, Object> deleteFilteredCommentsByChannelId(Integer userId, Integer channelId) {
         // 1. 필터링된 댓글 조회 (status='filtered'만)
         List<com.medi.backend.agent.dto.FilteredCommentResponse> filteredComments = agentMapper
-                .findFilteredCommentsByChannelId(channelId, userId, "filtered");
+                .findFilteredCommentsByChannelId(channelId, userId, "filtered", null, null, null, 500);
 
         if (filteredComments.isEmpty()) {
             log.info("ℹ️ [삭제할 댓글 없음] userId={}, channelId={}", userId, channelId);
@@ -177,6 +200,12 @@ public class YoutubeCommentDeletionService {
         log.info("📝 [비동기 삭제 요청] userId={}, videoId={}, requestId={}, count={}",
                 userId, videoId, requestId, markedCount);
 
+        // 2. 대시보드 집계 갱신 (PENDING_DELETE로 빠진 날짜 행만 재계산)
+        dashboardRollupService.refreshForDeletionRequest(agentMapper.findChannelIdByVideoId(videoId), requestId);
+        commentTrendBucketService.refreshForDeletionRequest(requestId);
+        deletionProgressService.start(requestId, userId, markedCount);
+        dashboardCacheService.bumpVersion(userId);
+
         return Map.of(
                 "requestId", requestId,
                 "totalComments", markedCount,
@@ -204,6 +233,12 @@ public class YoutubeCommentDeletionService {
         log.info("📝 [비동기 삭제 요청] userId={}, channelId={}, requestId={}, count={}",
                 userId, channelId, requestId, markedCount);
 
+        // 2. 대시보드 집계 갱신 (PENDING_DELETE로 빠진 날짜 행만 재계산)
+        dashboardRollupService.refreshForDeletionRequest(channelId, requestId);
+        commentTrendBucketService.refreshForDeletionRequest(requestId);
+        deletionProgressService.start(requestId, userId, markedCount);
+        dashboardCacheService.bumpVersion(userId);
+
         return Map.of(
                 "requestId", requestId,
                 "totalComments", markedCount,
@@ -212,46 +247,26 @@ public class YoutubeCommentDeletionService {
 
     /**
      * 삭제 작업 진행 상황 조회
+     * - Redis 카운터에서 읽음 (폴링해도 youtube_comments 집계 쿼리를 실행하지 않음)
      */
-    @Transactional(readOnly = true)
     public Map<String, Object> getJobProgress(String requestId) {
-        Map<String, Object> progress = agentMapper.getDeletionJobProgress(requestId);
+        Map<String, Object> progress = deletionProgressService.getProgress(requestId);
 
-        if (progress == null || ((Number) progress.get("totalComments")).intValue() == 0) {
+        if (progress == null) {
             throw new IllegalArgumentException("존재하지 않는 요청 ID입니다.");
         }
 
-        // 진행률 계산
-        int total = ((Number) progress.get("totalComments")).intValue();
-        int completed = ((Number) progress.get("completedComments")).intValue();
-        int failed = ((Number) progress.get("failedComments")).intValue();
-        double progressPercentage = ((double) (completed + failed) / total) * 100;
-        boolean isCompleted = (completed + failed) == total;
-
-        progress.put("progressPercentage", Math.round(progressPercentage * 100.0) / 100.0);
-        progress.put("isCompleted", isCompleted);
-
         return progress;
     }
 
     /**
-     * YouTube API 댓글 삭제 (내부용 - Background Worker에서도 사용)
+     * YouTube API 댓글 삭제 (내부용)
      * 
      * @return YouTube 삭제 상태 (SUCCESS, NOT_FOUND)
      */
     public String deleteCommentFromYoutubeInternal(String accessToken, String youtubeCommentId) {
         try {
-            YouTube youtube = new YouTube.Builder(
-                    GoogleNetHttpTransport.newTrustedTransport(),
-                    GsonFactory.getDefaultInstance(),
-                    request -> request.getHeaders().setAuthorization("Bearer " + accessToken))
-                    .setApplicationName("Medi-Backend").build();
-
-            youtube.comments().delete(youtubeCommentId).execute();
-
-            log.info("✅ [YouTube API 호출 성공] 댓글 삭제: commentId={}", youtubeCommentId);
-            return "SUCCESS";
-
+            return deleteCommentFromYoutube(buildYoutubeClient(accessToken), youtubeCommentId);
         } catch (GoogleJsonResponseException e) {
             return handleYoutubeApiError(e, youtubeCommentId);
         } catch (Exception e) {
@@ -259,6 +274,57 @@ public class YoutubeCommentDeletionService {
         }
     }
 
+    /**
+     * 사용자 access token으로 YouTube 클라이언트 생성
+     * - HTTP 전송 계층은 공유 (Background Worker는 사용자별로 한 번만 생성해 여러 댓글에 재사용)
+     */
+    public YouTube buildYoutubeClient(String accessToken) {
+        return new YouTube.Builder(
+                HTTP_TRANSPORT,
+                GsonFactory.getDefaultInstance(),
+                request -> request.getHeaders().setAuthorization("Bearer " + accessToken))
+                .setApplicationName("Medi-Backend").build();
+    }
+
+    /**
+     * 주어진 클라이언트로 댓글 삭제 (404는 이미 삭제된 것으로 간주)
+     * 
+     * @return YouTube 삭제 상태 (SUCCESS, NOT_FOUND)
+     * @throws GoogleJsonResponseException 404 외 API 오류 (호출자가 재시도 여부 판단)
+     */
+    public String deleteCommentFromYoutube(YouTube youtube, String youtubeCommentId) throws IOException {
+        try {
+            youtube.comments().delete(youtubeCommentId).execute();
+        } catch (GoogleJsonResponseException e) {
+            if (e.getStatusCode() == 404) {
+                log.warn("⚠️ [댓글 없음] 댓글을 찾을 수 없음 (이미 삭제됨): commentId={}", youtubeCommentId);
+                return "NOT_FOUND";
+            }
+            throw e;
+        }
+
+        log.info("✅ [YouTube API 호출 성공] 댓글 삭제: commentId={}", youtubeCommentId);
+        return "SUCCESS";
+    }
+
+    /**
+     * 여러 댓글의 검토 상태를 한 번의 호출로 변경 (comments.setModerationStatus)
+     * - 호출 1회 = 50 units (댓글 수와 무관)
+     * - 요청 단위로 성공/실패하므로, 일부 댓글이 없어서 실패하면 호출자가 나눠서 다시 시도
+     * 
+     * @param moderationStatus rejected(숨김) / heldForReview(검토 대기)
+     * @throws GoogleJsonResponseException API 오류
+     */
+    public void moderateCommentsOnYoutube(YouTube youtube, List<String> youtubeCommentIds, String moderationStatus)
+            throws IOException {
+        youtube.comments()
+                .setModerationStatus(String.join(",", youtubeCommentIds), moderationStatus)
+                .execute();
+
+        log.info("✅ [YouTube API 호출 성공] 댓글 검토 상태 변경: status={}, count={}",
+                moderationStatus, youtubeCommentIds.size());
+    }
+
     /**
      * YouTube API 오류 처리
      * 
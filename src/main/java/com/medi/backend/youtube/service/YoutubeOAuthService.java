@@ -1,5 +1,7 @@
 package com.medi.backend.youtube.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeRequestUrl;
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeTokenRequest;
 import com.google.api.client.googleapis.auth.oauth2.GoogleRefreshTokenRequest;
@@ -17,13 +19,21 @@ import com.medi.backend.youtube.mapper.YoutubeOAuthTokenMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Service
@@ -61,6 +71,58 @@ public class YoutubeOAuthService {
 
     private static final DateTimeFormatter DF = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
+    /**
+     * 호출 경로(hot path)에서 토큰을 그대로 사용할 수 있는 최소 잔여 시간
+     * - 이보다 적게 남았으면 호출 스레드에서 갱신 (기존 5분 기준 유지)
+     */
+    private static final Duration REFRESH_SKEW = Duration.ofMinutes(5);
+
+    /**
+     * 백그라운드 선제 갱신 기준
+     * - 만료까지 10분 이내로 남은 캐시 토큰은 스케줄러가 미리 갱신하여
+     *   삭제 워커/댓글 동기화가 Google 토큰 엔드포인트를 기다리지 않도록 함
+     */
+    private static final Duration PROACTIVE_REFRESH_WINDOW = Duration.ofMinutes(10);
+
+    /**
+     * 선제 갱신 대상 = 이 시간 안에 토큰을 실제로 사용한 사용자만
+     * (한 번 조회된 뒤 쓰이지 않는 사용자 토큰을 매시간 계속 갱신하지 않도록)
+     */
+    private static final Duration ACTIVE_USER_WINDOW = Duration.ofMinutes(30);
+
+    private static final int MAX_CACHED_TOKENS = 10_000;
+    private static final Duration TOKEN_IDLE_TTL = Duration.ofHours(1);
+
+    /**
+     * 사용자별 Access Token 메모리 캐시 (최대 MAX_CACHED_TOKENS명, TOKEN_IDLE_TTL 동안 조회/갱신 없으면 제거)
+     * - 매 호출마다 DB 조회 + 만료 문자열 파싱을 하지 않도록 만료 시각을 Instant로 보관
+     */
+    private final Cache<Integer, CachedToken> tokenCache = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_TOKENS)
+            .expireAfterAccess(TOKEN_IDLE_TTL)
+            .build();
+
+    /**
+     * 사용자별 마지막 토큰 사용 시각 (getValidAccessToken 호출 기준, ACTIVE_USER_WINDOW 후 제거)
+     * - 선제 갱신은 캐시 쓰기로 접근 시각이 연장되므로, 실제 사용 여부는 별도로 추적
+     */
+    private final Cache<Integer, Instant> lastUsedAt = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_TOKENS)
+            .expireAfterWrite(ACTIVE_USER_WINDOW)
+            .build();
+
+    /**
+     * 사용자별 진행 중인 갱신 작업 (single-flight)
+     * - 동시에 여러 스레드가 만료 임박 토큰을 만나도 Google 토큰 엔드포인트 호출은 사용자당 1회
+     */
+    private final Map<Integer, CompletableFuture<CachedToken>> inFlightRefreshes = new ConcurrentHashMap<>();
+
+    /**
+     * 토큰 갱신용 HTTP Transport (스레드 안전, 재사용)
+     * - 갱신마다 newTrustedTransport()를 새로 만들지 않도록 지연 생성 후 공유
+     */
+    private volatile NetHttpTransport refreshTransport;
+
     public String buildAuthorizationUrl(Integer userId, String baseRedirectUri, String state) {
         String redirectUri = baseRedirectUri; // e.g., http://localhost:8080/api/youtube/oauth/callback
         String finalState = StringUtils.hasText(state) ? state : "youtube_connect";
@@ -115,6 +177,8 @@ public class YoutubeOAuthService {
             dto.setAccessTokenExpiresAt(DF.format(expiresAt));
             dto.setTokenStatus("ACTIVE");
             tokenMapper.upsert(dto);
+            // 재연결 시 이전 토큰이 캐시에 남지 않도록 제거 (다음 호출에서 DB 재조회)
+            evictCachedToken(userId);
             return userId;
         } catch (Exception e) {
             throw new RuntimeException("OAuth callback handling failed", e);
@@ -122,51 +186,178 @@ public class YoutubeOAuthService {
     }
 
     public String getValidAccessToken(Integer userId) {
+        lastUsedAt.put(userId, Instant.now());
+        CachedToken cached = tokenCache.getIfPresent(userId);
+        if (cached == null || !cached.isUsableAt(Instant.now())) {
+            cached = loadFromDatabase(userId);
+        }
+        if (cached.isUsableAt(Instant.now())) {
+            return cached.accessToken();
+        }
+
+        // 만료 임박/만료 → 사용자당 1회만 갱신 (나머지 호출은 같은 결과를 기다림)
+        return refreshSingleFlight(userId, cached).accessToken();
+    }
+
+    /**
+     * 캐시된 토큰 제거
+     * - 토큰 상태가 외부에서 변경된 경우(연결 해제, 재연결 등) 호출
+     */
+    public void evictCachedToken(Integer userId) {
+        if (userId != null) {
+            tokenCache.invalidate(userId);
+        }
+    }
+
+    /**
+     * 만료 임박 토큰 선제 갱신 (1분마다)
+     * - 최근 ACTIVE_USER_WINDOW 안에 토큰을 사용한 사용자 중 만료까지 10분 이내인 것만 갱신
+     * - 갱신 실패는 로그만 남기고, 다음 hot path 호출에서 기존 흐름대로 처리
+     */
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void refreshExpiringTokens() {
+        Instant threshold = Instant.now().plus(PROACTIVE_REFRESH_WINDOW);
+        for (CachedToken cached : tokenCache.asMap().values()) {
+            if (cached.expiresAt().isAfter(threshold) || lastUsedAt.getIfPresent(cached.userId()) == null) {
+                continue;
+            }
+            try {
+                refreshSingleFlight(cached.userId(), cached);
+                log.debug("Access token 선제 갱신 완료: userId={}", cached.userId());
+            } catch (Exception e) {
+                log.warn("Access token 선제 갱신 실패: userId={}, error={}", cached.userId(), e.getMessage());
+            }
+        }
+    }
+
+    private CachedToken loadFromDatabase(Integer userId) {
         YoutubeOAuthTokenDto token = tokenMapper.findByUserId(userId);
-        if (token == null) throw new IllegalStateException("YouTube token not found");
+        if (token == null) {
+            tokenCache.invalidate(userId);
+            throw new IllegalStateException("YouTube token not found");
+        }
+        CachedToken cached = CachedToken.from(token);
+        tokenCache.put(userId, cached);
+        return cached;
+    }
+
+    /**
+     * 사용자당 하나의 갱신 작업만 실행하고, 동시 호출자는 같은 Future를 공유
+     */
+    private CachedToken refreshSingleFlight(Integer userId, CachedToken stale) {
+        CompletableFuture<CachedToken> mine = new CompletableFuture<>();
+        CompletableFuture<CachedToken> existing = inFlightRefreshes.putIfAbsent(userId, mine);
+        if (existing != null) {
+            return awaitRefresh(existing);
+        }
 
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime expiresAt = LocalDateTime.parse(token.getAccessTokenExpiresAt(), DF);
-        if (expiresAt.isAfter(now.plusMinutes(5))) {
-            return token.getAccessToken();
+        try {
+            // 대기 중 다른 스레드가 이미 갱신을 끝냈을 수 있으므로 캐시 재확인
+            CachedToken current = tokenCache.getIfPresent(userId);
+            CachedToken refreshed = (current != null && current.isUsableAt(Instant.now()))
+                    ? current
+                    : refreshAccessToken(userId, current != null ? current : stale);
+            mine.complete(refreshed);
+            return refreshed;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRefreshes.remove(userId, mine);
+        }
+    }
+
+    private CachedToken awaitRefresh(CompletableFuture<CachedToken> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
         }
-        
+    }
+
+    private CachedToken refreshAccessToken(Integer userId, CachedToken token) {
         // refresh token 확인
-        String refreshToken = token.getRefreshToken();
+        String refreshToken = token.refreshToken();
         if (refreshToken == null || refreshToken.trim().isEmpty()) {
-            log.error("Refresh token이 없습니다. userId={}, tokenId={}", userId, token.getId());
-            tokenMapper.updateTokenStatus(token.getId(), "EXPIRED");
+            log.error("Refresh token이 없습니다. userId={}, tokenId={}", userId, token.tokenId());
+            tokenMapper.updateTokenStatus(token.tokenId(), "EXPIRED");
+            tokenCache.invalidate(userId);
             throw new RuntimeException("Refresh token not found, reconnect required");
         }
-        
+
         // refresh token으로 새 access token 발급
         try {
             GoogleTokenResponse refreshResp = new GoogleRefreshTokenRequest(
-                    GoogleNetHttpTransport.newTrustedTransport(),
+                    getRefreshTransport(),
                     GsonFactory.getDefaultInstance(),
                     refreshToken,
                     clientId,
                     clientSecret)
                     .execute();
-            
+
             String newAccess = refreshResp.getAccessToken();
             Integer expiresIn = refreshResp.getExpiresInSeconds() != null ? refreshResp.getExpiresInSeconds().intValue() : 3600;
             LocalDateTime newExpiresAt = LocalDateTime.now().plusSeconds(expiresIn);
-            
-            token.setAccessToken(newAccess);
-            token.setAccessTokenExpiresAt(DF.format(newExpiresAt));
-            token.setTokenStatus("ACTIVE");
-            tokenMapper.upsert(token);
-            
+
+            YoutubeOAuthTokenDto dto = new YoutubeOAuthTokenDto();
+            dto.setId(token.tokenId());
+            dto.setUserId(userId);
+            dto.setGoogleEmail(token.googleEmail());
+            dto.setAccessToken(newAccess);
+            dto.setRefreshToken(refreshToken);
+            dto.setAccessTokenExpiresAt(DF.format(newExpiresAt));
+            dto.setTokenStatus("ACTIVE");
+            tokenMapper.upsert(dto);
+
+            CachedToken refreshed = CachedToken.from(dto);
+            tokenCache.put(userId, refreshed);
+
             log.info("Access token 갱신 성공: userId={}", userId);
-            return newAccess;
+            return refreshed;
         } catch (Exception ex) {
             log.error("Access token 갱신 실패: userId={}, error={}", userId, ex.getMessage(), ex);
-            tokenMapper.updateTokenStatus(token.getId(), "EXPIRED");
+            tokenMapper.updateTokenStatus(token.tokenId(), "EXPIRED");
+            tokenCache.invalidate(userId);
             throw new RuntimeException("Refresh token expired, reconnect required", ex);
         }
     }
 
+    private NetHttpTransport getRefreshTransport() throws Exception {
+        NetHttpTransport transport = refreshTransport;
+        if (transport == null) {
+            synchronized (this) {
+                transport = refreshTransport;
+                if (transport == null) {
+                    transport = GoogleNetHttpTransport.newTrustedTransport();
+                    refreshTransport = transport;
+                }
+            }
+        }
+        return transport;
+    }
+
+    /**
+     * 메모리 캐시용 토큰 스냅샷 (만료 시각은 Instant로 한 번만 파싱)
+     */
+    private record CachedToken(Integer tokenId, Integer userId, String googleEmail,
+                               String accessToken, String refreshToken, Instant expiresAt) {
+
+        static CachedToken from(YoutubeOAuthTokenDto dto) {
+            Instant expiresAt = LocalDateTime.parse(dto.getAccessTokenExpiresAt(), DF)
+                    .atZone(ZoneId.systemDefault())
+                    .toInstant();
+            return new CachedToken(dto.getId(), dto.getUserId(), dto.getGoogleEmail(),
+                    dto.getAccessToken(), dto.getRefreshToken(), expiresAt);
+        }
+
+        boolean isUsableAt(Instant now) {
+            return expiresAt.isAfter(now.plus(REFRESH_SKEW));
+        }
+    }
+
     private Integer extractUserIdFromState(String state) {
         if (!StringUtils.hasText(state)) return null;
         int idx = state.indexOf("userId=");
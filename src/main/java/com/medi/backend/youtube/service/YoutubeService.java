@@ -4,6 +4,7 @@ import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
 import com.google.api.client.json.gson.GsonFactory;
 import com.google.api.services.youtube.YouTube;
 import com.google.api.services.youtube.model.*;
+import com.medi.backend.userdashboard.service.UserDashboardCacheService;
 import com.medi.backend.youtube.config.YoutubeDataApiProperties;
 import com.medi.backend.youtube.config.YoutubeSyncConfigProperties;
 import com.medi.backend.youtube.dto.YoutubeOAuthTokenDto;
@@ -47,6 +48,9 @@ public class YoutubeService {
     @Autowired
     private YoutubeDataApiClient youtubeDataApiClient;
 
+    @Autowired
+    private YoutubeVideoBatchCoalescer videoBatchCoalescer;
+
     @Autowired
     private YoutubeDataApiProperties youtubeDataApiProperties;
 
@@ -56,6 +60,12 @@ public class YoutubeService {
     @Autowired(required = false)
     private YoutubeRedisSyncService youtubeRedisSyncService;
 
+    @Autowired
+    private UserDashboardCacheService dashboardCacheService;
+
+    @Autowired
+    private ChannelService channelService;
+
     // 초기화 시점에 Redis 서비스 주입 여부 확인
     @PostConstruct
     public void init() {
@@ -282,6 +292,10 @@ public class YoutubeService {
 
             log.info("📊 채널 처리 완료: userId={}, 처리된채널={}개, 저장성공={}개, 스킵={}개",
                     userId, resp.getItems().size(), upsertCount, skipCount);
+            if (upsertCount > 0) {
+                dashboardCacheService.bumpVersion(userId);
+                channelService.evictChannelCache(userId);
+            }
 
             // 2. MySQL 저장 완료 후 Redis 초기 동기화 (비동기로 실행)
             // syncVideosEveryTime이 true일 때만 실행 (OAuth 콜백 직후 또는 수동 동기화 시)
@@ -417,10 +431,12 @@ public class YoutubeService {
             if (snapshots.isEmpty()) {
                 updateChannelSyncInfo(channel.getYoutubeChannelId(), LocalDateTime.now(),
                         channel.getLastVideoPublishedAt());
+                channelService.evictChannelCache(userId);
                 return Collections.emptyList();
             }
 
             List<YoutubeVideoDto> persisted = persistSnapshots(channel, snapshots, statistics, syncMode);
+            dashboardCacheService.bumpVersion(userId);
 
             LocalDateTime newestPublishedAt = channel.getLastVideoPublishedAt();
             for (YoutubeVideoDto dto : persisted) {
@@ -430,6 +446,7 @@ public class YoutubeService {
                 }
             }
             updateChannelSyncInfo(channel.getYoutubeChannelId(), LocalDateTime.now(), newestPublishedAt);
+            channelService.evictChannelCache(userId);
 
             // 영상 개수 제한 도달 시 경고 로그
             if (snapshots.size() >= cap && cap < Integer.MAX_VALUE) {
@@ -520,16 +537,9 @@ public class YoutubeService {
             videoIds.add(snapshot.videoId());
         }
 
-        for (int i = 0; i < videoIds.size(); i += 50) {
-            int end = Math.min(i + 50, videoIds.size());
-            List<String> batch = videoIds.subList(i, end);
-            VideoListResponse videosResponse = youtubeDataApiClient.fetchVideoStatistics(batch);
-            if (videosResponse.getItems() == null) {
-                continue;
-            }
-            for (Video video : videosResponse.getItems()) {
-                result.put(video.getId(), video);
-            }
+        // 50개 단위 분할 + 다른 채널 동기화 요청과 합치기는 coalescer가 처리
+        for (Video video : videoBatchCoalescer.fetchVideoStatistics(videoIds)) {
+            result.put(video.getId(), video);
         }
         return result;
     }
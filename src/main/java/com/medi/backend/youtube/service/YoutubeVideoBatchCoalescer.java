@@ -0,0 +1,261 @@
+package com.medi.backend.youtube.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.stereotype.Service;
+
+import com.google.api.services.youtube.model.Video;
+import com.google.api.services.youtube.model.VideoListResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * videos.list 요청 묶음 처리 (API 키 조회 전용)
+ *
+ * - 여러 동기화 작업이 동시에 요청한 영상 ID를 COALESCE_WINDOW_MS 동안 모아 50개 단위로 한 번에 조회
+ *   (videos.list는 ID 개수와 무관하게 호출 1회당 1 unit → 절반만 찬 배치를 합치면 호출 수/쿼터 감소)
+ * - 50개가 모이면 대기 없이 즉시 조회, 같은 ID를 동시에 요청하면 한 번만 조회해 결과 공유
+ * - statistics / snippet+statistics+contentDetails는 part가 달라 별도로 묶음
+ * - OAuth 토큰 조회는 사용자별 자격 증명이라 합치지 않음 (기존 호출 그대로)
+ * - fetchVideoStatistics는 실패한 배치가 하나라도 있으면 예외, fetchVideoStatisticsPartial은 배치별로 성공분만 반환
+ *
+ * 메트릭: youtube.videos.coalescer.requests{part} (호출자 요청 ID 수), youtube.videos.coalescer.calls{part} (실제 API 호출 수)
+ */
+@Slf4j
+@Service
+public class YoutubeVideoBatchCoalescer {
+
+    private static final int MAX_BATCH_SIZE = 50;             // videos.list id 최대 개수
+    private static final long COALESCE_WINDOW_MS = 50;        // 배치가 덜 찼을 때 최대 대기 시간
+    private static final long RESULT_TIMEOUT_SECONDS = 60;
+    private static final int FETCH_THREADS = 4;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Lane statisticsLane;
+    private final Lane detailsLane;
+
+    // flush 예약 + 실제 API 호출 (호출자 스레드는 결과만 기다림)
+    private final ScheduledExecutorService fetchScheduler = Executors.newScheduledThreadPool(FETCH_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "YoutubeVideoBatch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public YoutubeVideoBatchCoalescer(YoutubeDataApiClient youtubeDataApiClient, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.statisticsLane = new Lane("statistics", youtubeDataApiClient::fetchVideoStatistics);
+        this.detailsLane = new Lane("details", youtubeDataApiClient::fetchVideoDetails);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fetchScheduler.shutdownNow();
+    }
+
+    /**
+     * statistics 조회 (요청 순서 유지, 응답에 없는 영상은 제외)
+     */
+    public List<Video> fetchVideoStatistics(List<String> videoIds) throws IOException {
+        return statisticsLane.fetch(videoIds);
+    }
+
+    /**
+     * statistics 조회 - 일부 배치가 실패해도 성공한 배치 결과는 반환 (대량 일괄 작업용)
+     */
+    public PartialResult fetchVideoStatisticsPartial(List<String> videoIds) {
+        return statisticsLane.fetchPartial(videoIds);
+    }
+
+    /**
+     * snippet, statistics, contentDetails 조회 (요청 순서 유지, 응답에 없는 영상은 제외)
+     */
+    public List<Video> fetchVideoDetails(List<String> videoIds) throws IOException {
+        return detailsLane.fetch(videoIds);
+    }
+
+    /**
+     * 배치별 결과 (videos: 성공한 배치의 영상, failedIds: 실패한 배치의 ID, error: 첫 번째 실패 원인)
+     */
+    public record PartialResult(List<Video> videos, List<String> failedIds, Throwable error) {
+    }
+
+    @FunctionalInterface
+    private interface BatchCall {
+        VideoListResponse execute(List<String> videoIds) throws IOException;
+    }
+
+    private final class Lane {
+
+        private final String part;
+        private final BatchCall call;
+        private final Counter requestedCounter;
+        private final Counter callCounter;
+
+        // 대기 중인 ID → 결과 (응답에 없는 영상은 null로 완료)
+        private final Map<String, CompletableFuture<Video>> pending = new LinkedHashMap<>();
+        private ScheduledFuture<?> flushTask;
+
+        private Lane(String part, BatchCall call) {
+            this.part = part;
+            this.call = call;
+            this.requestedCounter = Counter.builder("youtube.videos.coalescer.requests")
+                    .tag("part", part)
+                    .register(meterRegistry);
+            this.callCounter = Counter.builder("youtube.videos.coalescer.calls")
+                    .tag("part", part)
+                    .register(meterRegistry);
+        }
+
+        private List<Video> fetch(List<String> videoIds) throws IOException {
+            if (videoIds == null || videoIds.isEmpty()) {
+                return new ArrayList<>();
+            }
+            List<CompletableFuture<Video>> futures = submit(videoIds);
+
+            List<Video> videos = new ArrayList<>(videoIds.size());
+            for (CompletableFuture<Video> future : futures) {
+                Video video = await(future);
+                if (video != null) {
+                    videos.add(video);
+                }
+            }
+            return videos;
+        }
+
+        private PartialResult fetchPartial(List<String> videoIds) {
+            if (videoIds == null || videoIds.isEmpty()) {
+                return new PartialResult(new ArrayList<>(), new ArrayList<>(), null);
+            }
+            List<CompletableFuture<Video>> futures = submit(videoIds);
+
+            // 첫 실패에서 멈추지 않고 ID별로 결과 수집
+            List<Video> videos = new ArrayList<>(videoIds.size());
+            List<String> failedIds = new ArrayList<>();
+            Throwable error = null;
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    Video video = await(futures.get(i));
+                    if (video != null) {
+                        videos.add(video);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    failedIds.add(videoIds.get(i));
+                    if (error == null) {
+                        error = e;
+                    }
+                }
+            }
+            return new PartialResult(videos, failedIds, error);
+        }
+
+        /**
+         * 대기열에 ID 추가 후 ID별 결과 future 반환 (videoIds 순서와 같음)
+         */
+        private List<CompletableFuture<Video>> submit(List<String> videoIds) {
+            requestedCounter.increment(videoIds.size());
+
+            List<CompletableFuture<Video>> futures = new ArrayList<>(videoIds.size());
+            synchronized (this) {
+                for (String videoId : videoIds) {
+                    futures.add(pending.computeIfAbsent(videoId, id -> new CompletableFuture<>()));
+                }
+                // 꽉 찬 배치는 즉시 조회, 나머지는 다른 요청과 합쳐지도록 잠시 대기
+                while (pending.size() >= MAX_BATCH_SIZE) {
+                    dispatch(drain());
+                }
+                if (!pending.isEmpty() && flushTask == null) {
+                    flushTask = fetchScheduler.schedule(this::flush, COALESCE_WINDOW_MS, TimeUnit.MILLISECONDS);
+                }
+            }
+            return futures;
+        }
+
+        private void flush() {
+            synchronized (this) {
+                flushTask = null;
+                while (!pending.isEmpty()) {
+                    dispatch(drain());
+                }
+            }
+        }
+
+        /**
+         * 대기 중인 ID 최대 50개 꺼내기 (호출 시 this 잠금 필요)
+         */
+        private Map<String, CompletableFuture<Video>> drain() {
+            Map<String, CompletableFuture<Video>> batch = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, CompletableFuture<Video>>> it = pending.entrySet().iterator();
+            while (it.hasNext() && batch.size() < MAX_BATCH_SIZE) {
+                Map.Entry<String, CompletableFuture<Video>> entry = it.next();
+                batch.put(entry.getKey(), entry.getValue());
+                it.remove();
+            }
+            if (pending.isEmpty() && flushTask != null) {
+                flushTask.cancel(false);
+                flushTask = null;
+            }
+            return batch;
+        }
+
+        private void dispatch(Map<String, CompletableFuture<Video>> batch) {
+            fetchScheduler.execute(() -> execute(batch));
+        }
+
+        private void execute(Map<String, CompletableFuture<Video>> batch) {
+            callCounter.increment();
+            try {
+                VideoListResponse response = call.execute(new ArrayList<>(batch.keySet()));
+                Map<String, Video> byId = new HashMap<>();
+                if (response != null && response.getItems() != null) {
+                    for (Video video : response.getItems()) {
+                        byId.put(video.getId(), video);
+                    }
+                }
+                log.debug("📦 videos.list 묶음 조회: part={}, ids={}, items={}", part, batch.size(), byId.size());
+                batch.forEach((videoId, future) -> future.complete(byId.get(videoId)));
+            } catch (Throwable e) {
+                batch.values().forEach(future -> future.completeExceptionally(e));
+            }
+        }
+
+        /**
+         * 결과 대기 (API 오류는 원래 예외 그대로 전달 → 호출자의 쿼터 초과/OAuth 폴백 처리 유지)
+         */
+        private Video await(CompletableFuture<Video> future) throws IOException {
+            try {
+                return future.get(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IOException("videos.list 묶음 조회 실패: part=" + part, cause);
+            } catch (TimeoutException e) {
+                throw new IOException("videos.list 묶음 조회 시간 초과: part=" + part, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("videos.list 묶음 조회 중단: part=" + part, e);
+            }
+        }
+    }
+}
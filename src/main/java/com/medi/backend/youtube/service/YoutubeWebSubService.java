@@ -0,0 +1,399 @@
+package com.medi.backend.youtube.service;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import com.medi.backend.youtube.config.YoutubeWebSubProperties;
+import com.medi.backend.youtube.dto.YoutubeChannelDto;
+import com.medi.backend.youtube.mapper.YoutubeChannelMapper;
+import com.medi.backend.youtube.mapper.YoutubeVideoMapper;
+import com.medi.backend.youtube.model.VideoSyncMode;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * YouTube 업로드 푸시 알림(WebSub / PubSubHubbub) 구독 관리
+ *
+ * - 구독: 채널 업로드 피드(topic)를 허브에 구독 요청 → 허브가 콜백으로 검증(GET hub.challenge) → lease 기록
+ * - 갱신: 매시간 lease가 없거나 RENEW_BEFORE 안에 만료되는 채널을 다시 구독
+ * - 알림: 콜백 POST(Atom)의 새 영상 ID로 해당 채널만 즉시 동기화 (syncVideos FOLLOW_UP → Redis 증분 동기화)
+ * - 폴링 대체: lease가 유효한 채널은 스케줄러가 playlistItems 폴링을 건너뛰고,
+ *   lease가 없거나 만료된 채널(구독 실패, 설정 비활성화)은 기존처럼 폴링
+ * - 안전 폴링: 허브가 알림을 누락할 수 있으므로 lease가 유효해도 SAFETY_POLL_INTERVAL마다 한 번은 폴링
+ * - 콜백은 인증 없이 열려 있으므로 secret이 없으면 구독하지 않고 알림도 받지 않는다 (서명 없는 알림 거부)
+ *
+ * Redis:
+ * - websub:leases (Hash, Field: youtube_channel_id, Value: lease 만료 epoch ms)
+ * - websub:pending:{youtube_channel_id} (String, TTL 1시간) 우리가 보낸 구독 요청만 검증 통과
+ * - websub:notified:{video_id} (String, TTL 10분) 허브 재전송으로 인한 중복 동기화 방지
+ * - websub:polled (Hash, Field: youtube_channel_id, Value: 마지막 폴링 epoch ms) 안전 폴링 주기 판단
+ */
+@Slf4j
+@Service
+public class YoutubeWebSubService {
+
+    private static final String TOPIC_PREFIX = "https://www.youtube.com/xml/feeds/videos.xml?channel_id=";
+    private static final String YT_NAMESPACE = "http://www.youtube.com/xml/schemas/2015";
+    private static final String ATOM_NAMESPACE = "http://www.w3.org/2005/Atom";
+
+    /** 알림 본문 최대 크기 (업로드 알림 Atom은 수 KB) */
+    public static final int MAX_NOTIFICATION_BYTES = 64 * 1024;
+
+    private static final String LEASES_KEY = "websub:leases";
+    private static final String POLLED_KEY = "websub:polled";
+    private static final String RENEW_LOCK_KEY = "websub:renew:lock";
+    private static final Duration PENDING_TTL = Duration.ofHours(1);
+    private static final Duration NOTIFIED_TTL = Duration.ofMinutes(10);
+    private static final Duration RENEW_BEFORE = Duration.ofDays(1);
+    private static final Duration RENEW_LOCK_TTL = Duration.ofMinutes(50);
+    private static final Duration HUB_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration SAFETY_POLL_INTERVAL = Duration.ofDays(7);
+
+    private final YoutubeWebSubProperties properties;
+    private final YoutubeChannelMapper channelMapper;
+    private final YoutubeVideoMapper videoMapper;
+    private final YoutubeService youtubeService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Executor syncExecutor;
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(HUB_TIMEOUT)
+            .build();
+
+    public YoutubeWebSubService(YoutubeWebSubProperties properties,
+                                YoutubeChannelMapper channelMapper,
+                                YoutubeVideoMapper videoMapper,
+                                YoutubeService youtubeService,
+                                StringRedisTemplate stringRedisTemplate,
+                                @Qualifier("redisSyncExecutor") Executor syncExecutor) {
+        this.properties = properties;
+        this.channelMapper = channelMapper;
+        this.videoMapper = videoMapper;
+        this.youtubeService = youtubeService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.syncExecutor = syncExecutor;
+    }
+
+    /**
+     * 푸시 알림을 받을 수 있는 설정인지 (활성화 + 서명 검증용 secret 필수)
+     */
+    public boolean acceptsNotifications() {
+        return properties.isEnabled() && StringUtils.hasText(properties.getSecret());
+    }
+
+    /**
+     * 푸시 알림으로 업로드를 받는 채널인지 (true면 스케줄러 폴링 생략 가능)
+     */
+    public boolean hasActiveLease(String youtubeChannelId) {
+        if (!acceptsNotifications() || youtubeChannelId == null) {
+            return false;
+        }
+        try {
+            Object expiresAt = stringRedisTemplate.opsForHash().get(LEASES_KEY, youtubeChannelId);
+            return expiresAt != null && Long.parseLong(expiresAt.toString()) > System.currentTimeMillis();
+        } catch (Exception e) {
+            log.debug("WebSub lease 조회 실패: channelId={}, error={}", youtubeChannelId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 스케줄러가 새 영상 폴링을 생략해도 되는지
+     * lease가 유효하고, 마지막 폴링 후 SAFETY_POLL_INTERVAL이 지나지 않은 경우만 생략 (허브 알림 누락 대비)
+     */
+    public boolean canSkipPolling(String youtubeChannelId) {
+        if (!hasActiveLease(youtubeChannelId)) {
+            return false;
+        }
+        try {
+            Object polledAt = stringRedisTemplate.opsForHash().get(POLLED_KEY, youtubeChannelId);
+            return polledAt != null
+                    && Long.parseLong(polledAt.toString()) + SAFETY_POLL_INTERVAL.toMillis() > System.currentTimeMillis();
+        } catch (Exception e) {
+            log.debug("WebSub 폴링 시각 조회 실패: channelId={}, error={}", youtubeChannelId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 스케줄러 폴링 완료 기록 (안전 폴링 주기 기준)
+     */
+    public void recordPolled(String youtubeChannelId) {
+        if (!acceptsNotifications() || youtubeChannelId == null) {
+            return;
+        }
+        try {
+            stringRedisTemplate.opsForHash().put(POLLED_KEY, youtubeChannelId, String.valueOf(System.currentTimeMillis()));
+        } catch (Exception e) {
+            log.debug("WebSub 폴링 시각 기록 실패: channelId={}, error={}", youtubeChannelId, e.getMessage());
+        }
+    }
+
+    /**
+     * 매시간 lease 갱신 (여러 인스턴스 중 한 곳에서만 실행)
+     */
+    @Scheduled(fixedDelay = 3600000, initialDelay = 60000)
+    public void renewLeases() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!StringUtils.hasText(properties.getSecret())) {
+            log.warn("⚠️ [WebSub] secret이 설정되지 않아 구독을 건너뜁니다 (서명 없는 알림은 받지 않음)");
+            return;
+        }
+        if (!StringUtils.hasText(properties.getCallbackUrl())) {
+            log.warn("⚠️ [WebSub] callback-url이 설정되지 않아 구독을 건너뜁니다");
+            return;
+        }
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(RENEW_LOCK_KEY, "1", RENEW_LOCK_TTL))) {
+            return;
+        }
+
+        List<YoutubeChannelDto> channels = channelMapper.findAllForSync();
+        if (channels == null || channels.isEmpty()) {
+            return;
+        }
+
+        long renewThreshold = System.currentTimeMillis() + RENEW_BEFORE.toMillis();
+        int requested = 0;
+        int failed = 0;
+        for (YoutubeChannelDto channel : channels) {
+            String youtubeChannelId = channel.getYoutubeChannelId();
+            if (youtubeChannelId == null) {
+                continue;
+            }
+            Object expiresAt = stringRedisTemplate.opsForHash().get(LEASES_KEY, youtubeChannelId);
+            if (expiresAt != null && Long.parseLong(expiresAt.toString()) > renewThreshold) {
+                continue;
+            }
+            if (subscribe(youtubeChannelId)) {
+                requested++;
+            } else {
+                failed++;
+            }
+        }
+        log.info("🔔 [WebSub] lease 갱신 요청: 대상 채널={}개, 요청={}개, 실패={}개", channels.size(), requested, failed);
+    }
+
+    /**
+     * 허브에 구독 요청 (검증은 허브가 콜백으로 비동기 수행)
+     *
+     * @return 허브가 요청을 수락했는지 (202/204)
+     */
+    public boolean subscribe(String youtubeChannelId) {
+        try {
+            stringRedisTemplate.opsForValue().set(buildPendingKey(youtubeChannelId), "subscribe", PENDING_TTL);
+
+            Map<String, String> form = new LinkedHashMap<>();
+            form.put("hub.callback", properties.getCallbackUrl());
+            form.put("hub.mode", "subscribe");
+            form.put("hub.topic", TOPIC_PREFIX + youtubeChannelId);
+            form.put("hub.verify", "async");
+            form.put("hub.lease_seconds", String.valueOf(properties.getLeaseSeconds()));
+            form.put("hub.secret", properties.getSecret());
+            String body = form.entrySet().stream()
+                    .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "="
+                            + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                    .collect(Collectors.joining("&"));
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(properties.getHubUrl()))
+                    .timeout(HUB_TIMEOUT)
+                    .header("Content-Type", "application/x-www-form-urlencoded")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 202 || response.statusCode() == 204) {
+                return true;
+            }
+            log.warn("⚠️ [WebSub] 구독 요청 거절: channelId={}, status={}, body={}",
+                    youtubeChannelId, response.statusCode(), response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("⚠️ [WebSub] 구독 요청 실패: channelId={}, error={}", youtubeChannelId, e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * 허브의 구독 검증 요청 처리
+     *
+     * @return 응답할 hub.challenge (검증 거부 시 null → 404)
+     */
+    public String verifyIntent(String mode, String topic, String challenge, Long leaseSeconds) {
+        String youtubeChannelId = extractChannelId(topic);
+        if (youtubeChannelId == null || challenge == null) {
+            return null;
+        }
+
+        if ("subscribe".equals(mode)) {
+            if (!acceptsNotifications()) {
+                return null;
+            }
+            // 우리가 보낸 구독 요청이고, 아직 동기화 대상 채널인 경우만 수락
+            Boolean pending = stringRedisTemplate.hasKey(buildPendingKey(youtubeChannelId));
+            if (!Boolean.TRUE.equals(pending) || channelMapper.findByYoutubeChannelId(youtubeChannelId) == null) {
+                log.warn("⚠️ [WebSub] 요청하지 않은 구독 검증 거부: channelId={}", youtubeChannelId);
+                return null;
+            }
+            long lease = leaseSeconds != null ? leaseSeconds : properties.getLeaseSeconds();
+            stringRedisTemplate.opsForHash().put(LEASES_KEY, youtubeChannelId,
+                    String.valueOf(System.currentTimeMillis() + lease * 1000L));
+            stringRedisTemplate.delete(buildPendingKey(youtubeChannelId));
+            log.info("✅ [WebSub] 구독 확인: channelId={}, leaseSeconds={}", youtubeChannelId, lease);
+            return challenge;
+        }
+
+        if ("unsubscribe".equals(mode)) {
+            // 구독 해지는 요청하지 않으므로, 더 이상 동기화 대상이 아닌 채널만 수락
+            if (channelMapper.findByYoutubeChannelId(youtubeChannelId) != null) {
+                return null;
+            }
+            stringRedisTemplate.opsForHash().delete(LEASES_KEY, youtubeChannelId);
+            stringRedisTemplate.opsForHash().delete(POLLED_KEY, youtubeChannelId);
+            log.info("✅ [WebSub] 구독 해지 확인: channelId={}", youtubeChannelId);
+            return challenge;
+        }
+        return null;
+    }
+
+    /**
+     * 허브 알림 처리 (서명 검증 → 새 영상이 올라온 채널만 비동기 동기화)
+     * 허브 재전송을 막기 위해 결과와 관계없이 컨트롤러는 2xx로 응답한다. (알림을 받지 않는 설정이면 컨트롤러가 403)
+     */
+    public void handleNotification(byte[] body, String signature) {
+        if (!acceptsNotifications()) {
+            return;
+        }
+        if (!isValidSignature(body, signature)) {
+            log.warn("⚠️ [WebSub] 서명이 일치하지 않는 알림을 무시합니다");
+            return;
+        }
+
+        List<String[]> uploads;
+        try {
+            uploads = parseUploads(body);
+        } catch (Exception e) {
+            log.warn("⚠️ [WebSub] 알림 본문 파싱 실패: {}", e.getMessage());
+            return;
+        }
+
+        for (String[] upload : uploads) {
+            String youtubeChannelId = upload[0];
+            String videoId = upload[1];
+
+            // 이미 저장된 영상이면 제목/설명 수정 알림이므로 무시
+            if (videoMapper.findByYoutubeVideoId(videoId) != null) {
+                continue;
+            }
+            if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue()
+                    .setIfAbsent("websub:notified:" + videoId, youtubeChannelId, NOTIFIED_TTL))) {
+                continue;
+            }
+            YoutubeChannelDto channel = channelMapper.findByYoutubeChannelId(youtubeChannelId);
+            if (channel == null || channel.getUserId() == null) {
+                continue;
+            }
+
+            log.info("🔔 [WebSub] 새 영상 알림 → 채널 즉시 동기화: channelId={}, videoId={}", youtubeChannelId, videoId);
+            Integer userId = channel.getUserId();
+            syncExecutor.execute(() -> {
+                try {
+                    youtubeService.syncVideos(userId, youtubeChannelId, null, VideoSyncMode.FOLLOW_UP, false);
+                } catch (Exception e) {
+                    log.warn("⚠️ [WebSub] 알림 동기화 실패: channelId={}, videoId={}, error={}",
+                            youtubeChannelId, videoId, e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Atom 피드에서 (채널 ID, 영상 ID) 추출 (삭제 알림 at:deleted-entry는 entry가 아니므로 제외됨)
+     */
+    private List<String[]> parseUploads(byte[] body) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setExpandEntityReferences(false);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document document = builder.parse(new ByteArrayInputStream(body));
+
+        List<String[]> uploads = new ArrayList<>();
+        NodeList entries = document.getElementsByTagNameNS(ATOM_NAMESPACE, "entry");
+        for (int i = 0; i < entries.getLength(); i++) {
+            Element entry = (Element) entries.item(i);
+            String videoId = firstText(entry, "videoId");
+            String channelId = firstText(entry, "channelId");
+            if (videoId != null && channelId != null) {
+                uploads.add(new String[] { channelId, videoId });
+            }
+        }
+        return uploads;
+    }
+
+    private String firstText(Element entry, String localName) {
+        NodeList nodes = entry.getElementsByTagNameNS(YT_NAMESPACE, localName);
+        if (nodes.getLength() == 0) {
+            return null;
+        }
+        String text = nodes.item(0).getTextContent();
+        return StringUtils.hasText(text) ? text.trim() : null;
+    }
+
+    private boolean isValidSignature(byte[] body, String signature) {
+        if (signature == null || !signature.startsWith("sha1=")) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA1");
+            mac.init(new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA1"));
+            byte[] expected = mac.doFinal(body);
+            byte[] actual = HexFormat.of().parseHex(signature.substring("sha1=".length()));
+            return MessageDigest.isEqual(expected, actual);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private String extractChannelId(String topic) {
+        if (topic == null || !topic.startsWith(TOPIC_PREFIX)) {
+            return null;
+        }
+        String channelId = topic.substring(TOPIC_PREFIX.length());
+        return channelId.isBlank() ? null : channelId;
+    }
+
+    private String buildPendingKey(String youtubeChannelId) {
+        return "websub:pending:" + youtubeChannelId;
+    }
+}
@@ -0,0 +1,16 @@
+-- ==================================================
+-- 비동기 댓글 삭제 워커 선점(claim) 컬럼
+-- ==================================================
+--
+-- CommentDeletionWorker가 여러 인스턴스에서 동시에 실행되어도 같은 PENDING_DELETE 행을
+-- 중복 처리하지 않도록, UPDATE ... LIMIT으로 행을 선점한 뒤 claim token으로 다시 조회합니다.
+--
+-- deletion_claimed_until이 지난 행은 처리 도중 종료된 인스턴스의 것으로 보고 다시 선점합니다.
+-- 처리 완료(DELETED), 재시도 예약, 실패 확정 시 두 컬럼 모두 NULL로 해제됩니다.
+-- ==================================================
+
+ALTER TABLE youtube_comments
+    ADD COLUMN deletion_claim_token VARCHAR(36) NULL COMMENT '삭제 워커 선점 토큰' AFTER deletion_request_id,
+    ADD COLUMN deletion_claimed_until DATETIME NULL COMMENT '선점 만료 시각 (lease)' AFTER deletion_claim_token;
+
+CREATE INDEX idx_deletion_claim_token ON youtube_comments (deletion_claim_token);
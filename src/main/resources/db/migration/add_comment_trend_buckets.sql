@@ -0,0 +1,87 @@
+-- ==================================================
+-- 댓글 추이 시간 버킷 테이블 (시간별 / 일별 / 월별)
+-- ==================================================
+--
+-- GET /api/agent/comments/stats (날짜별 필터링 댓글 통계)가
+-- youtube_comments 전체를 DATE_FORMAT(created_at)로 GROUP BY 하지 않도록,
+-- ACTIVE 댓글 수를 (scope, scope_id, bucket_start) 단위로 미리 집계해 둡니다.
+--
+-- scope:
+--   VIDEO   : scope_id = youtube_videos.id
+--   CHANNEL : scope_id = youtube_channels.id (소속 영상 합계)
+--   USER    : scope_id = users.id (삭제되지 않은 채널 합계)
+--
+-- 갱신 경로:
+--   1) Agent 분석 결과 저장 시 (새 댓글이 들어간 시간 버킷만 재계산)
+--   2) 댓글 삭제 요청 시 (삭제된 댓글의 시간 버킷 재계산)
+--   3) 매일 새벽 전체 재집계 (오차 보정)
+--
+-- 시간별 → 일별 → 월별 순서로 상위 버킷은 하위 버킷의 합계입니다.
+-- ==================================================
+
+-- 1. 시간별 버킷 (bucket_start = 정시)
+CREATE TABLE IF NOT EXISTS comment_bucket_hourly (
+    scope VARCHAR(10) NOT NULL CHECK (scope IN ('VIDEO', 'CHANNEL', 'USER')),
+    scope_id INT NOT NULL,
+    bucket_start DATETIME NOT NULL COMMENT '버킷 시작 시각 (youtube_comments.created_at 기준)',
+    active_count INT NOT NULL DEFAULT 0 COMMENT 'ACTIVE 상태 댓글 수',
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (scope, scope_id, bucket_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT '댓글 추이 시간별 버킷';
+
+-- 2. 일별 버킷 (bucket_start = 해당 날짜)
+CREATE TABLE IF NOT EXISTS comment_bucket_daily (
+    scope VARCHAR(10) NOT NULL CHECK (scope IN ('VIDEO', 'CHANNEL', 'USER')),
+    scope_id INT NOT NULL,
+    bucket_start DATE NOT NULL,
+    active_count INT NOT NULL DEFAULT 0,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (scope, scope_id, bucket_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT '댓글 추이 일별 버킷';
+
+-- 3. 월별 버킷 (bucket_start = 해당 월 1일)
+CREATE TABLE IF NOT EXISTS comment_bucket_monthly (
+    scope VARCHAR(10) NOT NULL CHECK (scope IN ('VIDEO', 'CHANNEL', 'USER')),
+    scope_id INT NOT NULL,
+    bucket_start DATE NOT NULL,
+    active_count INT NOT NULL DEFAULT 0,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (scope, scope_id, bucket_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT '댓글 추이 월별 버킷';
+
+-- 4. 초기 적재 (기존 데이터 백필) - 야간 재집계와 같은 쿼리
+INSERT INTO comment_bucket_hourly (scope, scope_id, bucket_start, active_count)
+SELECT 'VIDEO', yc.video_id, DATE_FORMAT(yc.created_at, '%Y-%m-%d %H:00:00'), COUNT(*)
+FROM youtube_comments yc
+WHERE yc.created_at IS NOT NULL
+  AND (yc.deletion_status = 'ACTIVE' OR yc.deletion_status IS NULL)
+GROUP BY yc.video_id, DATE_FORMAT(yc.created_at, '%Y-%m-%d %H:00:00');
+
+INSERT INTO comment_bucket_hourly (scope, scope_id, bucket_start, active_count)
+SELECT 'CHANNEL', yv.channel_id, b.bucket_start, SUM(b.active_count)
+FROM comment_bucket_hourly b
+INNER JOIN youtube_videos yv ON b.scope = 'VIDEO' AND b.scope_id = yv.id
+GROUP BY yv.channel_id, b.bucket_start;
+
+INSERT INTO comment_bucket_hourly (scope, scope_id, bucket_start, active_count)
+SELECT 'USER', ych.user_id, b.bucket_start, SUM(b.active_count)
+FROM comment_bucket_hourly b
+INNER JOIN youtube_channels ych ON b.scope = 'CHANNEL' AND b.scope_id = ych.id
+WHERE ych.deleted_at IS NULL
+GROUP BY ych.user_id, b.bucket_start;
+
+INSERT INTO comment_bucket_daily (scope, scope_id, bucket_start, active_count)
+SELECT scope, scope_id, DATE(bucket_start), SUM(active_count)
+FROM comment_bucket_hourly
+GROUP BY scope, scope_id, DATE(bucket_start);
+
+INSERT INTO comment_bucket_monthly (scope, scope_id, bucket_start, active_count)
+SELECT scope, scope_id, DATE_FORMAT(bucket_start, '%Y-%m-01'), SUM(active_count)
+FROM comment_bucket_daily
+GROUP BY scope, scope_id, DATE_FORMAT(bucket_start, '%Y-%m-01');
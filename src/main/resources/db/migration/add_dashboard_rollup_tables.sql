@@ -0,0 +1,104 @@
+-- ==================================================
+-- 사용자 대시보드 집계(rollup) 테이블
+-- ==================================================
+--
+-- getDashboardSummary 등이 매 요청마다 youtube_comments 전체를
+-- DATE_FORMAT(created_at) 조건으로 다시 세지 않도록,
+-- 채널/사용자 단위 일별·월별 ACTIVE 댓글 수를 미리 집계해 둡니다.
+--
+-- 갱신 경로:
+--   1) Agent 분석 결과 저장 시 (해당 채널의 당일 행 재계산)
+--   2) 댓글 삭제 요청 시 (영향받은 날짜 행 재계산)
+--   3) 매일 새벽 전체 재집계 (오차 보정)
+--
+-- stat_month는 해당 월 1일 (예: 2025-11-01)
+-- ==================================================
+
+-- 1. 채널별 일별 집계
+CREATE TABLE IF NOT EXISTS channel_comment_rollup_daily (
+    channel_id INT NOT NULL COMMENT 'youtube_channels FK',
+    user_id INT NOT NULL COMMENT '채널 소유자 (사용자 집계용)',
+    stat_date DATE NOT NULL COMMENT '집계 날짜 (youtube_comments.created_at 기준)',
+    active_count INT NOT NULL DEFAULT 0 COMMENT 'ACTIVE 상태 댓글 수',
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (channel_id, stat_date),
+    CONSTRAINT fk_ccrd_channel
+        FOREIGN KEY (channel_id) REFERENCES youtube_channels(id)
+        ON DELETE CASCADE ON UPDATE CASCADE,
+    INDEX idx_ccrd_user_date (user_id, stat_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT '채널별 일별 필터링 댓글 집계';
+
+-- 2. 채널별 월별 집계
+CREATE TABLE IF NOT EXISTS channel_comment_rollup_monthly (
+    channel_id INT NOT NULL COMMENT 'youtube_channels FK',
+    user_id INT NOT NULL COMMENT '채널 소유자 (사용자 집계용)',
+    stat_month DATE NOT NULL COMMENT '집계 월 (해당 월 1일)',
+    active_count INT NOT NULL DEFAULT 0 COMMENT 'ACTIVE 상태 댓글 수',
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (channel_id, stat_month),
+    CONSTRAINT fk_ccrm_channel
+        FOREIGN KEY (channel_id) REFERENCES youtube_channels(id)
+        ON DELETE CASCADE ON UPDATE CASCADE,
+    INDEX idx_ccrm_user_month (user_id, stat_month)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT '채널별 월별 필터링 댓글 집계';
+
+-- 3. 사용자별 일별 집계
+CREATE TABLE IF NOT EXISTS user_comment_rollup_daily (
+    user_id INT NOT NULL COMMENT 'users FK',
+    stat_date DATE NOT NULL COMMENT '집계 날짜',
+    active_count INT NOT NULL DEFAULT 0 COMMENT 'ACTIVE 상태 댓글 수 (전체 채널 합계)',
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (user_id, stat_date),
+    CONSTRAINT fk_ucrd_user
+        FOREIGN KEY (user_id) REFERENCES users(id)
+        ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT '사용자별 일별 필터링 댓글 집계';
+
+-- 4. 사용자별 월별 집계
+CREATE TABLE IF NOT EXISTS user_comment_rollup_monthly (
+    user_id INT NOT NULL COMMENT 'users FK',
+    stat_month DATE NOT NULL COMMENT '집계 월 (해당 월 1일)',
+    active_count INT NOT NULL DEFAULT 0 COMMENT 'ACTIVE 상태 댓글 수 (전체 채널 합계)',
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (user_id, stat_month),
+    CONSTRAINT fk_ucrm_user
+        FOREIGN KEY (user_id) REFERENCES users(id)
+        ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT '사용자별 월별 필터링 댓글 집계';
+
+-- 5. 채널 당일 재계산용 인덱스 (video_id + created_at 범위 조회)
+ALTER TABLE youtube_comments
+ADD INDEX idx_video_created (video_id, created_at);
+
+-- 6. 초기 적재 (기존 데이터 백필)
+INSERT INTO channel_comment_rollup_daily (channel_id, user_id, stat_date, active_count)
+SELECT yv.channel_id, ych.user_id, DATE(yc.created_at), COUNT(*)
+FROM youtube_comments yc
+INNER JOIN youtube_videos yv ON yc.video_id = yv.id
+INNER JOIN youtube_channels ych ON yv.channel_id = ych.id
+WHERE yc.deletion_status = 'ACTIVE'
+  AND yc.created_at IS NOT NULL
+GROUP BY yv.channel_id, ych.user_id, DATE(yc.created_at);
+
+INSERT INTO channel_comment_rollup_monthly (channel_id, user_id, stat_month, active_count)
+SELECT channel_id, user_id, DATE_FORMAT(stat_date, '%Y-%m-01'), SUM(active_count)
+FROM channel_comment_rollup_daily
+GROUP BY channel_id, user_id, DATE_FORMAT(stat_date, '%Y-%m-01');
+
+INSERT INTO user_comment_rollup_daily (user_id, stat_date, active_count)
+SELECT user_id, stat_date, SUM(active_count)
+FROM channel_comment_rollup_daily
+GROUP BY user_id, stat_date;
+
+INSERT INTO user_comment_rollup_monthly (user_id, stat_month, active_count)
+SELECT user_id, stat_month, SUM(active_count)
+FROM channel_comment_rollup_monthly
+GROUP BY user_id, stat_month;
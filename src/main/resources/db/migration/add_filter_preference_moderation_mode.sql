@@ -0,0 +1,16 @@
+-- ==================================================
+-- 유해 댓글 처리 방식 (사용자 필터 설정)
+-- ==================================================
+--
+-- DELETE : comments.delete - 댓글 1개당 API 호출 1회 (50 units)
+-- REJECT : comments.setModerationStatus(rejected) - 최대 50개 댓글을 호출 1회로 숨김
+-- HOLD   : comments.setModerationStatus(heldForReview) - 최대 50개 댓글을 호출 1회로 검토 대기
+--
+-- CommentDeletionWorker는 사용자의 전역 설정(channel_id IS NULL) 값을 사용합니다.
+-- ==================================================
+
+ALTER TABLE user_filter_preferences
+    ADD COLUMN moderation_mode VARCHAR(10) NOT NULL DEFAULT 'DELETE'
+        CHECK (moderation_mode IN ('DELETE', 'REJECT', 'HOLD'))
+        COMMENT '유해 댓글 처리 방식 (DELETE: 삭제, REJECT: 숨김, HOLD: 검토 대기)'
+        AFTER email_notification_settings;
@@ -0,0 +1,37 @@
+-- ==================================================
+-- 필터링 댓글 목록 키셋 페이지네이션 인덱스
+-- ==================================================
+--
+-- GET /api/v1/analysis/comments/video/{videoId}, /comments/channel/{channelId}, /comments/my 가
+-- LIMIT 200/500/1000 전체 정렬 대신 (created_at DESC, id DESC) 커서로 페이지를 읽도록,
+-- 범위 조건 + 정렬을 인덱스 하나로 처리할 수 있게 합니다.
+--
+-- 1) youtube_comments.channel_id: 채널/사용자 목록이 영상별로 흩어진 댓글을
+--    채널 단위 인덱스 한 구간으로 읽을 수 있도록 소속 채널을 비정규화
+--    (insertFilteredComment가 youtube_videos에서 채워 넣음)
+-- 2) (scope, deletion_status, created_at) 복합 인덱스 - InnoDB 보조 인덱스는 PK(id)를 포함하므로
+--    (created_at, id) 키셋 조건과 정렬을 그대로 사용
+-- 3) ai_comment_analysis_result: 조인 + status/category 필터를 인덱스만으로 판별 (커버링)
+--
+-- 사용자 목록 쿼리는 LATERAL 파생 테이블을 사용하므로 MySQL 8.0.14 이상이 필요합니다.
+-- ==================================================
+
+-- 1. 소속 채널 비정규화 컬럼
+ALTER TABLE youtube_comments
+    ADD COLUMN channel_id INT NULL COMMENT '소속 채널 (youtube_videos.channel_id 비정규화, 목록 조회용)' AFTER video_id;
+
+UPDATE youtube_comments yc
+INNER JOIN youtube_videos yv ON yc.video_id = yv.id
+SET yc.channel_id = yv.channel_id
+WHERE yc.channel_id IS NULL;
+
+-- 2. 키셋 페이지네이션 인덱스
+CREATE INDEX idx_yc_video_active_created
+    ON youtube_comments (video_id, deletion_status, created_at);
+
+CREATE INDEX idx_yc_channel_active_created
+    ON youtube_comments (channel_id, deletion_status, created_at);
+
+-- 3. 분석 결과 필터 커버링 인덱스
+CREATE INDEX idx_acar_comment_status_category
+    ON ai_comment_analysis_result (youtube_comment_id, status, detected_category);
@@ -0,0 +1,124 @@
+-- ==================================================
+-- 관리자 대시보드 플랫폼 통계 집계 테이블
+-- ==================================================
+--
+-- adminMapper.xml의 통계 쿼리가 ai_comment_analysis_result / users /
+-- user_subscriptions 전체를 COUNT/GROUP BY 하지 않도록,
+-- 필터링·가입·구독 카운터를 미리 집계해 둡니다.
+--
+-- metric 종류:
+--   FILTERED                  : 필터링 댓글 수 (dim_value = 'ALL')
+--   FILTERED_HARMFULNESS      : 해로움 수준별 (dim_value = LOW/MEDIUM/HIGH)
+--   FILTERED_DETECTION_SOURCE : 필터링 로직별 (dim_value = AI_MODEL/USER_KEYWORD/USER_CONTEXT)
+--   FILTERED_CATEGORY         : 카테고리별 (dim_value = detected_category, 없으면 UNKNOWN)
+--   USERS                     : 사용자(role=USER) 수 / 일별 가입 수 (dim_value = 'ALL')
+--   ACTIVE_SUBSCRIBERS        : 현재 구독 중인 사용자 수 (누적 테이블만)
+--   ACTIVE_SUBSCRIBERS_BY_PLAN: 요금제별 구독자 수 (dim_value = plan_id, 누적 테이블만)
+--
+-- 갱신 경로:
+--   1) Agent 분석 결과 저장 시 (새로 저장된 filtered 댓글만큼 증가)
+--   2) 회원가입 시 (USERS +1)
+--   3) 구독 생성/해지/요금제 변경 시 (ACTIVE_SUBSCRIBERS*)
+--   4) 매일 새벽 전체 재집계 (삭제·재분석 등으로 생긴 오차 보정)
+-- ==================================================
+
+-- 1. 일별 카운터
+CREATE TABLE IF NOT EXISTS platform_stat_daily (
+    stat_date DATE NOT NULL COMMENT '집계 날짜 (원본 created_at 기준)',
+    metric VARCHAR(40) NOT NULL COMMENT '집계 항목',
+    dim_value VARCHAR(50) NOT NULL DEFAULT 'ALL' COMMENT '세부 구분 값',
+    stat_count INT NOT NULL DEFAULT 0,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (stat_date, metric, dim_value),
+    INDEX idx_psd_metric_date (metric, stat_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT '플랫폼 일별 통계 카운터';
+
+-- 2. 누적(현재 상태) 카운터
+CREATE TABLE IF NOT EXISTS platform_stat_total (
+    metric VARCHAR(40) NOT NULL COMMENT '집계 항목',
+    dim_value VARCHAR(50) NOT NULL DEFAULT 'ALL' COMMENT '세부 구분 값',
+    stat_count INT NOT NULL DEFAULT 0,
+    updated_at DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (metric, dim_value)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci
+COMMENT '플랫폼 누적 통계 카운터';
+
+-- 3. 증분 집계용 인덱스 (이번 저장분 / 당일 가입자 조회)
+ALTER TABLE ai_comment_analysis_result
+ADD INDEX idx_created_at (created_at);
+
+ALTER TABLE users
+ADD INDEX idx_role_created (role, created_at);
+
+-- 4. 초기 적재 (기존 데이터 백필) - 야간 재집계와 같은 쿼리
+INSERT INTO platform_stat_daily (stat_date, metric, dim_value, stat_count)
+SELECT DATE(created_at), 'FILTERED', 'ALL', COUNT(*)
+FROM ai_comment_analysis_result
+WHERE status = 'filtered' AND created_at IS NOT NULL
+GROUP BY DATE(created_at);
+
+INSERT INTO platform_stat_daily (stat_date, metric, dim_value, stat_count)
+SELECT DATE(created_at), 'FILTERED_HARMFULNESS', harmfulness_level, COUNT(*)
+FROM ai_comment_analysis_result
+WHERE status = 'filtered' AND created_at IS NOT NULL
+GROUP BY DATE(created_at), harmfulness_level;
+
+INSERT INTO platform_stat_daily (stat_date, metric, dim_value, stat_count)
+SELECT DATE(created_at), 'FILTERED_DETECTION_SOURCE', detection_source, COUNT(*)
+FROM ai_comment_analysis_result
+WHERE status = 'filtered' AND created_at IS NOT NULL
+GROUP BY DATE(created_at), detection_source;
+
+INSERT INTO platform_stat_daily (stat_date, metric, dim_value, stat_count)
+SELECT DATE(created_at), 'FILTERED_CATEGORY', COALESCE(detected_category, 'UNKNOWN'), COUNT(*)
+FROM ai_comment_analysis_result
+WHERE status = 'filtered' AND created_at IS NOT NULL
+GROUP BY DATE(created_at), COALESCE(detected_category, 'UNKNOWN');
+
+INSERT INTO platform_stat_daily (stat_date, metric, dim_value, stat_count)
+SELECT DATE(created_at), 'USERS', 'ALL', COUNT(*)
+FROM users
+WHERE role = 'USER' AND created_at IS NOT NULL
+GROUP BY DATE(created_at);
+
+INSERT INTO platform_stat_total (metric, dim_value, stat_count)
+SELECT 'FILTERED', 'ALL', COUNT(*)
+FROM ai_comment_analysis_result
+WHERE status = 'filtered';
+
+INSERT INTO platform_stat_total (metric, dim_value, stat_count)
+SELECT 'FILTERED_HARMFULNESS', harmfulness_level, COUNT(*)
+FROM ai_comment_analysis_result
+WHERE status = 'filtered'
+GROUP BY harmfulness_level;
+
+INSERT INTO platform_stat_total (metric, dim_value, stat_count)
+SELECT 'FILTERED_DETECTION_SOURCE', detection_source, COUNT(*)
+FROM ai_comment_analysis_result
+WHERE status = 'filtered'
+GROUP BY detection_source;
+
+INSERT INTO platform_stat_total (metric, dim_value, stat_count)
+SELECT 'FILTERED_CATEGORY', COALESCE(detected_category, 'UNKNOWN'), COUNT(*)
+FROM ai_comment_analysis_result
+WHERE status = 'filtered'
+GROUP BY COALESCE(detected_category, 'UNKNOWN');
+
+INSERT INTO platform_stat_total (metric, dim_value, stat_count)
+SELECT 'USERS', 'ALL', COUNT(*)
+FROM users
+WHERE role = 'USER';
+
+INSERT INTO platform_stat_total (metric, dim_value, stat_count)
+SELECT 'ACTIVE_SUBSCRIBERS', 'ALL', COUNT(DISTINCT user_id)
+FROM user_subscriptions
+WHERE status = 'ACTIVE';
+
+INSERT INTO platform_stat_total (metric, dim_value, stat_count)
+SELECT 'ACTIVE_SUBSCRIBERS_BY_PLAN', CAST(plan_id AS CHAR), COUNT(DISTINCT user_id)
+FROM user_subscriptions
+WHERE status = 'ACTIVE'
+GROUP BY plan_id;
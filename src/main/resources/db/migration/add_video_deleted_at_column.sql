@@ -0,0 +1,14 @@
+-- ==================================================
+-- YouTube에서 삭제된 영상 표시 컬럼
+-- ==================================================
+--
+-- 댓글 조회가 videoNotFound로 연속 실패하면 VideoUnavailableCache가 deleted_at을 기록합니다.
+-- 스케줄 댓글 동기화와 일일 댓글 수 집계는 deleted_at IS NULL인 영상만 대상으로 합니다.
+--
+-- 같은 영상이 다시 upsert되면(재업로드/복구) deleted_at은 NULL로 초기화됩니다.
+-- ==================================================
+
+ALTER TABLE youtube_videos
+    ADD COLUMN deleted_at DATETIME NULL COMMENT 'YouTube에서 삭제 확정된 시각' AFTER thumbnail_url;
+
+CREATE INDEX idx_channel_deleted ON youtube_videos (channel_id, deleted_at);
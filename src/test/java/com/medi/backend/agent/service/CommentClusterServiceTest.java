@@ -0,0 +1,270 @@
+package com.medi.backend.agent.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.medi.backend.agent.dto.AgentFilteredCommentsRequest;
+import com.medi.backend.agent.mapper.AgentMapper;
+
+class CommentClusterServiceTest {
+
+    private static final String VIDEO_ID = "video1";
+    private static final String CLUSTERS_KEY = "video:video1:comment_clusters";
+    private static final String PROCESSED_KEY = "video:video1:processed";
+    private static final String UNCONFIRMED_KEY = "comment_clusters:unconfirmed";
+    private static final int INTERNAL_VIDEO_ID = 11;
+    private static final int CHANNEL_ID = 3;
+
+    // 정규화 89자모
+    private static final String SHORT_TEXT = "오늘 영상 정말 재미있게 잘 봤습니다 다음 영상도 기대하고 있을게요 항상 응원합니다";
+    // 정규화 160자모
+    private static final String LONG_TEXT = SHORT_TEXT + " 편집도 깔끔하고 설명도 친절해서 이해가 쏙쏙 됩니다 구독하고 갑니다";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // Redis Hash / Set / ZSet 대체
+    private final Map<String, Map<Object, Object>> hashes = new HashMap<>();
+    private final Map<String, Set<String>> sets = new HashMap<>();
+    private final Map<String, Double> zset = new HashMap<>();
+    private StringRedisTemplate redisTemplate;
+    private HashOperations<String, Object, Object> hashOperations;
+    private AgentMapper agentMapper;
+    private CommentClusterService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        hashOperations = mock(HashOperations.class);
+        SetOperations<String, String> setOperations = mock(SetOperations.class);
+        ZSetOperations<String, String> zSetOperations = mock(ZSetOperations.class);
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+        doReturn(setOperations).when(redisTemplate).opsForSet();
+        doReturn(zSetOperations).when(redisTemplate).opsForZSet();
+
+        doAnswer(inv -> new HashMap<>(hashes.getOrDefault(inv.<String>getArgument(0), Map.of())))
+            .when(hashOperations).entries(anyString());
+        doAnswer(inv -> hashes.getOrDefault(inv.<String>getArgument(0), Map.of()).get(inv.getArgument(1)))
+            .when(hashOperations).get(anyString(), any());
+        doAnswer(inv -> {
+            hashes.computeIfAbsent(inv.getArgument(0), k -> new HashMap<>()).putAll(inv.<Map<Object, Object>>getArgument(1));
+            return null;
+        }).when(hashOperations).putAll(anyString(), anyMap());
+        doAnswer(inv -> {
+            Map<Object, Object> hash = hashes.getOrDefault(inv.<String>getArgument(0), new HashMap<>());
+            long removed = 0;
+            for (Object field : (Object[]) inv.getRawArguments()[1]) {
+                removed += hash.remove(field) != null ? 1 : 0;
+            }
+            return removed;
+        }).when(hashOperations).delete(anyString(), any(Object[].class));
+
+        doAnswer(inv -> {
+            Set<String> set = sets.getOrDefault(inv.<String>getArgument(0), Set.of());
+            Map<Object, Boolean> result = new HashMap<>();
+            for (Object member : (Object[]) inv.getRawArguments()[1]) {
+                result.put(member, set.contains(member));
+            }
+            return result;
+        }).when(setOperations).isMember(anyString(), any(Object[].class));
+        doAnswer(inv -> {
+            Set<String> set = sets.computeIfAbsent(inv.getArgument(0), k -> new HashSet<>());
+            long added = 0;
+            for (Object member : (Object[]) inv.getRawArguments()[1]) {
+                added += set.add(member.toString()) ? 1 : 0;
+            }
+            return added;
+        }).when(setOperations).add(anyString(), any(String[].class));
+
+        doAnswer(inv -> zset.putIfAbsent(inv.getArgument(1), inv.getArgument(2)) == null)
+            .when(zSetOperations).addIfAbsent(eq(UNCONFIRMED_KEY), anyString(), anyDouble());
+        doAnswer(inv -> zset.put(inv.getArgument(1), inv.getArgument(2)) == null)
+            .when(zSetOperations).add(eq(UNCONFIRMED_KEY), anyString(), anyDouble());
+        doAnswer(inv -> {
+            long removed = 0;
+            for (Object member : (Object[]) inv.getRawArguments()[1]) {
+                removed += zset.remove(member) != null ? 1 : 0;
+            }
+            return removed;
+        }).when(zSetOperations).remove(eq(UNCONFIRMED_KEY), any(Object[].class));
+        doAnswer(inv -> {
+            double max = inv.getArgument(2);
+            Set<String> members = new LinkedHashSet<>();
+            zset.forEach((member, score) -> {
+                if (score <= max) {
+                    members.add(member);
+                }
+            });
+            return members;
+        }).when(zSetOperations).rangeByScore(eq(UNCONFIRMED_KEY), anyDouble(), anyDouble());
+
+        agentMapper = mock(AgentMapper.class);
+        when(agentMapper.findVideoIdByYoutubeVideoId(VIDEO_ID)).thenReturn(INTERNAL_VIDEO_ID);
+        when(agentMapper.findChannelIdByVideoId(INTERNAL_VIDEO_ID)).thenReturn(CHANNEL_ID);
+        service = new CommentClusterService(redisTemplate, objectMapper, agentMapper);
+    }
+
+    private static CommentClusterService.ClusterCandidate candidate(String commentId, String text) {
+        return new CommentClusterService.ClusterCandidate(commentId, text,
+            new AgentFilteredCommentsRequest.CommentData(commentId, text, "author", 0L, "2026-01-01T00:00:00Z", null));
+    }
+
+    private static final Predicate<String> PROFANITY = text -> text.contains("시발");
+
+    @Test
+    void absorbsCopiesThatDifferOnlyInSeparators() {
+        Set<String> absorbed = service.collapse(VIDEO_ID, List.of(
+            candidate("c1", SHORT_TEXT),
+            candidate("c2", SHORT_TEXT.replace(" 봤습니다", " 봤습니다.") + "!!")), PROFANITY);
+
+        assertEquals(Set.of("c2"), absorbed);
+    }
+
+    @Test
+    void absorbsNearCopiesWithBenignAdditions() {
+        Set<String> absorbed = service.collapse(VIDEO_ID, List.of(
+            candidate("c1", SHORT_TEXT),
+            candidate("c2", SHORT_TEXT.replace("봤습니다", "봤습니다!!") + " ㅎㅎ")), PROFANITY);
+
+        assertEquals(Set.of("c2"), absorbed);
+    }
+
+    @Test
+    void keepsShortCommentWithAppendedProfanitySeparate() {
+        // SimHash 거리는 2bit지만 3-gram Jaccard가 0.94 → 흡수하지 않음
+        Set<String> absorbed = service.collapse(VIDEO_ID, List.of(
+            candidate("c1", SHORT_TEXT),
+            candidate("c2", SHORT_TEXT + " 시발")), null);
+
+        assertTrue(absorbed.isEmpty());
+        verify(hashOperations, never()).putAll(eq(CLUSTERS_KEY), anyMap());
+    }
+
+    @Test
+    void keepsLongCommentWithAddedRuleKeywordSeparate() {
+        // Jaccard 0.96이지만 대표에 없는 단어가 규칙 키워드에 걸림
+        Set<String> absorbed = service.collapse(VIDEO_ID, List.of(
+            candidate("c1", LONG_TEXT),
+            candidate("c2", LONG_TEXT + " 시발")), PROFANITY);
+
+        assertTrue(absorbed.isEmpty());
+    }
+
+    @Test
+    void keepsUnrelatedCommentsSeparate() {
+        Set<String> absorbed = service.collapse(VIDEO_ID, List.of(
+            candidate("c1", SHORT_TEXT),
+            candidate("c2", "광고 보고 왔는데 생각보다 내용이 알차서 놀랐어요 다른 영상도 찾아볼게요")), PROFANITY);
+
+        assertTrue(absorbed.isEmpty());
+    }
+
+    @Test
+    void groupsShortCommentsOnlyWhenExactlyEqual() {
+        Set<String> absorbed = service.collapse(VIDEO_ID, List.of(
+            candidate("c1", "ㅋㅋㅋ"),
+            candidate("c2", "ㅋㅋㅋㅋㅋ!!"),
+            candidate("c3", "ㅋㅋ 시발")), PROFANITY);
+
+        assertEquals(Set.of("c2"), absorbed);
+    }
+
+    private String storeCluster(String representativeId, String memberId) throws Exception {
+        String members = objectMapper.writeValueAsString(List.of(
+            new AgentFilteredCommentsRequest.CommentData(memberId, SHORT_TEXT, "author", 3L, "2026-01-01T00:00:00Z", null)));
+        hashes.computeIfAbsent(CLUSTERS_KEY, k -> new HashMap<>()).put(representativeId, members);
+        return members;
+    }
+
+    @Test
+    void appliesNeutralToMembersOfUnreportedRepresentativeOnSecondResult() throws Exception {
+        storeCluster("rep1", "m1");
+        sets.computeIfAbsent(PROCESSED_KEY, k -> new HashSet<>()).add("rep1");
+
+        // 1차: 처리됨 표시만 확인 → 보류 표시
+        assertEquals(0, service.applyNeutralToUnreported(VIDEO_ID, Set.of()));
+        assertTrue(hashes.get(CLUSTERS_KEY).get("rep1").toString().startsWith("~"));
+        assertFalse(sets.get(PROCESSED_KEY).contains("m1"));
+
+        // 2차: 여전히 보고되지 않음 → 멤버를 중립으로 확정 (다시 에이전트로 보내지 않음)
+        assertEquals(1, service.applyNeutralToUnreported(VIDEO_ID, Set.of()));
+        assertTrue(sets.get(PROCESSED_KEY).contains("m1"));
+        assertFalse(hashes.get(CLUSTERS_KEY).containsKey("rep1"));
+        verify(agentMapper).upsertDailyCommentStats(CHANNEL_ID, INTERNAL_VIDEO_ID, LocalDate.now(), 1, 0);
+    }
+
+    @Test
+    void confirmsNeutralMembersWhenVideoGoesQuiet() throws Exception {
+        // 봇 댓글 대표 하나가 중립으로 처리된 뒤 영상이 조용해져 다음 결과가 오지 않는 경우
+        storeCluster("rep1", "m1");
+        sets.computeIfAbsent(PROCESSED_KEY, k -> new HashSet<>()).add("rep1");
+        assertEquals(0, service.applyNeutralToUnreported(VIDEO_ID, Set.of()));
+
+        // 대기 시간 전에는 확정하지 않음
+        service.confirmQuietClusters();
+        assertFalse(sets.get(PROCESSED_KEY).contains("m1"));
+        verify(agentMapper, never()).upsertDailyCommentStats(any(), any(), any(), any(), any());
+
+        // 표시 시각을 11분 전으로 옮김
+        long past = System.currentTimeMillis() - Duration.ofMinutes(11).toMillis();
+        String value = hashes.get(CLUSTERS_KEY).get("rep1").toString();
+        hashes.get(CLUSTERS_KEY).put("rep1", "~" + past + value.substring(value.indexOf('~', 1)));
+        zset.put(VIDEO_ID, (double) past);
+
+        service.confirmQuietClusters();
+
+        assertTrue(sets.get(PROCESSED_KEY).contains("m1"));
+        assertFalse(hashes.get(CLUSTERS_KEY).containsKey("rep1"));
+        assertTrue(zset.isEmpty());
+        verify(agentMapper).upsertDailyCommentStats(CHANNEL_ID, INTERNAL_VIDEO_ID, LocalDate.now(), 1, 0);
+    }
+
+    @Test
+    void keepsMembersOfReportedRepresentative() throws Exception {
+        storeCluster("rep1", "m1");
+
+        assertEquals(0, service.applyNeutralToUnreported(VIDEO_ID, Set.of("rep1")));
+        verify(redisTemplate, never()).opsForSet();
+    }
+
+    @Test
+    void takeMembersReadsEntriesMarkedAsSeen() throws Exception {
+        String members = storeCluster("rep1", "m1");
+        hashes.get(CLUSTERS_KEY).put("rep1", "~" + System.currentTimeMillis() + "~" + members);
+
+        List<AgentFilteredCommentsRequest.CommentData> taken = new ArrayList<>(service.takeMembers(VIDEO_ID, "rep1"));
+
+        assertEquals(1, taken.size());
+        assertEquals("m1", taken.get(0).getCommentId());
+    }
+}
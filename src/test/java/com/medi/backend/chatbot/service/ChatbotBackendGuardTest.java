@@ -0,0 +1,150 @@
+package com.medi.backend.chatbot.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ChatbotBackendGuardTest {
+
+    private static final double CLOSED = 0;
+    private static final double HALF_OPEN = 1;
+    private static final double OPEN = 2;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private SimpleMeterRegistry meterRegistry;
+    private ChatbotBackendGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        guard = new ChatbotBackendGuard(meterRegistry, 5, now::get);
+    }
+
+    private double state() {
+        return meterRegistry.get("chatbot.client.circuit.state").gauge().value();
+    }
+
+    private void fail() {
+        assertThrows(IllegalStateException.class, () -> guard.execute(() -> {
+            throw new IllegalStateException("backend down");
+        }));
+    }
+
+    private void tripOpen() {
+        for (int i = 0; i < 10; i++) {
+            fail();
+        }
+        assertEquals(OPEN, state());
+    }
+
+    @Test
+    void opensAfterFailureRateThresholdAndRejects() {
+        tripOpen();
+
+        assertThrows(ChatbotBackendGuard.RejectedException.class, () -> guard.execute(() -> "ok"));
+    }
+
+    @Test
+    void requestErrorsDoNotCountAsBackendFailures() {
+        for (int i = 0; i < 20; i++) {
+            assertThrows(IllegalArgumentException.class, () -> guard.execute(() -> {
+                throw new IllegalArgumentException("bad request");
+            }));
+        }
+        assertEquals(CLOSED, state());
+    }
+
+    @Test
+    void closesWhenTrialSucceeds() {
+        tripOpen();
+        now.addAndGet(30_000);
+
+        assertEquals("ok", guard.execute(() -> "ok"));
+        assertEquals(CLOSED, state());
+    }
+
+    @Test
+    void reopensWhenTrialFails() {
+        tripOpen();
+        now.addAndGet(30_000);
+
+        fail();
+        assertEquals(OPEN, state());
+        assertThrows(ChatbotBackendGuard.RejectedException.class, () -> guard.execute(() -> "ok"));
+    }
+
+    @Test
+    void admitsOnlyOneTrialAtATime() throws Exception {
+        tripOpen();
+        now.addAndGet(30_000);
+
+        CountDownLatch trialStarted = new CountDownLatch(1);
+        CountDownLatch finishTrial = new CountDownLatch(1);
+        CompletableFuture<String> trial = CompletableFuture.supplyAsync(() -> guard.execute(() -> {
+            trialStarted.countDown();
+            await(finishTrial);
+            return "ok";
+        }));
+        assertTrue(trialStarted.await(5, TimeUnit.SECONDS));
+
+        assertThrows(ChatbotBackendGuard.RejectedException.class, () -> guard.execute(() -> "second"));
+
+        finishTrial.countDown();
+        assertEquals("ok", trial.get(5, TimeUnit.SECONDS));
+        assertEquals(CLOSED, state());
+    }
+
+    @Test
+    void lateCallStartedBeforeOpenDoesNotDecideRecovery() throws Exception {
+        // CLOSED일 때 시작한 느린 호출
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch finishSlow = new CountDownLatch(1);
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> guard.execute(() -> {
+            slowStarted.countDown();
+            await(finishSlow);
+            return "late";
+        }));
+        assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+
+        tripOpen();
+        now.addAndGet(30_000);
+
+        CountDownLatch trialStarted = new CountDownLatch(1);
+        CountDownLatch finishTrial = new CountDownLatch(1);
+        CompletableFuture<String> trial = CompletableFuture.supplyAsync(() -> guard.execute(() -> {
+            trialStarted.countDown();
+            await(finishTrial);
+            throw new IllegalStateException("still down");
+        }));
+        assertTrue(trialStarted.await(5, TimeUnit.SECONDS));
+
+        // 늦게 끝난 성공 호출은 서킷을 닫지 않음
+        finishSlow.countDown();
+        assertEquals("late", slow.get(5, TimeUnit.SECONDS));
+        assertEquals(HALF_OPEN, state());
+        assertThrows(ChatbotBackendGuard.RejectedException.class, () -> guard.execute(() -> "other"));
+
+        // 시험 호출 실패 → 다시 OPEN
+        finishTrial.countDown();
+        assertThrows(Exception.class, () -> trial.get(5, TimeUnit.SECONDS));
+        assertEquals(OPEN, state());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
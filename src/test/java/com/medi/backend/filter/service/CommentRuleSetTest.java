@@ -0,0 +1,101 @@
+package com.medi.backend.filter.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.medi.backend.filter.dto.FilterRuleDto;
+
+class CommentRuleSetTest {
+
+    private static FilterRuleDto global(String ruleType, String value) {
+        return new FilterRuleDto("GLOBAL", null, ruleType, value);
+    }
+
+    private static CommentRuleSet blacklist(String... keywords) {
+        return CommentRuleSet.compile(Arrays.stream(keywords)
+            .map(keyword -> global("KEYWORD_BLACKLIST", keyword))
+            .toList());
+    }
+
+    private static CommentRuleSet.Verdict evaluate(CommentRuleSet rules, String text) {
+        return rules.evaluate("video1", text, "author", "UCauthor");
+    }
+
+    @Test
+    void blocksEvasiveSpellings() {
+        CommentRuleSet rules = blacklist("시발");
+
+        for (String text : List.of("시발", "시 발", "ㅅ1발", "시.발!!", "개시발", "시발놈아")) {
+            CommentRuleSet.Verdict verdict = evaluate(rules, text);
+            assertNotNull(verdict, text);
+            assertFalse(verdict.allowed(), text);
+            assertEquals("KEYWORD_BLACKLIST: 시발", verdict.reason());
+        }
+    }
+
+    @Test
+    void ignoresMatchesEndingInsideSyllable() {
+        assertNull(evaluate(blacklist("시발"), "시바를 보다"));
+        assertNull(evaluate(blacklist("좆"), "조지아 여행 가요"));
+    }
+
+    @Test
+    void ignoresMatchesStartingInsideSyllable() {
+        // "강ㅏ" = ㄱㅏㅇㅏ → "아"(ㅇㅏ)가 "강"의 종성에서 시작하므로 제외
+        CommentRuleSet rules = blacklist("아");
+        assertNull(evaluate(rules, "강ㅏ"));
+        assertNotNull(evaluate(rules, "강아지"));
+    }
+
+    @Test
+    void doesNotFoldLatinLettersIntoJamo() {
+        CommentRuleSet rules = blacklist("kill");
+        assertNull(evaluate(rules, "skin kid king"));
+        assertNotNull(evaluate(rules, "I will KILL you"));
+
+        assertNull(evaluate(blacklist("10"), "lo io"));
+    }
+
+    @Test
+    void whitelistMasksContainedBlacklistMatch() {
+        CommentRuleSet rules = CommentRuleSet.compile(List.of(
+            global("KEYWORD_BLACKLIST", "시발"),
+            global("KEYWORD_WHITELIST", "시발점")));
+
+        CommentRuleSet.Verdict verdict = evaluate(rules, "여기가 시발점이다");
+
+        assertNotNull(verdict);
+        assertTrue(verdict.allowed());
+        assertEquals("KEYWORD_WHITELIST: 시발점", verdict.reason());
+    }
+
+    @Test
+    void appliesVideoScopedKeywordsOnlyToThatVideo() {
+        CommentRuleSet rules = CommentRuleSet.compile(List.of(
+            new FilterRuleDto("VIDEO", "video2", "KEYWORD_BLACKLIST", "스포")));
+
+        assertNull(rules.evaluate("video1", "스포 금지", "a", "b"));
+        assertNotNull(rules.evaluate("video2", "스포 금지", "a", "b"));
+    }
+
+    @Test
+    void blocksAuthorBeforeKeywords() {
+        CommentRuleSet rules = CommentRuleSet.compile(List.of(
+            global("USER_BLACKLIST", "@Spammer"),
+            global("KEYWORD_WHITELIST", "좋아요")));
+
+        CommentRuleSet.Verdict verdict = rules.evaluate("video1", "좋아요", "spammer", "UC1");
+
+        assertNotNull(verdict);
+        assertFalse(verdict.allowed());
+        assertEquals("USER_BLACKLIST: spammer", verdict.reason());
+    }
+}
@@ -0,0 +1,43 @@
+package com.medi.backend.filter.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class KeywordAutomatonTest {
+
+    @Test
+    void findsAllOverlappingMatches() {
+        KeywordAutomaton automaton = new KeywordAutomaton(List.of("he", "she", "his", "hers"));
+        char[] text = "ushers".toCharArray();
+
+        List<KeywordAutomaton.Match> matches = automaton.findAll(text, text.length);
+
+        assertEquals(List.of(
+                new KeywordAutomaton.Match(1, 1, 4),    // she
+                new KeywordAutomaton.Match(0, 2, 4),    // he
+                new KeywordAutomaton.Match(3, 2, 6)),   // hers
+            matches);
+    }
+
+    @Test
+    void scansOnlyGivenLength() {
+        KeywordAutomaton automaton = new KeywordAutomaton(List.of("abc"));
+        char[] text = "xxabcxx".toCharArray();
+
+        assertTrue(automaton.findAll(text, 4).isEmpty());
+        assertEquals(List.of(new KeywordAutomaton.Match(0, 2, 5)), automaton.findAll(text, 5));
+    }
+
+    @Test
+    void ignoresEmptyKeywords() {
+        KeywordAutomaton automaton = new KeywordAutomaton(List.of(""));
+        char[] text = "abc".toCharArray();
+
+        assertTrue(automaton.isEmpty());
+        assertTrue(automaton.findAll(text, text.length).isEmpty());
+    }
+}
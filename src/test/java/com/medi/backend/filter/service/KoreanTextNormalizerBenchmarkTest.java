@@ -0,0 +1,95 @@
+package com.medi.backend.filter.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import com.medi.backend.filter.dto.FilterRuleDto;
+
+/**
+ * 정규화 + 키워드 매칭 처리량 측정 (단일 스레드 = 코어 1개 기준)
+ *
+ * 기본 테스트에서는 건너뜀. 실행: BENCHMARK=true ./gradlew test --tests '*KoreanTextNormalizerBenchmarkTest'
+ */
+@EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+class KoreanTextNormalizerBenchmarkTest {
+
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURE_ROUNDS = 5;
+    private static final int COMMENTS_PER_ROUND = 1_000_000;
+
+    private static final String[] COMMENTS = {
+        "영상 너무 잘 봤습니다! 다음 편도 기대할게요 ㅋㅋㅋㅋ",
+        "시 발 이게 뭐냐 진짜",
+        "Great video, thanks for sharing 👍",
+        "ㅅ1발 광고 좀 그만해라",
+        "１０분부터 보세요 꿀팁 나옵니다",
+        "조지아 여행 브이로그 언제 올라오나요?",
+        "오늘도 좋은 하루 되세요~~ 구독 눌렀어요",
+        "이거 완전 시발점이네 ㅋㅋ",
+    };
+
+    @Test
+    void normalizeThroughput() {
+        KoreanTextNormalizer.Buffer buffer = new KoreanTextNormalizer.Buffer();
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += normalizeRound(buffer);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            sink += normalizeRound(buffer);
+        }
+        report("normalize", System.nanoTime() - start);
+        assertTrue(sink > 0);
+    }
+
+    @Test
+    void evaluateThroughput() {
+        CommentRuleSet rules = CommentRuleSet.compile(List.of(
+            new FilterRuleDto("GLOBAL", null, "KEYWORD_BLACKLIST", "시발"),
+            new FilterRuleDto("GLOBAL", null, "KEYWORD_BLACKLIST", "좆"),
+            new FilterRuleDto("GLOBAL", null, "KEYWORD_BLACKLIST", "광고"),
+            new FilterRuleDto("GLOBAL", null, "KEYWORD_WHITELIST", "시발점")));
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += evaluateRound(rules);
+        }
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURE_ROUNDS; round++) {
+            sink += evaluateRound(rules);
+        }
+        report("evaluate", System.nanoTime() - start);
+        assertTrue(sink > 0);
+    }
+
+    private static long normalizeRound(KoreanTextNormalizer.Buffer buffer) {
+        long total = 0;
+        for (int i = 0; i < COMMENTS_PER_ROUND; i++) {
+            KoreanTextNormalizer.normalize(COMMENTS[i % COMMENTS.length], buffer);
+            total += buffer.length();
+        }
+        return total;
+    }
+
+    private static long evaluateRound(CommentRuleSet rules) {
+        long blocked = 0;
+        for (int i = 0; i < COMMENTS_PER_ROUND; i++) {
+            CommentRuleSet.Verdict verdict = rules.evaluate("video1", COMMENTS[i % COMMENTS.length], "author", "UC1");
+            if (verdict != null && !verdict.allowed()) {
+                blocked++;
+            }
+        }
+        return blocked;
+    }
+
+    private static void report(String name, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        double perSecond = (double) COMMENTS_PER_ROUND * MEASURE_ROUNDS / seconds;
+        System.out.printf("%s: %.2f M comments/s (%.1f ns/comment)%n",
+            name, perSecond / 1_000_000, elapsedNanos / ((double) COMMENTS_PER_ROUND * MEASURE_ROUNDS));
+    }
+}
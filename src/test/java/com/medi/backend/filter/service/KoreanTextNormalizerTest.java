@@ -0,0 +1,90 @@
+package com.medi.backend.filter.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class KoreanTextNormalizerTest {
+
+    @Test
+    void decomposesSyllablesAndStripsSeparators() {
+        String expected = KoreanTextNormalizer.normalize("시발");
+        assertEquals("ㅅㅣㅂㅏㄹ", expected);
+        assertEquals(expected, KoreanTextNormalizer.normalize("시 발"));
+        assertEquals(expected, KoreanTextNormalizer.normalize("시.발!!"));
+        assertEquals(expected, KoreanTextNormalizer.normalize("시​발"));
+        assertEquals(expected, KoreanTextNormalizer.normalize("ㅅㅣㅂㅏㄹ"));
+        assertEquals(expected, KoreanTextNormalizer.normalize("시발"));  // 조합형 자모
+    }
+
+    @Test
+    void foldsLookalikesNextToHangul() {
+        assertEquals("ㅅㅣㅂㅏㄹ", KoreanTextNormalizer.normalize("ㅅ1발"));
+        assertEquals("ㅅㅣㅂㅏㄹ", KoreanTextNormalizer.normalize("ㅅ|발"));
+        assertEquals("ㅅㅣㅂㅏㄹ", KoreanTextNormalizer.normalize("ㅅ１발"));   // 전각 숫자
+    }
+
+    @Test
+    void keepsLatinLettersAndDigitsAwayFromHangul() {
+        assertEquals("skinkidking", KoreanTextNormalizer.normalize("Skin Kid King"));
+        assertEquals("10", KoreanTextNormalizer.normalize("10"));
+        assertEquals("lo", KoreanTextNormalizer.normalize("lo"));
+        assertEquals("io", KoreanTextNormalizer.normalize("io"));
+        assertNotEquals(KoreanTextNormalizer.normalize("10"), KoreanTextNormalizer.normalize("lo"));
+        assertEquals("2017", KoreanTextNormalizer.normalize("2017"));
+    }
+
+    @Test
+    void collapsesRepeatsOnlyForStandaloneCharacters() {
+        assertEquals("ㅋ", KoreanTextNormalizer.normalize("ㅋㅋㅋㅋ"));
+        assertEquals("wow", KoreanTextNormalizer.normalize("wwoww"));
+        // 음절에서 나온 자모는 앞 글자와 같아도 남김 ("발라" → ㄹ 두 개)
+        assertEquals("ㅂㅏㄹㄹㅏ", KoreanTextNormalizer.normalize("발라"));
+    }
+
+    @Test
+    void mapsOutputBackToOriginalPositions() {
+        KoreanTextNormalizer.Buffer buffer = new KoreanTextNormalizer.Buffer();
+        KoreanTextNormalizer.normalize("a 시발", buffer);
+
+        assertEquals("aㅅㅣㅂㅏㄹ", buffer.toString());
+        assertEquals(0, buffer.originalIndex(0));
+        assertEquals(2, buffer.originalIndex(1));
+        assertEquals(2, buffer.originalIndex(2));
+        assertEquals(3, buffer.originalIndex(3));
+        assertEquals(3, buffer.originalIndex(5));
+    }
+
+    @Test
+    void reportsSyllableBoundaries() {
+        KoreanTextNormalizer.Buffer buffer = new KoreanTextNormalizer.Buffer();
+        KoreanTextNormalizer.normalize("시바를", buffer);   // ㅅㅣ ㅂㅏ ㄹㅡㄹ
+
+        assertTrue(buffer.isBoundary(0));
+        assertFalse(buffer.isBoundary(1));
+        assertTrue(buffer.isBoundary(2));
+        assertTrue(buffer.isBoundary(4));
+        assertFalse(buffer.isBoundary(5));
+        assertTrue(buffer.isBoundary(buffer.length()));
+    }
+
+    @Test
+    void reusesBufferAcrossCalls() {
+        KoreanTextNormalizer.Buffer buffer = new KoreanTextNormalizer.Buffer();
+        KoreanTextNormalizer.normalize("가나다라마바사아자차카타파하".repeat(20), buffer);
+        KoreanTextNormalizer.normalize("시발", buffer);
+
+        assertEquals("ㅅㅣㅂㅏㄹ", buffer.toString());
+        assertEquals(5, buffer.length());
+    }
+
+    @Test
+    void handlesNullAndEmptyText() {
+        assertEquals("", KoreanTextNormalizer.normalize((String) null));
+        assertEquals("", KoreanTextNormalizer.normalize(""));
+        assertEquals("", KoreanTextNormalizer.normalize("  !!  😀"));
+    }
+}
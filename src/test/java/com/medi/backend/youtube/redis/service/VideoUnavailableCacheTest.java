@@ -0,0 +1,157 @@
+package com.medi.backend.youtube.redis.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.google.api.client.googleapis.json.GoogleJsonError;
+import com.google.api.client.googleapis.json.GoogleJsonResponseException;
+import com.google.api.client.http.HttpHeaders;
+import com.google.api.client.http.HttpResponseException;
+import com.medi.backend.youtube.mapper.YoutubeVideoMapper;
+
+class VideoUnavailableCacheTest {
+
+    private static final String VIDEO_ID = "video1";
+    private static final String KEY = "video:video1:unavailable";
+
+    // Redis Hash 대체
+    private final Map<String, Map<Object, Object>> hashes = new HashMap<>();
+    private YoutubeVideoMapper videoMapper;
+    private VideoUnavailableCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+
+        doAnswer(inv -> hashes.getOrDefault(inv.<String>getArgument(0), Map.of()).get(inv.getArgument(1)))
+                .when(hashOperations).get(anyString(), any());
+        doAnswer(inv -> {
+            Map<Object, Object> hash = hashes.getOrDefault(inv.<String>getArgument(0), Map.of());
+            List<Object> values = new ArrayList<>();
+            for (Object field : inv.<Collection<Object>>getArgument(1)) {
+                values.add(hash.get(field));
+            }
+            return values;
+        }).when(hashOperations).multiGet(anyString(), anyCollection());
+        doAnswer(inv -> {
+            hashes.computeIfAbsent(inv.getArgument(0), k -> new HashMap<>()).putAll(inv.<Map<Object, Object>>getArgument(1));
+            return null;
+        }).when(hashOperations).putAll(anyString(), anyMap());
+        doAnswer(inv -> hashes.remove(inv.<String>getArgument(0)) != null).when(redisTemplate).delete(anyString());
+
+        videoMapper = mock(YoutubeVideoMapper.class);
+        cache = new VideoUnavailableCache(redisTemplate, videoMapper);
+    }
+
+    private long backoffMillis() {
+        return Long.parseLong(hashes.get(KEY).get("until").toString()) - System.currentTimeMillis();
+    }
+
+    private static void assertBackoff(Duration expected, long actualMillis) {
+        // 기록 시각과 비교 시각 차이 허용
+        assertTrue(Math.abs(expected.toMillis() - actualMillis) < 5_000,
+                "expected " + expected + " but was " + Duration.ofMillis(actualMillis));
+    }
+
+    private static GoogleJsonResponseException apiError(int status, String reason) {
+        GoogleJsonError.ErrorInfo info = new GoogleJsonError.ErrorInfo();
+        info.setReason(reason);
+        GoogleJsonError details = new GoogleJsonError();
+        details.setErrors(List.of(info));
+        return new GoogleJsonResponseException(new HttpResponseException.Builder(status, null, new HttpHeaders()), details);
+    }
+
+    @Test
+    void doublesBackoffForRepeatedReasonUpToCap() {
+        cache.record(VIDEO_ID, VideoUnavailableCache.Reason.COMMENTS_DISABLED);
+        assertBackoff(Duration.ofHours(6), backoffMillis());
+
+        cache.record(VIDEO_ID, VideoUnavailableCache.Reason.COMMENTS_DISABLED);
+        assertBackoff(Duration.ofHours(12), backoffMillis());
+
+        cache.record(VIDEO_ID, VideoUnavailableCache.Reason.COMMENTS_DISABLED);
+        assertBackoff(Duration.ofHours(24), backoffMillis());
+
+        // 6h × 2^5 = 192h → 상한 7일
+        for (int i = 0; i < 3; i++) {
+            cache.record(VIDEO_ID, VideoUnavailableCache.Reason.COMMENTS_DISABLED);
+        }
+        assertEquals("6", hashes.get(KEY).get("strikes"));
+        assertBackoff(Duration.ofDays(7), backoffMillis());
+    }
+
+    @Test
+    void restartsStrikesWhenReasonChanges() {
+        cache.record(VIDEO_ID, VideoUnavailableCache.Reason.COMMENTS_DISABLED);
+        cache.record(VIDEO_ID, VideoUnavailableCache.Reason.COMMENTS_DISABLED);
+
+        cache.record(VIDEO_ID, VideoUnavailableCache.Reason.PRIVATE);
+
+        assertEquals("1", hashes.get(KEY).get("strikes"));
+        assertBackoff(Duration.ofHours(1), backoffMillis());
+    }
+
+    @Test
+    void suppressesOnlyWhileBackoffIsActive() {
+        assertTrue(cache.filterAvailable(List.of(VIDEO_ID, "video2")).contains(VIDEO_ID));
+
+        cache.record(VIDEO_ID, VideoUnavailableCache.Reason.PRIVATE);
+        assertTrue(cache.isSuppressed(VIDEO_ID));
+        assertEquals(List.of("video2"), cache.filterAvailable(List.of(VIDEO_ID, "video2")));
+
+        // 대기 시간이 지나면 다시 조회 대상
+        hashes.get(KEY).put("until", String.valueOf(System.currentTimeMillis() - 1));
+        assertFalse(cache.isSuppressed(VIDEO_ID));
+
+        cache.record(VIDEO_ID, VideoUnavailableCache.Reason.PRIVATE);
+        cache.clear(VIDEO_ID);
+        assertFalse(cache.isSuppressed(VIDEO_ID));
+    }
+
+    @Test
+    void marksDeletedOnlyAfterConsecutiveNotFound() {
+        cache.record(VIDEO_ID, VideoUnavailableCache.Reason.DELETED);
+        verify(videoMapper, never()).markDeleted(VIDEO_ID);
+
+        cache.record(VIDEO_ID, VideoUnavailableCache.Reason.DELETED);
+        verify(videoMapper).markDeleted(VIDEO_ID);
+    }
+
+    @Test
+    void classifiesCommentThreadErrors() {
+        assertEquals(VideoUnavailableCache.Reason.COMMENTS_DISABLED,
+                VideoUnavailableCache.classify(apiError(403, "commentsDisabled")));
+        assertEquals(VideoUnavailableCache.Reason.DELETED,
+                VideoUnavailableCache.classify(apiError(404, "videoNotFound")));
+        assertEquals(VideoUnavailableCache.Reason.PRIVATE,
+                VideoUnavailableCache.classify(apiError(403, "forbidden")));
+        // 쿼터 초과 등 일시 오류는 캐시하지 않음
+        assertNull(VideoUnavailableCache.classify(apiError(403, "quotaExceeded")));
+    }
+}
@@ -0,0 +1,143 @@
+package com.medi.backend.youtube.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.api.services.youtube.model.Video;
+import com.google.api.services.youtube.model.VideoListResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class YoutubeVideoBatchCoalescerTest {
+
+    private YoutubeDataApiClient apiClient;
+    private YoutubeVideoBatchCoalescer coalescer;
+    // 실제 API 호출마다 전달된 ID 목록
+    private final List<List<String>> calls = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        apiClient = mock(YoutubeDataApiClient.class);
+        when(apiClient.fetchVideoStatistics(anyList())).thenAnswer(inv -> {
+            List<String> ids = new ArrayList<>(inv.<List<String>>getArgument(0));
+            calls.add(ids);
+            if (ids.contains("broken")) {
+                throw new IOException("quotaExceeded");
+            }
+            return response(ids.stream().filter(id -> !id.startsWith("missing")).collect(Collectors.toList()));
+        });
+        coalescer = new YoutubeVideoBatchCoalescer(apiClient, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    private static VideoListResponse response(List<String> ids) {
+        List<Video> items = ids.stream().map(id -> new Video().setId(id)).collect(Collectors.toList());
+        return new VideoListResponse().setItems(items);
+    }
+
+    private static List<String> ids(String prefix, int count) {
+        return IntStream.range(0, count).mapToObj(i -> prefix + i).collect(Collectors.toList());
+    }
+
+    private static List<String> idsOf(List<Video> videos) {
+        return videos.stream().map(Video::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void splitsIntoBatchesOfFiftyAndKeepsRequestOrder() throws Exception {
+        List<String> requested = ids("v", 120);
+
+        List<Video> videos = coalescer.fetchVideoStatistics(requested);
+
+        assertEquals(requested, idsOf(videos));
+        assertEquals(3, calls.size());
+        assertEquals(List.of(50, 50, 20), calls.stream().map(List::size).sorted((a, b) -> b - a).collect(Collectors.toList()));
+    }
+
+    @Test
+    void omitsVideosMissingFromResponse() throws Exception {
+        List<Video> videos = coalescer.fetchVideoStatistics(List.of("a", "missing1", "b"));
+
+        assertEquals(List.of("a", "b"), idsOf(videos));
+    }
+
+    @Test
+    void sharesOneLookupForDuplicateIds() throws Exception {
+        List<Video> videos = coalescer.fetchVideoStatistics(List.of("a", "a", "b"));
+
+        assertEquals(List.of("a", "a", "b"), idsOf(videos));
+        assertEquals(1, calls.size());
+        assertEquals(List.of("a", "b"), calls.get(0));
+    }
+
+    @Test
+    void mergesConcurrentPartialBatches() throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<List<Video>> first = CompletableFuture.supplyAsync(() -> fetchAfter(barrier, ids("x", 10)), callers);
+            CompletableFuture<List<Video>> second = CompletableFuture.supplyAsync(() -> fetchAfter(barrier, ids("y", 10)), callers);
+
+            assertEquals(ids("x", 10), idsOf(first.get()));
+            assertEquals(ids("y", 10), idsOf(second.get()));
+        } finally {
+            callers.shutdownNow();
+        }
+        // 두 요청 모두 대기 시간(50ms) 안에 들어오므로 한 번에 조회
+        assertEquals(1, calls.size());
+        assertEquals(20, calls.get(0).size());
+    }
+
+    private List<Video> fetchAfter(CyclicBarrier barrier, List<String> videoIds) {
+        try {
+            barrier.await();
+            return coalescer.fetchVideoStatistics(videoIds);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void fetchThrowsWhenAnyBatchFails() {
+        List<String> requested = new ArrayList<>(ids("v", 50));
+        requested.add("broken");
+
+        assertThrows(IOException.class, () -> coalescer.fetchVideoStatistics(requested));
+    }
+
+    @Test
+    void partialFetchKeepsSuccessfulBatches() {
+        List<String> requested = new ArrayList<>(ids("v", 50));
+        requested.addAll(List.of("broken", "w1", "w2"));
+
+        YoutubeVideoBatchCoalescer.PartialResult result = coalescer.fetchVideoStatisticsPartial(requested);
+
+        // 첫 배치(50개)는 저장 가능, "broken"이 포함된 두 번째 배치만 실패
+        assertEquals(ids("v", 50), idsOf(result.videos()));
+        assertEquals(List.of("broken", "w1", "w2"), result.failedIds());
+        assertTrue(result.error() instanceof IOException);
+    }
+}
@@ -0,0 +1,217 @@
+package com.medi.backend.youtube.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import com.medi.backend.youtube.config.YoutubeWebSubProperties;
+import com.medi.backend.youtube.dto.YoutubeChannelDto;
+import com.medi.backend.youtube.mapper.YoutubeChannelMapper;
+import com.medi.backend.youtube.mapper.YoutubeVideoMapper;
+import com.medi.backend.youtube.model.VideoSyncMode;
+import com.sun.net.httpserver.HttpServer;
+
+class YoutubeWebSubServiceTest {
+
+    private static final String CHANNEL_ID = "UCtestchannel";
+    private static final String VIDEO_ID = "newVideo01";
+    private static final String SECRET = "websub-test-secret";
+
+    private HttpServer hub;
+    private final Map<String, String> lastHubForm = new ConcurrentHashMap<>();
+
+    // Redis 대체 (String 값 / Hash)
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final Map<String, Map<Object, Object>> hashes = new ConcurrentHashMap<>();
+
+    private YoutubeWebSubProperties properties;
+    private YoutubeChannelMapper channelMapper;
+    private YoutubeVideoMapper videoMapper;
+    private YoutubeService youtubeService;
+    private YoutubeWebSubService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // 허브 스텁: 구독 요청 form을 기록하고 202 응답
+        hub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        hub.createContext("/subscribe", exchange -> {
+            String form = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            lastHubForm.clear();
+            for (String pair : form.split("&")) {
+                String[] kv = pair.split("=", 2);
+                lastHubForm.put(URLDecoder.decode(kv[0], StandardCharsets.UTF_8),
+                        kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "");
+            }
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        hub.start();
+
+        properties = new YoutubeWebSubProperties();
+        properties.setEnabled(true);
+        properties.setHubUrl("http://127.0.0.1:" + hub.getAddress().getPort() + "/subscribe");
+        properties.setCallbackUrl("https://api.example.com/api/youtube/websub/callback");
+        properties.setSecret(SECRET);
+
+        channelMapper = mock(YoutubeChannelMapper.class);
+        videoMapper = mock(YoutubeVideoMapper.class);
+        youtubeService = mock(YoutubeService.class);
+
+        YoutubeChannelDto channel = new YoutubeChannelDto();
+        channel.setUserId(7);
+        channel.setYoutubeChannelId(CHANNEL_ID);
+        when(channelMapper.findByYoutubeChannelId(CHANNEL_ID)).thenReturn(channel);
+        when(channelMapper.findAllForSync()).thenReturn(List.of(channel));
+
+        service = new YoutubeWebSubService(properties, channelMapper, videoMapper, youtubeService,
+                inMemoryRedis(), Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop(0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private StringRedisTemplate inMemoryRedis() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        doReturn(valueOperations).when(redisTemplate).opsForValue();
+        doReturn(hashOperations).when(redisTemplate).opsForHash();
+
+        doAnswer(inv -> values.put(inv.getArgument(0), inv.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        doAnswer(inv -> values.putIfAbsent(inv.getArgument(0), inv.getArgument(1)) == null)
+                .when(valueOperations).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        doAnswer(inv -> values.containsKey(inv.<String>getArgument(0))).when(redisTemplate).hasKey(anyString());
+        doAnswer(inv -> values.remove(inv.<String>getArgument(0)) != null).when(redisTemplate).delete(anyString());
+
+        doAnswer(inv -> hashes.getOrDefault(inv.<String>getArgument(0), Map.of()).get(inv.getArgument(1)))
+                .when(hashOperations).get(anyString(), any());
+        doAnswer(inv -> hashes.computeIfAbsent(inv.getArgument(0), k -> new HashMap<>())
+                .put(inv.getArgument(1), inv.getArgument(2)))
+                .when(hashOperations).put(anyString(), any(), any());
+        return redisTemplate;
+    }
+
+    private static String atom(String channelId, String videoId) {
+        return "<?xml version='1.0' encoding='UTF-8'?>"
+                + "<feed xmlns:yt=\"http://www.youtube.com/xml/schemas/2015\" xmlns=\"http://www.w3.org/2005/Atom\">"
+                + "<entry><id>yt:video:" + videoId + "</id>"
+                + "<yt:videoId>" + videoId + "</yt:videoId>"
+                + "<yt:channelId>" + channelId + "</yt:channelId>"
+                + "<title>new upload</title></entry></feed>";
+    }
+
+    private static String sign(String secret, byte[] body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA1");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA1"));
+        return "sha1=" + HexFormat.of().formatHex(mac.doFinal(body));
+    }
+
+    @Test
+    void subscribeVerifyNotifyTriggersChannelSync() throws Exception {
+        // 1. 구독 요청 → 허브 스텁이 secret 포함 form 수신
+        assertTrue(service.subscribe(CHANNEL_ID));
+        assertEquals("subscribe", lastHubForm.get("hub.mode"));
+        assertEquals(SECRET, lastHubForm.get("hub.secret"));
+        assertEquals(properties.getCallbackUrl(), lastHubForm.get("hub.callback"));
+
+        // 2. 허브 검증 요청 → challenge 반환, lease 기록
+        assertEquals("challenge-1",
+                service.verifyIntent("subscribe", lastHubForm.get("hub.topic"), "challenge-1", 3600L));
+        assertTrue(service.hasActiveLease(CHANNEL_ID));
+
+        // 3. 허브가 받은 secret으로 서명한 알림 → 채널 즉시 동기화
+        byte[] body = atom(CHANNEL_ID, VIDEO_ID).getBytes(StandardCharsets.UTF_8);
+        service.handleNotification(body, sign(lastHubForm.get("hub.secret"), body));
+
+        verify(youtubeService).syncVideos(7, CHANNEL_ID, null, VideoSyncMode.FOLLOW_UP, false);
+    }
+
+    @Test
+    void ignoresNotificationWithWrongOrMissingSignature() throws Exception {
+        byte[] body = atom(CHANNEL_ID, VIDEO_ID).getBytes(StandardCharsets.UTF_8);
+
+        service.handleNotification(body, sign("other-secret", body));
+        service.handleNotification(body, null);
+
+        verify(youtubeService, never()).syncVideos(any(), anyString(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void rejectsVerificationForUnrequestedSubscription() {
+        // 구독 요청(pending) 없이 들어온 검증은 거부
+        assertNull(service.verifyIntent("subscribe",
+                "https://www.youtube.com/xml/feeds/videos.xml?channel_id=" + CHANNEL_ID, "challenge-2", 3600L));
+        assertFalse(service.hasActiveLease(CHANNEL_ID));
+    }
+
+    @Test
+    void withoutSecretNeitherSubscribesNorAcceptsNotifications() throws Exception {
+        properties.setSecret(null);
+
+        service.renewLeases();
+        assertTrue(lastHubForm.isEmpty());
+        assertFalse(service.acceptsNotifications());
+
+        // 이전에 받은 lease가 남아 있어도 폴링은 생략하지 않음
+        hashes.computeIfAbsent("websub:leases", k -> new HashMap<>())
+                .put(CHANNEL_ID, String.valueOf(System.currentTimeMillis() + 3600_000L));
+        assertFalse(service.hasActiveLease(CHANNEL_ID));
+
+        byte[] body = atom(CHANNEL_ID, VIDEO_ID).getBytes(StandardCharsets.UTF_8);
+        service.handleNotification(body, sign(SECRET, body));
+        verify(youtubeService, never()).syncVideos(any(), anyString(), isNull(), eq(VideoSyncMode.FOLLOW_UP), anyBoolean());
+    }
+
+    @Test
+    void leasedChannelIsStillPolledUntilSafetyPollRecorded() {
+        hashes.computeIfAbsent("websub:leases", k -> new HashMap<>())
+                .put(CHANNEL_ID, String.valueOf(System.currentTimeMillis() + 3600_000L));
+
+        // 폴링 기록이 없으면 lease가 있어도 안전 폴링
+        assertFalse(service.canSkipPolling(CHANNEL_ID));
+
+        service.recordPolled(CHANNEL_ID);
+        assertTrue(service.canSkipPolling(CHANNEL_ID));
+
+        // 안전 폴링 주기(7일)가 지나면 다시 폴링
+        hashes.get("websub:polled").put(CHANNEL_ID,
+                String.valueOf(System.currentTimeMillis() - Duration.ofDays(8).toMillis()));
+        assertFalse(service.canSkipPolling(CHANNEL_ID));
+    }
+}